@@ -0,0 +1,103 @@
+package com.intuit.turbotax.api.v1.common.routing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Consistent-hash ring that assigns keys, such as userIds, to named service instances.
+ *
+ * <p>Each instance is placed on the ring at several virtual points and a key belongs to
+ * the first point at or after its hash. Adding or removing an instance therefore only
+ * moves the keys adjacent to its points. The hash is computed from UTF-8 bytes with a
+ * fixed algorithm, so every service that builds a ring from the same instance names and
+ * virtual node count agrees on key ownership.
+ */
+public final class ConsistentHashRing {
+
+    /**
+     * Virtual points per instance; enough to keep partitions within about ten percent of even.
+     */
+    public static final int DEFAULT_VIRTUAL_NODES = 160;
+
+    private final List<String> nodes;
+    private final long[] points;
+    private final int[] owners;
+
+    /**
+     * Builds a ring over the given instance names.
+     *
+     * @param nodes        distinct instance names
+     * @param virtualNodes points placed on the ring per instance
+     * @throws IllegalArgumentException if nodes is empty or contains duplicates, or virtualNodes is not positive
+     */
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one node");
+        }
+        if (new LinkedHashSet<>(nodes).size() != nodes.size()) {
+            throw new IllegalArgumentException("Hash ring nodes must be distinct: " + nodes);
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        this.nodes = List.copyOf(nodes);
+
+        int size = this.nodes.size() * virtualNodes;
+        long[][] sorted = new long[size][];
+        for (int node = 0; node < this.nodes.size(); node++) {
+            for (int i = 0; i < virtualNodes; i++) {
+                sorted[node * virtualNodes + i] = new long[] { hash(this.nodes.get(node) + "#" + i), node };
+            }
+        }
+        // Ties are broken by node order so every ring built from the same list is identical
+        Arrays.sort(sorted, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        this.points = new long[size];
+        this.owners = new int[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = sorted[i][0];
+            owners[i] = (int) sorted[i][1];
+        }
+    }
+
+    /**
+     * Returns the instance that owns a key.
+     *
+     * @param key the key to place, such as a userId
+     * @return the owning instance name
+     */
+    public String nodeFor(String key) {
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return nodes.get(owners[index == points.length ? 0 : index]);
+    }
+
+    /**
+     * Returns the instance names in the order they were supplied.
+     */
+    public List<String> nodes() {
+        return nodes;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer to spread
+     * short, similar keys across the whole ring.
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -1,5 +1,7 @@
 package com.intuit.turbotax.api.v1.external.service;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 import com.intuit.turbotax.api.v1.refund.model.RefundStatus;
@@ -13,4 +15,10 @@ public interface ExternalIrsClient {
      * Gets refund status from IRS
      */
     Optional<RefundStatus> getRefundStatus(int filingId, String ssn);
+
+    /**
+     * Gets refund statuses from IRS for several filings in one call.
+     * Filings without a status are absent from the returned map.
+     */
+    Map<Integer, RefundStatus> getRefundStatuses(Collection<Integer> filingIds);
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.intuit.turbotax.api.v1.external.service;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
@@ -14,4 +16,10 @@ public interface ExternalStateTaxClient {
      * Gets state refund status
      */
     Optional<RefundStatus> getRefundStatus(String filingId, Jurisdiction jurisdiction, String stateFilingId);
+
+    /**
+     * Gets state refund statuses for several filings of one jurisdiction in one call.
+     * Filings without a status are absent from the returned map.
+     */
+    Map<String, RefundStatus> getRefundStatuses(Collection<String> filingIds, Jurisdiction jurisdiction);
 }
\ No newline at end of file
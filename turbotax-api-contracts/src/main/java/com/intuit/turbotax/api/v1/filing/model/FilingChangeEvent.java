@@ -0,0 +1,16 @@
+package com.intuit.turbotax.api.v1.filing.model;
+
+import java.time.Instant;
+
+/**
+ * Record describing a change to a stored tax filing, published by the filing query
+ * service so consumers can invalidate or refresh cached filings for the affected users.
+ * Sequence numbers increase monotonically within one service instance.
+ */
+public record FilingChangeEvent(
+        long sequence,
+        int filingId,
+        String userId,
+        String previousUserId, // set when the filing moved from another user, otherwise null
+        Instant changedAt) {
+}
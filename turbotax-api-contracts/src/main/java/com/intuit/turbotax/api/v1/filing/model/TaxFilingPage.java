@@ -0,0 +1,12 @@
+package com.intuit.turbotax.api.v1.filing.model;
+
+import java.util.List;
+
+/**
+ * Record representing one page of tax filings from a keyset-paginated query.
+ * Pass nextCursor back to fetch the following page; it is null on the last page.
+ */
+public record TaxFilingPage(
+        List<TaxFiling> filings,
+        String nextCursor) {
+}
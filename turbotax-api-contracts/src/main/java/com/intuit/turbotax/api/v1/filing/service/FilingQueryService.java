@@ -1,20 +1,75 @@
 package com.intuit.turbotax.api.v1.filing.service;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import com.intuit.turbotax.api.v1.filing.model.TaxFiling;
+import com.intuit.turbotax.api.v1.filing.model.TaxFilingPage;
 
 /**
  * Service interface for querying tax filings metadata for a user.
- * Provides methods to retrieve all filings for a user.
+ * Provides methods to retrieve a user's most recent filings, page through a user's
+ * full filing history, retrieve filings for a batch of users, or look up individual
+ * filings by filing ID.
  */
 public interface FilingQueryService {
 
     /**
-     * Retrieves all tax filings metadata for a given user.
+     * Retrieves the most recent tax filings metadata for a given user, newest tax year
+     * first, up to the filing query service's per-user limit.
      *
      * @param userId the user identifier
      * @return list of tax filings for the user (may be empty)
      */
     List<TaxFiling> getFilings(String userId);
-}
\ No newline at end of file
+
+    /**
+     * Retrieves one page of a user's tax filings, ordered by tax year and then filing
+     * date, newest first.
+     *
+     * @param userId the user identifier
+     * @param cursor nextCursor from the previous page, or null for the first page
+     * @param limit  the maximum number of filings to return; the service rejects
+     *               limits above its per-user limit
+     * @return one page of filings; nextCursor is null on the last page
+     */
+    TaxFilingPage getFilingsPage(String userId, String cursor, int limit);
+
+    /**
+     * Retrieves the most recent tax filings metadata for several users in one call.
+     * The default implementation issues one {@link #getFilings(String)} call per user;
+     * remote implementations should override it with a single batched request.
+     *
+     * @param userIds the user identifiers
+     * @return filings grouped by user ID, in request order (users without filings map to an empty list)
+     */
+    default Map<String, List<TaxFiling>> getFilingsForUsers(List<String> userIds) {
+        Map<String, List<TaxFiling>> filingsByUser = new LinkedHashMap<>();
+        for (String userId : userIds) {
+            filingsByUser.computeIfAbsent(userId, this::getFilings);
+        }
+        return filingsByUser;
+    }
+
+    /**
+     * Retrieves a single filing by its filing ID.
+     * The default implementation delegates to {@link #getFilingsByIds(List)}.
+     *
+     * @param filingId the filing identifier
+     * @return the filing, or empty if no filing has this ID
+     */
+    default Optional<TaxFiling> getFiling(int filingId) {
+        return Optional.ofNullable(getFilingsByIds(List.of(filingId)).get(filingId));
+    }
+
+    /**
+     * Retrieves several filings by filing ID in one call, for callers that already
+     * know the filings they need and do not want a user's whole filing list.
+     *
+     * @param filingIds the filing identifiers
+     * @return the filings found, keyed by filing ID in request order; unknown IDs are omitted
+     */
+    Map<Integer, TaxFiling> getFilingsByIds(List<Integer> filingIds);
+}
@@ -0,0 +1,15 @@
+package com.intuit.turbotax.api.v1.refund.model;
+
+import java.util.List;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+
+/**
+ * Record representing the refund status timeline of a filing.
+ * Transitions are ordered oldest first; only the most recent ones are retained.
+ */
+public record RefundStatusHistoryData(
+        int filingId,
+        Jurisdiction jurisdiction,
+        List<RefundStatusTransition> transitions) {
+}
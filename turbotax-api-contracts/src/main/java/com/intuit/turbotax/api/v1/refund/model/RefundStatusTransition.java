@@ -0,0 +1,13 @@
+package com.intuit.turbotax.api.v1.refund.model;
+
+import java.time.Instant;
+
+/**
+ * Record representing one change of a filing's refund status.
+ * The from status is null for the first status recorded for a filing.
+ */
+public record RefundStatusTransition(
+        RefundStatus fromStatus,
+        RefundStatus toStatus,
+        Instant transitionedAt) {
+}
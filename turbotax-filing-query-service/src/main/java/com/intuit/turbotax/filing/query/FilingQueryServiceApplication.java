@@ -2,8 +2,10 @@ package com.intuit.turbotax.filing.query;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class FilingQueryServiceApplication {
 
 	public static void main(String[] args) {
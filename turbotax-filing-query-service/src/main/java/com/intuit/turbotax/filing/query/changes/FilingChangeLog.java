@@ -0,0 +1,219 @@
+package com.intuit.turbotax.filing.query.changes;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.intuit.turbotax.api.v1.filing.model.FilingChangeEvent;
+import com.intuit.turbotax.filing.query.config.FilingQueryProperties;
+import com.intuit.turbotax.filing.query.exception.ChangeSequenceExpiredException;
+import com.intuit.turbotax.filing.query.repository.TaxFilingEntity;
+import com.intuit.turbotax.filing.query.repository.TaxFilingRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Ordered log of filing writes for change-data-capture consumers.
+ *
+ * <p>Every save reported by the {@link TaxFilingRepository} after the startup load becomes
+ * a {@link FilingChangeEvent}, numbered from the repository's write sequence so that
+ * changes to the same filing are in the order they were stored. Listeners may report
+ * writes out of order; an event is published only once every earlier one has arrived,
+ * or once the log has waited {@code gap-timeout} for a missing one, which happens when
+ * a writer fails between storing a filing and reporting it. Consumers never see a write
+ * the log gave up on. The most recent events are kept in a fixed-size ring, so a
+ * consumer can reconnect and resume after the last sequence it processed as long as it
+ * has not fallen further behind than the ring holds.
+ *
+ * <p>Subscribers read events from the ring at their own pace. Appends only publish the
+ * latest sequence number as a wake-up signal, which is coalesced for slow subscribers,
+ * so writers never wait on consumers.
+ */
+@Component
+@ConditionalOnProperty(prefix = "turbotax.filing.changes", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class FilingChangeLog {
+
+    private static final int DRAIN_BATCH = 1024;
+
+    private final TaxFilingRepository repository;
+    private final FilingChangeEvent[] ring;
+    private final long gapTimeoutNanos;
+    private final Sinks.Many<Long> appended = Sinks.many().replay().latest();
+    // Repository write sequence just before the first recorded change; none are recorded until set
+    private long startWriteSequence = Long.MAX_VALUE;
+    private long lastSequence;
+    // Highest sequence recorded; above lastSequence while an earlier write is missing
+    private long highestSequence;
+    private boolean gapCheckScheduled;
+
+    public FilingChangeLog(TaxFilingRepository repository, FilingQueryProperties properties) {
+        this.repository = repository;
+        this.ring = new FilingChangeEvent[Math.max(1, properties.getChanges().getRetainedEvents())];
+        this.gapTimeoutNanos = properties.getChanges().getGapTimeout().toNanos();
+    }
+
+    /**
+     * Starts recording changes. Called once the startup load or snapshot restore is
+     * complete, so bulk loads neither pass through this log nor fill its ring.
+     */
+    public void repositoryLoaded() {
+        repository.addWriteListener(this::filingSaved);
+        // Read after registering: every later write is numbered above this and reaches the listener
+        long start = repository.lastWriteSequence();
+        synchronized (this) {
+            startWriteSequence = start;
+        }
+    }
+
+    /**
+     * Records a change and wakes any subscribers once every earlier change has arrived.
+     *
+     * @return the recorded event, or null if the write preceded this log or arrived
+     *         after the log stopped waiting for it
+     */
+    synchronized FilingChangeEvent append(int filingId, String userId, String previousUserId, long writeSequence) {
+        if (writeSequence <= startWriteSequence) {
+            return null;
+        }
+        long sequence = writeSequence - startWriteSequence;
+        if (sequence <= lastSequence) {
+            return null;
+        }
+        FilingChangeEvent event = new FilingChangeEvent(sequence, filingId, userId,
+                userId.equals(previousUserId) ? null : previousUserId, Instant.now());
+        ring[(int) (sequence % ring.length)] = event;
+        highestSequence = Math.max(highestSequence, sequence);
+        long published = lastSequence;
+        // A write that stalled for longer than the ring holds is given up on, so later ones flow
+        lastSequence = Math.max(lastSequence, sequence - ring.length);
+        publishArrived(published);
+        return event;
+    }
+
+    /**
+     * Advances past every change that has arrived in order, wakes subscribers if any did,
+     * and starts the wait for the next missing one.
+     */
+    private void publishArrived(long published) {
+        while (lastSequence < highestSequence && hasArrived(lastSequence + 1)) {
+            lastSequence++;
+        }
+        if (lastSequence > published) {
+            // Emitting under the monitor keeps the sink single-threaded, as Reactor requires
+            appended.tryEmitNext(lastSequence);
+        }
+        if (lastSequence < highestSequence && !gapCheckScheduled) {
+            gapCheckScheduled = true;
+            long stalledAt = lastSequence;
+            Schedulers.parallel().schedule(() -> skipMissing(stalledAt), gapTimeoutNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Gives up on the writes missing after stalledAt if none has arrived since the wait
+     * for them started.
+     */
+    private synchronized void skipMissing(long stalledAt) {
+        gapCheckScheduled = false;
+        long published = lastSequence;
+        if (lastSequence == stalledAt) {
+            while (lastSequence < highestSequence && !hasArrived(lastSequence + 1)) {
+                lastSequence++;
+            }
+        }
+        publishArrived(published);
+    }
+
+    private boolean hasArrived(long sequence) {
+        FilingChangeEvent event = ring[(int) (sequence % ring.length)];
+        return event != null && event.sequence() == sequence;
+    }
+
+    /**
+     * Returns the sequence number of the most recent change, or 0 if none were recorded.
+     */
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Streams every change after the given sequence number, then follows new changes
+     * until the subscriber cancels. The stream fails with
+     * {@link ChangeSequenceExpiredException} if the subscriber falls so far behind that
+     * the events it needs have been overwritten.
+     *
+     * @param afterSequence the last sequence number the consumer has processed
+     * @return an infinite stream of change events in sequence order
+     * @throws ChangeSequenceExpiredException if the stream cannot resume after afterSequence
+     */
+    public Flux<FilingChangeEvent> eventsAfter(long afterSequence) {
+        synchronized (this) {
+            checkResumable(afterSequence);
+        }
+        return Flux.defer(() -> {
+            long[] cursor = { afterSequence };
+            return appended.asFlux()
+                    .onBackpressureLatest()
+                    .publishOn(Schedulers.boundedElastic(), 1)
+                    .concatMap(latest -> drain(cursor), 1);
+        });
+    }
+
+    private Flux<FilingChangeEvent> drain(long[] cursor) {
+        return Flux.<List<FilingChangeEvent>>generate(sink -> {
+            List<FilingChangeEvent> batch = readAfter(cursor);
+            if (batch == null) {
+                sink.complete();
+            } else {
+                sink.next(batch);
+            }
+        }).flatMapIterable(Function.identity());
+    }
+
+    /**
+     * Returns the next changes after the cursor and moves it past them, or null if the
+     * cursor is at the latest change. Writes the log gave up on are passed over, so a
+     * batch may be empty.
+     */
+    private synchronized List<FilingChangeEvent> readAfter(long[] cursor) {
+        long afterSequence = cursor[0];
+        checkResumable(afterSequence);
+        if (afterSequence == lastSequence) {
+            return null;
+        }
+        long end = Math.min(lastSequence, afterSequence + DRAIN_BATCH);
+        List<FilingChangeEvent> batch = new ArrayList<>((int) (end - afterSequence));
+        for (long sequence = afterSequence + 1; sequence <= end; sequence++) {
+            FilingChangeEvent event = ring[(int) (sequence % ring.length)];
+            // Changes that arrived ahead of a missing one reuse the slots of the oldest
+            if (event != null && event.sequence() > sequence) {
+                throw new ChangeSequenceExpiredException(afterSequence, sequence + 1, lastSequence);
+            }
+            // Otherwise a slot without this change holds a write the log gave up on
+            if (event != null && event.sequence() == sequence) {
+                batch.add(event);
+            }
+        }
+        cursor[0] = end;
+        return batch;
+    }
+
+    private void checkResumable(long afterSequence) {
+        long oldestSequence = Math.max(1, lastSequence - ring.length + 1);
+        // A sequence ahead of this log means the consumer followed an earlier run of the service
+        if (afterSequence < oldestSequence - 1 || afterSequence > lastSequence) {
+            throw new ChangeSequenceExpiredException(afterSequence, oldestSequence, lastSequence);
+        }
+    }
+
+    private void filingSaved(TaxFilingEntity filing, String previousUserId, long writeSequence) {
+        append(filing.getFilingId(), filing.getUserId(), previousUserId, writeSequence);
+    }
+}
@@ -0,0 +1,210 @@
+package com.intuit.turbotax.filing.query.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import com.intuit.turbotax.api.v1.common.routing.ConsistentHashRing;
+
+import lombok.Data;
+
+/**
+ * Configuration properties for the filing query service.
+ * Binds the {@code turbotax.filing} section of application.yml.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "turbotax.filing")
+@Data
+public class FilingQueryProperties {
+
+    private Cache cache = new Cache();
+
+    private DataSource data = new DataSource();
+
+    private Snapshot snapshot = new Snapshot();
+
+    private ResponseCache responseCache = new ResponseCache();
+
+    private Changes changes = new Changes();
+
+    private Partition partition = new Partition();
+
+    private Segments segments = new Segments();
+
+    private Validation validation = new Validation();
+
+    /**
+     * Settings for the per-user filings cache.
+     */
+    @Data
+    public static class Cache {
+
+        /**
+         * Minutes after which a cached entry expires, counted from when it was written.
+         */
+        private long ttlMinutes = 30;
+
+        /**
+         * Maximum number of users kept in the cache.
+         */
+        private long maximumSize = 100_000;
+    }
+
+    /**
+     * Settings for the bulk filing data load performed at startup.
+     */
+    @Data
+    public static class DataSource {
+
+        /**
+         * Location of the filing data, as a JSON array or NDJSON file.
+         * Accepts classpath: and file: prefixes.
+         */
+        private String source = "classpath:data/filings.json";
+
+        /**
+         * Number of filings handed to the repository per insert batch.
+         */
+        private int batchSize = 10_000;
+
+        /**
+         * Number of worker threads that parse and insert batches.
+         */
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Number of loaded filings between progress log lines.
+         */
+        private long progressInterval = 1_000_000;
+    }
+
+    /**
+     * Settings for binary snapshots of the filing repository.
+     */
+    @Data
+    public static class Snapshot {
+
+        /**
+         * Whether snapshots are restored at startup and written periodically and on shutdown.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Location of the snapshot file.
+         */
+        private String path = "data/filings.snapshot";
+
+        /**
+         * Interval between periodic snapshots.
+         */
+        private Duration interval = Duration.ofMinutes(15);
+    }
+
+    /**
+     * Settings for the cache of pre-encoded JSON filing responses.
+     */
+    @Data
+    public static class ResponseCache {
+
+        /**
+         * Whether per-user filing responses are cached as encoded JSON bytes.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of users whose encoded responses are kept. Once full, the
+         * least valuable entries are evicted to make room.
+         */
+        private int maxEntries = 100_000;
+    }
+
+    /**
+     * Settings for the change-data-capture stream of filing writes.
+     */
+    @Data
+    public static class Changes {
+
+        /**
+         * Whether filing writes are recorded and exposed at /api/v1/filings/changes.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of most recent change events retained for consumers resuming by sequence number.
+         */
+        private int retainedEvents = 1 << 20;
+
+        /**
+         * Longest the log holds back later changes while waiting for a missing write, which
+         * only happens when a writer fails between storing a filing and reporting it.
+         */
+        private Duration gapTimeout = Duration.ofSeconds(5);
+    }
+
+    /**
+     * Settings for partitioning users across filing query instances.
+     * Every instance, and every client routing to them, must use the same instance list
+     * and virtual node count.
+     */
+    @Data
+    public static class Partition {
+
+        /**
+         * Whether this instance serves only the users assigned to it.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Name of this instance; must appear in instances.
+         */
+        private String instanceId;
+
+        /**
+         * Names of all instances sharing the user space.
+         */
+        private List<String> instances = new ArrayList<>();
+
+        /**
+         * Points placed on the hash ring per instance.
+         */
+        private int virtualNodes = ConsistentHashRing.DEFAULT_VIRTUAL_NODES;
+    }
+
+    /**
+     * Settings for freezing prior tax years into compact, immutable segments.
+     * Only applies to the in-memory repository.
+     */
+    @Data
+    public static class Segments {
+
+        /**
+         * Whether tax years before the current one are frozen after the data load and periodically.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Tax year that stays mutable along with any later ones; defaults to the previous calendar year.
+         */
+        private Integer currentTaxYear;
+
+        /**
+         * Interval between freezes of filings saved for prior tax years since the last freeze.
+         */
+        private Duration freezeInterval = Duration.ofHours(6);
+    }
+
+    /**
+     * Limits applied to incoming requests.
+     */
+    @Data
+    public static class Validation {
+
+        /**
+         * Maximum number of filings returned for one user, per page and in unpaged responses.
+         */
+        private int maxFilingsPerUser = 10;
+    }
+}
@@ -12,8 +12,10 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.support.WebExchangeBindException;
 
+import com.intuit.turbotax.filing.query.exception.ChangeSequenceExpiredException;
 import com.intuit.turbotax.filing.query.exception.FilingNotFoundException;
 import com.intuit.turbotax.filing.query.exception.InvalidUserException;
+import com.intuit.turbotax.filing.query.exception.UserNotOwnedException;
 
 /**
  * Global exception handler for the filing query service.
@@ -24,6 +26,9 @@ public class GlobalExceptionHandler {
 
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    // RFC 9110 status with no HttpStatus constant
+    private static final int MISDIRECTED_REQUEST = 421;
+
     /**
      * Handles FilingNotFoundException.
      */
@@ -52,6 +57,36 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    /**
+     * Handles UserNotOwnedException with 421 Misdirected Request, telling the client
+     * that its partition routing is out of date.
+     */
+    @ExceptionHandler(UserNotOwnedException.class)
+    public ResponseEntity<ErrorResponse> handleUserNotOwned(UserNotOwnedException e) {
+        log.warn("Misrouted request: {}", e.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                MISDIRECTED_REQUEST,
+                "Misdirected Request",
+                e.getMessage(),
+                LocalDateTime.now());
+        return ResponseEntity.status(MISDIRECTED_REQUEST).body(error);
+    }
+
+    /**
+     * Handles ChangeSequenceExpiredException. The client must resynchronize before
+     * following the change stream again.
+     */
+    @ExceptionHandler(ChangeSequenceExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleChangeSequenceExpired(ChangeSequenceExpiredException e) {
+        log.warn("Change stream resume rejected: {}", e.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.GONE.value(),
+                "Change Sequence Expired",
+                e.getMessage(),
+                LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.GONE).body(error);
+    }
+
     /**
      * Handles validation exceptions.
      */
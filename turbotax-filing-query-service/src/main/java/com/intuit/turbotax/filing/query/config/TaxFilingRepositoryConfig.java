@@ -1,92 +1,52 @@
 package com.intuit.turbotax.filing.query.config;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
-
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 
-import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
-import com.intuit.turbotax.api.v1.common.model.PaymentMethod;
-import com.intuit.turbotax.filing.query.repository.TaxFilingEntity;
-import com.intuit.turbotax.filing.query.repository.TaxFilingRepository;
+import com.intuit.turbotax.filing.query.changes.FilingChangeLog;
+import com.intuit.turbotax.filing.query.loader.FilingDataLoader;
+import com.intuit.turbotax.filing.query.repository.TaxYearSegmentService;
+import com.intuit.turbotax.filing.query.service.FilingQueryServiceImpl;
+import com.intuit.turbotax.filing.query.service.FilingResponseCache;
+import com.intuit.turbotax.filing.query.snapshot.FilingSnapshotService;
 
 /**
- * Configuration for initializing sample data.
- * In a production environment, this would load data from external sources.
+ * Configuration for loading filing data at startup.
+ * Filings are restored from the binary snapshot when one taken from the current version
+ * of {@code turbotax.filing.data.source} is available, and otherwise streamed from that
+ * source into the repository. Cache eviction and the change log then start following
+ * writes, and prior tax years are frozen into compact segments when {@code turbotax.filing.segments.enabled=true}.
  */
 @Configuration
 public class TaxFilingRepositoryConfig {
 
     /**
-     * Initializes the repository with sample tax filing data.
-     * This is executed on application startup.
+     * Restores or bulk loads the filing data.
+     * Runs as a CommandLineRunner so Spring Boot keeps the readiness state at
+     * REFUSING_TRAFFIC until the load completes, while liveness is already reported.
      */
     @Bean
-    public CommandLineRunner initializeData(TaxFilingRepository repository) {
+    public CommandLineRunner initializeData(FilingDataLoader loader, ResourceLoader resourceLoader,
+            FilingQueryProperties properties, FilingQueryServiceImpl queryService,
+            ObjectProvider<FilingSnapshotService> snapshots, ObjectProvider<FilingChangeLog> changeLogs,
+            ObjectProvider<FilingResponseCache> responseCaches, ObjectProvider<TaxYearSegmentService> segments) {
         return args -> {
-            initializeSampleData(repository);
+            FilingSnapshotService snapshotService = snapshots.getIfAvailable();
+            Resource source = resourceLoader.getResource(properties.getData().getSource());
+            if (snapshotService == null || !snapshotService.restore(source)) {
+                loader.load(source);
+                if (snapshotService != null) {
+                    snapshotService.markRepositoryComplete();
+                }
+            }
+            queryService.repositoryLoaded();
+            responseCaches.ifAvailable(FilingResponseCache::repositoryLoaded);
+            changeLogs.ifAvailable(FilingChangeLog::repositoryLoaded);
+            segments.ifAvailable(TaxYearSegmentService::repositoryLoaded);
         };
     }
-
-    private void initializeSampleData(TaxFilingRepository repository) {
-        // Federal filings
-        TaxFilingEntity federal1 = createFiling(202410001, "user123", Jurisdiction.FEDERAL, 2024,
-                LocalDate.of(2024, 4, 15), BigDecimal.valueOf(2500.00), "IRS-TRACK-202410001",
-                PaymentMethod.ACH, true);
-
-        TaxFilingEntity federal2 = createFiling(202410003, "user456", Jurisdiction.FEDERAL, 2024,
-                LocalDate.of(2024, 3, 30), BigDecimal.valueOf(4200.75), "IRS-TRACK-202410003",
-                PaymentMethod.ACH, true);
-
-        TaxFilingEntity federal3 = createFiling(202410005, "user789", Jurisdiction.FEDERAL, 2024,
-                LocalDate.of(2024, 4, 10), BigDecimal.valueOf(1850.50), "IRS-TRACK-202410005",
-                PaymentMethod.CHECK, false);
-
-        // State filings
-        TaxFilingEntity state1 = createFiling(202410002, "user123", Jurisdiction.STATE_CA, 2024,
-                LocalDate.of(2024, 4, 15), BigDecimal.valueOf(350.00), "CA-TRACK-202410002",
-                PaymentMethod.CHECK, false);
-
-        TaxFilingEntity state2 = createFiling(202410004, "user456", Jurisdiction.STATE_NY, 2024,
-                LocalDate.of(2024, 3, 30), BigDecimal.valueOf(650.25), "NY-TRACK-202410004",
-                PaymentMethod.CHECK, false);
-
-        TaxFilingEntity state3 = createFiling(202410006, "user789", Jurisdiction.STATE_NJ, 2024,
-                LocalDate.of(2024, 4, 10), BigDecimal.valueOf(0.00), "NJ-TRACK-202410006",
-                PaymentMethod.CHECK, false);
-
-        // Save all sample data
-        saveFiling(repository, federal1);
-        saveFiling(repository, federal2);
-        saveFiling(repository, federal3);
-        saveFiling(repository, state1);
-        saveFiling(repository, state2);
-        saveFiling(repository, state3);
-
-        System.out.println("Initialized 6 tax filing records in memory");
-    }
-
-    private TaxFilingEntity createFiling(int filingId, String userId, Jurisdiction jurisdiction,
-            int taxYear, LocalDate filingDate, BigDecimal refundAmount, String trackingId,
-            PaymentMethod disbursementMethod, boolean isPaperless) {
-        return TaxFilingEntity.builder()
-                .filingId(filingId)
-                .userId(userId)
-                .jurisdiction(jurisdiction)
-                .taxYear(taxYear)
-                .filingDate(filingDate)
-                .refundAmount(refundAmount)
-                .trackingId(trackingId)
-                .disbursementMethod(disbursementMethod)
-                .isPaperless(isPaperless)
-                .build();
-    }
-
-    private void saveFiling(TaxFilingRepository repository, TaxFilingEntity filing) {
-        if (repository instanceof com.intuit.turbotax.filing.query.repository.TaxFilingRepositoryImpl impl) {
-            impl.save(filing);
-        }
-    }
-}
\ No newline at end of file
+}
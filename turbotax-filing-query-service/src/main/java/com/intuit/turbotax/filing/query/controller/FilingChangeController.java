@@ -0,0 +1,78 @@
+package com.intuit.turbotax.filing.query.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.intuit.turbotax.api.v1.filing.model.FilingChangeEvent;
+import com.intuit.turbotax.filing.query.changes.FilingChangeLog;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * REST controller for the filing change-data-capture stream.
+ * Consumers follow it to invalidate or refresh cached filings for the affected users
+ * instead of relying on TTLs, and resume from the last sequence number they processed.
+ * A 410 response means the requested events are no longer retained and the consumer
+ * must resynchronize.
+ */
+@RestController
+@RequestMapping("/api/v1/filings/changes")
+@ConditionalOnProperty(prefix = "turbotax.filing.changes", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class FilingChangeController {
+
+    private static final Logger log = LoggerFactory.getLogger(FilingChangeController.class);
+
+    private static final String EVENT_NAME = "filing-change";
+
+    private final FilingChangeLog changeLog;
+
+    public FilingChangeController(FilingChangeLog changeLog) {
+        this.changeLog = changeLog;
+    }
+
+    /**
+     * Streams filing changes as Server-Sent Events. Each event id is its sequence number,
+     * so browsers and SSE clients resume automatically through the Last-Event-ID header.
+     *
+     * @param after       resume after this sequence number; defaults to new changes only
+     * @param lastEventId sequence number sent by a reconnecting SSE client; takes precedence over after
+     * @return infinite stream of change events
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<FilingChangeEvent>> streamChangeEvents(
+            @RequestParam(required = false) Long after,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        long afterSequence = resumePoint(lastEventId != null ? lastEventId : after);
+
+        return changeLog.eventsAfter(afterSequence)
+                .map(event -> ServerSentEvent.builder(event)
+                        .id(Long.toString(event.sequence()))
+                        .event(EVENT_NAME)
+                        .build());
+    }
+
+    /**
+     * Streams filing changes as NDJSON, one event per line.
+     *
+     * @param after resume after this sequence number; defaults to new changes only
+     * @return infinite stream of change events
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<FilingChangeEvent> streamChanges(@RequestParam(required = false) Long after) {
+        return changeLog.eventsAfter(resumePoint(after));
+    }
+
+    private long resumePoint(Long after) {
+        long afterSequence = after != null ? after : changeLog.lastSequence();
+        log.debug("Received change stream request after sequence {}", afterSequence);
+        return afterSequence;
+    }
+}
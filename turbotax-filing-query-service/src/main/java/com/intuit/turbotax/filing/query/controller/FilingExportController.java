@@ -0,0 +1,52 @@
+package com.intuit.turbotax.filing.query.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.filing.model.TaxFiling;
+import com.intuit.turbotax.filing.query.service.FilingQueryService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * REST controller for bulk export of tax filings.
+ * Streams filings as NDJSON, one record per line, for ML training sets and reconciliation.
+ */
+@RestController
+@RequestMapping("/api/v1/filings/export")
+public class FilingExportController {
+
+    private static final Logger log = LoggerFactory.getLogger(FilingExportController.class);
+
+    private final FilingQueryService filingQueryService;
+
+    public FilingExportController(FilingQueryService filingQueryService) {
+        this.filingQueryService = filingQueryService;
+    }
+
+    /**
+     * Streams all filings matching the optional filters.
+     * The repository is iterated on demand: records are only read as fast as the client
+     * consumes them, and the underlying stream is closed on completion or cancellation.
+     *
+     * @param taxYear      optional tax year filter
+     * @param jurisdiction optional jurisdiction filter
+     * @return NDJSON stream of tax filings
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaxFiling> exportFilings(
+            @RequestParam(required = false) Integer taxYear,
+            @RequestParam(required = false) Jurisdiction jurisdiction) {
+        log.debug("Received export request for taxYear={}, jurisdiction={}", taxYear, jurisdiction);
+
+        return Flux.fromStream(() -> filingQueryService.exportFilings(taxYear, jurisdiction))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
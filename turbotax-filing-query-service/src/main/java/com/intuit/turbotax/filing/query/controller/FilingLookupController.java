@@ -0,0 +1,60 @@
+package com.intuit.turbotax.filing.query.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.intuit.turbotax.api.v1.filing.model.TaxFiling;
+import com.intuit.turbotax.filing.query.service.FilingQueryService;
+
+/**
+ * REST controller for looking up filings directly by filing ID, for services that
+ * already know the filings they need and do not want a user's whole filing list.
+ */
+@RestController
+@RequestMapping("/api/v1/filings/by-id")
+public class FilingLookupController {
+
+    private static final Logger log = LoggerFactory.getLogger(FilingLookupController.class);
+
+    private final FilingQueryService filingQueryService;
+
+    public FilingLookupController(FilingQueryService filingQueryService) {
+        this.filingQueryService = filingQueryService;
+    }
+
+    /**
+     * Retrieves a filing by filing ID.
+     *
+     * @param filingId the filing ID
+     * @return the matching filing
+     */
+    @GetMapping(path = "/{filingId}", produces = "application/json")
+    public ResponseEntity<TaxFiling> getFiling(@PathVariable int filingId) {
+        log.debug("Received request to get filing for filingId={}", filingId);
+
+        return ResponseEntity.ok(filingQueryService.getFiling(filingId));
+    }
+
+    /**
+     * Retrieves several filings by filing ID in a single request.
+     *
+     * @param filingIds JSON array of filing IDs
+     * @return filings keyed by filing ID, in request order; unknown IDs are omitted
+     */
+    @PostMapping(path = "/batch", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<Map<Integer, TaxFiling>> getFilingsByIds(@RequestBody List<Integer> filingIds) {
+        log.debug("Received multi-get request for {} filing IDs", filingIds.size());
+
+        return ResponseEntity.ok(filingQueryService.getFilingsByIds(filingIds));
+    }
+}
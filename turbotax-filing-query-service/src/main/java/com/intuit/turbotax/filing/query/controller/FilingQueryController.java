@@ -1,16 +1,22 @@
 package com.intuit.turbotax.filing.query.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.intuit.turbotax.api.v1.filing.model.TaxFiling;
+import com.intuit.turbotax.api.v1.filing.model.TaxFilingPage;
 import com.intuit.turbotax.filing.query.service.FilingQueryService;
 
 /**
@@ -30,17 +36,55 @@ public class FilingQueryController {
     }
 
     /**
-     * Retrieves all tax filings for a user.
+     * Retrieves a user's most recent tax filings, up to the configured per-user limit.
+     * The body is already-encoded JSON, which the byte array encoder wraps in a Netty
+     * buffer as-is instead of re-serializing the filings on every request.
      *
      * @param userId the user ID from the X-USER-ID header
-     * @return list of tax filings
+     * @return JSON array of tax filings
      */
     @GetMapping(produces = "application/json")
-    public ResponseEntity<List<TaxFiling>> getFilings(
+    public ResponseEntity<byte[]> getFilings(
             @RequestHeader("X-USER-ID") String userId) {
         log.debug("Received request to get filings for userId={}", userId);
 
-        List<TaxFiling> filings = filingQueryService.getFilings(userId);
-        return ResponseEntity.ok(filings);
+        byte[] filings = filingQueryService.getFilingsJson(userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(filings);
+    }
+
+    /**
+     * Retrieves one page of a user's tax filings, newest tax year and filing date first.
+     *
+     * @param userId the user ID from the X-USER-ID header
+     * @param cursor nextCursor from the previous page
+     * @param limit  page size, at most turbotax.filing.validation.max-filings-per-user
+     * @return one page of the user's filings
+     */
+    @GetMapping(path = "/page", produces = "application/json")
+    public ResponseEntity<TaxFilingPage> getFilingsPage(
+            @RequestHeader("X-USER-ID") String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "${turbotax.filing.validation.max-filings-per-user:10}") int limit) {
+        log.debug("Received request to get a page of filings for userId={}, limit={}", userId, limit);
+
+        TaxFilingPage page = filingQueryService.getFilingsPage(userId, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Retrieves the most recent tax filings for several users in a single request.
+     *
+     * @param userIds JSON array of user IDs
+     * @return filings grouped by user ID, in request order
+     */
+    @PostMapping(path = "/batch", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<Map<String, List<TaxFiling>>> getFilingsForUsers(
+            @RequestBody List<String> userIds) {
+        log.debug("Received batch request to get filings for {} users", userIds.size());
+
+        Map<String, List<TaxFiling>> filingsByUser = filingQueryService.getFilingsForUsers(userIds);
+        return ResponseEntity.ok(filingsByUser);
     }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.intuit.turbotax.filing.query.controller;
+
+import java.time.LocalDate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.common.model.PaymentMethod;
+import com.intuit.turbotax.api.v1.filing.model.TaxFilingPage;
+import com.intuit.turbotax.filing.query.service.FilingQueryService;
+
+/**
+ * REST controller for operational and analytics range queries over filings.
+ * Queries run against sorted filing date and tax year indexes and are paged with
+ * opaque keyset cursors, so they never scan the per-user store.
+ */
+@RestController
+@RequestMapping("/api/v1/filings/range")
+public class FilingRangeController {
+
+    private static final Logger log = LoggerFactory.getLogger(FilingRangeController.class);
+
+    private final FilingQueryService filingQueryService;
+
+    public FilingRangeController(FilingQueryService filingQueryService) {
+        this.filingQueryService = filingQueryService;
+    }
+
+    /**
+     * Retrieves filings submitted between two dates.
+     *
+     * @param from               earliest filing date (ISO yyyy-MM-dd), inclusive
+     * @param to                 latest filing date (ISO yyyy-MM-dd), inclusive
+     * @param jurisdiction       optional jurisdiction filter
+     * @param disbursementMethod optional payment method filter
+     * @param cursor             nextCursor from the previous page
+     * @param limit              page size
+     * @return one page of filings ordered by filing date
+     */
+    @GetMapping(path = "/filing-date", produces = "application/json")
+    public ResponseEntity<TaxFilingPage> getFilingsByFilingDate(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Jurisdiction jurisdiction,
+            @RequestParam(required = false) PaymentMethod disbursementMethod,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        log.debug("Received filing date range request from={}, to={}", from, to);
+
+        TaxFilingPage page = filingQueryService.findFilingsByFilingDate(from, to, jurisdiction,
+                disbursementMethod, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Retrieves filings for a range of tax years.
+     *
+     * @param from               earliest tax year, inclusive
+     * @param to                 latest tax year, inclusive
+     * @param jurisdiction       optional jurisdiction filter
+     * @param disbursementMethod optional payment method filter
+     * @param cursor             nextCursor from the previous page
+     * @param limit              page size
+     * @return one page of filings ordered by tax year
+     */
+    @GetMapping(path = "/tax-year", produces = "application/json")
+    public ResponseEntity<TaxFilingPage> getFilingsByTaxYear(
+            @RequestParam int from,
+            @RequestParam int to,
+            @RequestParam(required = false) Jurisdiction jurisdiction,
+            @RequestParam(required = false) PaymentMethod disbursementMethod,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        log.debug("Received tax year range request from={}, to={}", from, to);
+
+        TaxFilingPage page = filingQueryService.findFilingsByTaxYear(from, to, jurisdiction,
+                disbursementMethod, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+}
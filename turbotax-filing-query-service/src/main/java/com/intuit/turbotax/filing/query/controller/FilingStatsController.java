@@ -0,0 +1,35 @@
+package com.intuit.turbotax.filing.query.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.intuit.turbotax.filing.query.repository.FilingStatistics;
+import com.intuit.turbotax.filing.query.service.FilingQueryService;
+
+/**
+ * REST controller exposing running counts of the stored filings.
+ * The counts are maintained by the repository on every write, so requests are
+ * cheap enough for dashboards and probes to poll.
+ */
+@RestController
+@RequestMapping("/api/v1/filings/stats")
+public class FilingStatsController {
+
+    private final FilingQueryService filingQueryService;
+
+    public FilingStatsController(FilingQueryService filingQueryService) {
+        this.filingQueryService = filingQueryService;
+    }
+
+    /**
+     * Retrieves filing counts.
+     *
+     * @return total filings, distinct users, and filings per jurisdiction and tax year
+     */
+    @GetMapping(produces = "application/json")
+    public ResponseEntity<FilingStatistics> getStatistics() {
+        return ResponseEntity.ok(filingQueryService.getStatistics());
+    }
+}
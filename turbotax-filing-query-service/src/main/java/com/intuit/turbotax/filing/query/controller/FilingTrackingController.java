@@ -0,0 +1,61 @@
+package com.intuit.turbotax.filing.query.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.intuit.turbotax.api.v1.filing.model.TaxFiling;
+import com.intuit.turbotax.filing.query.service.FilingQueryService;
+
+/**
+ * REST controller for looking up filings by the trackingId assigned by the IRS or a
+ * state agency, for support tools and bank reconciliation jobs that have no userId.
+ * Lookups are served from a trackingId hash index.
+ */
+@RestController
+@RequestMapping("/api/v1/filings/tracking")
+public class FilingTrackingController {
+
+    private static final Logger log = LoggerFactory.getLogger(FilingTrackingController.class);
+
+    private final FilingQueryService filingQueryService;
+
+    public FilingTrackingController(FilingQueryService filingQueryService) {
+        this.filingQueryService = filingQueryService;
+    }
+
+    /**
+     * Retrieves the filing with a trackingId.
+     *
+     * @param trackingId the trackingId, such as IRS-TRACK-202410001
+     * @return the matching filing
+     */
+    @GetMapping(path = "/{trackingId}", produces = "application/json")
+    public ResponseEntity<TaxFiling> getFilingByTrackingId(@PathVariable String trackingId) {
+        log.debug("Received request to get filing for trackingId={}", trackingId);
+
+        return ResponseEntity.ok(filingQueryService.getFilingByTrackingId(trackingId));
+    }
+
+    /**
+     * Retrieves filings for several trackingIds in a single request.
+     *
+     * @param trackingIds JSON array of trackingIds
+     * @return filings keyed by trackingId, in request order; unknown trackingIds are omitted
+     */
+    @PostMapping(path = "/batch", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<Map<String, TaxFiling>> getFilingsByTrackingIds(@RequestBody List<String> trackingIds) {
+        log.debug("Received batch request to get filings for {} trackingIds", trackingIds.size());
+
+        return ResponseEntity.ok(filingQueryService.getFilingsByTrackingIds(trackingIds));
+    }
+}
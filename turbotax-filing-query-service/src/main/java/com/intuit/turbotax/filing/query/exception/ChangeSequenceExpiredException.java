@@ -0,0 +1,13 @@
+package com.intuit.turbotax.filing.query.exception;
+
+/**
+ * Exception thrown when a change stream cannot resume from the requested sequence
+ * number because those events are no longer retained.
+ */
+public class ChangeSequenceExpiredException extends RuntimeException {
+
+    public ChangeSequenceExpiredException(long sequence, long oldestSequence, long lastSequence) {
+        super("Cannot resume after sequence " + sequence + "; retained events are "
+                + oldestSequence + " to " + lastSequence);
+    }
+}
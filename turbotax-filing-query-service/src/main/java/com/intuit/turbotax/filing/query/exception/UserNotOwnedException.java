@@ -0,0 +1,12 @@
+package com.intuit.turbotax.filing.query.exception;
+
+/**
+ * Exception thrown when a request names a user that belongs to another
+ * filing query instance's partition.
+ */
+public class UserNotOwnedException extends RuntimeException {
+
+    public UserNotOwnedException(String userId, String ownerInstanceId) {
+        super("User " + userId + " is served by instance " + ownerInstanceId);
+    }
+}
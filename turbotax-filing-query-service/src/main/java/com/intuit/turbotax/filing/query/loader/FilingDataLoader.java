@@ -0,0 +1,392 @@
+package com.intuit.turbotax.filing.query.loader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.common.model.PaymentMethod;
+import com.intuit.turbotax.filing.query.config.FilingQueryProperties;
+import com.intuit.turbotax.filing.query.partition.UserPartition;
+import com.intuit.turbotax.filing.query.repository.TaxFilingEntity;
+import com.intuit.turbotax.filing.query.repository.TaxFilingRepository;
+
+/**
+ * Streaming bulk loader for filing data files.
+ *
+ * <p>Accepts either a JSON array of filing objects or NDJSON. A single reader thread
+ * splits the byte stream into top-level objects by tracking brace depth and string
+ * state, which runs at memory-copy speed. Worker threads then tokenize each batch with
+ * Jackson's streaming {@link JsonParser} and hand it to
+ * {@link TaxFilingRepository#saveAll}. The number of batches in flight is bounded, so
+ * memory stays flat regardless of file size. Filings for users outside this instance's
+ * {@link UserPartition} are skipped.
+ *
+ * <p>Batches are parsed in parallel but stored in the order they were read, so when a
+ * filingId appears more than once in the input, its last record wins.
+ */
+@Component
+public class FilingDataLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(FilingDataLoader.class);
+
+    private static final int READ_CHUNK_BYTES = 1 << 20;
+    private static final int MAX_LOGGED_REJECTS = 10;
+
+    private final TaxFilingRepository repository;
+    private final FilingQueryProperties.DataSource settings;
+    private final UserPartition partition;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public FilingDataLoader(TaxFilingRepository repository, FilingQueryProperties properties,
+            UserPartition partition) {
+        this.repository = repository;
+        this.settings = properties.getData();
+        this.partition = partition;
+    }
+
+    /**
+     * Summary of a completed load. Skipped filings belong to other instances' partitions.
+     */
+    public record LoadResult(long loaded, long rejected, long skipped, Duration elapsed) {
+    }
+
+    /**
+     * Streams every filing in the resource into the repository and blocks until all
+     * batches are stored.
+     *
+     * @param resource the JSON array or NDJSON resource to load
+     * @return counts of loaded and rejected filings
+     * @throws IOException if the resource cannot be read or is not well-formed
+     */
+    public LoadResult load(Resource resource) throws IOException {
+        long started = System.nanoTime();
+        if (!resource.exists()) {
+            log.warn("Filing data source {} does not exist; starting with an empty store", resource.getDescription());
+            return new LoadResult(0, 0, 0, Duration.ZERO);
+        }
+
+        int parallelism = Math.max(1, settings.getParallelism());
+        int batchSize = Math.max(1, settings.getBatchSize());
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, new LoaderThreadFactory());
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        Progress progress = new Progress(started, Math.max(1, settings.getProgressInterval()));
+        AtomicLong batches = new AtomicLong();
+
+        log.info("Loading filings from {} with {} workers, batch size {}", resource.getDescription(), parallelism, batchSize);
+        IOException readFailure = null;
+        try (InputStream in = resource.getInputStream()) {
+            RecordSplitter splitter = new RecordSplitter(batchSize, batch -> {
+                inFlight.acquireUninterruptibly();
+                long sequence = batches.getAndIncrement();
+                workers.execute(() -> {
+                    try {
+                        storeBatch(batch, sequence, progress);
+                    } catch (RuntimeException e) {
+                        progress.failure.compareAndSet(null, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            });
+            byte[] chunk = new byte[READ_CHUNK_BYTES];
+            int read;
+            while ((read = in.read(chunk)) != -1 && progress.failure.get() == null) {
+                splitter.accept(chunk, read);
+            }
+            // Reading stops mid-record once a batch has failed, so the input only looks truncated
+            if (progress.failure.get() == null) {
+                splitter.finish();
+            }
+        } catch (IOException e) {
+            readFailure = e;
+        } finally {
+            workers.shutdown();
+            awaitQuietly(workers);
+        }
+
+        // A failed batch is reported ahead of any read error, which it may have caused
+        if (progress.failure.get() != null) {
+            IllegalStateException failure = new IllegalStateException("Filing data load failed", progress.failure.get());
+            if (readFailure != null) {
+                failure.addSuppressed(readFailure);
+            }
+            throw failure;
+        }
+        if (readFailure != null) {
+            throw readFailure;
+        }
+        LoadResult result = new LoadResult(progress.loaded.get(), progress.rejected.get(),
+                progress.skipped.get(), Duration.ofNanos(System.nanoTime() - started));
+        log.info("Loaded {} filings ({} rejected, {} in other partitions) from {} in {} ms", result.loaded(),
+                result.rejected(), result.skipped(), resource.getDescription(), result.elapsed().toMillis());
+        return result;
+    }
+
+    private void storeBatch(RecordBatch batch, long sequence, Progress progress) {
+        List<TaxFilingEntity> filings = new ArrayList<>(batch.count);
+        for (int i = 0; i < batch.count; i++) {
+            int start = batch.starts[i];
+            int length = batch.starts[i + 1] - start;
+            try {
+                TaxFilingEntity filing = parseFiling(batch.data, start, length);
+                if (partition.owns(filing.getUserId())) {
+                    filings.add(filing);
+                } else {
+                    progress.skipped.incrementAndGet();
+                }
+            } catch (IOException | RuntimeException e) {
+                long rejected = progress.rejected.incrementAndGet();
+                if (rejected <= MAX_LOGGED_REJECTS) {
+                    log.warn("Rejected filing record: {}", e.getMessage());
+                }
+            }
+        }
+        progress.awaitTurn(sequence);
+        try {
+            repository.saveAll(filings);
+            progress.add(filings.size());
+        } finally {
+            progress.turnDone(sequence);
+        }
+    }
+
+    TaxFilingEntity parseFiling(byte[] data, int offset, int length) throws IOException {
+        TaxFilingEntity.TaxFilingEntityBuilder builder = TaxFilingEntity.builder();
+        boolean hasFilingId = false;
+        String userId = null;
+        try (JsonParser parser = jsonFactory.createParser(data, offset, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Filing record is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "filingId" -> {
+                        builder.filingId(parser.getIntValue());
+                        hasFilingId = true;
+                    }
+                    case "userId" -> userId = parser.getText();
+                    case "trackingId" -> builder.trackingId(parser.getText());
+                    case "jurisdiction" -> builder.jurisdiction(Jurisdiction.valueOf(parser.getText()));
+                    case "taxYear" -> builder.taxYear(parser.getValueAsInt());
+                    case "filingDate" -> builder.filingDate(LocalDate.parse(parser.getText()));
+                    case "refundAmount" -> builder.refundAmount(value == JsonToken.VALUE_STRING
+                            ? new BigDecimal(parser.getText())
+                            : parser.getDecimalValue());
+                    case "disbursementMethod" -> builder.disbursementMethod(PaymentMethod.valueOf(parser.getText()));
+                    case "isPaperless", "paperless" -> builder.isPaperless(parser.getValueAsBoolean());
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        if (!hasFilingId || userId == null || userId.isBlank()) {
+            throw new IOException("Filing record is missing filingId or userId");
+        }
+        return builder.userId(userId).build();
+    }
+
+    private static void awaitQuietly(ExecutorService workers) {
+        try {
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Load counters shared by the worker threads, and the turn of the next batch to store.
+     * Workers take batches in the order they were read, so the batch whose turn it is has
+     * always been started and no worker waits on a batch still queued behind it.
+     */
+    private static final class Progress {
+        private final long started;
+        private final long interval;
+        private final AtomicLong loaded = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private long nextToStore;
+
+        Progress(long started, long interval) {
+            this.started = started;
+            this.interval = interval;
+        }
+
+        void add(int count) {
+            long before = loaded.getAndAdd(count);
+            long after = before + count;
+            if (before / interval != after / interval) {
+                double seconds = Math.max(1e-9, (System.nanoTime() - started) / 1e9);
+                log.info("Loaded {} filings ({} filings/s)", after, Math.round(after / seconds));
+            }
+        }
+
+        synchronized void awaitTurn(long sequence) {
+            try {
+                while (nextToStore != sequence) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to store filing batch " + sequence, e);
+            }
+        }
+
+        synchronized void turnDone(long sequence) {
+            nextToStore = sequence + 1;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Raw bytes of consecutive filing objects; record i spans starts[i] to starts[i + 1].
+     */
+    static final class RecordBatch {
+        byte[] data;
+        int[] starts;
+        int count;
+        int size;
+
+        RecordBatch(int batchSize) {
+            data = new byte[Math.max(1024, batchSize * 256)];
+            starts = new int[batchSize + 1];
+        }
+
+        void append(byte[] source, int from, int to) {
+            int length = to - from;
+            if (size + length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, size + length));
+            }
+            System.arraycopy(source, from, data, size, length);
+            size += length;
+        }
+
+        void endRecord() {
+            count++;
+            starts[count] = size;
+        }
+    }
+
+    /**
+     * Splits a byte stream into top-level JSON objects. Array brackets, commas and
+     * whitespace between objects are skipped, so JSON arrays and NDJSON are both accepted.
+     */
+    static final class RecordSplitter {
+
+        interface BatchSink {
+            void accept(RecordBatch batch);
+        }
+
+        private final int batchSize;
+        private final BatchSink sink;
+        private RecordBatch batch;
+        private int depth;
+        private boolean inString;
+        private boolean escaped;
+        private long offset;
+
+        RecordSplitter(int batchSize, BatchSink sink) {
+            this.batchSize = batchSize;
+            this.sink = sink;
+            this.batch = new RecordBatch(batchSize);
+        }
+
+        void accept(byte[] chunk, int length) throws IOException {
+            int copyFrom = depth > 0 ? 0 : -1;
+            for (int i = 0; i < length; i++) {
+                byte b = chunk[i];
+                if (depth == 0) {
+                    if (b == '{') {
+                        depth = 1;
+                        copyFrom = i;
+                    } else if (b != '[' && b != ']' && b != ',' && !Character.isWhitespace(b)
+                            && !(offset + i < 3 && isByteOrderMark(b))) {
+                        throw new IOException("Unexpected character '" + (char) b + "' at byte " + (offset + i));
+                    }
+                    continue;
+                }
+                if (inString) {
+                    if (escaped) {
+                        escaped = false;
+                    } else if (b == '\\') {
+                        escaped = true;
+                    } else if (b == '"') {
+                        inString = false;
+                    }
+                } else if (b == '"') {
+                    inString = true;
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if ((b == '}' || b == ']') && --depth == 0) {
+                    batch.append(chunk, copyFrom, i + 1);
+                    batch.endRecord();
+                    copyFrom = -1;
+                    if (batch.count == batchSize) {
+                        flush();
+                    }
+                }
+            }
+            if (copyFrom >= 0) {
+                batch.append(chunk, copyFrom, length);
+            }
+            offset += length;
+        }
+
+        private static boolean isByteOrderMark(byte b) {
+            int unsigned = b & 0xFF;
+            return unsigned == 0xEF || unsigned == 0xBB || unsigned == 0xBF;
+        }
+
+        void finish() throws IOException {
+            if (depth != 0) {
+                throw new IOException("Truncated filing record at end of input");
+            }
+            if (batch.count > 0) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            sink.accept(batch);
+            batch = new RecordBatch(batchSize);
+        }
+    }
+
+    private static final class LoaderThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "filing-loader-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.intuit.turbotax.filing.query.partition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.intuit.turbotax.api.v1.common.routing.ConsistentHashRing;
+import com.intuit.turbotax.filing.query.config.FilingQueryProperties;
+
+/**
+ * The subset of users served by this instance.
+ *
+ * <p>With {@code turbotax.filing.partition.enabled=true}, userIds are assigned to the
+ * configured instances by a {@link ConsistentHashRing}, and this instance only loads and
+ * serves the users it owns. Clients build the same ring to route each userId to its owner.
+ * When partitioning is disabled this instance owns every user.
+ */
+@Component
+public class UserPartition {
+
+    private static final Logger log = LoggerFactory.getLogger(UserPartition.class);
+
+    private final String instanceId;
+    private final ConsistentHashRing ring;
+
+    public UserPartition(FilingQueryProperties properties) {
+        FilingQueryProperties.Partition settings = properties.getPartition();
+        if (!settings.isEnabled()) {
+            this.instanceId = null;
+            this.ring = null;
+            return;
+        }
+        if (!settings.getInstances().contains(settings.getInstanceId())) {
+            throw new IllegalStateException("turbotax.filing.partition.instance-id '" + settings.getInstanceId()
+                    + "' is not one of the configured instances " + settings.getInstances());
+        }
+        this.instanceId = settings.getInstanceId();
+        this.ring = new ConsistentHashRing(settings.getInstances(), settings.getVirtualNodes());
+        log.info("Serving user partition {} of {} instances", instanceId, ring.nodes().size());
+    }
+
+    /**
+     * Returns whether this instance owns a user.
+     *
+     * @param userId the user to check
+     * @return true if the user's filings are stored on this instance
+     */
+    public boolean owns(String userId) {
+        return ring == null || instanceId.equals(ring.nodeFor(userId));
+    }
+
+    /**
+     * Returns the instance that owns a user, or null when partitioning is disabled.
+     *
+     * @param userId the user to locate
+     * @return the owning instance name
+     */
+    public String ownerOf(String userId) {
+        return ring == null ? null : ring.nodeFor(userId);
+    }
+}
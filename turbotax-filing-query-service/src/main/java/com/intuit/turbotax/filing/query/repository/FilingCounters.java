@@ -0,0 +1,89 @@
+package com.intuit.turbotax.filing.query.repository;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+
+/**
+ * Running filing counts maintained by the repositories on every write, so
+ * {@link FilingStatistics} can be reported without scanning the store.
+ * {@link LongAdder} cells keep concurrent writers from contending on one counter.
+ */
+final class FilingCounters {
+
+        private static final Jurisdiction[] JURISDICTIONS = Jurisdiction.values();
+
+        private final LongAdder total = new LongAdder();
+        private final LongAdder distinctUsers = new LongAdder();
+        private final LongAdder[] byJurisdiction = new LongAdder[JURISDICTIONS.length];
+        private final Map<Integer, LongAdder> byTaxYear = new ConcurrentHashMap<>();
+
+        FilingCounters() {
+                for (int i = 0; i < byJurisdiction.length; i++) {
+                        byJurisdiction[i] = new LongAdder();
+                }
+        }
+
+        void added(TaxFilingEntity filing) {
+                adjust(filing, 1);
+        }
+
+        void removed(TaxFilingEntity filing) {
+                adjust(filing, -1);
+        }
+
+        void userAdded() {
+                distinctUsers.increment();
+        }
+
+        void userRemoved() {
+                distinctUsers.decrement();
+        }
+
+        /**
+         * Replaces the distinct user count after a recount; callers must exclude
+         * concurrent userAdded and userRemoved calls.
+         */
+        void resetDistinctUsers(long count) {
+                distinctUsers.reset();
+                distinctUsers.add(count);
+        }
+
+        /**
+         * Reads the counters. Each value is exact once writers are quiescent; while
+         * writes are in flight the values may reflect slightly different moments.
+         */
+        FilingStatistics snapshot() {
+                Map<Jurisdiction, Long> jurisdictions = new EnumMap<>(Jurisdiction.class);
+                for (Jurisdiction jurisdiction : JURISDICTIONS) {
+                        long count = byJurisdiction[jurisdiction.ordinal()].sum();
+                        if (count > 0) {
+                                jurisdictions.put(jurisdiction, count);
+                        }
+                }
+                Map<Integer, Long> taxYears = new TreeMap<>();
+                byTaxYear.forEach((taxYear, counter) -> {
+                        long count = counter.sum();
+                        if (count > 0) {
+                                taxYears.put(taxYear, count);
+                        }
+                });
+                return new FilingStatistics(total.sum(), distinctUsers.sum(), jurisdictions, taxYears);
+        }
+
+        private void adjust(TaxFilingEntity filing, int delta) {
+                total.add(delta);
+                if (filing.getJurisdiction() != null) {
+                        byJurisdiction[filing.getJurisdiction().ordinal()].add(delta);
+                }
+                LongAdder taxYear = byTaxYear.get(filing.getTaxYear());
+                if (taxYear == null) {
+                        taxYear = byTaxYear.computeIfAbsent(filing.getTaxYear(), year -> new LongAdder());
+                }
+                taxYear.add(delta);
+        }
+}
@@ -0,0 +1,17 @@
+package com.intuit.turbotax.filing.query.repository;
+
+import java.util.Map;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+
+/**
+ * Point-in-time counts of the filings held by a {@link TaxFilingRepository}.
+ * Filings without a jurisdiction are included in the total but not in
+ * {@code filingsByJurisdiction}.
+ */
+public record FilingStatistics(
+        long totalFilings,
+        long distinctUsers,
+        Map<Jurisdiction, Long> filingsByJurisdiction,
+        Map<Integer, Long> filingsByTaxYear) {
+}
@@ -0,0 +1,303 @@
+package com.intuit.turbotax.filing.query.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.common.model.PaymentMethod;
+
+/**
+ * Immutable, array-backed store of the filings for one closed tax year.
+ *
+ * <p>Rows are held in ascending filingId order in parallel primitive columns, so a
+ * filing costs roughly 60 bytes instead of an entity object graph plus map and index
+ * nodes, and the garbage collector traces a few dozen arrays rather than millions of
+ * objects. Row order doubles as the tax year index; per-user, trackingId and filing
+ * date lookups use sorted row permutations searched in O(log n). userIds and
+ * trackingIds are stored once each in a {@link SortedStringTable}, refund amounts as
+ * a long unscaled value and a byte scale, so they read back exactly as saved, and
+ * filing dates as epoch days. {@link TaxFilingEntity} objects are only materialized
+ * when rows are read.
+ */
+final class FrozenTaxYearSegment {
+
+    static final int NO_ROW = -1;
+
+    private static final int NULL_DATE = Integer.MIN_VALUE;
+    private static final byte NULL_SCALE = Byte.MIN_VALUE;
+    private static final byte NULL_ENUM = -1;
+
+    private static final Jurisdiction[] JURISDICTIONS = Jurisdiction.values();
+    private static final PaymentMethod[] PAYMENT_METHODS = PaymentMethod.values();
+
+    private final int taxYear;
+
+    private final int[] filingIds;
+    private final int[] userCodes;
+    private final int[] trackingCodes;          // NO_ROW when the filing has no trackingId
+    private final byte[] jurisdictions;
+    private final int[] filingDates;
+    private final long[] refundUnscaled;
+    private final byte[] refundScales;          // NULL_SCALE when the filing has no refund amount
+    private final byte[] disbursementMethods;
+    private final BitSet paperless;
+
+    private final SortedStringTable userIds;
+    private final int[] userRowStarts;          // per user code: first index into rowsByUser, plus an end sentinel
+    private final int[] rowsByUser;
+    private final SortedStringTable trackingIds;
+    private final int[] rowByTrackingCode;      // highest filingId wins if a trackingId repeats
+    private final int[] rowsByFilingDate;       // dated rows ordered by (filing date, filingId)
+
+    private FrozenTaxYearSegment(int taxYear, List<TaxFilingEntity> filings) {
+        this.taxYear = taxYear;
+        int rows = filings.size();
+        filingIds = new int[rows];
+        userCodes = new int[rows];
+        trackingCodes = new int[rows];
+        jurisdictions = new byte[rows];
+        filingDates = new int[rows];
+        refundUnscaled = new long[rows];
+        refundScales = new byte[rows];
+        disbursementMethods = new byte[rows];
+        paperless = new BitSet(rows);
+
+        List<String> users = new ArrayList<>(rows);
+        List<String> trackings = new ArrayList<>(rows);
+        for (TaxFilingEntity filing : filings) {
+            users.add(filing.getUserId());
+            if (filing.getTrackingId() != null) {
+                trackings.add(filing.getTrackingId());
+            }
+        }
+        userIds = SortedStringTable.of(users);
+        trackingIds = SortedStringTable.of(trackings);
+        rowByTrackingCode = new int[trackingIds.size()];
+
+        for (int row = 0; row < rows; row++) {
+            TaxFilingEntity filing = filings.get(row);
+            filingIds[row] = filing.getFilingId();
+            userCodes[row] = userIds.indexOf(filing.getUserId());
+            if (filing.getTrackingId() == null) {
+                trackingCodes[row] = NO_ROW;
+            } else {
+                trackingCodes[row] = trackingIds.indexOf(filing.getTrackingId());
+                rowByTrackingCode[trackingCodes[row]] = row;
+            }
+            jurisdictions[row] = filing.getJurisdiction() == null
+                    ? NULL_ENUM
+                    : (byte) filing.getJurisdiction().ordinal();
+            filingDates[row] = filing.getFilingDate() == null
+                    ? NULL_DATE
+                    : Math.toIntExact(filing.getFilingDate().toEpochDay());
+            BigDecimal refund = filing.getRefundAmount();
+            if (refund == null) {
+                refundScales[row] = NULL_SCALE;
+            } else {
+                if (refund.scale() <= NULL_SCALE || refund.scale() > Byte.MAX_VALUE
+                        || refund.unscaledValue().bitLength() >= Long.SIZE) {
+                    throw new IllegalArgumentException("Refund amount " + refund + " of filing "
+                            + filing.getFilingId() + " cannot be frozen");
+                }
+                refundUnscaled[row] = refund.unscaledValue().longValue();
+                refundScales[row] = (byte) refund.scale();
+            }
+            disbursementMethods[row] = filing.getDisbursementMethod() == null
+                    ? NULL_ENUM
+                    : (byte) filing.getDisbursementMethod().ordinal();
+            paperless.set(row, filing.isPaperless());
+        }
+
+        // Counting sort keeps each user's rows in filingId order
+        userRowStarts = new int[userIds.size() + 1];
+        for (int code : userCodes) {
+            userRowStarts[code + 1]++;
+        }
+        for (int code = 1; code < userRowStarts.length; code++) {
+            userRowStarts[code] += userRowStarts[code - 1];
+        }
+        rowsByUser = new int[rows];
+        int[] next = Arrays.copyOf(userRowStarts, userIds.size());
+        for (int row = 0; row < rows; row++) {
+            rowsByUser[next[userCodes[row]]++] = row;
+        }
+
+        // Rows are already in filingId order, so (date, row) sorts like (date, filingId)
+        long[] dateKeys = IntStream.range(0, rows)
+                .filter(row -> filingDates[row] != NULL_DATE)
+                .mapToLong(row -> ((long) filingDates[row] << 32) | row)
+                .sorted()
+                .toArray();
+        rowsByFilingDate = new int[dateKeys.length];
+        for (int i = 0; i < dateKeys.length; i++) {
+            rowsByFilingDate[i] = (int) dateKeys[i];
+        }
+    }
+
+    /**
+     * Freezes the given filings, which must all belong to taxYear and have distinct filingIds.
+     *
+     * @throws IllegalArgumentException if a filing is for another tax year, or its refund
+     *         amount's unscaled value does not fit in a long or its scale in a byte
+     */
+    static FrozenTaxYearSegment of(int taxYear, List<TaxFilingEntity> filings) {
+        List<TaxFilingEntity> sorted = new ArrayList<>(filings);
+        sorted.sort(Comparator.comparingInt(TaxFilingEntity::getFilingId));
+        for (TaxFilingEntity filing : sorted) {
+            if (filing.getTaxYear() != taxYear) {
+                throw new IllegalArgumentException("Filing " + filing.getFilingId() + " is not for tax year " + taxYear);
+            }
+        }
+        return new FrozenTaxYearSegment(taxYear, sorted);
+    }
+
+    int taxYear() {
+        return taxYear;
+    }
+
+    int size() {
+        return filingIds.length;
+    }
+
+    int filingId(int row) {
+        return filingIds[row];
+    }
+
+    SortedStringTable userIds() {
+        return userIds;
+    }
+
+    /**
+     * Returns the row's index into {@link #userIds()}.
+     */
+    int userCode(int row) {
+        return userCodes[row];
+    }
+
+    /**
+     * Returns the row holding the filingId, or {@link #NO_ROW}.
+     */
+    int rowOf(int filingId) {
+        int row = Arrays.binarySearch(filingIds, filingId);
+        return row >= 0 ? row : NO_ROW;
+    }
+
+    /**
+     * Returns the row holding the trackingId, or {@link #NO_ROW}.
+     */
+    int rowOfTrackingId(String trackingId) {
+        int code = trackingIds.indexOf(trackingId);
+        return code == SortedStringTable.NOT_FOUND ? NO_ROW : rowByTrackingCode[code];
+    }
+
+    /**
+     * Returns the user's rows in filingId order.
+     */
+    IntStream rowsOf(String userId) {
+        int code = userIds.indexOf(userId);
+        if (code == SortedStringTable.NOT_FOUND) {
+            return IntStream.empty();
+        }
+        return IntStream.range(userRowStarts[code], userRowStarts[code + 1]).map(i -> rowsByUser[i]);
+    }
+
+    /**
+     * Returns every row in filingId order, which is also tax year index order.
+     */
+    IntStream rows() {
+        return IntStream.range(0, size());
+    }
+
+    /**
+     * Returns the rows whose tax year index sort key lies in the range, in index order.
+     */
+    IntStream rowsByTaxYear(long low, boolean lowInclusive, long high) {
+        return keyRange(size(), row -> row, row -> taxYearKey(row), low, lowInclusive, high);
+    }
+
+    /**
+     * Returns the rows whose filing date index sort key lies in the range, in index order.
+     */
+    IntStream rowsByFilingDate(long low, boolean lowInclusive, long high) {
+        return keyRange(rowsByFilingDate.length, i -> rowsByFilingDate[i], row -> filingDateKey(row),
+                low, lowInclusive, high);
+    }
+
+    TaxFilingEntity read(int row) {
+        byte jurisdiction = jurisdictions[row];
+        byte disbursement = disbursementMethods[row];
+        return TaxFilingEntity.builder()
+                .filingId(filingIds[row])
+                .userId(userIds.get(userCodes[row]))
+                .trackingId(trackingCodes[row] == NO_ROW ? null : trackingIds.get(trackingCodes[row]))
+                .jurisdiction(jurisdiction == NULL_ENUM ? null : JURISDICTIONS[jurisdiction])
+                .taxYear(taxYear)
+                .filingDate(filingDates[row] == NULL_DATE ? null : LocalDate.ofEpochDay(filingDates[row]))
+                .refundAmount(refundScales[row] == NULL_SCALE
+                        ? null
+                        : BigDecimal.valueOf(refundUnscaled[row], refundScales[row]))
+                .disbursementMethod(disbursement == NULL_ENUM ? null : PAYMENT_METHODS[disbursement])
+                .isPaperless(paperless.get(row))
+                .build();
+    }
+
+    /**
+     * Returns the approximate heap footprint of the segment's arrays.
+     */
+    long heapBytes() {
+        long perRow = Integer.BYTES * 6L + Byte.BYTES * 3L + Long.BYTES;
+        return perRow * size()
+                + (long) rowsByFilingDate.length * Integer.BYTES
+                + (long) userRowStarts.length * Integer.BYTES
+                + (long) rowByTrackingCode.length * Integer.BYTES
+                + paperless.size() / Byte.SIZE
+                + userIds.heapBytes()
+                + trackingIds.heapBytes();
+    }
+
+    private long taxYearKey(int row) {
+        return new IndexPosition(taxYear, filingIds[row]).sortKey();
+    }
+
+    private long filingDateKey(int row) {
+        return new IndexPosition(filingDates[row], filingIds[row]).sortKey();
+    }
+
+    /**
+     * Binary searches a sorted row permutation for the first and last entries in the
+     * key range and returns the rows in between.
+     */
+    private static IntStream keyRange(int length, IntUnaryOperator rowAt, IntToLongFunction keyOf,
+            long low, boolean lowInclusive, long high) {
+        int from = lowerBound(length, rowAt, keyOf, low, lowInclusive);
+        int to = lowerBound(length, rowAt, keyOf, high, false);
+        return from >= to ? IntStream.empty() : IntStream.range(from, to).map(rowAt);
+    }
+
+    /**
+     * Returns the first index whose key is at least (inclusive) or above (exclusive) the bound.
+     */
+    private static int lowerBound(int length, IntUnaryOperator rowAt, IntToLongFunction keyOf,
+            long bound, boolean inclusive) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            long key = keyOf.applyAsLong(rowAt.applyAsInt(mid));
+            if (key < bound || (!inclusive && key == bound)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
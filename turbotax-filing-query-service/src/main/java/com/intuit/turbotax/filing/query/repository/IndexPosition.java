@@ -0,0 +1,45 @@
+package com.intuit.turbotax.filing.query.repository;
+
+/**
+ * Position of a filing in a sorted repository index: the indexed value, such as a filing
+ * date's epoch day or a tax year, with the filingId breaking ties. Range queries resume
+ * strictly after a position, which gives stable keyset pagination.
+ */
+public record IndexPosition(int value, int filingId) {
+
+    /**
+     * Returns the position of a filing in the filing date index.
+     */
+    public static IndexPosition ofFilingDate(TaxFilingEntity filing) {
+        return new IndexPosition(Math.toIntExact(filing.getFilingDate().toEpochDay()), filing.getFilingId());
+    }
+
+    /**
+     * Returns the position of a filing in the tax year index.
+     */
+    public static IndexPosition ofTaxYear(TaxFilingEntity filing) {
+        return new IndexPosition(filing.getTaxYear(), filing.getFilingId());
+    }
+
+    /**
+     * Packs the position into a long that sorts like (value, filingId), with the value in
+     * the high 32 bits and the sign-flipped filingId in the low 32 bits.
+     */
+    public long sortKey() {
+        return ((long) value << 32) | ((filingId ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the smallest sort key for an indexed value.
+     */
+    static long lowestKey(int value) {
+        return new IndexPosition(value, Integer.MIN_VALUE).sortKey();
+    }
+
+    /**
+     * Returns the largest sort key for an indexed value.
+     */
+    static long highestKey(int value) {
+        return new IndexPosition(value, Integer.MAX_VALUE).sortKey();
+    }
+}
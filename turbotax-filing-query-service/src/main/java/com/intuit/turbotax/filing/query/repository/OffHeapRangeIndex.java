@@ -0,0 +1,199 @@
+package com.intuit.turbotax.filing.query.repository;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntToLongFunction;
+import java.util.function.LongPredicate;
+
+/**
+ * Sorted index of {@link IndexPosition#sortKey() sort keys} for range queries over an
+ * off-heap store. The keys are kept as a sorted long array outside the Java heap; keys
+ * written since then collect in an on-heap buffer that is merged in once it holds more
+ * than a sixteenth of them, which keeps merging at a constant amortized cost per write.
+ *
+ * <p>Keys are never removed on write. A key goes stale when its filing is saved with a
+ * different indexed value, so callers check each key against the current row, and stale
+ * keys are dropped whenever the buffer is merged.
+ *
+ * <p>The index is built on the first query, so bulk loads that never run a range query
+ * pay nothing for it. Keys passed to {@link #add} before then are ignored.
+ * Synchronized so that queries holding the store's shared lock can build it and sort
+ * its buffer.
+ */
+final class OffHeapRangeIndex {
+
+    /** Returned by a row key function for rows that are not indexed. */
+    static final long NO_KEY = Long.MIN_VALUE;
+
+    private static final int MIN_MERGE = 4096;
+
+    private MemorySegment keys = OffHeapStringDictionary.allocate(0);
+    private int size;
+    private long[] pending = new long[16];
+    private int pendingCount;
+    private boolean pendingSorted = true;
+    private boolean built;
+
+    /**
+     * Builds the index from the store's rows unless it was built before.
+     * Must be called with writes to the store excluded.
+     *
+     * @param rows     the number of rows in the store
+     * @param keyOfRow returns the key of a row, or {@link #NO_KEY} if it is not indexed
+     */
+    synchronized void ensureBuilt(int rows, IntToLongFunction keyOfRow) {
+        if (built) {
+            return;
+        }
+        long[] unsorted = new long[rows];
+        int count = 0;
+        for (int row = 0; row < rows; row++) {
+            long key = keyOfRow.applyAsLong(row);
+            if (key != NO_KEY) {
+                unsorted[count++] = key;
+            }
+        }
+        Arrays.sort(unsorted, 0, count);
+        keys = OffHeapStringDictionary.allocate((long) count * Long.BYTES);
+        MemorySegment.copy(unsorted, 0, keys, ValueLayout.JAVA_LONG, 0, count);
+        size = count;
+        built = true;
+    }
+
+    /**
+     * Records the key of a written filing. Ignored until the index is built.
+     *
+     * @param current tells whether a key still matches its row, for dropping stale keys
+     */
+    synchronized void add(long key, LongPredicate current) {
+        if (!built) {
+            return;
+        }
+        if (pendingCount > Math.max(MIN_MERGE, size >>> 4)) {
+            merge(current);
+        }
+        if (pendingCount == pending.length) {
+            pending = Arrays.copyOf(pending, pendingCount * 2);
+        }
+        if (pendingCount > 0 && key < pending[pendingCount - 1]) {
+            pendingSorted = false;
+        }
+        pending[pendingCount++] = key;
+    }
+
+    /**
+     * Returns the keys between low and high inclusive in ascending order, without
+     * duplicates. Stale keys may be included; the caller checks each against its row.
+     *
+     * <p>Must be called with writes to the store excluded.
+     */
+    synchronized PrimitiveIterator.OfLong keysBetween(long low, long high) {
+        if (!pendingSorted) {
+            Arrays.sort(pending, 0, pendingCount);
+            pendingSorted = true;
+        }
+        // The merged segment is replaced, never modified, so the iterator may outlive this call
+        long[] recent = Arrays.copyOfRange(pending,
+                search(pending, pendingCount, low, false), search(pending, pendingCount, high, true));
+        return new MergingIterator(keys, search(keys, size, low, false), search(keys, size, high, true), recent);
+    }
+
+    /**
+     * Returns the bytes of native memory held by the sorted keys.
+     */
+    synchronized long offHeapBytes() {
+        return keys.byteSize();
+    }
+
+    private void merge(LongPredicate current) {
+        Arrays.sort(pending, 0, pendingCount);
+        MemorySegment merged = OffHeapStringDictionary.allocate((long) (size + pendingCount) * Long.BYTES);
+        int count = 0;
+        PrimitiveIterator.OfLong all = new MergingIterator(keys, 0, size, Arrays.copyOf(pending, pendingCount));
+        while (all.hasNext()) {
+            long key = all.nextLong();
+            if (current.test(key)) {
+                merged.setAtIndex(ValueLayout.JAVA_LONG, count++, key);
+            }
+        }
+        keys = merged;
+        size = count;
+        pendingCount = 0;
+        pendingSorted = true;
+    }
+
+    /**
+     * Returns the index of the first key above the given one, or at least equal to it
+     * unless strict is set.
+     */
+    private static int search(MemorySegment sorted, int count, long key, boolean strict) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            long value = sorted.getAtIndex(ValueLayout.JAVA_LONG, mid);
+            if (value < key || (strict && value == key)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int search(long[] sorted, int count, long key, boolean strict) {
+        return search(MemorySegment.ofArray(sorted), count, key, strict);
+    }
+
+    /**
+     * Two-way merge of a range of the sorted segment with sorted recent keys,
+     * skipping keys equal to the previous one.
+     */
+    private static final class MergingIterator implements PrimitiveIterator.OfLong {
+
+        private final MemorySegment base;
+        private final int baseTo;
+        private final long[] recent;
+        private int baseIndex;
+        private int recentIndex;
+        private long last;
+
+        MergingIterator(MemorySegment base, int baseFrom, int baseTo, long[] recent) {
+            this.base = base;
+            this.baseIndex = baseFrom;
+            this.baseTo = baseTo;
+            this.recent = recent;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return baseIndex < baseTo || recentIndex < recent.length;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long fromBase = baseIndex < baseTo ? base.getAtIndex(ValueLayout.JAVA_LONG, baseIndex) : Long.MAX_VALUE;
+            boolean takeBase = recentIndex == recent.length || (baseIndex < baseTo && fromBase <= recent[recentIndex]);
+            if (takeBase) {
+                last = fromBase;
+                baseIndex++;
+            } else {
+                last = recent[recentIndex++];
+            }
+            // A key written again after its last merge is in both sources
+            while (baseIndex < baseTo && base.getAtIndex(ValueLayout.JAVA_LONG, baseIndex) == last) {
+                baseIndex++;
+            }
+            while (recentIndex < recent.length && recent[recentIndex] == last) {
+                recentIndex++;
+            }
+            return last;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.intuit.turbotax.filing.query.repository;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Append-only string dictionary held entirely outside the Java heap.
+ * Each distinct string is stored once as UTF-8 bytes and identified by a dense
+ * int code; an open-addressing hash table maps bytes back to codes.
+ * Not thread-safe: callers must guard writes and reads with their own lock.
+ */
+final class OffHeapStringDictionary {
+
+    static final int NO_CODE = -1;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private MemorySegment bytes;    // concatenated UTF-8 data
+    private MemorySegment offsets;  // long start offset per code, plus one end sentinel
+    private MemorySegment table;    // int slots holding code + 1, 0 means empty
+    private long bytesUsed;
+    private int size;
+    private int tableMask;
+
+    OffHeapStringDictionary() {
+        bytes = allocate(INITIAL_CAPACITY * 16L);
+        offsets = allocate((INITIAL_CAPACITY + 1L) * Long.BYTES);
+        table = allocate(INITIAL_CAPACITY * 2L * Integer.BYTES);
+        tableMask = INITIAL_CAPACITY * 2 - 1;
+    }
+
+    /**
+     * Returns the code for the value, adding it to the dictionary if absent.
+     */
+    int intern(String value) {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(encoded);
+        int slot = findSlot(encoded, hash);
+        int existing = table.getAtIndex(ValueLayout.JAVA_INT, slot);
+        if (existing != 0) {
+            return existing - 1;
+        }
+
+        int code = size;
+        ensureDataCapacity(encoded.length);
+        MemorySegment.copy(MemorySegment.ofArray(encoded), 0, bytes, bytesUsed, encoded.length);
+        offsets.setAtIndex(ValueLayout.JAVA_LONG, code, bytesUsed);
+        bytesUsed += encoded.length;
+        offsets.setAtIndex(ValueLayout.JAVA_LONG, code + 1L, bytesUsed);
+        size++;
+
+        table.setAtIndex(ValueLayout.JAVA_INT, slot, code + 1);
+        if (size * 2L > tableMask) {
+            rehash();
+        }
+        return code;
+    }
+
+    /**
+     * Returns the code for the value, or {@link #NO_CODE} if it was never interned.
+     */
+    int lookup(String value) {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        int existing = table.getAtIndex(ValueLayout.JAVA_INT, findSlot(encoded, hash(encoded)));
+        return existing - 1;
+    }
+
+    String decode(int code) {
+        if (code < 0 || code >= size) {
+            throw new IllegalArgumentException("Unknown dictionary code: " + code);
+        }
+        long start = offsets.getAtIndex(ValueLayout.JAVA_LONG, code);
+        long end = offsets.getAtIndex(ValueLayout.JAVA_LONG, code + 1L);
+        return new String(bytes.asSlice(start, end - start).toArray(ValueLayout.JAVA_BYTE), StandardCharsets.UTF_8);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long offHeapBytes() {
+        return bytes.byteSize() + offsets.byteSize() + table.byteSize();
+    }
+
+    private int findSlot(byte[] encoded, int hash) {
+        MemorySegment probe = MemorySegment.ofArray(encoded);
+        int slot = hash & tableMask;
+        while (true) {
+            int entry = table.getAtIndex(ValueLayout.JAVA_INT, slot);
+            if (entry == 0 || matches(entry - 1, probe)) {
+                return slot;
+            }
+            slot = (slot + 1) & tableMask;
+        }
+    }
+
+    private boolean matches(int code, MemorySegment probe) {
+        long start = offsets.getAtIndex(ValueLayout.JAVA_LONG, code);
+        long end = offsets.getAtIndex(ValueLayout.JAVA_LONG, code + 1L);
+        return end - start == probe.byteSize()
+                && MemorySegment.mismatch(bytes, start, end, probe, 0, probe.byteSize()) == -1;
+    }
+
+    private void rehash() {
+        int newCapacity = (tableMask + 1) * 2;
+        MemorySegment newTable = allocate((long) newCapacity * Integer.BYTES);
+        int newMask = newCapacity - 1;
+        for (int code = 0; code < size; code++) {
+            long start = offsets.getAtIndex(ValueLayout.JAVA_LONG, code);
+            long end = offsets.getAtIndex(ValueLayout.JAVA_LONG, code + 1L);
+            int slot = hash(bytes.asSlice(start, end - start).toArray(ValueLayout.JAVA_BYTE)) & newMask;
+            while (newTable.getAtIndex(ValueLayout.JAVA_INT, slot) != 0) {
+                slot = (slot + 1) & newMask;
+            }
+            newTable.setAtIndex(ValueLayout.JAVA_INT, slot, code + 1);
+        }
+        table = newTable;
+        tableMask = newMask;
+    }
+
+    private void ensureDataCapacity(int additional) {
+        if (bytesUsed + additional > bytes.byteSize()) {
+            bytes = grow(bytes, Math.max(bytes.byteSize() * 2, bytesUsed + additional));
+        }
+        if ((size + 2L) * Long.BYTES > offsets.byteSize()) {
+            offsets = grow(offsets, offsets.byteSize() * 2);
+        }
+    }
+
+    private static int hash(byte[] encoded) {
+        int h = Arrays.hashCode(encoded);
+        return h ^ (h >>> 16);
+    }
+
+    static MemorySegment allocate(long byteSize) {
+        // Automatic arenas let the GC release a column once it has been replaced by a larger copy
+        return Arena.ofAuto().allocate(byteSize, Long.BYTES);
+    }
+
+    static MemorySegment grow(MemorySegment segment, long newByteSize) {
+        MemorySegment grown = allocate(newByteSize);
+        MemorySegment.copy(segment, 0, grown, 0, segment.byteSize());
+        return grown;
+    }
+}
@@ -0,0 +1,663 @@
+package com.intuit.turbotax.filing.query.repository;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntToLongFunction;
+import java.util.function.LongPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.common.model.PaymentMethod;
+
+/**
+ * Columnar tax filing store kept outside the Java heap with the Foreign Function
+ * and Memory API. Each field lives in its own {@link MemorySegment} column:
+ * userIds and trackingIds are dictionary-encoded, refund amounts are stored as
+ * long cents and filing dates as epoch days. {@link TaxFilingEntity} objects are
+ * only materialized when rows are read.
+ *
+ * <p>Per-user lookups follow an off-heap linked list (user head column plus a
+ * next-row column), filingIds are resolved through an off-heap open-addressing
+ * table, and trackingIds through their dictionary code plus a code-to-row column,
+ * so the heap footprint does not grow with the number of filings.
+ *
+ * <p>Range queries by filing date and tax year use {@link OffHeapRangeIndex sorted
+ * off-heap indexes} of {@link IndexPosition} sort keys, built on the first such query.
+ *
+ * <p>Enabled with {@code turbotax.filing.repository.type=off-heap}.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "turbotax.filing.repository", name = "type", havingValue = "off-heap")
+public class OffHeapTaxFilingRepository implements TaxFilingRepository {
+
+        /** Bytes of column data per row, excluding dictionaries and the filingId table. */
+        static final int ROW_BYTES = Integer.BYTES   // filingId
+                        + Integer.BYTES             // userId code
+                        + Integer.BYTES             // trackingId code
+                        + Byte.BYTES                // jurisdiction ordinal
+                        + Short.BYTES               // taxYear
+                        + Integer.BYTES             // filingDate epoch day
+                        + Long.BYTES                // refund amount in cents
+                        + Byte.BYTES                // disbursement method ordinal
+                        + Byte.BYTES                // paperless flag
+                        + Integer.BYTES;            // next row for the same user
+
+        private static final Logger log = LoggerFactory.getLogger(OffHeapTaxFilingRepository.class);
+
+        private static final int INITIAL_ROWS = 1024;
+        private static final int NULL_DATE = Integer.MIN_VALUE;
+        private static final long NULL_AMOUNT = Long.MIN_VALUE;
+        private static final byte NULL_ENUM = -1;
+
+        private static final Jurisdiction[] JURISDICTIONS = Jurisdiction.values();
+        private static final PaymentMethod[] PAYMENT_METHODS = PaymentMethod.values();
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private final List<TaxFilingWriteListener> writeListeners = new CopyOnWriteArrayList<>();
+        // Advanced under the write lock, so writes are numbered in the order they are stored
+        private volatile long writeSequence;
+
+        private final FilingCounters counters = new FilingCounters();
+
+        private final OffHeapRangeIndex filingDateIndex = new OffHeapRangeIndex();
+        private final OffHeapRangeIndex taxYearIndex = new OffHeapRangeIndex();
+
+        private final OffHeapStringDictionary userIds = new OffHeapStringDictionary();
+        private final OffHeapStringDictionary trackingIds = new OffHeapStringDictionary();
+
+        private MemorySegment filingIdColumn;
+        private MemorySegment userCodeColumn;
+        private MemorySegment trackingCodeColumn;
+        private MemorySegment jurisdictionColumn;
+        private MemorySegment taxYearColumn;
+        private MemorySegment filingDateColumn;
+        private MemorySegment refundCentsColumn;
+        private MemorySegment disbursementColumn;
+        private MemorySegment paperlessColumn;
+        private MemorySegment nextForUserColumn;   // row + 1 of the user's next filing, 0 ends the list
+
+        private MemorySegment userHeads;           // per userId code: row + 1 of the newest filing
+        private MemorySegment trackingRows;        // per trackingId code: row + 1 of its filing, 0 if none
+        private MemorySegment filingIdTable;       // open addressing: row + 1, 0 means empty
+        private int filingIdTableMask;
+
+        private int rowCapacity;
+        private int rowCount;
+
+        public OffHeapTaxFilingRepository() {
+                allocateColumns(INITIAL_ROWS);
+                userHeads = OffHeapStringDictionary.allocate((long) INITIAL_ROWS * Integer.BYTES);
+                trackingRows = OffHeapStringDictionary.allocate((long) INITIAL_ROWS * Integer.BYTES);
+                filingIdTable = OffHeapStringDictionary.allocate(INITIAL_ROWS * 2L * Integer.BYTES);
+                filingIdTableMask = INITIAL_ROWS * 2 - 1;
+        }
+
+        @Override
+        public Stream<TaxFilingEntity> findLatestByUserId(String userId) {
+                List<TaxFilingEntity> filings = new ArrayList<>();
+                lock.readLock().lock();
+                try {
+                        int userCode = userIds.lookup(userId);
+                        if (userCode == OffHeapStringDictionary.NO_CODE) {
+                                return Stream.empty();
+                        }
+                        int next = userHeads.getAtIndex(ValueLayout.JAVA_INT, userCode);
+                        while (next != 0) {
+                                int row = next - 1;
+                                filings.add(readRow(row));
+                                next = nextForUserColumn.getAtIndex(ValueLayout.JAVA_INT, row);
+                        }
+                } finally {
+                        lock.readLock().unlock();
+                }
+                // The list is linked newest-first; return filings in insertion order
+                Collections.reverse(filings);
+                return filings.stream();
+        }
+
+        @Override
+        public Optional<TaxFilingEntity> findById(int filingId) {
+                lock.readLock().lock();
+                try {
+                        return Optional.ofNullable(readFilingRow(filingId));
+                } finally {
+                        lock.readLock().unlock();
+                }
+        }
+
+        @Override
+        public Map<Integer, TaxFilingEntity> findByIds(Collection<Integer> filingIds) {
+                Map<Integer, TaxFilingEntity> filings = new LinkedHashMap<>();
+                lock.readLock().lock();
+                try {
+                        for (Integer filingId : filingIds) {
+                                TaxFilingEntity filing = readFilingRow(filingId);
+                                if (filing != null) {
+                                        filings.put(filingId, filing);
+                                }
+                        }
+                } finally {
+                        lock.readLock().unlock();
+                }
+                return filings;
+        }
+
+        @Override
+        public Optional<TaxFilingEntity> findByTrackingId(String trackingId) {
+                lock.readLock().lock();
+                try {
+                        return Optional.ofNullable(readTrackedRow(trackingId));
+                } finally {
+                        lock.readLock().unlock();
+                }
+        }
+
+        @Override
+        public Map<String, TaxFilingEntity> findByTrackingIds(Collection<String> trackingIds) {
+                Map<String, TaxFilingEntity> filings = new LinkedHashMap<>();
+                // One lock acquisition per batch, as in saveAll
+                lock.readLock().lock();
+                try {
+                        for (String trackingId : trackingIds) {
+                                TaxFilingEntity filing = readTrackedRow(trackingId);
+                                if (filing != null) {
+                                        filings.put(trackingId, filing);
+                                }
+                        }
+                } finally {
+                        lock.readLock().unlock();
+                }
+                return filings;
+        }
+
+        @Override
+        public Stream<TaxFilingEntity> findAll() {
+                // Rows are never removed, so every row below size() stays valid, but a save may
+                // overwrite a row in place: each row is copied out under its own short read lock
+                return IntStream.range(0, size()).mapToObj(row -> {
+                        lock.readLock().lock();
+                        try {
+                                return readRow(row);
+                        } finally {
+                                lock.readLock().unlock();
+                        }
+                });
+        }
+
+        @Override
+        public Stream<TaxFilingEntity> findByFilingDateBetween(LocalDate from, LocalDate to, IndexPosition after) {
+                return findInRange(filingDateIndex, this::filingDateKey, this::isCurrentFilingDateKey,
+                                Math.toIntExact(from.toEpochDay()), Math.toIntExact(to.toEpochDay()), after);
+        }
+
+        @Override
+        public Stream<TaxFilingEntity> findByTaxYearBetween(int fromYear, int toYear, IndexPosition after) {
+                return findInRange(taxYearIndex, this::taxYearKey, this::isCurrentTaxYearKey, fromYear, toYear, after);
+        }
+
+        @Override
+        public void save(TaxFilingEntity filing) {
+                EncodedFields fields = encode(filing);
+                String previousUserId;
+                long sequence;
+                lock.writeLock().lock();
+                try {
+                        previousUserId = insertOrReplace(filing, fields);
+                        sequence = ++writeSequence;
+                } finally {
+                        lock.writeLock().unlock();
+                }
+                // Listeners run outside the lock so they may read from the repository
+                notifyListeners(filing, previousUserId, sequence);
+        }
+
+        @Override
+        public void saveAll(Collection<TaxFilingEntity> filings) {
+                // Every filing is checked before any is stored, so a rejected batch stores nothing
+                EncodedFields[] fields = new EncodedFields[filings.size()];
+                int encoded = 0;
+                for (TaxFilingEntity filing : filings) {
+                        fields[encoded++] = encode(filing);
+                }
+                String[] previousUserIds = new String[filings.size()];
+                long firstSequence;
+                // One lock acquisition per batch keeps bulk loads from contending per row
+                lock.writeLock().lock();
+                try {
+                        int i = 0;
+                        for (TaxFilingEntity filing : filings) {
+                                previousUserIds[i] = insertOrReplace(filing, fields[i]);
+                                i++;
+                        }
+                        firstSequence = writeSequence + 1;
+                        writeSequence += filings.size();
+                } finally {
+                        lock.writeLock().unlock();
+                }
+                if (!writeListeners.isEmpty()) {
+                        int i = 0;
+                        for (TaxFilingEntity filing : filings) {
+                                notifyListeners(filing, previousUserIds[i], firstSequence + i);
+                                i++;
+                        }
+                }
+        }
+
+        private void notifyListeners(TaxFilingEntity filing, String previousUserId, long sequence) {
+                for (TaxFilingWriteListener listener : writeListeners) {
+                        // The filing is stored either way; a failing listener must not keep it from the others
+                        try {
+                                listener.filingSaved(filing, previousUserId, sequence);
+                        } catch (RuntimeException e) {
+                                log.error("Write listener failed for filingId: {}", filing.getFilingId(), e);
+                        }
+                }
+        }
+
+        @Override
+        public void addWriteListener(TaxFilingWriteListener listener) {
+                writeListeners.add(listener);
+        }
+
+        @Override
+        public long lastWriteSequence() {
+                return writeSequence;
+        }
+
+        @Override
+        public FilingStatistics statistics() {
+                return counters.snapshot();
+        }
+
+        /**
+         * Stores the filing and returns the userId of the row it replaced, or null if it is new.
+         * The fields were encoded beforehand, so nothing below can reject the filing halfway.
+         */
+        private String insertOrReplace(TaxFilingEntity filing, EncodedFields fields) {
+                int slot = findFilingSlot(filing.getFilingId());
+                int existing = filingIdTable.getAtIndex(ValueLayout.JAVA_INT, slot);
+                int userCode = userIds.intern(filing.getUserId());
+                if (existing != 0) {
+                        int row = existing - 1;
+                        int previousUser = userCodeColumn.getAtIndex(ValueLayout.JAVA_INT, row);
+                        counters.removed(readRow(row));
+                        if (previousUser != userCode) {
+                                unlinkFromUser(previousUser, row);
+                                linkToUser(userCode, row);
+                        }
+                        unlinkTracking(row);
+                        long previousFilingDateKey = filingDateKey(row);
+                        long previousTaxYearKey = taxYearKey(row);
+                        writeRow(row, filing, userCode, fields);
+                        linkTracking(row);
+                        indexRow(row, previousFilingDateKey, previousTaxYearKey);
+                        counters.added(filing);
+                        return userIds.decode(previousUser);
+                }
+
+                ensureRowCapacity(rowCount + 1);
+                int row = rowCount++;
+                writeRow(row, filing, userCode, fields);
+                linkToUser(userCode, row);
+                linkTracking(row);
+                counters.added(filing);
+                filingIdTable.setAtIndex(ValueLayout.JAVA_INT, slot, row + 1);
+                if (rowCount * 2L > filingIdTableMask) {
+                        rehashFilingIds();
+                }
+                indexRow(row, OffHeapRangeIndex.NO_KEY, OffHeapRangeIndex.NO_KEY);
+                return null;
+        }
+
+        /**
+         * Streams the filings whose index key lies in the range, in key order. Like
+         * findAll, each filing is read under its own short read lock, and keys whose
+         * filing has since been saved with another value are skipped.
+         */
+        private Stream<TaxFilingEntity> findInRange(OffHeapRangeIndex index, IntToLongFunction keyOfRow,
+                        LongPredicate current, int from, int to, IndexPosition after) {
+                long low = IndexPosition.lowestKey(from);
+                if (after != null && after.sortKey() >= low) {
+                        if (after.sortKey() == Long.MAX_VALUE) {
+                                return Stream.empty();
+                        }
+                        low = after.sortKey() + 1;
+                }
+                long high = IndexPosition.highestKey(to);
+                if (low > high) {
+                        return Stream.empty();
+                }
+                PrimitiveIterator.OfLong keys;
+                lock.readLock().lock();
+                try {
+                        index.ensureBuilt(rowCount, keyOfRow);
+                        keys = index.keysBetween(low, high);
+                } finally {
+                        lock.readLock().unlock();
+                }
+                return StreamSupport.longStream(Spliterators.spliteratorUnknownSize(keys,
+                                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false)
+                                .mapToObj(key -> {
+                                        lock.readLock().lock();
+                                        try {
+                                                int row = rowOf(filingIdOf(key));
+                                                return row < 0 || !current.test(key) ? null : readRow(row);
+                                        } finally {
+                                                lock.readLock().unlock();
+                                        }
+                                })
+                                .filter(Objects::nonNull);
+        }
+
+        /**
+         * Adds the row's keys to the range indexes where they differ from before the write.
+         */
+        private void indexRow(int row, long previousFilingDateKey, long previousTaxYearKey) {
+                long filingDateKey = filingDateKey(row);
+                if (filingDateKey != previousFilingDateKey && filingDateKey != OffHeapRangeIndex.NO_KEY) {
+                        filingDateIndex.add(filingDateKey, this::isCurrentFilingDateKey);
+                }
+                long taxYearKey = taxYearKey(row);
+                if (taxYearKey != previousTaxYearKey) {
+                        taxYearIndex.add(taxYearKey, this::isCurrentTaxYearKey);
+                }
+        }
+
+        private long filingDateKey(int row) {
+                int filingDate = filingDateColumn.getAtIndex(ValueLayout.JAVA_INT, row);
+                return filingDate == NULL_DATE ? OffHeapRangeIndex.NO_KEY
+                                : new IndexPosition(filingDate, filingIdColumn.getAtIndex(ValueLayout.JAVA_INT, row)).sortKey();
+        }
+
+        private long taxYearKey(int row) {
+                return new IndexPosition(taxYearColumn.getAtIndex(ValueLayout.JAVA_SHORT, row),
+                                filingIdColumn.getAtIndex(ValueLayout.JAVA_INT, row)).sortKey();
+        }
+
+        private boolean isCurrentFilingDateKey(long key) {
+                int row = rowOf(filingIdOf(key));
+                return row >= 0 && filingDateKey(row) == key;
+        }
+
+        private boolean isCurrentTaxYearKey(long key) {
+                int row = rowOf(filingIdOf(key));
+                return row >= 0 && taxYearKey(row) == key;
+        }
+
+        /**
+         * Reverses the sign flip of the filingId in the low 32 bits of a sort key.
+         */
+        private static int filingIdOf(long key) {
+                return (int) key ^ Integer.MIN_VALUE;
+        }
+
+        private int rowOf(int filingId) {
+                return filingIdTable.getAtIndex(ValueLayout.JAVA_INT, findFilingSlot(filingId)) - 1;
+        }
+
+        /**
+         * Returns the number of filings currently stored.
+         */
+        public int size() {
+                lock.readLock().lock();
+                try {
+                        return rowCount;
+                } finally {
+                        lock.readLock().unlock();
+                }
+        }
+
+        /**
+         * Returns the total native memory reserved by columns, indexes and dictionaries.
+         */
+        public long offHeapBytes() {
+                lock.readLock().lock();
+                try {
+                        return (long) rowCapacity * ROW_BYTES
+                                        + userHeads.byteSize()
+                                        + trackingRows.byteSize()
+                                        + filingIdTable.byteSize()
+                                        + userIds.offHeapBytes()
+                                        + trackingIds.offHeapBytes()
+                                        + filingDateIndex.offHeapBytes()
+                                        + taxYearIndex.offHeapBytes();
+                } finally {
+                        lock.readLock().unlock();
+                }
+        }
+
+        private TaxFilingEntity readRow(int row) {
+                int trackingCode = trackingCodeColumn.getAtIndex(ValueLayout.JAVA_INT, row);
+                byte jurisdiction = jurisdictionColumn.getAtIndex(ValueLayout.JAVA_BYTE, row);
+                int filingDate = filingDateColumn.getAtIndex(ValueLayout.JAVA_INT, row);
+                long refundCents = refundCentsColumn.getAtIndex(ValueLayout.JAVA_LONG, row);
+                byte disbursement = disbursementColumn.getAtIndex(ValueLayout.JAVA_BYTE, row);
+
+                return TaxFilingEntity.builder()
+                                .filingId(filingIdColumn.getAtIndex(ValueLayout.JAVA_INT, row))
+                                .userId(userIds.decode(userCodeColumn.getAtIndex(ValueLayout.JAVA_INT, row)))
+                                .trackingId(trackingCode == OffHeapStringDictionary.NO_CODE ? null
+                                                : trackingIds.decode(trackingCode))
+                                .jurisdiction(jurisdiction == NULL_ENUM ? null : JURISDICTIONS[jurisdiction])
+                                .taxYear(taxYearColumn.getAtIndex(ValueLayout.JAVA_SHORT, row))
+                                .filingDate(filingDate == NULL_DATE ? null : LocalDate.ofEpochDay(filingDate))
+                                .refundAmount(refundCents == NULL_AMOUNT ? null : BigDecimal.valueOf(refundCents, 2))
+                                .disbursementMethod(disbursement == NULL_ENUM ? null : PAYMENT_METHODS[disbursement])
+                                .isPaperless(paperlessColumn.getAtIndex(ValueLayout.JAVA_BYTE, row) != 0)
+                                .build();
+        }
+
+        /**
+         * Converts the fields whose column is narrower than the entity's type, rejecting
+         * values that do not fit or that would read back as null.
+         *
+         * @throws IllegalArgumentException if a field cannot be stored
+         */
+        private static EncodedFields encode(TaxFilingEntity filing) {
+                if (filing.getTaxYear() < Short.MIN_VALUE || filing.getTaxYear() > Short.MAX_VALUE) {
+                        throw new IllegalArgumentException("Tax year out of range: " + filing.getTaxYear());
+                }
+                int filingDate = NULL_DATE;
+                if (filing.getFilingDate() != null) {
+                        long epochDay = filing.getFilingDate().toEpochDay();
+                        if (epochDay <= NULL_DATE || epochDay > Integer.MAX_VALUE) {
+                                throw new IllegalArgumentException("Filing date out of range: " + filing.getFilingDate());
+                        }
+                        filingDate = (int) epochDay;
+                }
+                long refundCents = NULL_AMOUNT;
+                if (filing.getRefundAmount() != null) {
+                        try {
+                                refundCents = filing.getRefundAmount().setScale(2, RoundingMode.HALF_UP)
+                                                .unscaledValue().longValueExact();
+                        } catch (ArithmeticException e) {
+                                throw new IllegalArgumentException("Refund amount out of range: " + filing.getRefundAmount(), e);
+                        }
+                        if (refundCents == NULL_AMOUNT) {
+                                throw new IllegalArgumentException("Refund amount out of range: " + filing.getRefundAmount());
+                        }
+                }
+                return new EncodedFields((short) filing.getTaxYear(), filingDate, refundCents);
+        }
+
+        private void writeRow(int row, TaxFilingEntity filing, int userCode, EncodedFields fields) {
+                filingIdColumn.setAtIndex(ValueLayout.JAVA_INT, row, filing.getFilingId());
+                userCodeColumn.setAtIndex(ValueLayout.JAVA_INT, row, userCode);
+                trackingCodeColumn.setAtIndex(ValueLayout.JAVA_INT, row, filing.getTrackingId() == null
+                                ? OffHeapStringDictionary.NO_CODE
+                                : trackingIds.intern(filing.getTrackingId()));
+                jurisdictionColumn.setAtIndex(ValueLayout.JAVA_BYTE, row, filing.getJurisdiction() == null
+                                ? NULL_ENUM
+                                : (byte) filing.getJurisdiction().ordinal());
+                taxYearColumn.setAtIndex(ValueLayout.JAVA_SHORT, row, fields.taxYear());
+                filingDateColumn.setAtIndex(ValueLayout.JAVA_INT, row, fields.filingDate());
+                refundCentsColumn.setAtIndex(ValueLayout.JAVA_LONG, row, fields.refundCents());
+                disbursementColumn.setAtIndex(ValueLayout.JAVA_BYTE, row, filing.getDisbursementMethod() == null
+                                ? NULL_ENUM
+                                : (byte) filing.getDisbursementMethod().ordinal());
+                paperlessColumn.setAtIndex(ValueLayout.JAVA_BYTE, row, (byte) (filing.isPaperless() ? 1 : 0));
+        }
+
+        private void linkToUser(int userCode, int row) {
+                if ((long) (userCode + 1) * Integer.BYTES > userHeads.byteSize()) {
+                        userHeads = OffHeapStringDictionary.grow(userHeads, userHeads.byteSize() * 2);
+                }
+                int head = userHeads.getAtIndex(ValueLayout.JAVA_INT, userCode);
+                if (head == 0) {
+                        counters.userAdded();
+                }
+                userCodeColumn.setAtIndex(ValueLayout.JAVA_INT, row, userCode);
+                nextForUserColumn.setAtIndex(ValueLayout.JAVA_INT, row, head);
+                userHeads.setAtIndex(ValueLayout.JAVA_INT, userCode, row + 1);
+        }
+
+        private void unlinkFromUser(int userCode, int row) {
+                int next = nextForUserColumn.getAtIndex(ValueLayout.JAVA_INT, row);
+                int current = userHeads.getAtIndex(ValueLayout.JAVA_INT, userCode);
+                if (current == row + 1) {
+                        userHeads.setAtIndex(ValueLayout.JAVA_INT, userCode, next);
+                        if (next == 0) {
+                                counters.userRemoved();
+                        }
+                        return;
+                }
+                while (current != 0) {
+                        int candidate = current - 1;
+                        int candidateNext = nextForUserColumn.getAtIndex(ValueLayout.JAVA_INT, candidate);
+                        if (candidateNext == row + 1) {
+                                nextForUserColumn.setAtIndex(ValueLayout.JAVA_INT, candidate, next);
+                                return;
+                        }
+                        current = candidateNext;
+                }
+        }
+
+        private void linkTracking(int row) {
+                int trackingCode = trackingCodeColumn.getAtIndex(ValueLayout.JAVA_INT, row);
+                if (trackingCode == OffHeapStringDictionary.NO_CODE) {
+                        return;
+                }
+                if ((long) (trackingCode + 1) * Integer.BYTES > trackingRows.byteSize()) {
+                        trackingRows = OffHeapStringDictionary.grow(trackingRows, trackingRows.byteSize() * 2);
+                }
+                trackingRows.setAtIndex(ValueLayout.JAVA_INT, trackingCode, row + 1);
+        }
+
+        private void unlinkTracking(int row) {
+                int trackingCode = trackingCodeColumn.getAtIndex(ValueLayout.JAVA_INT, row);
+                // Leave the entry alone if a later filing has claimed the same trackingId
+                if (trackingCode != OffHeapStringDictionary.NO_CODE
+                                && trackingRows.getAtIndex(ValueLayout.JAVA_INT, trackingCode) == row + 1) {
+                        trackingRows.setAtIndex(ValueLayout.JAVA_INT, trackingCode, 0);
+                }
+        }
+
+        private TaxFilingEntity readFilingRow(int filingId) {
+                int row = rowOf(filingId);
+                return row < 0 ? null : readRow(row);
+        }
+
+        private TaxFilingEntity readTrackedRow(String trackingId) {
+                int trackingCode = trackingIds.lookup(trackingId);
+                if (trackingCode == OffHeapStringDictionary.NO_CODE
+                                || (long) (trackingCode + 1) * Integer.BYTES > trackingRows.byteSize()) {
+                        return null;
+                }
+                int row = trackingRows.getAtIndex(ValueLayout.JAVA_INT, trackingCode);
+                return row == 0 ? null : readRow(row - 1);
+        }
+
+        private int findFilingSlot(int filingId) {
+                int slot = mix(filingId) & filingIdTableMask;
+                while (true) {
+                        int entry = filingIdTable.getAtIndex(ValueLayout.JAVA_INT, slot);
+                        if (entry == 0 || filingIdColumn.getAtIndex(ValueLayout.JAVA_INT, entry - 1) == filingId) {
+                                return slot;
+                        }
+                        slot = (slot + 1) & filingIdTableMask;
+                }
+        }
+
+        private void rehashFilingIds() {
+                int newCapacity = (filingIdTableMask + 1) * 2;
+                int newMask = newCapacity - 1;
+                MemorySegment newTable = OffHeapStringDictionary.allocate((long) newCapacity * Integer.BYTES);
+                for (int row = 0; row < rowCount; row++) {
+                        int slot = mix(filingIdColumn.getAtIndex(ValueLayout.JAVA_INT, row)) & newMask;
+                        while (newTable.getAtIndex(ValueLayout.JAVA_INT, slot) != 0) {
+                                slot = (slot + 1) & newMask;
+                        }
+                        newTable.setAtIndex(ValueLayout.JAVA_INT, slot, row + 1);
+                }
+                filingIdTable = newTable;
+                filingIdTableMask = newMask;
+        }
+
+        private void ensureRowCapacity(int rows) {
+                if (rows <= rowCapacity) {
+                        return;
+                }
+                int newCapacity = (int) Math.min(Integer.MAX_VALUE - 8L, Math.max(rows, rowCapacity * 2L));
+                filingIdColumn = OffHeapStringDictionary.grow(filingIdColumn, (long) newCapacity * Integer.BYTES);
+                userCodeColumn = OffHeapStringDictionary.grow(userCodeColumn, (long) newCapacity * Integer.BYTES);
+                trackingCodeColumn = OffHeapStringDictionary.grow(trackingCodeColumn, (long) newCapacity * Integer.BYTES);
+                jurisdictionColumn = OffHeapStringDictionary.grow(jurisdictionColumn, newCapacity);
+                taxYearColumn = OffHeapStringDictionary.grow(taxYearColumn, (long) newCapacity * Short.BYTES);
+                filingDateColumn = OffHeapStringDictionary.grow(filingDateColumn, (long) newCapacity * Integer.BYTES);
+                refundCentsColumn = OffHeapStringDictionary.grow(refundCentsColumn, (long) newCapacity * Long.BYTES);
+                disbursementColumn = OffHeapStringDictionary.grow(disbursementColumn, newCapacity);
+                paperlessColumn = OffHeapStringDictionary.grow(paperlessColumn, newCapacity);
+                nextForUserColumn = OffHeapStringDictionary.grow(nextForUserColumn, (long) newCapacity * Integer.BYTES);
+                rowCapacity = newCapacity;
+        }
+
+        private void allocateColumns(int rows) {
+                filingIdColumn = OffHeapStringDictionary.allocate((long) rows * Integer.BYTES);
+                userCodeColumn = OffHeapStringDictionary.allocate((long) rows * Integer.BYTES);
+                trackingCodeColumn = OffHeapStringDictionary.allocate((long) rows * Integer.BYTES);
+                jurisdictionColumn = OffHeapStringDictionary.allocate(rows);
+                taxYearColumn = OffHeapStringDictionary.allocate((long) rows * Short.BYTES);
+                filingDateColumn = OffHeapStringDictionary.allocate((long) rows * Integer.BYTES);
+                refundCentsColumn = OffHeapStringDictionary.allocate((long) rows * Long.BYTES);
+                disbursementColumn = OffHeapStringDictionary.allocate(rows);
+                paperlessColumn = OffHeapStringDictionary.allocate(rows);
+                nextForUserColumn = OffHeapStringDictionary.allocate((long) rows * Integer.BYTES);
+                rowCapacity = rows;
+        }
+
+        private static int mix(int key) {
+                int h = key * 0x9E3779B9;
+                return h ^ (h >>> 16);
+        }
+
+        /**
+         * Column values of a filing converted to their stored form.
+         */
+        private record EncodedFields(short taxYear, int filingDate, long refundCents) {
+        }
+}
@@ -0,0 +1,95 @@
+package com.intuit.turbotax.filing.query.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable set of distinct strings stored as one UTF-8 byte array in unsigned byte
+ * order, so each string costs its encoded length plus one int offset instead of a
+ * String object. Strings are identified by their dense index in that order and
+ * looked up by binary search.
+ */
+final class SortedStringTable {
+
+    static final int NOT_FOUND = -1;
+
+    static final SortedStringTable EMPTY = new SortedStringTable(new byte[0], new int[] { 0 });
+
+    private final byte[] bytes;
+    private final int[] offsets; // start offset per index, plus one end sentinel
+
+    private SortedStringTable(byte[] bytes, int[] offsets) {
+        this.bytes = bytes;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Builds a table from the given values; duplicates are stored once.
+     */
+    static SortedStringTable of(Collection<String> values) {
+        byte[][] encoded = new byte[values.size()][];
+        int count = 0;
+        for (String value : values) {
+            encoded[count++] = value.getBytes(StandardCharsets.UTF_8);
+        }
+        Arrays.sort(encoded, Arrays::compareUnsigned);
+
+        int distinct = 0;
+        long totalBytes = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || !Arrays.equals(encoded[i], encoded[i - 1])) {
+                encoded[distinct++] = encoded[i];
+                totalBytes += encoded[i].length;
+            }
+        }
+
+        byte[] bytes = new byte[Math.toIntExact(totalBytes)];
+        int[] offsets = new int[distinct + 1];
+        int position = 0;
+        for (int i = 0; i < distinct; i++) {
+            offsets[i] = position;
+            System.arraycopy(encoded[i], 0, bytes, position, encoded[i].length);
+            position += encoded[i].length;
+        }
+        offsets[distinct] = position;
+        return new SortedStringTable(bytes, offsets);
+    }
+
+    /**
+     * Returns the index of the value, or {@link #NOT_FOUND}.
+     */
+    int indexOf(String value) {
+        byte[] key = value.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compared = Arrays.compareUnsigned(bytes, offsets[mid], offsets[mid + 1], key, 0, key.length);
+            if (compared < 0) {
+                low = mid + 1;
+            } else if (compared > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    boolean contains(String value) {
+        return indexOf(value) != NOT_FOUND;
+    }
+
+    String get(int index) {
+        return new String(bytes, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+    }
+
+    int size() {
+        return offsets.length - 1;
+    }
+
+    long heapBytes() {
+        return bytes.length + (long) offsets.length * Integer.BYTES;
+    }
+}
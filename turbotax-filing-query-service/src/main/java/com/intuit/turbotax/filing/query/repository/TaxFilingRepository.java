@@ -1,5 +1,12 @@
 package com.intuit.turbotax.filing.query.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 /**
@@ -17,4 +24,147 @@ public interface TaxFilingRepository {
      * @throws IllegalArgumentException if userId is null or empty
      */
     Stream<TaxFilingEntity> findLatestByUserId(String userId);
+
+    /**
+     * Finds a filing by its filing ID.
+     *
+     * @param filingId the filing identifier
+     * @return the filing, or empty if none is stored
+     */
+    Optional<TaxFilingEntity> findById(int filingId);
+
+    /**
+     * Finds the filings for several filing IDs. Implementations may override this to
+     * amortize locking across the batch.
+     *
+     * @param filingIds the filing identifiers to resolve
+     * @return the filings found, keyed by filing ID in iteration order; unknown IDs are omitted
+     */
+    default Map<Integer, TaxFilingEntity> findByIds(Collection<Integer> filingIds) {
+        Map<Integer, TaxFilingEntity> filings = new LinkedHashMap<>();
+        for (Integer filingId : filingIds) {
+            findById(filingId).ifPresent(filing -> filings.put(filingId, filing));
+        }
+        return filings;
+    }
+
+    /**
+     * Streams every stored tax filing. The stream is weakly consistent: filings saved
+     * while it is being consumed may or may not be included.
+     *
+     * @return a stream over all filing entities
+     */
+    Stream<TaxFilingEntity> findAll();
+
+    /**
+     * Finds the filing with the given IRS or state trackingId. TrackingIds are expected
+     * to be unique; if two filings share one, the most recently saved filing is returned.
+     * The default implementation scans the whole store; implementations with a
+     * trackingId index should override it.
+     *
+     * @param trackingId the trackingId assigned by the tax agency
+     * @return the matching filing, or empty if none is stored
+     */
+    default Optional<TaxFilingEntity> findByTrackingId(String trackingId) {
+        return findAll()
+                .filter(filing -> trackingId.equals(filing.getTrackingId()))
+                .findFirst();
+    }
+
+    /**
+     * Finds the filings for several trackingIds. Implementations may override this to
+     * amortize locking across the batch.
+     *
+     * @param trackingIds the trackingIds to resolve
+     * @return the filings found, keyed by trackingId in iteration order; unknown trackingIds are omitted
+     */
+    default Map<String, TaxFilingEntity> findByTrackingIds(Collection<String> trackingIds) {
+        Map<String, TaxFilingEntity> filings = new LinkedHashMap<>();
+        for (String trackingId : trackingIds) {
+            findByTrackingId(trackingId).ifPresent(filing -> filings.put(trackingId, filing));
+        }
+        return filings;
+    }
+
+    /**
+     * Streams filings whose filing date lies between from and to inclusive, ordered by
+     * filing date and then filingId. Filings without a filing date are not included.
+     * The default implementation scans and sorts the whole store; implementations
+     * with a sorted index should override it.
+     *
+     * @param from  the earliest filing date
+     * @param to    the latest filing date
+     * @param after resume strictly after this position, or null to start at from
+     * @return the matching filings in index order
+     */
+    default Stream<TaxFilingEntity> findByFilingDateBetween(LocalDate from, LocalDate to, IndexPosition after) {
+        return scanRange(filing -> filing.getFilingDate() == null ? null : IndexPosition.ofFilingDate(filing),
+                Math.toIntExact(from.toEpochDay()), Math.toIntExact(to.toEpochDay()), after);
+    }
+
+    /**
+     * Streams filings whose tax year lies between fromYear and toYear inclusive, ordered
+     * by tax year and then filingId. The default implementation scans and sorts the
+     * whole store; implementations with a sorted index should override it.
+     *
+     * @param fromYear the earliest tax year
+     * @param toYear   the latest tax year
+     * @param after    resume strictly after this position, or null to start at fromYear
+     * @return the matching filings in index order
+     */
+    default Stream<TaxFilingEntity> findByTaxYearBetween(int fromYear, int toYear, IndexPosition after) {
+        return scanRange(IndexPosition::ofTaxYear, fromYear, toYear, after);
+    }
+
+    /**
+     * Saves a tax filing, replacing any existing filing with the same filing ID.
+     *
+     * @param filing the filing entity to store
+     */
+    void save(TaxFilingEntity filing);
+
+    /**
+     * Saves a batch of tax filings. Implementations may override this to amortize
+     * locking or allocation across the batch.
+     *
+     * @param filings the filing entities to store
+     */
+    default void saveAll(Collection<TaxFilingEntity> filings) {
+        filings.forEach(this::save);
+    }
+
+    /**
+     * Registers a listener that is notified after every saved filing, including
+     * filings stored through {@link #saveAll}.
+     *
+     * @param listener the listener to add
+     */
+    void addWriteListener(TaxFilingWriteListener listener);
+
+    /**
+     * Returns the sequence number of the most recent write, or 0 if nothing was saved.
+     * Every write is numbered, whether or not listeners are registered.
+     */
+    long lastWriteSequence();
+
+    /**
+     * Returns filing counts maintained on every write, without scanning the store.
+     *
+     * @return the current total, per-jurisdiction, per-tax-year and distinct user counts
+     */
+    FilingStatistics statistics();
+
+    private Stream<TaxFilingEntity> scanRange(Function<TaxFilingEntity, IndexPosition> position,
+            int from, int to, IndexPosition after) {
+        long low = after == null
+                ? IndexPosition.lowestKey(from)
+                : Math.max(IndexPosition.lowestKey(from), after.sortKey() + 1);
+        long high = IndexPosition.highestKey(to);
+        return findAll()
+                .filter(filing -> {
+                    IndexPosition key = position.apply(filing);
+                    return key != null && key.sortKey() >= low && key.sortKey() <= high;
+                })
+                .sorted(Comparator.comparingLong(filing -> position.apply(filing).sortKey()));
+    }
 }
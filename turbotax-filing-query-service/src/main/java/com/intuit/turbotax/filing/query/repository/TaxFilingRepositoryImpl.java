@@ -1,17 +1,85 @@
 package com.intuit.turbotax.filing.query.repository;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToLongFunction;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
+/**
+ * Heap-resident filing repository.
+ *
+ * <p>Filings are written to concurrent maps with per-user, trackingId and sorted range
+ * indexes. Closed tax years can be moved out of these maps with
+ * {@link #freezeTaxYearsBefore(int)} into one immutable {@link FrozenTaxYearSegment} per
+ * year, so heap use and GC tracing scale with the current season rather than the full
+ * history. Frozen filings stay writable: a save stores the new version in the mutable
+ * maps, where it hides the frozen row until the year is frozen again.
+ */
 @Repository
+@ConditionalOnProperty(prefix = "turbotax.filing.repository", name = "type", havingValue = "in-memory", matchIfMissing = true)
 public class TaxFilingRepositoryImpl implements TaxFilingRepository {
 
+        private static final Logger log = LoggerFactory.getLogger(TaxFilingRepositoryImpl.class);
+
         // In-memory storage using concurrent map for thread safety
         private final Map<Integer, TaxFilingEntity> filingStore = new ConcurrentHashMap<>();
 
+        // Secondary index: userId -> immutable snapshot of that user's filings.
+        // Writers replace the snapshot under the map's per-key lock; readers never block.
+        private final Map<String, List<TaxFilingEntity>> userIndex = new ConcurrentHashMap<>();
+
+        // Sorted indexes for range queries, keyed by IndexPosition.sortKey() so they never
+        // contend with the per-user index
+        private final NavigableMap<Long, TaxFilingEntity> filingDateIndex = new ConcurrentSkipListMap<>();
+        private final NavigableMap<Long, TaxFilingEntity> taxYearIndex = new ConcurrentSkipListMap<>();
+
+        // Hash index for reconciliation lookups by IRS or state trackingId
+        private final Map<String, TaxFilingEntity> trackingIndex = new ConcurrentHashMap<>();
+
+        private final List<TaxFilingWriteListener> writeListeners = new CopyOnWriteArrayList<>();
+        private final AtomicLong writeSequence = new AtomicLong();
+
+        private final FilingCounters counters = new FilingCounters();
+
+        // Frozen prior tax years, replaced wholesale by freezeTaxYearsBefore. A frozen row is
+        // only visible while filingStore holds no filing with the same filingId.
+        private volatile NavigableMap<Integer, FrozenTaxYearSegment> segments = Collections.emptyNavigableMap();
+        // Union of the segments' userIds, including users whose frozen rows are all hidden
+        private volatile SortedStringTable frozenUsers = SortedStringTable.EMPTY;
+        // Visible frozen rows per frozenUsers index, swapped in with it
+        private volatile AtomicIntegerArray frozenRowsByUser = new AtomicIntegerArray(0);
+        // Saves share this lock; a freeze takes it exclusively while it moves filings into segments
+        private final ReadWriteLock segmentLock = new ReentrantReadWriteLock();
+        private final Object freezeMonitor = new Object();
+
         public TaxFilingRepositoryImpl() {
                 // Data initialization is now handled by DataInitializationConfig
         }
@@ -19,16 +87,454 @@ public class TaxFilingRepositoryImpl implements TaxFilingRepository {
         @Override
         public Stream<TaxFilingEntity> findLatestByUserId(String userId) {
                 // Return all filings for the specified user
-                return filingStore.values().stream()
-                                .filter(filing -> userId.equals(filing.getUserId()));
+                List<TaxFilingEntity> current = userIndex.getOrDefault(userId, List.of());
+                NavigableMap<Integer, FrozenTaxYearSegment> frozen = segments;
+                if (frozen.isEmpty()) {
+                        return current.stream();
+                }
+                List<TaxFilingEntity> filings = new ArrayList<>();
+                for (FrozenTaxYearSegment segment : frozen.values()) {
+                        segment.rowsOf(userId)
+                                        .filter(row -> isVisible(segment, row) && !containsFiling(current, segment.filingId(row)))
+                                        .forEach(row -> filings.add(segment.read(row)));
+                }
+                filings.addAll(current);
+                return filings.stream();
+        }
+
+        @Override
+        public Stream<TaxFilingEntity> findAll() {
+                Stream<TaxFilingEntity> frozen = segments.values().stream()
+                                .flatMap(segment -> segment.rows()
+                                                .filter(row -> isVisible(segment, row))
+                                                .mapToObj(segment::read));
+                return Stream.concat(frozen, filingStore.values().stream());
+        }
+
+        @Override
+        public Optional<TaxFilingEntity> findById(int filingId) {
+                TaxFilingEntity filing = filingStore.get(filingId);
+                return Optional.ofNullable(filing != null ? filing : frozenFiling(filingId));
+        }
+
+        @Override
+        public Optional<TaxFilingEntity> findByTrackingId(String trackingId) {
+                TaxFilingEntity filing = trackingIndex.get(trackingId);
+                if (filing != null) {
+                        return Optional.of(filing);
+                }
+                for (FrozenTaxYearSegment segment : segments.descendingMap().values()) {
+                        int row = segment.rowOfTrackingId(trackingId);
+                        if (row != FrozenTaxYearSegment.NO_ROW && isVisible(segment, row)) {
+                                return Optional.of(segment.read(row));
+                        }
+                }
+                return Optional.empty();
+        }
+
+        @Override
+        public Stream<TaxFilingEntity> findByFilingDateBetween(LocalDate from, LocalDate to, IndexPosition after) {
+                KeyRange range = KeyRange.of(Math.toIntExact(from.toEpochDay()), Math.toIntExact(to.toEpochDay()), after);
+                if (range == null) {
+                        return Stream.empty();
+                }
+                List<Stream<TaxFilingEntity>> sources = new ArrayList<>();
+                for (FrozenTaxYearSegment segment : segments.values()) {
+                        sources.add(segment.rowsByFilingDate(range.low(), range.lowInclusive(), range.high())
+                                        .filter(row -> isVisible(segment, row))
+                                        .mapToObj(segment::read));
+                }
+                sources.add(range.select(filingDateIndex));
+                return merge(sources, filing -> IndexPosition.ofFilingDate(filing).sortKey());
+        }
+
+        @Override
+        public Stream<TaxFilingEntity> findByTaxYearBetween(int fromYear, int toYear, IndexPosition after) {
+                KeyRange range = KeyRange.of(fromYear, toYear, after);
+                if (range == null) {
+                        return Stream.empty();
+                }
+                List<Stream<TaxFilingEntity>> sources = new ArrayList<>();
+                for (FrozenTaxYearSegment segment : segments.subMap(fromYear, true, toYear, true).values()) {
+                        sources.add(segment.rowsByTaxYear(range.low(), range.lowInclusive(), range.high())
+                                        .filter(row -> isVisible(segment, row))
+                                        .mapToObj(segment::read));
+                }
+                sources.add(range.select(taxYearIndex));
+                return merge(sources, filing -> IndexPosition.ofTaxYear(filing).sortKey());
         }
 
         /**
          * Adds a new filing to the in-memory store
          */
+        @Override
         public void save(TaxFilingEntity filing) {
-                filingStore.put(filing.getFilingId(), filing);
-                System.out.println(
-                                "Saved filing for filingId: " + filing.getFilingId() + ", user: " + filing.getUserId());
+                String[] previousUserId = new String[1];
+                long[] sequence = new long[1];
+                segmentLock.readLock().lock();
+                try {
+                        // Serialize writers per filingId so the store and the index move together
+                        filingStore.compute(filing.getFilingId(), (filingId, previous) -> {
+                                // A filing saved for the first time since its year was frozen replaces the frozen row
+                                TaxFilingEntity replaced = previous != null ? previous : frozenFiling(filingId);
+                                if (replaced != null) {
+                                        previousUserId[0] = replaced.getUserId();
+                                        counters.removed(replaced);
+                                        if (previous == null) {
+                                                hideFrozenRow(replaced.getUserId());
+                                        }
+                                }
+                                if (previous != null) {
+                                        if (!previous.getUserId().equals(filing.getUserId())) {
+                                                userIndex.computeIfPresent(previous.getUserId(),
+                                                                (userId, filings) -> without(filings, filingId, true));
+                                        }
+                                        unindex(previous);
+                                }
+                                userIndex.compute(filing.getUserId(), (userId, filings) -> {
+                                        if (filings == null && !hasFrozenRows(userId)) {
+                                                counters.userAdded();
+                                        }
+                                        return with(filings, filing);
+                                });
+                                index(filing);
+                                counters.added(filing);
+                                // Numbered under the key's lock, so writes to one filing are numbered in store order
+                                sequence[0] = writeSequence.incrementAndGet();
+                                return filing;
+                        });
+                } finally {
+                        segmentLock.readLock().unlock();
+                }
+                // Trace level: bulk loads save millions of filings
+                log.trace("Saved filing for filingId: {}, user: {}", filing.getFilingId(), filing.getUserId());
+                for (TaxFilingWriteListener listener : writeListeners) {
+                        // The filing is stored either way; a failing listener must not keep it from the others
+                        try {
+                                listener.filingSaved(filing, previousUserId[0], sequence[0]);
+                        } catch (RuntimeException e) {
+                                log.error("Write listener failed for filingId: {}", filing.getFilingId(), e);
+                        }
+                }
+        }
+
+        @Override
+        public void addWriteListener(TaxFilingWriteListener listener) {
+                writeListeners.add(listener);
+        }
+
+        @Override
+        public long lastWriteSequence() {
+                return writeSequence.get();
+        }
+
+        @Override
+        public FilingStatistics statistics() {
+                return counters.snapshot();
+        }
+
+        /**
+         * Moves every filing for a tax year before the given one out of the mutable maps
+         * into that year's frozen segment, rebuilding the segment if the year was frozen
+         * before. Reads and writes continue while segments are built; saves pause only
+         * while the finished segments are swapped in and the distinct users recounted.
+         * Reads that run during the swap are weakly consistent and may see a moved filing
+         * twice.
+         *
+         * @param taxYear the first tax year that stays mutable
+         * @return the number of filings moved out of the mutable maps
+         * @throws IllegalArgumentException if a filing cannot be stored in a segment, in
+         *         which case no filings are moved
+         */
+        public long freezeTaxYearsBefore(int taxYear) {
+                synchronized (freezeMonitor) {
+                        long started = System.nanoTime();
+                        NavigableMap<Integer, FrozenTaxYearSegment> current = segments;
+                        // Filings saved after this snapshot stay in the mutable maps and hide their frozen rows
+                        Map<Integer, List<TaxFilingEntity>> pendingByYear = new TreeMap<>();
+                        for (int year : mutableTaxYearsBefore(taxYear)) {
+                                pendingByYear.put(year, new ArrayList<>(taxYearIndex.subMap(
+                                                IndexPosition.lowestKey(year), true, IndexPosition.highestKey(year), true).values()));
+                        }
+                        List<TaxFilingEntity> moved = new ArrayList<>();
+                        pendingByYear.values().forEach(moved::addAll);
+                        if (moved.isEmpty()) {
+                                return 0;
+                        }
+                        // A filing that changed tax year leaves a hidden row in its old year's segment,
+                        // which would reappear once the filing leaves the mutable maps
+                        Set<Integer> rebuild = new TreeSet<>(pendingByYear.keySet());
+                        for (TaxFilingEntity filing : moved) {
+                                for (FrozenTaxYearSegment segment : current.values()) {
+                                        if (segment.rowOf(filing.getFilingId()) != FrozenTaxYearSegment.NO_ROW) {
+                                                rebuild.add(segment.taxYear());
+                                        }
+                                }
+                        }
+
+                        NavigableMap<Integer, FrozenTaxYearSegment> updated = new TreeMap<>(current);
+                        for (int year : rebuild) {
+                                List<TaxFilingEntity> pending = pendingByYear.getOrDefault(year, List.of());
+                                List<TaxFilingEntity> filings = new ArrayList<>(pending);
+                                FrozenTaxYearSegment previous = current.get(year);
+                                if (previous != null) {
+                                        previous.rows()
+                                                        .filter(row -> isVisible(previous, row))
+                                                        .forEach(row -> filings.add(previous.read(row)));
+                                }
+                                FrozenTaxYearSegment segment = FrozenTaxYearSegment.of(year, filings);
+                                if (segment.size() == 0) {
+                                        updated.remove(year);
+                                } else {
+                                        updated.put(year, segment);
+                                }
+                                log.info("Froze tax year {}: {} filings ({} newly frozen) in {} KiB", year, segment.size(),
+                                                pending.size(), segment.heapBytes() / 1024);
+                        }
+                        List<String> users = new ArrayList<>();
+                        for (FrozenTaxYearSegment segment : updated.values()) {
+                                SortedStringTable userIds = segment.userIds();
+                                for (int code = 0; code < userIds.size(); code++) {
+                                        users.add(userIds.get(code));
+                                }
+                        }
+                        SortedStringTable updatedUsers = SortedStringTable.of(users);
+                        // Each segment's user codes as indexes into updatedUsers
+                        Map<Integer, int[]> userCodesByYear = new TreeMap<>();
+                        for (FrozenTaxYearSegment segment : updated.values()) {
+                                SortedStringTable userIds = segment.userIds();
+                                int[] codes = new int[userIds.size()];
+                                for (int code = 0; code < codes.length; code++) {
+                                        codes[code] = updatedUsers.indexOf(userIds.get(code));
+                                }
+                                userCodesByYear.put(segment.taxYear(), codes);
+                        }
+
+                        segmentLock.writeLock().lock();
+                        try {
+                                segments = Collections.unmodifiableNavigableMap(updated);
+                                frozenUsers = updatedUsers;
+                                for (TaxFilingEntity filing : moved) {
+                                        // Filings saved again since the segment was built stay mutable and hide their row
+                                        filingStore.computeIfPresent(filing.getFilingId(),
+                                                        (filingId, stored) -> stored == filing ? unstore(stored) : stored);
+                                }
+                                // Counted once the moved filings are unstored, as only visible rows count
+                                int[] visibleRows = new int[updatedUsers.size()];
+                                for (FrozenTaxYearSegment segment : updated.values()) {
+                                        int[] codes = userCodesByYear.get(segment.taxYear());
+                                        segment.rows()
+                                                        .filter(row -> isVisible(segment, row))
+                                                        .forEach(row -> visibleRows[codes[segment.userCode(row)]]++);
+                                }
+                                frozenRowsByUser = new AtomicIntegerArray(visibleRows);
+                                counters.resetDistinctUsers(Arrays.stream(visibleRows).filter(rows -> rows > 0).count()
+                                                + userIndex.keySet().stream().filter(userId -> !hasFrozenRows(userId)).count());
+                        } finally {
+                                segmentLock.writeLock().unlock();
+                        }
+                        log.info("Froze {} filings for tax years before {} in {} ms", moved.size(), taxYear,
+                                        (System.nanoTime() - started) / 1_000_000);
+                        return moved.size();
+                }
+        }
+
+        /**
+         * Returns the approximate heap footprint of the frozen segments.
+         */
+        public long frozenHeapBytes() {
+                return segments.values().stream().mapToLong(FrozenTaxYearSegment::heapBytes).sum()
+                                + frozenUsers.heapBytes();
+        }
+
+        private List<Integer> mutableTaxYearsBefore(int taxYear) {
+                List<Integer> years = new ArrayList<>();
+                Long key = taxYearIndex.isEmpty() ? null : taxYearIndex.firstKey();
+                while (key != null && (int) (key >> 32) < taxYear) {
+                        int year = (int) (key >> 32);
+                        years.add(year);
+                        key = taxYearIndex.ceilingKey(IndexPosition.lowestKey(year + 1));
+                }
+                return years;
+        }
+
+        /**
+         * Removes a filing that has been copied into a segment from the mutable maps. The
+         * filing remains visible through its frozen row, so counters are left unchanged.
+         */
+        private TaxFilingEntity unstore(TaxFilingEntity filing) {
+                userIndex.computeIfPresent(filing.getUserId(), (userId, filings) -> without(filings, filing.getFilingId(), false));
+                unindex(filing);
+                return null;
+        }
+
+        private boolean isVisible(FrozenTaxYearSegment segment, int row) {
+                return !filingStore.containsKey(segment.filingId(row));
+        }
+
+        /**
+         * Counts a frozen row of the user as hidden by a save, and the user as gone if it
+         * was their last visible filing. Runs under the user's index lock, so it is ordered
+         * with saves that add or remove the user's mutable filings.
+         */
+        private void hideFrozenRow(String userId) {
+                userIndex.compute(userId, (key, filings) -> {
+                        if (frozenRowsByUser.decrementAndGet(frozenUsers.indexOf(key)) == 0 && filings == null) {
+                                counters.userRemoved();
+                        }
+                        return filings;
+                });
+        }
+
+        private boolean hasFrozenRows(String userId) {
+                int code = frozenUsers.indexOf(userId);
+                return code != SortedStringTable.NOT_FOUND && frozenRowsByUser.get(code) > 0;
+        }
+
+        private TaxFilingEntity frozenFiling(int filingId) {
+                for (FrozenTaxYearSegment segment : segments.values()) {
+                        int row = segment.rowOf(filingId);
+                        if (row != FrozenTaxYearSegment.NO_ROW && isVisible(segment, row)) {
+                                return segment.read(row);
+                        }
+                }
+                return null;
+        }
+
+        private void index(TaxFilingEntity filing) {
+                if (filing.getFilingDate() != null) {
+                        filingDateIndex.put(IndexPosition.ofFilingDate(filing).sortKey(), filing);
+                }
+                taxYearIndex.put(IndexPosition.ofTaxYear(filing).sortKey(), filing);
+                if (filing.getTrackingId() != null) {
+                        trackingIndex.put(filing.getTrackingId(), filing);
+                }
+        }
+
+        private void unindex(TaxFilingEntity filing) {
+                if (filing.getFilingDate() != null) {
+                        filingDateIndex.remove(IndexPosition.ofFilingDate(filing).sortKey());
+                }
+                taxYearIndex.remove(IndexPosition.ofTaxYear(filing).sortKey());
+                if (filing.getTrackingId() != null) {
+                        // Leave the entry alone if a later filing has claimed the same trackingId
+                        trackingIndex.remove(filing.getTrackingId(), filing);
+                }
+        }
+
+        /**
+         * Merges streams that are each sorted by key into one sorted stream.
+         */
+        private static Stream<TaxFilingEntity> merge(List<Stream<TaxFilingEntity>> sources,
+                        ToLongFunction<TaxFilingEntity> key) {
+                if (sources.size() == 1) {
+                        return sources.get(0);
+                }
+                Iterator<TaxFilingEntity> merged = new MergingIterator(sources, key);
+                return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged,
+                                Spliterator.ORDERED | Spliterator.NONNULL), false)
+                                .onClose(() -> sources.forEach(Stream::close));
+        }
+
+        private static boolean containsFiling(List<TaxFilingEntity> filings, int filingId) {
+                for (TaxFilingEntity filing : filings) {
+                        if (filing.getFilingId() == filingId) {
+                                return true;
+                        }
+                }
+                return false;
+        }
+
+        private static List<TaxFilingEntity> with(List<TaxFilingEntity> filings, TaxFilingEntity filing) {
+                if (filings == null) {
+                        return List.of(filing);
+                }
+                List<TaxFilingEntity> updated = new ArrayList<>(filings.size() + 1);
+                for (TaxFilingEntity existing : filings) {
+                        if (existing.getFilingId() != filing.getFilingId()) {
+                                updated.add(existing);
+                        }
+                }
+                updated.add(filing);
+                return List.copyOf(updated);
+        }
+
+        private List<TaxFilingEntity> without(List<TaxFilingEntity> filings, int filingId, boolean countUser) {
+                List<TaxFilingEntity> updated = new ArrayList<>(filings.size());
+                for (TaxFilingEntity existing : filings) {
+                        if (existing.getFilingId() != filingId) {
+                                updated.add(existing);
+                        }
+                }
+                if (updated.isEmpty()) {
+                        if (countUser && !hasFrozenRows(filings.get(0).getUserId())) {
+                                counters.userRemoved();
+                        }
+                        // Returning null drops the key once a user has no filings left
+                        return null;
+                }
+                return List.copyOf(updated);
+        }
+
+        /**
+         * Sort key bounds of a range query: [low, high], or (low, high] when resuming after a position.
+         */
+        private record KeyRange(long low, boolean lowInclusive, long high) {
+
+                static KeyRange of(int from, int to, IndexPosition after) {
+                        long low = IndexPosition.lowestKey(from);
+                        boolean lowInclusive = true;
+                        if (after != null && after.sortKey() >= low) {
+                                low = after.sortKey();
+                                lowInclusive = false;
+                        }
+                        long high = IndexPosition.highestKey(to);
+                        return low > high ? null : new KeyRange(low, lowInclusive, high);
+                }
+
+                Stream<TaxFilingEntity> select(NavigableMap<Long, TaxFilingEntity> index) {
+                        return index.subMap(low, lowInclusive, high, true).values().stream();
+                }
+        }
+
+        /**
+         * K-way merge over sorted sources, holding one pending filing per source.
+         */
+        private static final class MergingIterator implements Iterator<TaxFilingEntity> {
+
+                private record Head(TaxFilingEntity filing, long key, Iterator<TaxFilingEntity> source) {
+                }
+
+                private final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparingLong(Head::key));
+                private final ToLongFunction<TaxFilingEntity> key;
+
+                MergingIterator(List<Stream<TaxFilingEntity>> sources, ToLongFunction<TaxFilingEntity> key) {
+                        this.key = key;
+                        for (Stream<TaxFilingEntity> source : sources) {
+                                advance(source.iterator());
+                        }
+                }
+
+                @Override
+                public boolean hasNext() {
+                        return !heads.isEmpty();
+                }
+
+                @Override
+                public TaxFilingEntity next() {
+                        Head head = heads.poll();
+                        if (head == null) {
+                                throw new NoSuchElementException();
+                        }
+                        advance(head.source());
+                        return head.filing();
+                }
+
+                private void advance(Iterator<TaxFilingEntity> source) {
+                        if (source.hasNext()) {
+                                TaxFilingEntity filing = source.next();
+                                heads.add(new Head(filing, key.applyAsLong(filing), source));
+                        }
+                }
         }
 }
@@ -0,0 +1,24 @@
+package com.intuit.turbotax.filing.query.repository;
+
+/**
+ * Callback invoked by a {@link TaxFilingRepository} after a filing has been stored.
+ * Listeners run on the writing thread once the write is visible to readers, so they
+ * must be fast and must not write back to the repository. A listener that throws is
+ * logged and does not keep the write from the listeners after it.
+ *
+ * <p>Every write carries a sequence number assigned inside the write's critical section,
+ * so two writes to the same filing are numbered in the order they were stored, even if
+ * their listeners are called in the other order.
+ */
+@FunctionalInterface
+public interface TaxFilingWriteListener {
+
+    /**
+     * Called after a filing is saved.
+     *
+     * @param filing         the filing that was stored
+     * @param previousUserId the userId of the filing it replaced, or null if the filing is new
+     * @param writeSequence  the repository's sequence number of this write
+     */
+    void filingSaved(TaxFilingEntity filing, String previousUserId, long writeSequence);
+}
@@ -0,0 +1,83 @@
+package com.intuit.turbotax.filing.query.repository;
+
+import java.time.Year;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.intuit.turbotax.filing.query.config.FilingQueryProperties;
+
+/**
+ * Freezes filings for tax years before the current one into immutable segments of the
+ * in-memory repository, once after the data load and then periodically to pick up
+ * filings saved for prior years since the last freeze.
+ * Enabled with {@code turbotax.filing.segments.enabled=true}.
+ */
+@Service
+@ConditionalOnProperty(prefix = "turbotax.filing.segments", name = "enabled", havingValue = "true")
+public class TaxYearSegmentService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaxYearSegmentService.class);
+
+    private final TaxFilingRepositoryImpl repository;
+    private final Integer currentTaxYear;
+
+    // Periodic freezes wait for the startup load so they never freeze a partial data set
+    private volatile boolean repositoryLoaded;
+
+    public TaxYearSegmentService(TaxFilingRepository repository, FilingQueryProperties properties) {
+        if (repository instanceof TaxFilingRepositoryImpl segmented) {
+            this.repository = segmented;
+        } else {
+            log.warn("Tax year segments are not supported by {}; prior tax years stay mutable",
+                    repository.getClass().getSimpleName());
+            this.repository = null;
+        }
+        this.currentTaxYear = properties.getSegments().getCurrentTaxYear();
+    }
+
+    /**
+     * Returns the first tax year that stays mutable.
+     */
+    public int currentTaxYear() {
+        return currentTaxYear != null ? currentTaxYear : Year.now().getValue() - 1;
+    }
+
+    /**
+     * Freezes the prior tax years after the startup load and enables periodic freezes.
+     */
+    public void repositoryLoaded() {
+        repositoryLoaded = true;
+        freezePriorYears();
+    }
+
+    @Scheduled(fixedDelayString = "${turbotax.filing.segments.freeze-interval:PT6H}",
+            initialDelayString = "${turbotax.filing.segments.freeze-interval:PT6H}")
+    public void freezePeriodically() {
+        if (repositoryLoaded) {
+            freezePriorYears();
+        }
+    }
+
+    /**
+     * Moves every mutable filing for a tax year before the current one into its frozen segment.
+     *
+     * @return the number of filings frozen, or -1 if the repository does not support segments
+     */
+    public long freezePriorYears() {
+        if (repository == null) {
+            return -1;
+        }
+        try {
+            long frozen = repository.freezeTaxYearsBefore(currentTaxYear());
+            log.info("Frozen tax year segments hold approximately {} MiB", repository.frozenHeapBytes() >> 20);
+            return frozen;
+        } catch (RuntimeException e) {
+            log.error("Failed to freeze tax years before {}: {}", currentTaxYear(), e.getMessage(), e);
+            return -1;
+        }
+    }
+}
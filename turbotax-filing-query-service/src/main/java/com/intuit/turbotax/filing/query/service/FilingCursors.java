@@ -0,0 +1,41 @@
+package com.intuit.turbotax.filing.query.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * Encodes keyset pagination positions as opaque, URL-safe cursor strings.
+ */
+final class FilingCursors {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private FilingCursors() {
+    }
+
+    static String encode(long... values) {
+        String plain = Arrays.stream(values).mapToObj(Long::toString).collect(Collectors.joining("."));
+        return ENCODER.encodeToString(plain.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode}.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or has the wrong number of values
+     */
+    static long[] decode(String cursor, int expectedValues) {
+        try {
+            String[] parts = new String(DECODER.decode(cursor), StandardCharsets.US_ASCII).split("\\.");
+            if (parts.length != expectedValues) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return Arrays.stream(parts).mapToLong(Long::parseLong).toArray();
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException and Base64 errors are IllegalArgumentExceptions too
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package com.intuit.turbotax.filing.query.service;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.common.model.PaymentMethod;
 import com.intuit.turbotax.api.v1.filing.model.TaxFiling;
+import com.intuit.turbotax.api.v1.filing.model.TaxFilingPage;
+import com.intuit.turbotax.filing.query.repository.FilingStatistics;
 
 /**
  * Service interface for tax filing query operations.
@@ -11,10 +18,124 @@ import com.intuit.turbotax.api.v1.filing.model.TaxFiling;
 public interface FilingQueryService {
 
     /**
-     * Retrieves all tax filings for a specific user.
+     * Retrieves a user's most recent tax filings, newest tax year first, up to
+     * {@code turbotax.filing.validation.max-filings-per-user}. Use
+     * {@link #getFilingsPage(String, String, int)} to read further.
      *
      * @param userId the unique identifier of the user
      * @return list of tax filings for the user
      */
     List<TaxFiling> getFilings(String userId);
-}
\ No newline at end of file
+
+    /**
+     * Retrieves one page of a user's tax filings, ordered by tax year and then
+     * filing date, newest first, with filingId breaking ties.
+     *
+     * @param userId the unique identifier of the user
+     * @param cursor nextCursor from the previous page, or null for the first page
+     * @param limit  the maximum number of filings to return, at most
+     *               {@code turbotax.filing.validation.max-filings-per-user}
+     * @return one page of the user's filings
+     */
+    TaxFilingPage getFilingsPage(String userId, String cursor, int limit);
+
+    /**
+     * Retrieves the most recent tax filings for several users in one call.
+     *
+     * @param userIds the unique identifiers of the users
+     * @return filings grouped by user ID, in request order
+     */
+    Map<String, List<TaxFiling>> getFilingsForUsers(List<String> userIds);
+
+    /**
+     * Retrieves a user's most recent tax filings as an encoded JSON array.
+     * When the response cache is enabled, repeated calls return the same pre-encoded bytes.
+     *
+     * @param userId the unique identifier of the user
+     * @return the user's filings as UTF-8 JSON
+     */
+    byte[] getFilingsJson(String userId);
+
+    /**
+     * Retrieves a filing by its filing ID.
+     *
+     * @param filingId the filing identifier
+     * @return the matching filing
+     * @throws com.intuit.turbotax.filing.query.exception.FilingNotFoundException if no filing has the ID
+     */
+    TaxFiling getFiling(int filingId);
+
+    /**
+     * Retrieves filings for several filing IDs in one call.
+     *
+     * @param filingIds the filing identifiers to resolve
+     * @return filings keyed by filing ID, in request order; unknown IDs are omitted
+     */
+    Map<Integer, TaxFiling> getFilingsByIds(List<Integer> filingIds);
+
+    /**
+     * Retrieves a filing by the trackingId assigned by the IRS or a state agency.
+     *
+     * @param trackingId the trackingId, such as IRS-TRACK-202410001
+     * @return the matching filing
+     * @throws com.intuit.turbotax.filing.query.exception.FilingNotFoundException if no filing has the trackingId
+     */
+    TaxFiling getFilingByTrackingId(String trackingId);
+
+    /**
+     * Retrieves filings for several trackingIds in one call.
+     *
+     * @param trackingIds the trackingIds to resolve
+     * @return filings keyed by trackingId, in request order; unknown trackingIds are omitted
+     */
+    Map<String, TaxFiling> getFilingsByTrackingIds(List<String> trackingIds);
+
+    /**
+     * Lazily streams every stored filing, optionally filtered. Filings are mapped one
+     * at a time as the stream is consumed, so memory use does not depend on store size.
+     * Callers must close the stream.
+     *
+     * @param taxYear      only include filings for this tax year, or null for all years
+     * @param jurisdiction only include filings for this jurisdiction, or null for all
+     * @return a lazy stream of matching filings
+     */
+    Stream<TaxFiling> exportFilings(Integer taxYear, Jurisdiction jurisdiction);
+
+    /**
+     * Finds filings submitted within a date range using the filing date index,
+     * ordered by filing date and then filingId.
+     *
+     * @param from               the earliest filing date, inclusive
+     * @param to                 the latest filing date, inclusive
+     * @param jurisdiction       only include this jurisdiction, or null for all
+     * @param disbursementMethod only include this payment method, or null for all
+     * @param cursor             nextCursor from the previous page, or null for the first page
+     * @param limit              the maximum number of filings to return
+     * @return one page of matching filings
+     */
+    TaxFilingPage findFilingsByFilingDate(LocalDate from, LocalDate to, Jurisdiction jurisdiction,
+            PaymentMethod disbursementMethod, String cursor, int limit);
+
+    /**
+     * Finds filings for a range of tax years using the tax year index, ordered by
+     * tax year and then filingId.
+     *
+     * @param fromYear           the earliest tax year, inclusive
+     * @param toYear             the latest tax year, inclusive
+     * @param jurisdiction       only include this jurisdiction, or null for all
+     * @param disbursementMethod only include this payment method, or null for all
+     * @param cursor             nextCursor from the previous page, or null for the first page
+     * @param limit              the maximum number of filings to return
+     * @return one page of matching filings
+     */
+    TaxFilingPage findFilingsByTaxYear(int fromYear, int toYear, Jurisdiction jurisdiction,
+            PaymentMethod disbursementMethod, String cursor, int limit);
+
+    /**
+     * Returns running counts of the stored filings. The counts are maintained on
+     * every write, so this call does not scan the store.
+     *
+     * @return total, per-jurisdiction, per-tax-year and distinct user counts
+     */
+    FilingStatistics getStatistics();
+}
@@ -1,17 +1,38 @@
 package com.intuit.turbotax.filing.query.service;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.common.model.PaymentMethod;
 import com.intuit.turbotax.api.v1.filing.model.TaxFiling;
+import com.intuit.turbotax.api.v1.filing.model.TaxFilingPage;
+import com.intuit.turbotax.filing.query.config.FilingQueryProperties;
+import com.intuit.turbotax.filing.query.exception.FilingNotFoundException;
 import com.intuit.turbotax.filing.query.mapper.TaxFilingMapper;
+import com.intuit.turbotax.filing.query.repository.FilingStatistics;
+import com.intuit.turbotax.filing.query.repository.IndexPosition;
 import com.intuit.turbotax.filing.query.repository.TaxFilingEntity;
 import com.intuit.turbotax.filing.query.repository.TaxFilingRepository;
 import com.intuit.turbotax.filing.query.validation.FilingValidator;
@@ -22,23 +43,53 @@ import com.intuit.turbotax.filing.query.validation.FilingValidator;
  * validation.
  */
 @Service
-@CacheConfig(cacheNames = "filings")
+@CacheConfig(cacheNames = FilingQueryServiceImpl.FILINGS_CACHE)
 public class FilingQueryServiceImpl implements FilingQueryService {
 
+    static final String FILINGS_CACHE = "filings";
+
     private static final Logger log = LoggerFactory.getLogger(FilingQueryServiceImpl.class);
 
+    // Newest tax year first, then newest filing date (undated filings last), then highest filingId
+    private static final Comparator<TaxFilingEntity> LATEST_FIRST =
+            Comparator.comparing(FilingQueryServiceImpl::userPosition, Arrays::compare).reversed();
+
     private final TaxFilingRepository repository;
     private final TaxFilingMapper mapper;
     private final FilingValidator validator;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final FilingResponseCache responseCache;
+    private final int maxFilingsPerUser;
 
-    public FilingQueryServiceImpl(TaxFilingRepository repository, TaxFilingMapper mapper, FilingValidator validator) {
+    public FilingQueryServiceImpl(TaxFilingRepository repository, TaxFilingMapper mapper, FilingValidator validator,
+            CacheManager cacheManager, ObjectMapper objectMapper, ObjectProvider<FilingResponseCache> responseCache,
+            FilingQueryProperties properties) {
         this.repository = repository;
         this.mapper = mapper;
         this.validator = validator;
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.responseCache = responseCache.getIfAvailable();
+        this.maxFilingsPerUser = properties.getValidation().getMaxFilingsPerUser();
+    }
+
+    /**
+     * Starts evicting cached filings when they are saved. Called once the startup load or
+     * snapshot restore is complete, so the bulk saves before it do not each run an
+     * eviction; anything cached while they ran is dropped.
+     */
+    public void repositoryLoaded() {
+        repository.addWriteListener(this::evictFilings);
+        Cache cache = cacheManager.getCache(FILINGS_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
     }
 
     @Override
-    @Cacheable(key = "#userId")
+    // sync loads through the cache's atomic get, so an eviction racing with a load is not lost
+    @Cacheable(key = "#userId", sync = true)
     public List<TaxFiling> getFilings(String userId) {
         MDC.put("userId", userId);
         MDC.put("operation", "getFilings");
@@ -46,12 +97,7 @@ public class FilingQueryServiceImpl implements FilingQueryService {
             log.info("Retrieving all filings for user");
             validator.validateUserId(userId);
 
-            List<TaxFilingEntity> entities = repository.findLatestByUserId(userId)
-                    .collect(Collectors.toList());
-
-            List<TaxFiling> filings = entities.stream()
-                    .map(mapper::entityToApi)
-                    .collect(Collectors.toList());
+            List<TaxFiling> filings = loadFilings(userId);
 
             log.info("Successfully retrieved {} filings for user", filings.size());
             return filings;
@@ -59,4 +105,231 @@ public class FilingQueryServiceImpl implements FilingQueryService {
             MDC.clear();
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public TaxFilingPage getFilingsPage(String userId, String cursor, int limit) {
+        MDC.put("userId", userId);
+        MDC.put("operation", "getFilingsPage");
+        try {
+            validator.validateUserId(userId);
+            validator.validatePageSize(limit, maxFilingsPerUser);
+
+            long[] before = cursor == null || cursor.isBlank() ? null : FilingCursors.decode(cursor, 3);
+            // Read one filing past the page to learn whether another page follows
+            List<TaxFilingEntity> entities = latestFilings(userId, before, limit + 1);
+            boolean hasMore = entities.size() > limit;
+            List<TaxFilingEntity> pageEntities = hasMore ? entities.subList(0, limit) : entities;
+
+            String nextCursor = hasMore ? FilingCursors.encode(userPosition(pageEntities.getLast())) : null;
+            log.info("Retrieved page of {} filings for user, hasMore={}", pageEntities.size(), hasMore);
+            return new TaxFilingPage(pageEntities.stream().map(mapper::entityToApi).toList(), nextCursor);
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Override
+    public Map<String, List<TaxFiling>> getFilingsForUsers(List<String> userIds) {
+        MDC.put("operation", "getFilingsForUsers");
+        try {
+            log.info("Retrieving filings for {} users", userIds == null ? 0 : userIds.size());
+            validator.validateUserIds(userIds);
+
+            Cache cache = cacheManager.getCache(FILINGS_CACHE);
+            Map<String, List<TaxFiling>> filingsByUser = new LinkedHashMap<>();
+            for (String userId : userIds) {
+                if (!filingsByUser.containsKey(userId)) {
+                    filingsByUser.put(userId, cachedFilings(cache, userId));
+                }
+            }
+
+            log.info("Successfully retrieved filings for {} distinct users", filingsByUser.size());
+            return filingsByUser;
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Override
+    public byte[] getFilingsJson(String userId) {
+        MDC.put("userId", userId);
+        MDC.put("operation", "getFilingsJson");
+        try {
+            validator.validateUserId(userId);
+
+            if (responseCache != null) {
+                return responseCache.get(userId, () -> loadFilings(userId));
+            }
+            return objectMapper.writeValueAsBytes(cachedFilings(cacheManager.getCache(FILINGS_CACHE), userId));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode filings", e);
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    @Override
+    public TaxFiling getFiling(int filingId) {
+        return repository.findById(filingId)
+                .map(mapper::entityToApi)
+                .orElseThrow(() -> new FilingNotFoundException(filingId));
+    }
+
+    @Override
+    public Map<Integer, TaxFiling> getFilingsByIds(List<Integer> filingIds) {
+        log.info("Resolving {} filing IDs", filingIds == null ? 0 : filingIds.size());
+        validator.validateFilingIds(filingIds);
+
+        Map<Integer, TaxFiling> filings = new LinkedHashMap<>();
+        repository.findByIds(filingIds)
+                .forEach((filingId, filing) -> filings.put(filingId, mapper.entityToApi(filing)));
+
+        log.info("Resolved {} of {} filing IDs", filings.size(), filingIds.size());
+        return filings;
+    }
+
+    @Override
+    public TaxFiling getFilingByTrackingId(String trackingId) {
+        validator.validateTrackingId(trackingId);
+
+        return repository.findByTrackingId(trackingId)
+                .map(mapper::entityToApi)
+                .orElseThrow(() -> new FilingNotFoundException("Filing not found with tracking ID: " + trackingId));
+    }
+
+    @Override
+    public Map<String, TaxFiling> getFilingsByTrackingIds(List<String> trackingIds) {
+        log.info("Resolving {} tracking IDs", trackingIds == null ? 0 : trackingIds.size());
+        validator.validateTrackingIds(trackingIds);
+
+        Map<String, TaxFiling> filings = new LinkedHashMap<>();
+        repository.findByTrackingIds(trackingIds)
+                .forEach((trackingId, filing) -> filings.put(trackingId, mapper.entityToApi(filing)));
+
+        log.info("Resolved {} of {} tracking IDs", filings.size(), trackingIds.size());
+        return filings;
+    }
+
+    @Override
+    public Stream<TaxFiling> exportFilings(Integer taxYear, Jurisdiction jurisdiction) {
+        log.info("Exporting filings for taxYear={}, jurisdiction={}", taxYear, jurisdiction);
+
+        return repository.findAll()
+                .filter(filing -> taxYear == null || filing.getTaxYear() == taxYear)
+                .filter(filing -> jurisdiction == null || filing.getJurisdiction() == jurisdiction)
+                .map(mapper::entityToApi);
+    }
+
+    @Override
+    public TaxFilingPage findFilingsByFilingDate(LocalDate from, LocalDate to, Jurisdiction jurisdiction,
+            PaymentMethod disbursementMethod, String cursor, int limit) {
+        log.info("Querying filings filed from {} to {}, jurisdiction={}, disbursementMethod={}",
+                from, to, jurisdiction, disbursementMethod);
+        validator.validateDateRange(from, to);
+        validator.validatePageSize(limit);
+
+        IndexPosition after = decodePosition(cursor);
+        return page(repository.findByFilingDateBetween(from, to, after), jurisdiction, disbursementMethod, limit,
+                IndexPosition::ofFilingDate);
+    }
+
+    @Override
+    public TaxFilingPage findFilingsByTaxYear(int fromYear, int toYear, Jurisdiction jurisdiction,
+            PaymentMethod disbursementMethod, String cursor, int limit) {
+        log.info("Querying filings for tax years {} to {}, jurisdiction={}, disbursementMethod={}",
+                fromYear, toYear, jurisdiction, disbursementMethod);
+        validator.validateTaxYearRange(fromYear, toYear);
+        validator.validatePageSize(limit);
+
+        IndexPosition after = decodePosition(cursor);
+        return page(repository.findByTaxYearBetween(fromYear, toYear, after), jurisdiction, disbursementMethod, limit,
+                IndexPosition::ofTaxYear);
+    }
+
+    @Override
+    public FilingStatistics getStatistics() {
+        return repository.statistics();
+    }
+
+    private TaxFilingPage page(Stream<TaxFilingEntity> matches, Jurisdiction jurisdiction,
+            PaymentMethod disbursementMethod, int limit, Function<TaxFilingEntity, IndexPosition> position) {
+        // Read one filing past the page to learn whether another page follows
+        List<TaxFilingEntity> entities = matches
+                .filter(filing -> jurisdiction == null || filing.getJurisdiction() == jurisdiction)
+                .filter(filing -> disbursementMethod == null || filing.getDisbursementMethod() == disbursementMethod)
+                .limit(limit + 1L)
+                .toList();
+        boolean hasMore = entities.size() > limit;
+        List<TaxFilingEntity> pageEntities = hasMore ? entities.subList(0, limit) : entities;
+
+        String nextCursor = null;
+        if (hasMore) {
+            IndexPosition last = position.apply(pageEntities.getLast());
+            nextCursor = FilingCursors.encode(last.value(), last.filingId());
+        }
+        return new TaxFilingPage(pageEntities.stream().map(mapper::entityToApi).toList(), nextCursor);
+    }
+
+    private static IndexPosition decodePosition(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        long[] values = FilingCursors.decode(cursor, 2);
+        try {
+            return new IndexPosition(Math.toIntExact(values[0]), Math.toIntExact(values[1]));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private void evictFilings(TaxFilingEntity filing, String previousUserId, long writeSequence) {
+        Cache cache = cacheManager.getCache(FILINGS_CACHE);
+        if (cache == null) {
+            return;
+        }
+        cache.evict(filing.getUserId());
+        if (previousUserId != null && !previousUserId.equals(filing.getUserId())) {
+            cache.evict(previousUserId);
+        }
+    }
+
+    private List<TaxFiling> cachedFilings(Cache cache, String userId) {
+        // Self-invocation bypasses the @Cacheable proxy, so consult the same cache directly
+        return cache != null ? cache.get(userId, () -> loadFilings(userId)) : loadFilings(userId);
+    }
+
+    private List<TaxFiling> loadFilings(String userId) {
+        List<TaxFilingEntity> entities = latestFilings(userId, null, maxFilingsPerUser);
+
+        return entities.stream()
+                .map(mapper::entityToApi)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns up to limit of the user's filings in {@link #LATEST_FIRST} order, starting
+     * after the given position. Only limit filings are held at a time, so users with long
+     * filing histories are neither copied whole nor fully sorted.
+     */
+    private List<TaxFilingEntity> latestFilings(String userId, long[] before, int limit) {
+        PriorityQueue<TaxFilingEntity> kept = new PriorityQueue<>(LATEST_FIRST.reversed());
+        try (Stream<TaxFilingEntity> filings = repository.findLatestByUserId(userId)) {
+            filings.filter(filing -> before == null || Arrays.compare(userPosition(filing), before) < 0)
+                    .forEach(filing -> {
+                        kept.add(filing);
+                        if (kept.size() > limit) {
+                            kept.poll();
+                        }
+                    });
+        }
+        List<TaxFilingEntity> latest = new ArrayList<>(kept);
+        latest.sort(LATEST_FIRST);
+        return latest;
+    }
+
+    private static long[] userPosition(TaxFilingEntity filing) {
+        LocalDate filingDate = filing.getFilingDate();
+        return new long[] { filing.getTaxYear(), filingDate == null ? Long.MIN_VALUE : filingDate.toEpochDay(),
+                filing.getFilingId() };
+    }
+}
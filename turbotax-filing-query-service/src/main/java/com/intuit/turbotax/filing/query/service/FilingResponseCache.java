@@ -0,0 +1,107 @@
+package com.intuit.turbotax.filing.query.service;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.intuit.turbotax.api.v1.filing.model.TaxFiling;
+import com.intuit.turbotax.filing.query.config.FilingQueryProperties;
+import com.intuit.turbotax.filing.query.repository.TaxFilingEntity;
+import com.intuit.turbotax.filing.query.repository.TaxFilingRepository;
+
+/**
+ * Cache of per-user filing responses held as already-encoded JSON bytes, so hot users
+ * are served without running Jackson on every request.
+ *
+ * <p>Once the repository is loaded, entries are invalidated through a
+ * {@link TaxFilingRepository} write listener whenever a filing for the user is saved,
+ * including when a filing moves to another user.
+ * The cache is bounded by Caffeine at {@code max-entries} users, evicting the least
+ * valuable entries once it is full.
+ *
+ * <p>Enabled with {@code turbotax.filing.response-cache.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "turbotax.filing.response-cache", name = "enabled", havingValue = "true")
+public class FilingResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(FilingResponseCache.class);
+
+    private final TaxFilingRepository repository;
+    private final Cache<String, byte[]> encodedByUser;
+    private final ObjectMapper objectMapper;
+
+    public FilingResponseCache(TaxFilingRepository repository, ObjectMapper objectMapper,
+            FilingQueryProperties properties) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.encodedByUser = Caffeine.newBuilder()
+                .maximumSize(properties.getResponseCache().getMaxEntries())
+                .build();
+    }
+
+    /**
+     * Starts invalidating entries when filings are saved. Called once the startup load or
+     * snapshot restore is complete, so the bulk saves before it do not each run an
+     * invalidation; anything cached while they ran is dropped.
+     */
+    public void repositoryLoaded() {
+        repository.addWriteListener(this::filingSaved);
+        encodedByUser.invalidateAll();
+    }
+
+    /**
+     * Returns the encoded filings for a user, loading and encoding them on a miss.
+     *
+     * @param userId the user whose filings are requested
+     * @param loader reads the user's filings from the repository
+     * @return the filings as a UTF-8 JSON array
+     */
+    public byte[] get(String userId, Supplier<List<TaxFiling>> loader) {
+        // Caffeine loads inside a compute that holds the key's lock, so an invalidation racing
+        // with the load waits for it and then removes the entry instead of losing to stale bytes
+        return encodedByUser.get(userId, key -> encode(loader.get()));
+    }
+
+    /**
+     * Drops the cached response for a user.
+     *
+     * @param userId the user whose entry is removed
+     */
+    public void invalidate(String userId) {
+        encodedByUser.invalidate(userId);
+    }
+
+    /**
+     * Returns the number of users with a cached response.
+     */
+    public long size() {
+        // Evictions are applied asynchronously; settle them so the count reflects the bound
+        encodedByUser.cleanUp();
+        return encodedByUser.estimatedSize();
+    }
+
+    private void filingSaved(TaxFilingEntity filing, String previousUserId, long writeSequence) {
+        invalidate(filing.getUserId());
+        if (previousUserId != null && !previousUserId.equals(filing.getUserId())) {
+            invalidate(previousUserId);
+        }
+    }
+
+    private byte[] encode(List<TaxFiling> filings) {
+        try {
+            return objectMapper.writeValueAsBytes(filings);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to encode {} filings", filings.size(), e);
+            throw new IllegalStateException("Failed to encode filings", e);
+        }
+    }
+}
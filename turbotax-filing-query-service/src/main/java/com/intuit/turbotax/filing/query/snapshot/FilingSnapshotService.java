@@ -0,0 +1,134 @@
+package com.intuit.turbotax.filing.query.snapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.intuit.turbotax.filing.query.config.FilingQueryProperties;
+import com.intuit.turbotax.filing.query.partition.UserPartition;
+import com.intuit.turbotax.filing.query.repository.TaxFilingEntity;
+import com.intuit.turbotax.filing.query.repository.TaxFilingRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Restores the filing repository from its snapshot at startup and writes new
+ * snapshots periodically and on graceful shutdown. A snapshot is only restored if it was
+ * taken from the current version of the data source; otherwise the source is loaded again.
+ * Enabled with {@code turbotax.filing.snapshot.enabled=true}.
+ */
+@Service
+@ConditionalOnProperty(prefix = "turbotax.filing.snapshot", name = "enabled", havingValue = "true")
+public class FilingSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(FilingSnapshotService.class);
+
+    private final TaxFilingRepository repository;
+    private final FilingSnapshotStore store;
+    private final UserPartition partition;
+    private final Path snapshotPath;
+
+    // Snapshots are only written once the store holds a complete data set
+    private volatile boolean repositoryComplete;
+    // Version of the data source the repository was loaded from, recorded in each snapshot
+    private volatile FilingSnapshotStore.SourceVersion sourceVersion = FilingSnapshotStore.SourceVersion.UNKNOWN;
+
+    public FilingSnapshotService(TaxFilingRepository repository, FilingSnapshotStore store,
+            UserPartition partition, FilingQueryProperties properties) {
+        this.repository = repository;
+        this.store = store;
+        this.partition = partition;
+        this.snapshotPath = Path.of(properties.getSnapshot().getPath());
+    }
+
+    /**
+     * Restores the repository from the snapshot file if one exists, is valid and was
+     * taken from the current version of the data source.
+     *
+     * @param source the data source the repository is otherwise loaded from
+     * @return true if the repository was restored, false if the caller should load from source
+     */
+    public boolean restore(Resource source) {
+        sourceVersion = versionOf(source);
+        if (!Files.exists(snapshotPath)) {
+            log.info("No filing snapshot at {}; loading from source", snapshotPath);
+            return false;
+        }
+        long started = System.nanoTime();
+        try {
+            FilingSnapshotStore.SourceVersion snapshotSource = store.readSourceVersion(snapshotPath);
+            if (!sourceVersion.isKnown() || !sourceVersion.equals(snapshotSource)) {
+                log.info("Filing snapshot {} was not taken from the current version of {}; loading from source",
+                        snapshotPath, source.getDescription());
+                return false;
+            }
+            // Filtering keeps a restore correct after the partition layout changes
+            long restored = store.restore(snapshotPath, repository, filing -> partition.owns(filing.getUserId()));
+            log.info("Restored {} filings from snapshot {} in {} ms", restored, snapshotPath,
+                    (System.nanoTime() - started) / 1_000_000);
+            repositoryComplete = true;
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not restore filing snapshot {}; loading from source: {}", snapshotPath, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Marks the repository as fully loaded so that snapshots may be written.
+     */
+    public void markRepositoryComplete() {
+        repositoryComplete = true;
+    }
+
+    @Scheduled(fixedDelayString = "${turbotax.filing.snapshot.interval:PT15M}",
+            initialDelayString = "${turbotax.filing.snapshot.interval:PT15M}")
+    public void writePeriodicSnapshot() {
+        writeSnapshot();
+    }
+
+    @PreDestroy
+    public void writeShutdownSnapshot() {
+        writeSnapshot();
+    }
+
+    /**
+     * Writes the current repository contents to the snapshot file.
+     *
+     * @return the number of filings written, or -1 if no snapshot was taken
+     */
+    public synchronized long writeSnapshot() {
+        if (!repositoryComplete) {
+            log.debug("Skipping filing snapshot: repository load has not completed");
+            return -1;
+        }
+        long started = System.nanoTime();
+        try (Stream<TaxFilingEntity> filings = repository.findAll()) {
+            long written = store.write(filings, snapshotPath, sourceVersion);
+            log.info("Wrote {} filings to snapshot {} in {} ms", written, snapshotPath,
+                    (System.nanoTime() - started) / 1_000_000);
+            return written;
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to write filing snapshot {}: {}", snapshotPath, e.getMessage(), e);
+            return -1;
+        }
+    }
+
+    private static FilingSnapshotStore.SourceVersion versionOf(Resource source) {
+        try {
+            return new FilingSnapshotStore.SourceVersion(source.contentLength(), source.lastModified());
+        } catch (IOException e) {
+            log.warn("Cannot determine the version of {}; snapshots will not be restored: {}",
+                    source.getDescription(), e.getMessage());
+            return FilingSnapshotStore.SourceVersion.UNKNOWN;
+        }
+    }
+}
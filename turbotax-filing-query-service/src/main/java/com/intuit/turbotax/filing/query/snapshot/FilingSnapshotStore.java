@@ -0,0 +1,430 @@
+package com.intuit.turbotax.filing.query.snapshot;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.springframework.stereotype.Component;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.common.model.PaymentMethod;
+import com.intuit.turbotax.filing.query.repository.TaxFilingEntity;
+import com.intuit.turbotax.filing.query.repository.TaxFilingRepository;
+
+/**
+ * Reads and writes binary snapshots of the filing repository.
+ *
+ * <p>Layout (big-endian):
+ * <pre>
+ * header : magic "TTFS" | version u16 | reserved u16 | filingCount i64 | createdAt i64
+ *          | blockCount i32 | sourceLength i64 | sourceModified i64 | enum name tables
+ *          | header CRC32C
+ * block  : recordCount i32 | payloadLength i32 | payload CRC32C | payload
+ * record : filingId i32 | taxYear i16 | flags u8 | jurisdiction i8 | disbursement i8
+ *          | [epochDay i32] | [scale i8, unscaled i64] | userId | [trackingId]
+ * </pre>
+ * Enums are written as ordinals together with the name tables, so snapshots survive
+ * reordered constants. The header records the length and modification time of the data
+ * source the filings were loaded from, so that a snapshot of an older source can be told
+ * apart and discarded. Snapshots are written to a temporary file, forced to disk and
+ * atomically renamed. Restores memory-map the file and verify every checksum before
+ * any filing is handed to the repository. Blocks are then decoded in parallel.
+ */
+@Component
+public class FilingSnapshotStore {
+
+    static final int MAGIC = 0x54544653; // "TTFS"
+    static final short VERSION = 2;
+
+    private static final int BLOCK_PAYLOAD_BYTES = 1 << 20;
+    private static final int BLOCK_HEADER_BYTES = 3 * Integer.BYTES;
+    private static final int FIXED_HEADER_BYTES = Integer.BYTES + 2 * Short.BYTES + 2 * Long.BYTES + Integer.BYTES
+            + 2 * Long.BYTES;
+
+    private static final int FLAG_PAPERLESS = 1;
+    private static final int FLAG_FILING_DATE = 1 << 1;
+    private static final int FLAG_REFUND_AMOUNT = 1 << 2;
+    private static final int FLAG_TRACKING_ID = 1 << 3;
+
+    /**
+     * Identifies the version of the data source a snapshot's filings were loaded from.
+     *
+     * @param length       the source's length in bytes, or -1 if unknown
+     * @param lastModified the source's modification time in epoch milliseconds, or -1 if unknown
+     */
+    public record SourceVersion(long length, long lastModified) {
+
+        public static final SourceVersion UNKNOWN = new SourceVersion(-1, -1);
+
+        public boolean isKnown() {
+            return length >= 0 && lastModified > 0;
+        }
+    }
+
+    /**
+     * Writes every filing in the stream to the target snapshot file, without recording
+     * the version of their data source.
+     *
+     * @param filings the filings to persist
+     * @param target  the snapshot file; replaced atomically when the write succeeds
+     * @return the number of filings written
+     * @throws IOException if the snapshot cannot be written
+     */
+    public long write(Stream<TaxFilingEntity> filings, Path target) throws IOException {
+        return write(filings, target, SourceVersion.UNKNOWN);
+    }
+
+    /**
+     * Writes every filing in the stream to the target snapshot file.
+     *
+     * @param filings the filings to persist
+     * @param target  the snapshot file; replaced atomically when the write succeeds
+     * @param source  the version of the data source the filings were loaded from
+     * @return the number of filings written
+     * @throws IOException if the snapshot cannot be written
+     */
+    public long write(Stream<TaxFilingEntity> filings, Path target, SourceVersion source) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        ByteBuffer header = encodeHeaderTemplate();
+
+        long filingCount = 0;
+        int blockCount = 0;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.position(header.capacity());
+            ByteBuffer block = ByteBuffer.allocateDirect(BLOCK_HEADER_BYTES + BLOCK_PAYLOAD_BYTES);
+            block.position(BLOCK_HEADER_BYTES);
+            int recordsInBlock = 0;
+
+            Iterator<TaxFilingEntity> iterator = filings.iterator();
+            while (iterator.hasNext()) {
+                TaxFilingEntity filing = iterator.next();
+                byte[] userId = encodeString(filing.getUserId());
+                byte[] trackingId = filing.getTrackingId() == null ? null : encodeString(filing.getTrackingId());
+                int recordBytes = 25 + 2 + userId.length + (trackingId == null ? 0 : 2 + trackingId.length);
+                if (block.remaining() < recordBytes) {
+                    writeBlock(channel, block, recordsInBlock);
+                    blockCount++;
+                    recordsInBlock = 0;
+                }
+                encodeRecord(block, filing, userId, trackingId);
+                recordsInBlock++;
+                filingCount++;
+            }
+            if (recordsInBlock > 0) {
+                writeBlock(channel, block, recordsInBlock);
+                blockCount++;
+            }
+
+            completeHeader(header, filingCount, blockCount, source);
+            channel.write(header, 0);
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return filingCount;
+    }
+
+    /**
+     * Reads the version of the data source a snapshot was taken from.
+     *
+     * @param snapshot the snapshot file
+     * @return the source version recorded in the snapshot's header
+     * @throws IOException if the file is unreadable, of an unsupported version, or its
+     *                     header is truncated or fails checksum verification
+     */
+    public SourceVersion readSourceVersion(Path snapshot) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), Arena.ofAuto());
+            return readHeader(file, snapshot).source();
+        }
+    }
+
+    /**
+     * Restores a snapshot into the repository.
+     *
+     * @param snapshot   the snapshot file
+     * @param repository the repository to populate
+     * @return the number of filings restored
+     * @throws IOException if the file is unreadable, truncated, of an unsupported version,
+     *                     or fails checksum verification; nothing is restored in that case
+     */
+    public long restore(Path snapshot, TaxFilingRepository repository) throws IOException {
+        return restore(snapshot, repository, filing -> true);
+    }
+
+    /**
+     * Restores the filings of a snapshot that match a filter into the repository.
+     *
+     * @param snapshot   the snapshot file
+     * @param repository the repository to populate
+     * @param include    selects the filings to restore
+     * @return the number of filings restored
+     * @throws IOException if the file is unreadable, truncated, of an unsupported version,
+     *                     or fails checksum verification; nothing is restored in that case
+     */
+    public long restore(Path snapshot, TaxFilingRepository repository, Predicate<TaxFilingEntity> include)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            // An automatic arena: buffers over closeable shared mappings cannot feed CRC32C,
+            // so the mapping is released by the GC once the restore is done with it
+            MemorySegment file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), Arena.ofAuto());
+            SnapshotHeader header = readHeader(file, snapshot);
+            List<Block> blocks = indexBlocks(file, header, snapshot);
+
+            // Verify everything first so a corrupt snapshot never leaves a partial store behind
+            if (blocks.parallelStream().anyMatch(block -> !block.checksumMatches())) {
+                throw new IOException("Snapshot " + snapshot + " failed checksum verification");
+            }
+            return blocks.parallelStream().mapToLong(block -> {
+                List<TaxFilingEntity> filings = block.decode(header);
+                filings.removeIf(include.negate());
+                repository.saveAll(filings);
+                return filings.size();
+            }).sum();
+        }
+    }
+
+    private static ByteBuffer encodeHeaderTemplate() {
+        List<byte[]> jurisdictions = enumNames(Jurisdiction.values());
+        List<byte[]> paymentMethods = enumNames(PaymentMethod.values());
+        int tableBytes = tableBytes(jurisdictions) + tableBytes(paymentMethods);
+        ByteBuffer header = ByteBuffer.allocate(FIXED_HEADER_BYTES + tableBytes + Integer.BYTES);
+        header.position(FIXED_HEADER_BYTES);
+        writeTable(header, jurisdictions);
+        writeTable(header, paymentMethods);
+        return header;
+    }
+
+    private static void completeHeader(ByteBuffer header, long filingCount, int blockCount, SourceVersion source) {
+        header.putInt(0, MAGIC)
+                .putShort(4, VERSION)
+                .putShort(6, (short) 0)
+                .putLong(8, filingCount)
+                .putLong(16, System.currentTimeMillis())
+                .putInt(24, blockCount)
+                .putLong(28, source.length())
+                .putLong(36, source.lastModified());
+        int crcOffset = header.capacity() - Integer.BYTES;
+        header.putInt(crcOffset, crc(header.slice(0, crcOffset)));
+        header.rewind();
+    }
+
+    private static void encodeRecord(ByteBuffer block, TaxFilingEntity filing, byte[] userId, byte[] trackingId) {
+        int flags = (filing.isPaperless() ? FLAG_PAPERLESS : 0)
+                | (filing.getFilingDate() != null ? FLAG_FILING_DATE : 0)
+                | (filing.getRefundAmount() != null ? FLAG_REFUND_AMOUNT : 0)
+                | (trackingId != null ? FLAG_TRACKING_ID : 0);
+        block.putInt(filing.getFilingId())
+                .putShort((short) filing.getTaxYear())
+                .put((byte) flags)
+                .put(filing.getJurisdiction() == null ? -1 : (byte) filing.getJurisdiction().ordinal())
+                .put(filing.getDisbursementMethod() == null ? -1 : (byte) filing.getDisbursementMethod().ordinal());
+        if (filing.getFilingDate() != null) {
+            block.putInt(Math.toIntExact(filing.getFilingDate().toEpochDay()));
+        }
+        if (filing.getRefundAmount() != null) {
+            BigDecimal amount = filing.getRefundAmount();
+            if (amount.scale() < Byte.MIN_VALUE || amount.scale() > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Refund amount scale out of range for filing " + filing.getFilingId());
+            }
+            block.put((byte) amount.scale()).putLong(amount.unscaledValue().longValueExact());
+        }
+        putString(block, userId);
+        if (trackingId != null) {
+            putString(block, trackingId);
+        }
+    }
+
+    private static TaxFilingEntity decodeRecord(ByteBuffer payload, SnapshotHeader header) {
+        int filingId = payload.getInt();
+        short taxYear = payload.getShort();
+        int flags = payload.get();
+        byte jurisdiction = payload.get();
+        byte disbursement = payload.get();
+        TaxFilingEntity.TaxFilingEntityBuilder builder = TaxFilingEntity.builder()
+                .filingId(filingId)
+                .taxYear(taxYear)
+                .isPaperless((flags & FLAG_PAPERLESS) != 0)
+                .jurisdiction(jurisdiction < 0 ? null : header.jurisdictions()[jurisdiction])
+                .disbursementMethod(disbursement < 0 ? null : header.paymentMethods()[disbursement]);
+        if ((flags & FLAG_FILING_DATE) != 0) {
+            builder.filingDate(LocalDate.ofEpochDay(payload.getInt()));
+        }
+        if ((flags & FLAG_REFUND_AMOUNT) != 0) {
+            int scale = payload.get();
+            builder.refundAmount(BigDecimal.valueOf(payload.getLong(), scale));
+        }
+        builder.userId(getString(payload));
+        if ((flags & FLAG_TRACKING_ID) != 0) {
+            builder.trackingId(getString(payload));
+        }
+        return builder.build();
+    }
+
+    private static SnapshotHeader readHeader(MemorySegment file, Path snapshot) throws IOException {
+        if (file.byteSize() < FIXED_HEADER_BYTES) {
+            throw new IOException("Snapshot " + snapshot + " is truncated");
+        }
+        ByteBuffer header = file.asSlice(0, Math.min(file.byteSize(), Integer.MAX_VALUE)).asByteBuffer();
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("File " + snapshot + " is not a filing snapshot");
+        }
+        short version = header.getShort(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + " in " + snapshot);
+        }
+        try {
+            header.position(FIXED_HEADER_BYTES);
+            Jurisdiction[] jurisdictions = readTable(header, Jurisdiction.class);
+            PaymentMethod[] paymentMethods = readTable(header, PaymentMethod.class);
+            int crcOffset = header.position();
+            if (header.getInt(crcOffset) != crc(header.slice(0, crcOffset))) {
+                throw new IOException("Snapshot " + snapshot + " header failed checksum verification");
+            }
+            return new SnapshotHeader(header.getLong(8), header.getInt(24), crcOffset + Integer.BYTES,
+                    new SourceVersion(header.getLong(28), header.getLong(36)), jurisdictions, paymentMethods);
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IOException("Snapshot " + snapshot + " header is truncated", e);
+        }
+    }
+
+    private static List<Block> indexBlocks(MemorySegment file, SnapshotHeader header, Path snapshot)
+            throws IOException {
+        List<Block> blocks = new ArrayList<>(header.blockCount());
+        long offset = header.length();
+        long records = 0;
+        for (int i = 0; i < header.blockCount(); i++) {
+            if (offset + BLOCK_HEADER_BYTES > file.byteSize()) {
+                throw new IOException("Snapshot " + snapshot + " is truncated at block " + i);
+            }
+            ByteBuffer blockHeader = file.asSlice(offset, BLOCK_HEADER_BYTES).asByteBuffer();
+            int recordCount = blockHeader.getInt(0);
+            int payloadLength = blockHeader.getInt(4);
+            int payloadCrc = blockHeader.getInt(8);
+            long payloadOffset = offset + BLOCK_HEADER_BYTES;
+            if (payloadLength < 0 || payloadOffset + payloadLength > file.byteSize()) {
+                throw new IOException("Snapshot " + snapshot + " is truncated at block " + i);
+            }
+            blocks.add(new Block(file.asSlice(payloadOffset, payloadLength), recordCount, payloadCrc));
+            records += recordCount;
+            offset = payloadOffset + payloadLength;
+        }
+        if (records != header.filingCount() || offset != file.byteSize()) {
+            throw new IOException("Snapshot " + snapshot + " does not match its header");
+        }
+        return blocks;
+    }
+
+    private static void writeBlock(FileChannel channel, ByteBuffer block, int recordCount) throws IOException {
+        int payloadLength = block.position() - BLOCK_HEADER_BYTES;
+        block.putInt(0, recordCount)
+                .putInt(4, payloadLength)
+                .putInt(8, crc(block.slice(BLOCK_HEADER_BYTES, payloadLength)));
+        block.flip();
+        while (block.hasRemaining()) {
+            channel.write(block);
+        }
+        block.clear().position(BLOCK_HEADER_BYTES);
+    }
+
+    private static int crc(ByteBuffer bytes) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encodeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Value too long for snapshot: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static List<byte[]> enumNames(Enum<?>[] constants) {
+        List<byte[]> names = new ArrayList<>(constants.length);
+        for (Enum<?> constant : constants) {
+            names.add(encodeString(constant.name()));
+        }
+        return names;
+    }
+
+    private static int tableBytes(List<byte[]> names) {
+        int bytes = Short.BYTES;
+        for (byte[] name : names) {
+            bytes += Short.BYTES + name.length;
+        }
+        return bytes;
+    }
+
+    private static void writeTable(ByteBuffer buffer, List<byte[]> names) {
+        buffer.putShort((short) names.size());
+        names.forEach(name -> putString(buffer, name));
+    }
+
+    private static <E extends Enum<E>> E[] readTable(ByteBuffer buffer, Class<E> type) throws IOException {
+        int count = Short.toUnsignedInt(buffer.getShort());
+        @SuppressWarnings("unchecked")
+        E[] constants = (E[]) Array.newInstance(type, count);
+        for (int i = 0; i < count; i++) {
+            String name = getString(buffer);
+            try {
+                constants[i] = Enum.valueOf(type, name);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Snapshot references unknown " + type.getSimpleName() + " " + name, e);
+            }
+        }
+        return constants;
+    }
+
+    private record SnapshotHeader(long filingCount, int blockCount, long length, SourceVersion source,
+            Jurisdiction[] jurisdictions, PaymentMethod[] paymentMethods) {
+    }
+
+    private record Block(MemorySegment payload, int recordCount, int checksum) {
+
+        boolean checksumMatches() {
+            return crc(payload.asByteBuffer()) == checksum;
+        }
+
+        List<TaxFilingEntity> decode(SnapshotHeader header) {
+            ByteBuffer buffer = payload.asByteBuffer();
+            List<TaxFilingEntity> filings = new ArrayList<>(recordCount);
+            for (int i = 0; i < recordCount; i++) {
+                filings.add(decodeRecord(buffer, header));
+            }
+            return filings;
+        }
+    }
+}
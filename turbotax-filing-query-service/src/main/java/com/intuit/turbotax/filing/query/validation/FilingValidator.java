@@ -1,8 +1,13 @@
 package com.intuit.turbotax.filing.query.validation;
 
+import java.time.LocalDate;
+import java.util.List;
+
 import org.springframework.stereotype.Component;
 
 import com.intuit.turbotax.filing.query.exception.InvalidUserException;
+import com.intuit.turbotax.filing.query.exception.UserNotOwnedException;
+import com.intuit.turbotax.filing.query.partition.UserPartition;
 
 /**
  * Validator for filing-related operations.
@@ -10,11 +15,38 @@ import com.intuit.turbotax.filing.query.exception.InvalidUserException;
 @Component
 public class FilingValidator {
 
+    /**
+     * Maximum number of users accepted in one batch request.
+     */
+    public static final int MAX_BATCH_USERS = 500;
+
+    /**
+     * Maximum number of filings returned in one page of a range query.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Maximum number of trackingIds accepted in one batch lookup.
+     */
+    public static final int MAX_BATCH_TRACKING_IDS = 10_000;
+
+    /**
+     * Maximum number of filing IDs accepted in one multi-get request.
+     */
+    public static final int MAX_BATCH_FILING_IDS = 10_000;
+
+    private final UserPartition partition;
+
+    public FilingValidator(UserPartition partition) {
+        this.partition = partition;
+    }
+
     /**
      * Validates a user ID.
      *
      * @param userId the user ID to validate
      * @throws InvalidUserException if validation fails
+     * @throws UserNotOwnedException if the user belongs to another instance's partition
      */
     public void validateUserId(String userId) {
         if (userId == null || userId.trim().isEmpty()) {
@@ -24,5 +56,133 @@ public class FilingValidator {
         if (userId.length() < 3 || userId.length() > 50) {
             throw new InvalidUserException("User ID must be between 3 and 50 characters");
         }
+
+        if (!partition.owns(userId)) {
+            throw new UserNotOwnedException(userId, partition.ownerOf(userId));
+        }
+    }
+
+    /**
+     * Validates a batch of user IDs.
+     *
+     * @param userIds the user IDs to validate
+     * @throws InvalidUserException if the batch or any user ID is invalid
+     * @throws UserNotOwnedException if any user belongs to another instance's partition
+     */
+    public void validateUserIds(List<String> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new InvalidUserException("User ID list cannot be null or empty");
+        }
+
+        if (userIds.size() > MAX_BATCH_USERS) {
+            throw new InvalidUserException("At most " + MAX_BATCH_USERS + " user IDs may be requested at once");
+        }
+
+        userIds.forEach(this::validateUserId);
+    }
+
+    /**
+     * Validates the bounds of a filing date range query.
+     *
+     * @param from the earliest filing date
+     * @param to   the latest filing date
+     * @throws IllegalArgumentException if a bound is missing or from is after to
+     */
+    public void validateDateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to dates are required");
+        }
+
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from date must not be after to date");
+        }
+    }
+
+    /**
+     * Validates the bounds of a tax year range query.
+     *
+     * @param fromYear the earliest tax year
+     * @param toYear   the latest tax year
+     * @throws IllegalArgumentException if fromYear is after toYear
+     */
+    public void validateTaxYearRange(int fromYear, int toYear) {
+        if (fromYear > toYear) {
+            throw new IllegalArgumentException("from tax year must not be after to tax year");
+        }
+    }
+
+    /**
+     * Validates a requested page size.
+     *
+     * @param limit the maximum number of filings per page
+     * @throws IllegalArgumentException if the limit is not between 1 and MAX_PAGE_SIZE
+     */
+    public void validatePageSize(int limit) {
+        validatePageSize(limit, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Validates a requested page size against a caller-specific maximum.
+     *
+     * @param limit   the maximum number of filings per page
+     * @param maximum the largest page size allowed
+     * @throws IllegalArgumentException if the limit is not between 1 and maximum
+     */
+    public void validatePageSize(int limit, int maximum) {
+        if (limit < 1 || limit > maximum) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maximum);
+        }
+    }
+
+    /**
+     * Validates a batch of filing IDs.
+     *
+     * @param filingIds the filing IDs to validate
+     * @throws IllegalArgumentException if the batch is empty, too large or contains null
+     */
+    public void validateFilingIds(List<Integer> filingIds) {
+        if (filingIds == null || filingIds.isEmpty()) {
+            throw new IllegalArgumentException("Filing ID list cannot be null or empty");
+        }
+
+        if (filingIds.size() > MAX_BATCH_FILING_IDS) {
+            throw new IllegalArgumentException(
+                    "At most " + MAX_BATCH_FILING_IDS + " filing IDs may be requested at once");
+        }
+
+        if (filingIds.contains(null)) {
+            throw new IllegalArgumentException("Filing IDs cannot be null");
+        }
+    }
+
+    /**
+     * Validates a trackingId.
+     *
+     * @param trackingId the trackingId to validate
+     * @throws IllegalArgumentException if the trackingId is null or blank
+     */
+    public void validateTrackingId(String trackingId) {
+        if (trackingId == null || trackingId.isBlank()) {
+            throw new IllegalArgumentException("Tracking ID cannot be null or empty");
+        }
+    }
+
+    /**
+     * Validates a batch of trackingIds.
+     *
+     * @param trackingIds the trackingIds to validate
+     * @throws IllegalArgumentException if the batch or any trackingId is invalid
+     */
+    public void validateTrackingIds(List<String> trackingIds) {
+        if (trackingIds == null || trackingIds.isEmpty()) {
+            throw new IllegalArgumentException("Tracking ID list cannot be null or empty");
+        }
+
+        if (trackingIds.size() > MAX_BATCH_TRACKING_IDS) {
+            throw new IllegalArgumentException(
+                    "At most " + MAX_BATCH_TRACKING_IDS + " tracking IDs may be requested at once");
+        }
+
+        trackingIds.forEach(this::validateTrackingId);
     }
-}
\ No newline at end of file
+}
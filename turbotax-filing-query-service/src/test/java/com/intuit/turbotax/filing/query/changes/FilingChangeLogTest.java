@@ -0,0 +1,159 @@
+package com.intuit.turbotax.filing.query.changes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.common.model.PaymentMethod;
+import com.intuit.turbotax.filing.query.config.FilingQueryProperties;
+import com.intuit.turbotax.filing.query.exception.ChangeSequenceExpiredException;
+import com.intuit.turbotax.filing.query.repository.TaxFilingEntity;
+import com.intuit.turbotax.filing.query.repository.TaxFilingRepositoryImpl;
+
+import reactor.test.StepVerifier;
+
+class FilingChangeLogTest {
+
+    private TaxFilingRepositoryImpl repository;
+    private FilingChangeLog changeLog;
+
+    @BeforeEach
+    void setUp() {
+        FilingQueryProperties properties = new FilingQueryProperties();
+        properties.getChanges().setRetainedEvents(4);
+        repository = new TaxFilingRepositoryImpl();
+        changeLog = new FilingChangeLog(repository, properties);
+        changeLog.repositoryLoaded();
+    }
+
+    @Test
+    void eventsAfter_ShouldReplayRetainedEventsThenFollowNewSaves() {
+        // Given
+        repository.save(createEntity(202410001, "user123"));
+        repository.save(createEntity(202410002, "user123"));
+
+        // When & Then
+        StepVerifier.create(changeLog.eventsAfter(1))
+                .expectNextMatches(event -> event.sequence() == 2 && event.filingId() == 202410002)
+                .then(() -> repository.save(createEntity(202410001, "user456")))
+                .expectNextMatches(event -> event.sequence() == 3
+                        && event.userId().equals("user456")
+                        && event.previousUserId().equals("user123"))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void eventsAfter_ShouldRejectSequencesNoLongerRetained() {
+        // Given
+        for (int i = 1; i <= 6; i++) {
+            repository.save(createEntity(202410000 + i, "user123"));
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> changeLog.eventsAfter(1))
+                .isInstanceOf(ChangeSequenceExpiredException.class);
+        assertThatThrownBy(() -> changeLog.eventsAfter(7))
+                .isInstanceOf(ChangeSequenceExpiredException.class);
+        StepVerifier.create(changeLog.eventsAfter(2).take(4))
+                .expectNextCount(4)
+                .verifyComplete();
+    }
+
+    @Test
+    void repositoryLoaded_ShouldNotRecordWritesMadeBeforeIt() {
+        // Given
+        FilingQueryProperties properties = new FilingQueryProperties();
+        properties.getChanges().setRetainedEvents(4);
+        repository = new TaxFilingRepositoryImpl();
+        changeLog = new FilingChangeLog(repository, properties);
+        repository.save(createEntity(202410001, "user123"));
+
+        // When
+        changeLog.repositoryLoaded();
+        repository.save(createEntity(202410002, "user123"));
+
+        // Then
+        StepVerifier.create(changeLog.eventsAfter(0).take(1))
+                .expectNextMatches(event -> event.sequence() == 1 && event.filingId() == 202410002)
+                .verifyComplete();
+    }
+
+    @Test
+    void append_ShouldPublishInWriteSequenceOrder_WhenWritesArriveOutOfOrder() {
+        // When
+        changeLog.append(202410001, "user456", "user123", 2);
+        long beforeEarlierWrite = changeLog.lastSequence();
+        changeLog.append(202410001, "user123", null, 1);
+
+        // Then
+        assertThat(beforeEarlierWrite).isZero();
+        StepVerifier.create(changeLog.eventsAfter(0).take(2))
+                .expectNextMatches(event -> event.sequence() == 1 && event.userId().equals("user123"))
+                .expectNextMatches(event -> event.sequence() == 2 && event.previousUserId().equals("user123"))
+                .verifyComplete();
+    }
+
+    @Test
+    void repositoryLoaded_ShouldRecordWrites_WhenAnEarlierListenerThrows() {
+        // Given
+        repository = new TaxFilingRepositoryImpl();
+        repository.addWriteListener((filing, previousUserId, writeSequence) -> {
+            throw new IllegalStateException("listener failed");
+        });
+        changeLog = new FilingChangeLog(repository, new FilingQueryProperties());
+        changeLog.repositoryLoaded();
+
+        // When
+        repository.save(createEntity(202410001, "user123"));
+        repository.save(createEntity(202410002, "user123"));
+
+        // Then
+        assertThat(changeLog.lastSequence()).isEqualTo(2);
+        StepVerifier.create(changeLog.eventsAfter(0).take(2))
+                .expectNextMatches(event -> event.sequence() == 1 && event.filingId() == 202410001)
+                .expectNextMatches(event -> event.sequence() == 2 && event.filingId() == 202410002)
+                .verifyComplete();
+    }
+
+    @Test
+    void append_ShouldPublishLaterWrites_WhenAnEarlierWriteNeverArrives() {
+        // Given
+        FilingQueryProperties properties = new FilingQueryProperties();
+        properties.getChanges().setGapTimeout(Duration.ofMillis(100));
+        changeLog = new FilingChangeLog(repository, properties);
+        changeLog.repositoryLoaded();
+
+        // When: write 1 is never reported
+        changeLog.append(202410002, "user123", null, 2);
+        long beforeGapTimeout = changeLog.lastSequence();
+
+        // Then
+        assertThat(beforeGapTimeout).isZero();
+        StepVerifier.create(changeLog.eventsAfter(0).take(1))
+                .expectNextMatches(event -> event.sequence() == 2 && event.filingId() == 202410002)
+                .verifyComplete();
+        assertThat(changeLog.append(202410001, "user123", null, 1)).isNull();
+    }
+
+    private TaxFilingEntity createEntity(int filingId, String userId) {
+        return TaxFilingEntity.builder()
+                .filingId(filingId)
+                .userId(userId)
+                .jurisdiction(Jurisdiction.FEDERAL)
+                .taxYear(2024)
+                .filingDate(LocalDate.of(2024, 4, 15))
+                .refundAmount(BigDecimal.valueOf(2500.00))
+                .trackingId("TRACK-" + filingId)
+                .disbursementMethod(PaymentMethod.ACH)
+                .isPaperless(true)
+                .build();
+    }
+}
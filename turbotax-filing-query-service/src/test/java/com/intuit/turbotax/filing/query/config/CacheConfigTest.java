@@ -0,0 +1,36 @@
+package com.intuit.turbotax.filing.query.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+class CacheConfigTest {
+
+    @Test
+    void cacheManager_ShouldBoundFilingsCacheAndRecordStats() {
+        // Given
+        FilingQueryProperties properties = new FilingQueryProperties();
+        properties.getCache().setMaximumSize(100);
+        CacheManager cacheManager = new CacheConfig().cacheManager(properties);
+        Cache<Object, Object> cache = ((CaffeineCache) cacheManager.getCache("filings")).getNativeCache();
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("user" + i, "filings");
+        }
+        cache.getIfPresent("missing");
+        cache.cleanUp();
+
+        // Then
+        assertThat(cacheManager.getCacheNames()).containsExactly("filings");
+        assertThat(cache.estimatedSize()).isLessThanOrEqualTo(100);
+        assertThat(cache.stats().evictionCount()).isGreaterThanOrEqualTo(900);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+        assertThat(cache.policy().expireAfterWrite()).hasValueSatisfying(
+                expiration -> assertThat(expiration.getExpiresAfter().toMinutes()).isEqualTo(30));
+    }
+}
@@ -0,0 +1,85 @@
+package com.intuit.turbotax.filing.query.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.intuit.turbotax.api.v1.filing.model.FilingChangeEvent;
+import com.intuit.turbotax.filing.query.changes.FilingChangeLog;
+import com.intuit.turbotax.filing.query.exception.ChangeSequenceExpiredException;
+
+import reactor.core.publisher.Flux;
+
+@WebFluxTest(FilingChangeController.class)
+class FilingChangeControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private FilingChangeLog changeLog;
+
+    @Test
+    void streamChangeEvents_ShouldResumeFromLastEventId() {
+        // Given
+        when(changeLog.eventsAfter(41)).thenReturn(Flux.just(createEvent(42)));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/filings/changes")
+                .header("Last-Event-ID", "41")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(new ParameterizedTypeReference<ServerSentEvent<FilingChangeEvent>>() {
+                })
+                .value(events -> {
+                    assertThat(events).hasSize(1);
+                    assertThat(events.get(0).id()).isEqualTo("42");
+                    assertThat(events.get(0).data().userId()).isEqualTo("user123");
+                });
+    }
+
+    @Test
+    void streamChanges_ShouldDefaultToNewChangesOnly() {
+        // Given
+        when(changeLog.lastSequence()).thenReturn(7L);
+        when(changeLog.eventsAfter(7)).thenReturn(Flux.just(createEvent(8)));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/filings/changes")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(FilingChangeEvent.class)
+                .value(events -> assertThat(events).extracting(FilingChangeEvent::sequence).containsExactly(8L));
+    }
+
+    @Test
+    void streamChanges_ShouldReturnGone_WhenSequenceExpired() {
+        // Given
+        when(changeLog.eventsAfter(3)).thenThrow(new ChangeSequenceExpiredException(3, 10, 20));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/filings/changes?after=3")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isEqualTo(410);
+    }
+
+    private FilingChangeEvent createEvent(long sequence) {
+        return new FilingChangeEvent(sequence, 202410001, "user123", null, Instant.parse("2025-04-15T10:00:00Z"));
+    }
+}
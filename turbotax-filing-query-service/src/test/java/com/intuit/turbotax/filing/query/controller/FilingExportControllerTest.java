@@ -0,0 +1,70 @@
+package com.intuit.turbotax.filing.query.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.common.model.PaymentMethod;
+import com.intuit.turbotax.api.v1.filing.model.TaxFiling;
+import com.intuit.turbotax.filing.query.service.FilingQueryService;
+
+@WebFluxTest(FilingExportController.class)
+class FilingExportControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private FilingQueryService filingQueryService;
+
+    @Test
+    void exportFilings_ShouldStreamNdjson() {
+        // Given
+        when(filingQueryService.exportFilings(2024, Jurisdiction.FEDERAL))
+                .thenReturn(Stream.of(createFiling(202410001), createFiling(202410003)));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/filings/export?taxYear=2024&jurisdiction=FEDERAL")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(TaxFiling.class)
+                .value(filings -> assertThat(filings)
+                        .extracting(TaxFiling::filingId)
+                        .containsExactly(202410001, 202410003));
+    }
+
+    @Test
+    void exportFilings_ShouldPassNullFiltersWhenOmitted() {
+        // Given
+        when(filingQueryService.exportFilings(null, null)).thenReturn(Stream.empty());
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/filings/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TaxFiling.class).hasSize(0);
+    }
+
+    private TaxFiling createFiling(int filingId) {
+        return new TaxFiling(
+                filingId, "IRS-TRACK-" + filingId, Jurisdiction.FEDERAL, "user123",
+                2024, LocalDate.of(2024, 4, 15), BigDecimal.valueOf(2500.00),
+                PaymentMethod.ACH, true);
+    }
+}
@@ -0,0 +1,68 @@
+package com.intuit.turbotax.filing.query.controller;
+
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.common.model.PaymentMethod;
+import com.intuit.turbotax.api.v1.filing.model.TaxFiling;
+import com.intuit.turbotax.filing.query.exception.FilingNotFoundException;
+import com.intuit.turbotax.filing.query.service.FilingQueryService;
+
+@WebFluxTest(FilingLookupController.class)
+class FilingLookupControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private FilingQueryService filingQueryService;
+
+    @Test
+    void getFiling_ShouldReturnNotFound_WhenFilingIdUnknown() {
+        // Given
+        when(filingQueryService.getFiling(202410404)).thenThrow(new FilingNotFoundException(202410404));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/filings/by-id/202410404")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void getFilingsByIds_ShouldReturnFilingsKeyedByFilingId() {
+        // Given
+        List<Integer> filingIds = List.of(202410001, 202410404);
+        when(filingQueryService.getFilingsByIds(filingIds)).thenReturn(Map.of(202410001, createFiling()));
+
+        // When & Then
+        webTestClient.post()
+                .uri("/api/v1/filings/by-id/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(filingIds)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$['202410001'].trackingId").isEqualTo("IRS-TRACK-202410001")
+                .jsonPath("$['202410404']").doesNotExist();
+    }
+
+    private TaxFiling createFiling() {
+        return new TaxFiling(
+                202410001, "IRS-TRACK-202410001", Jurisdiction.FEDERAL, "user123",
+                2024, LocalDate.of(2024, 4, 12), BigDecimal.valueOf(2500.00),
+                PaymentMethod.ACH, true);
+    }
+}
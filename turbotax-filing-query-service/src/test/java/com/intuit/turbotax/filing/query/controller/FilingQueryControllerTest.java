@@ -5,16 +5,22 @@ import static org.mockito.Mockito.when;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
 import com.intuit.turbotax.api.v1.common.model.PaymentMethod;
 import com.intuit.turbotax.api.v1.filing.model.TaxFiling;
+import com.intuit.turbotax.api.v1.filing.model.TaxFilingPage;
 import com.intuit.turbotax.filing.query.service.FilingQueryService;
 
 @WebFluxTest(FilingQueryController.class)
@@ -27,13 +33,13 @@ class FilingQueryControllerTest {
     private FilingQueryService filingQueryService;
 
     @Test
-    void getFilings_ShouldReturnFilings() {
+    void getFilings_ShouldReturnFilings() throws JsonProcessingException {
         // Given
         TaxFiling filing = new TaxFiling(
                 202410001, "TRACK-001", Jurisdiction.FEDERAL, "user123",
                 2024, LocalDate.of(2024, 4, 15), BigDecimal.valueOf(2500.00),
                 PaymentMethod.ACH, true);
-        when(filingQueryService.getFilings("user123")).thenReturn(List.of(filing));
+        when(filingQueryService.getFilingsJson("user123")).thenReturn(toJson(List.of(filing)));
 
         // When & Then
         webTestClient.get()
@@ -43,4 +49,53 @@ class FilingQueryControllerTest {
                 .expectStatus().isOk()
                 .expectBodyList(TaxFiling.class).hasSize(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getFilingsPage_ShouldDefaultLimitToMaxFilingsPerUserAndReturnCursor() {
+        // Given
+        TaxFiling filing = new TaxFiling(
+                202410001, "TRACK-001", Jurisdiction.FEDERAL, "user123",
+                2024, LocalDate.of(2024, 4, 15), BigDecimal.valueOf(2500.00),
+                PaymentMethod.ACH, true);
+        when(filingQueryService.getFilingsPage("user123", null, 10))
+                .thenReturn(new TaxFilingPage(List.of(filing), "next-page"));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/filings/latest/page")
+                .header("X-USER-ID", "user123")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.filings.length()").isEqualTo(1)
+                .jsonPath("$.filings[0].filingId").isEqualTo(202410001)
+                .jsonPath("$.nextCursor").isEqualTo("next-page");
+    }
+
+    @Test
+    void getFilingsForUsers_ShouldReturnFilingsGroupedByUser() {
+        // Given
+        TaxFiling filing = new TaxFiling(
+                202410001, "TRACK-001", Jurisdiction.FEDERAL, "user123",
+                2024, LocalDate.of(2024, 4, 15), BigDecimal.valueOf(2500.00),
+                PaymentMethod.ACH, true);
+        when(filingQueryService.getFilingsForUsers(List.of("user123", "user456")))
+                .thenReturn(Map.of("user123", List.of(filing), "user456", List.of()));
+
+        // When & Then
+        webTestClient.post()
+                .uri("/api/v1/filings/latest/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of("user123", "user456"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.user123.length()").isEqualTo(1)
+                .jsonPath("$.user123[0].filingId").isEqualTo(202410001)
+                .jsonPath("$.user456.length()").isEqualTo(0);
+    }
+
+    private static byte[] toJson(Object value) throws JsonProcessingException {
+        return new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsBytes(value);
+    }
+}
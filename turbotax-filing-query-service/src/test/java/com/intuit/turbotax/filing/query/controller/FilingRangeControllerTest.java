@@ -0,0 +1,63 @@
+package com.intuit.turbotax.filing.query.controller;
+
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.common.model.PaymentMethod;
+import com.intuit.turbotax.api.v1.filing.model.TaxFiling;
+import com.intuit.turbotax.api.v1.filing.model.TaxFilingPage;
+import com.intuit.turbotax.filing.query.service.FilingQueryService;
+
+@WebFluxTest(FilingRangeController.class)
+class FilingRangeControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private FilingQueryService filingQueryService;
+
+    @Test
+    void getFilingsByFilingDate_ShouldReturnPage() {
+        // Given
+        TaxFiling filing = new TaxFiling(
+                202410001, "IRS-TRACK-202410001", Jurisdiction.FEDERAL, "user123",
+                2024, LocalDate.of(2024, 4, 12), BigDecimal.valueOf(2500.00),
+                PaymentMethod.ACH, true);
+        when(filingQueryService.findFilingsByFilingDate(LocalDate.of(2024, 4, 10), LocalDate.of(2024, 4, 15),
+                Jurisdiction.FEDERAL, null, null, 100))
+                .thenReturn(new TaxFilingPage(List.of(filing), "next"));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/filings/range/filing-date?from=2024-04-10&to=2024-04-15&jurisdiction=FEDERAL")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.filings[0].filingId").isEqualTo(202410001)
+                .jsonPath("$.nextCursor").isEqualTo("next");
+    }
+
+    @Test
+    void getFilingsByTaxYear_ShouldReturnBadRequest_WhenRangeInvalid() {
+        // Given
+        when(filingQueryService.findFilingsByTaxYear(2025, 2024, null, PaymentMethod.ACH, null, 100))
+                .thenThrow(new IllegalArgumentException("from tax year must not be after to tax year"));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/filings/range/tax-year?from=2025&to=2024&disbursementMethod=ACH")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,43 @@
+package com.intuit.turbotax.filing.query.controller;
+
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.filing.query.repository.FilingStatistics;
+import com.intuit.turbotax.filing.query.service.FilingQueryService;
+
+@WebFluxTest(FilingStatsController.class)
+class FilingStatsControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private FilingQueryService filingQueryService;
+
+    @Test
+    void getStatistics_ShouldReturnCounts() {
+        // Given
+        when(filingQueryService.getStatistics()).thenReturn(new FilingStatistics(3, 2,
+                Map.of(Jurisdiction.FEDERAL, 2L, Jurisdiction.STATE_CA, 1L), Map.of(2024, 3L)));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/filings/stats")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalFilings").isEqualTo(3)
+                .jsonPath("$.distinctUsers").isEqualTo(2)
+                .jsonPath("$.filingsByJurisdiction.FEDERAL").isEqualTo(2)
+                .jsonPath("$.filingsByTaxYear['2024']").isEqualTo(3);
+    }
+}
@@ -0,0 +1,85 @@
+package com.intuit.turbotax.filing.query.controller;
+
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.common.model.PaymentMethod;
+import com.intuit.turbotax.api.v1.filing.model.TaxFiling;
+import com.intuit.turbotax.filing.query.exception.FilingNotFoundException;
+import com.intuit.turbotax.filing.query.service.FilingQueryService;
+
+@WebFluxTest(FilingTrackingController.class)
+class FilingTrackingControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private FilingQueryService filingQueryService;
+
+    @Test
+    void getFilingByTrackingId_ShouldReturnFiling() {
+        // Given
+        when(filingQueryService.getFilingByTrackingId("IRS-TRACK-202410001")).thenReturn(createFiling());
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/filings/tracking/IRS-TRACK-202410001")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.filingId").isEqualTo(202410001)
+                .jsonPath("$.userId").isEqualTo("user123");
+    }
+
+    @Test
+    void getFilingByTrackingId_ShouldReturnNotFound_WhenTrackingIdUnknown() {
+        // Given
+        when(filingQueryService.getFilingByTrackingId("IRS-TRACK-UNKNOWN"))
+                .thenThrow(new FilingNotFoundException("Filing not found with tracking ID: IRS-TRACK-UNKNOWN"));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/filings/tracking/IRS-TRACK-UNKNOWN")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void getFilingsByTrackingIds_ShouldReturnFilingsKeyedByTrackingId() {
+        // Given
+        List<String> trackingIds = List.of("IRS-TRACK-202410001", "CA-TRACK-UNKNOWN");
+        when(filingQueryService.getFilingsByTrackingIds(trackingIds))
+                .thenReturn(Map.of("IRS-TRACK-202410001", createFiling()));
+
+        // When & Then
+        webTestClient.post()
+                .uri("/api/v1/filings/tracking/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(trackingIds)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$['IRS-TRACK-202410001'].filingId").isEqualTo(202410001)
+                .jsonPath("$['CA-TRACK-UNKNOWN']").doesNotExist();
+    }
+
+    private TaxFiling createFiling() {
+        return new TaxFiling(
+                202410001, "IRS-TRACK-202410001", Jurisdiction.FEDERAL, "user123",
+                2024, LocalDate.of(2024, 4, 12), BigDecimal.valueOf(2500.00),
+                PaymentMethod.ACH, true);
+    }
+}
@@ -0,0 +1,194 @@
+package com.intuit.turbotax.filing.query.loader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.common.model.PaymentMethod;
+import com.intuit.turbotax.filing.query.config.FilingQueryProperties;
+import com.intuit.turbotax.filing.query.partition.UserPartition;
+import com.intuit.turbotax.filing.query.repository.TaxFilingEntity;
+import com.intuit.turbotax.filing.query.repository.TaxFilingRepositoryImpl;
+
+class FilingDataLoaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TaxFilingRepositoryImpl repository;
+    private FilingDataLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        FilingQueryProperties properties = new FilingQueryProperties();
+        properties.getData().setBatchSize(3);
+        properties.getData().setParallelism(4);
+        repository = new TaxFilingRepositoryImpl();
+        loader = new FilingDataLoader(repository, properties, new UserPartition(properties));
+    }
+
+    @Test
+    void load_ShouldSkipUsersOwnedByOtherPartitions() throws IOException {
+        // Given
+        FilingQueryProperties properties = new FilingQueryProperties();
+        properties.getPartition().setEnabled(true);
+        properties.getPartition().setInstances(List.of("fq-0", "fq-1"));
+        properties.getPartition().setInstanceId("fq-0");
+        UserPartition partition = new UserPartition(properties);
+        loader = new FilingDataLoader(repository, properties, partition);
+        String json = "[" + IntStream.range(0, 100)
+                .mapToObj(i -> filingJson(202410000 + i, "user" + i))
+                .collect(Collectors.joining(",")) + "]";
+
+        // When
+        FilingDataLoader.LoadResult result = loader.load(resource(json));
+
+        // Then
+        assertThat(result.loaded() + result.skipped()).isEqualTo(100);
+        assertThat(result.loaded()).isBetween(1L, 99L);
+        assertThat(repository.findAll()).allMatch(filing -> partition.owns(filing.getUserId()));
+        assertThat(repository.findAll()).hasSize((int) result.loaded());
+    }
+
+    @Test
+    void load_ShouldStreamJsonArray() throws IOException {
+        // Given
+        String json = "[" + IntStream.range(0, 10)
+                .mapToObj(i -> filingJson(202410000 + i, "user" + (i % 2)))
+                .collect(Collectors.joining(",\n")) + "]";
+
+        // When
+        FilingDataLoader.LoadResult result = loader.load(resource(json));
+
+        // Then
+        assertThat(result.loaded()).isEqualTo(10);
+        assertThat(result.rejected()).isZero();
+        assertThat(repository.findLatestByUserId("user0")).hasSize(5);
+        assertThat(repository.findLatestByUserId("user1")).hasSize(5);
+    }
+
+    @Test
+    void load_ShouldStreamNdjsonFromFileSystem() throws IOException {
+        // Given
+        Path file = tempDir.resolve("filings.ndjson");
+        Files.writeString(file, filingJson(202410001, "user123") + "\n" + filingJson(202410002, "user123") + "\n");
+
+        // When
+        FilingDataLoader.LoadResult result = loader.load(new FileSystemResource(file));
+
+        // Then
+        assertThat(result.loaded()).isEqualTo(2);
+        TaxFilingEntity filing = repository.findLatestByUserId("user123")
+                .filter(f -> f.getFilingId() == 202410001)
+                .findFirst().orElseThrow();
+        assertThat(filing.getJurisdiction()).isEqualTo(Jurisdiction.FEDERAL);
+        assertThat(filing.getTaxYear()).isEqualTo(2024);
+        assertThat(filing.getFilingDate()).isEqualTo(LocalDate.of(2024, 4, 15));
+        assertThat(filing.getRefundAmount()).isEqualByComparingTo(BigDecimal.valueOf(2500.00));
+        assertThat(filing.getTrackingId()).isEqualTo("IRS-TRACK-202410001");
+        assertThat(filing.getDisbursementMethod()).isEqualTo(PaymentMethod.ACH);
+        assertThat(filing.isPaperless()).isTrue();
+    }
+
+    @Test
+    void load_ShouldHandleBracesInsideStringsAndUnknownFields() throws IOException {
+        // Given
+        String json = "[{\"filingId\": 1, \"userId\": \"user{1}\", \"note\": \"a \\\"quoted\\\" } brace\","
+                + " \"extra\": {\"nested\": [1, 2, {\"deep\": true}]}}]";
+
+        // When
+        FilingDataLoader.LoadResult result = loader.load(resource(json));
+
+        // Then
+        assertThat(result.loaded()).isEqualTo(1);
+        assertThat(repository.findLatestByUserId("user{1}")).hasSize(1);
+    }
+
+    @Test
+    void load_ShouldRejectInvalidRecordsAndContinue() throws IOException {
+        // Given
+        String json = "[" + filingJson(1, "user123") + ", {\"filingId\": 2}, {\"filingId\": 3, \"userId\": \"user123\","
+                + " \"jurisdiction\": \"MARS\"}]";
+
+        // When
+        FilingDataLoader.LoadResult result = loader.load(resource(json));
+
+        // Then
+        assertThat(result.loaded()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(2);
+    }
+
+    @Test
+    void load_ShouldFailOnTruncatedInput() {
+        assertThatThrownBy(() -> loader.load(resource("[" + filingJson(1, "user123").substring(0, 20))))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void load_ShouldKeepLastRecordOfRepeatedFilingId() throws IOException {
+        // Given: the same filing in every batch, moving to another user each time
+        String json = "[" + IntStream.range(0, 300)
+                .mapToObj(i -> i % 3 == 0 ? filingJson(1, "user" + i) : filingJson(1000 + i, "other"))
+                .collect(Collectors.joining(",")) + "]";
+
+        // When
+        loader.load(resource(json));
+
+        // Then
+        assertThat(repository.findById(1)).map(TaxFilingEntity::getUserId).hasValue("user297");
+    }
+
+    @Test
+    void load_ShouldReportFailedBatchAheadOfTruncatedInput() {
+        // Given: every save fails, and reading stops partway through a record
+        TaxFilingRepositoryImpl failing = new TaxFilingRepositoryImpl() {
+            @Override
+            public void saveAll(Collection<TaxFilingEntity> filings) {
+                throw new IllegalStateException("store unavailable");
+            }
+        };
+        FilingQueryProperties properties = new FilingQueryProperties();
+        properties.getData().setBatchSize(1);
+        loader = new FilingDataLoader(failing, properties, new UserPartition(properties));
+        String json = "[" + filingJson(1, "user123") + ", " + filingJson(2, "user123").substring(0, 20);
+
+        // When / Then
+        assertThatThrownBy(() -> loader.load(resource(json)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("store unavailable");
+    }
+
+    @Test
+    void load_ShouldReturnEmptyResultWhenSourceMissing() throws IOException {
+        FilingDataLoader.LoadResult result = loader.load(new FileSystemResource(tempDir.resolve("missing.json")));
+
+        assertThat(result.loaded()).isZero();
+    }
+
+    private static ByteArrayResource resource(String content) {
+        return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String filingJson(int filingId, String userId) {
+        return "{\"filingId\": " + filingId + ", \"userId\": \"" + userId + "\", \"jurisdiction\": \"FEDERAL\","
+                + " \"taxYear\": 2024, \"filingDate\": \"2024-04-15\", \"refundAmount\": 2500.00,"
+                + " \"trackingId\": \"IRS-TRACK-" + filingId + "\", \"disbursementMethod\": \"ACH\", \"isPaperless\": true}";
+    }
+}
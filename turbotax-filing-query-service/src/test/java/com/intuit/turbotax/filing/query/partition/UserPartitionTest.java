@@ -0,0 +1,60 @@
+package com.intuit.turbotax.filing.query.partition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.intuit.turbotax.filing.query.config.FilingQueryProperties;
+
+class UserPartitionTest {
+
+    private static final List<String> INSTANCES = List.of("fq-0", "fq-1", "fq-2");
+
+    @Test
+    void owns_ShouldAssignEveryUserToExactlyOneInstance() {
+        // Given
+        List<UserPartition> partitions = INSTANCES.stream().map(UserPartitionTest::partition).toList();
+
+        // When
+        int[] owned = new int[INSTANCES.size()];
+        IntStream.range(0, 30_000).mapToObj(i -> "user" + i).forEach(userId -> {
+            List<UserPartition> owners = partitions.stream().filter(p -> p.owns(userId)).toList();
+            assertThat(owners).hasSize(1);
+            owned[partitions.indexOf(owners.get(0))]++;
+            assertThat(owners.get(0).ownerOf(userId)).isEqualTo(INSTANCES.get(partitions.indexOf(owners.get(0))));
+        });
+
+        // Then
+        assertThat(owned).allSatisfy(count -> assertThat(count).isBetween(8_000, 12_000));
+    }
+
+    @Test
+    void owns_ShouldOwnEveryUser_WhenPartitioningDisabled() {
+        // Given
+        UserPartition partition = new UserPartition(new FilingQueryProperties());
+
+        // When & Then
+        assertThat(partition.owns("user123")).isTrue();
+        assertThat(partition.ownerOf("user123")).isNull();
+    }
+
+    @Test
+    void constructor_ShouldRejectUnknownInstanceId() {
+        // When & Then
+        assertThatThrownBy(() -> partition("fq-9"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("fq-9");
+    }
+
+    private static UserPartition partition(String instanceId) {
+        FilingQueryProperties properties = new FilingQueryProperties();
+        properties.getPartition().setEnabled(true);
+        properties.getPartition().setInstances(INSTANCES);
+        properties.getPartition().setInstanceId(instanceId);
+        return new UserPartition(properties);
+    }
+}
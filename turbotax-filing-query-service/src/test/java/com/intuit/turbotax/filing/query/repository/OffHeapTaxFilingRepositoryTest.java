@@ -0,0 +1,257 @@
+package com.intuit.turbotax.filing.query.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.common.model.PaymentMethod;
+
+class OffHeapTaxFilingRepositoryTest {
+
+    private OffHeapTaxFilingRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new OffHeapTaxFilingRepository();
+        repository.save(createFiling(202410001, "user123", Jurisdiction.FEDERAL, "IRS-TRACK-202410001"));
+        repository.save(createFiling(202410002, "user123", Jurisdiction.STATE_CA, "CA-TRACK-202410002"));
+    }
+
+    @Test
+    void findLatestByUserId_ShouldReturnFilingsForUser() {
+        // When
+        List<TaxFilingEntity> filings = repository.findLatestByUserId("user123")
+                .collect(Collectors.toList());
+
+        // Then
+        assertThat(filings).extracting(TaxFilingEntity::getFilingId)
+                .containsExactly(202410001, 202410002);
+    }
+
+    @Test
+    void findLatestByUserId_ShouldReturnEmptyForUnknownUser() {
+        assertThat(repository.findLatestByUserId("unknown")).isEmpty();
+    }
+
+    @Test
+    void findLatestByUserId_ShouldRoundTripAllColumns() {
+        // When
+        TaxFilingEntity filing = repository.findLatestByUserId("user123").findFirst().orElseThrow();
+
+        // Then
+        assertThat(filing.getUserId()).isEqualTo("user123");
+        assertThat(filing.getJurisdiction()).isEqualTo(Jurisdiction.FEDERAL);
+        assertThat(filing.getTaxYear()).isEqualTo(2024);
+        assertThat(filing.getFilingDate()).isEqualTo(LocalDate.of(2024, 4, 15));
+        assertThat(filing.getRefundAmount()).isEqualByComparingTo(BigDecimal.valueOf(2500.55));
+        assertThat(filing.getTrackingId()).isEqualTo("IRS-TRACK-202410001");
+        assertThat(filing.getDisbursementMethod()).isEqualTo(PaymentMethod.ACH);
+        assertThat(filing.isPaperless()).isTrue();
+    }
+
+    @Test
+    void save_ShouldReplaceAndMoveExistingFiling() {
+        // When
+        repository.save(createFiling(202410002, "user456", Jurisdiction.STATE_CA, "CA-TRACK-202410002"));
+
+        // Then
+        assertThat(repository.size()).isEqualTo(2);
+        assertThat(repository.findLatestByUserId("user123"))
+                .extracting(TaxFilingEntity::getFilingId)
+                .containsExactly(202410001);
+        assertThat(repository.findLatestByUserId("user456"))
+                .extracting(TaxFilingEntity::getFilingId)
+                .containsExactly(202410002);
+    }
+
+    @Test
+    void save_ShouldStoreNullableFields() {
+        // Given
+        TaxFilingEntity sparse = TaxFilingEntity.builder()
+                .filingId(202410099)
+                .userId("user999")
+                .taxYear(2024)
+                .build();
+
+        // When
+        repository.save(sparse);
+        TaxFilingEntity filing = repository.findLatestByUserId("user999").findFirst().orElseThrow();
+
+        // Then
+        assertThat(filing.getJurisdiction()).isNull();
+        assertThat(filing.getFilingDate()).isNull();
+        assertThat(filing.getRefundAmount()).isNull();
+        assertThat(filing.getTrackingId()).isNull();
+        assertThat(filing.getDisbursementMethod()).isNull();
+    }
+
+    @Test
+    void offHeapBytes_ShouldStayWellBelowHeapMapFootprint() {
+        // Given
+        OffHeapTaxFilingRepository large = new OffHeapTaxFilingRepository();
+        int filings = 100_000;
+
+        // When
+        for (int i = 0; i < filings; i++) {
+            large.save(createFiling(300000000 + i, "user" + (i % 10_000), Jurisdiction.FEDERAL,
+                    "IRS-TRACK-" + (300000000 + i)));
+        }
+
+        // Then: the equivalent ConcurrentHashMap layout costs roughly 290 bytes per filing
+        assertThat(large.size()).isEqualTo(filings);
+        assertThat(large.offHeapBytes() / filings).isLessThan(128);
+        assertThat(large.findLatestByUserId("user42")).hasSize(filings / 10_000);
+    }
+
+    @Test
+    void findByFilingDateBetween_ShouldResumeAfterPosition() {
+        // Given
+        TaxFilingEntity earlier = createFiling(202410003, "user456", Jurisdiction.FEDERAL, "IRS-TRACK-202410003");
+        earlier.setFilingDate(LocalDate.of(2024, 4, 10));
+        repository.save(earlier);
+
+        // When
+        List<TaxFilingEntity> filings = repository.findByFilingDateBetween(
+                LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 30), IndexPosition.ofFilingDate(earlier)).toList();
+
+        // Then
+        assertThat(filings).extracting(TaxFilingEntity::getFilingId).containsExactly(202410001, 202410002);
+    }
+
+    @Test
+    void findByFilingDateBetween_ShouldFollowSavesAfterIndexIsBuilt() {
+        // Given
+        repository.findByFilingDateBetween(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), null).toList();
+        TaxFilingEntity moved = createFiling(202410002, "user123", Jurisdiction.STATE_CA, "CA-TRACK-202410002");
+        moved.setFilingDate(LocalDate.of(2024, 3, 1));
+        TaxFilingEntity added = createFiling(202410003, "user456", Jurisdiction.FEDERAL, "IRS-TRACK-202410003");
+        added.setFilingDate(LocalDate.of(2024, 5, 1));
+
+        // When
+        repository.save(moved);
+        repository.save(added);
+        List<TaxFilingEntity> filings = repository.findByFilingDateBetween(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), null).toList();
+
+        // Then
+        assertThat(filings).extracting(TaxFilingEntity::getFilingId).containsExactly(202410002, 202410001, 202410003);
+    }
+
+    @Test
+    void findByTaxYearBetween_ShouldReturnFilingsInTaxYearOrder() {
+        // Given: enough saves after the index is built to merge its buffer
+        repository.findByTaxYearBetween(2020, 2024, null).toList();
+        for (int i = 0; i < 10_000; i++) {
+            TaxFilingEntity filing = createFiling(300000000 + i, "user" + i, Jurisdiction.FEDERAL, null);
+            filing.setTaxYear(2020 + i % 5);
+            repository.save(filing);
+        }
+
+        // When
+        List<TaxFilingEntity> filings = repository.findByTaxYearBetween(2021, 2022, null).toList();
+
+        // Then
+        assertThat(filings).hasSize(4_000);
+        assertThat(filings).isSortedAccordingTo((a, b) -> Long.compare(
+                IndexPosition.ofTaxYear(a).sortKey(), IndexPosition.ofTaxYear(b).sortKey()));
+        assertThat(filings).extracting(TaxFilingEntity::getTaxYear).containsOnly(2021, 2022);
+    }
+
+    @Test
+    void findByIds_ShouldReturnKnownFilingsInRequestOrder() {
+        // When
+        Map<Integer, TaxFilingEntity> filings = repository.findByIds(List.of(202410002, 202410404, 202410001));
+
+        // Then
+        assertThat(filings.keySet()).containsExactly(202410002, 202410001);
+        assertThat(filings.get(202410001).getTrackingId()).isEqualTo("IRS-TRACK-202410001");
+        assertThat(repository.findById(202410404)).isEmpty();
+    }
+
+    @Test
+    void findByTrackingId_ShouldFollowTrackingIdChanges() {
+        // When
+        repository.save(createFiling(202410002, "user123", Jurisdiction.STATE_CA, "CA-TRACK-202410102"));
+
+        // Then
+        assertThat(repository.findByTrackingId("IRS-TRACK-202410001"))
+                .map(TaxFilingEntity::getFilingId)
+                .contains(202410001);
+        assertThat(repository.findByTrackingId("CA-TRACK-202410002")).isEmpty();
+        assertThat(repository.findByTrackingIds(List.of("CA-TRACK-202410102", "CA-TRACK-202410002")))
+                .containsOnlyKeys("CA-TRACK-202410102");
+    }
+
+    @Test
+    void statistics_ShouldTrackReplacedAndMovedFilings() {
+        // Given
+        repository.save(createFiling(202410003, "user456", Jurisdiction.FEDERAL, "IRS-TRACK-202410003"));
+
+        // When: move both of user123's filings away, changing the jurisdiction of one
+        repository.save(createFiling(202410001, "user456", Jurisdiction.STATE_CA, "CA-TRACK-202410001"));
+        repository.save(createFiling(202410002, "user789", Jurisdiction.STATE_CA, "CA-TRACK-202410002"));
+        FilingStatistics statistics = repository.statistics();
+
+        // Then
+        assertThat(statistics.totalFilings()).isEqualTo(3);
+        assertThat(statistics.distinctUsers()).isEqualTo(2);
+        assertThat(statistics.filingsByJurisdiction())
+                .containsOnly(entry(Jurisdiction.FEDERAL, 1L), entry(Jurisdiction.STATE_CA, 2L));
+        assertThat(statistics.filingsByTaxYear()).containsOnly(entry(2024, 3L));
+    }
+
+    @Test
+    void save_ShouldLeaveStoreUnchangedWhenFilingIsRejected() {
+        // Given: a new filing and a replacement of an existing one, both out of range
+        TaxFilingEntity newFiling = createFiling(202410003, "user456", Jurisdiction.FEDERAL, "IRS-TRACK-202410003");
+        newFiling.setTaxYear(Short.MAX_VALUE + 1);
+        TaxFilingEntity replacement = createFiling(202410002, "user456", Jurisdiction.FEDERAL, "IRS-TRACK-202410002");
+        replacement.setTaxYear(Short.MAX_VALUE + 1);
+
+        // When
+        assertThatThrownBy(() -> repository.save(newFiling)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> repository.save(replacement)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> repository.saveAll(List.of(
+                createFiling(202410004, "user789", Jurisdiction.FEDERAL, "IRS-TRACK-202410004"), newFiling)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // Then
+        assertThat(repository.size()).isEqualTo(2);
+        assertThat(repository.findAll()).extracting(TaxFilingEntity::getFilingId)
+                .containsExactlyInAnyOrder(202410001, 202410002);
+        assertThat(repository.findLatestByUserId("user123")).extracting(TaxFilingEntity::getFilingId)
+                .containsExactly(202410001, 202410002);
+        assertThat(repository.findLatestByUserId("user456")).isEmpty();
+        assertThat(repository.findByTrackingId("IRS-TRACK-202410002")).isEmpty();
+        assertThat(repository.findByTrackingId("CA-TRACK-202410002")).isPresent();
+        FilingStatistics statistics = repository.statistics();
+        assertThat(statistics.totalFilings()).isEqualTo(2);
+        assertThat(statistics.distinctUsers()).isEqualTo(1);
+        assertThat(statistics.filingsByJurisdiction())
+                .containsOnly(entry(Jurisdiction.FEDERAL, 1L), entry(Jurisdiction.STATE_CA, 1L));
+    }
+
+    private TaxFilingEntity createFiling(int filingId, String userId, Jurisdiction jurisdiction, String trackingId) {
+        return TaxFilingEntity.builder()
+                .filingId(filingId)
+                .userId(userId)
+                .jurisdiction(jurisdiction)
+                .taxYear(2024)
+                .filingDate(LocalDate.of(2024, 4, 15))
+                .refundAmount(BigDecimal.valueOf(2500.55))
+                .trackingId(trackingId)
+                .disbursementMethod(PaymentMethod.ACH)
+                .isPaperless(true)
+                .build();
+    }
+}
@@ -1,10 +1,13 @@
 package com.intuit.turbotax.filing.query.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -71,6 +74,261 @@ class TaxFilingRepositoryImplTest {
         assertThat(userFilings.get(0).getFilingId()).isEqualTo(202410007);
     }
 
+    @Test
+    void save_ShouldReplaceExistingFilingInUserIndex() {
+        // Given
+        TaxFilingEntity updated = TaxFilingEntity.builder()
+                .filingId(202410001)
+                .userId("user123")
+                .jurisdiction(Jurisdiction.FEDERAL)
+                .taxYear(2024)
+                .filingDate(LocalDate.of(2024, 4, 15))
+                .refundAmount(BigDecimal.valueOf(2750.00))
+                .trackingId("TRACK-001")
+                .disbursementMethod(PaymentMethod.ACH)
+                .isPaperless(true)
+                .build();
+
+        // When
+        repository.save(updated);
+        List<TaxFilingEntity> filings = repository.findLatestByUserId("user123")
+                .collect(Collectors.toList());
+
+        // Then
+        assertThat(filings).hasSize(2);
+        assertThat(filings).filteredOn(filing -> filing.getFilingId() == 202410001)
+                .singleElement()
+                .extracting(TaxFilingEntity::getRefundAmount)
+                .isEqualTo(BigDecimal.valueOf(2750.00));
+    }
+
+    @Test
+    void save_ShouldMoveFilingWhenUserChanges() {
+        // Given
+        TaxFilingEntity reassigned = TaxFilingEntity.builder()
+                .filingId(202410002)
+                .userId("user456")
+                .jurisdiction(Jurisdiction.STATE_CA)
+                .taxYear(2024)
+                .filingDate(LocalDate.of(2024, 4, 15))
+                .refundAmount(BigDecimal.valueOf(350.00))
+                .trackingId("TRACK-002")
+                .disbursementMethod(PaymentMethod.CHECK)
+                .isPaperless(false)
+                .build();
+
+        // When
+        repository.save(reassigned);
+
+        // Then
+        assertThat(repository.findLatestByUserId("user123")).hasSize(1);
+        assertThat(repository.findLatestByUserId("user456"))
+                .extracting(TaxFilingEntity::getFilingId)
+                .containsExactly(202410002);
+    }
+
+    @Test
+    void findByFilingDateBetween_ShouldReturnFilingsInDateOrderAndResumeAfterPosition() {
+        // Given
+        repository.save(filing(202410003, "user456", LocalDate.of(2024, 4, 10), 2024));
+        repository.save(filing(202410004, "user789", LocalDate.of(2024, 4, 20), 2024));
+
+        // When
+        List<TaxFilingEntity> all = repository.findByFilingDateBetween(
+                LocalDate.of(2024, 4, 10), LocalDate.of(2024, 4, 15), null).toList();
+        List<TaxFilingEntity> resumed = repository.findByFilingDateBetween(
+                LocalDate.of(2024, 4, 10), LocalDate.of(2024, 4, 15), IndexPosition.ofFilingDate(all.get(1))).toList();
+
+        // Then
+        assertThat(all).extracting(TaxFilingEntity::getFilingId).containsExactly(202410003, 202410001, 202410002);
+        assertThat(resumed).extracting(TaxFilingEntity::getFilingId).containsExactly(202410002);
+    }
+
+    @Test
+    void findByTaxYearBetween_ShouldReflectReplacedFilings() {
+        // Given
+        repository.save(filing(202410001, "user123", LocalDate.of(2024, 4, 15), 2023));
+
+        // When
+        List<TaxFilingEntity> priorYear = repository.findByTaxYearBetween(2023, 2023, null).toList();
+        List<TaxFilingEntity> bothYears = repository.findByTaxYearBetween(2023, 2024, null).toList();
+
+        // Then
+        assertThat(priorYear).extracting(TaxFilingEntity::getFilingId).containsExactly(202410001);
+        assertThat(bothYears).extracting(TaxFilingEntity::getFilingId).containsExactly(202410001, 202410002);
+    }
+
+    @Test
+    void findByIds_ShouldReturnKnownFilingsInRequestOrder() {
+        // When
+        Map<Integer, TaxFilingEntity> filings = repository.findByIds(List.of(202410002, 202410404, 202410001));
+
+        // Then
+        assertThat(filings.keySet()).containsExactly(202410002, 202410001);
+        assertThat(repository.findById(202410404)).isEmpty();
+    }
+
+    @Test
+    void findByTrackingId_ShouldFollowTrackingIdChanges() {
+        // Given
+        TaxFilingEntity retracked = filing(202410001, "user123", LocalDate.of(2024, 4, 15), 2024);
+        retracked.setTrackingId("TRACK-101");
+
+        // When
+        repository.save(retracked);
+
+        // Then
+        assertThat(repository.findByTrackingId("TRACK-001")).isEmpty();
+        assertThat(repository.findByTrackingId("TRACK-101")).contains(retracked);
+        assertThat(repository.findByTrackingIds(List.of("TRACK-002", "TRACK-404", "TRACK-101")))
+                .containsOnlyKeys("TRACK-002", "TRACK-101");
+    }
+
+    @Test
+    void statistics_ShouldTrackReplacedAndMovedFilings() {
+        // Given
+        repository.save(filing(202410003, "user456", LocalDate.of(2024, 4, 10), 2023));
+
+        // When: move both of user123's filings away, changing the tax year of one
+        repository.save(filing(202410001, "user456", LocalDate.of(2024, 4, 15), 2023));
+        repository.save(filing(202410002, "user789", LocalDate.of(2024, 4, 15), 2024));
+        FilingStatistics statistics = repository.statistics();
+
+        // Then
+        assertThat(statistics.totalFilings()).isEqualTo(3);
+        assertThat(statistics.distinctUsers()).isEqualTo(2);
+        assertThat(statistics.filingsByJurisdiction()).containsOnly(entry(Jurisdiction.FEDERAL, 3L));
+        assertThat(statistics.filingsByTaxYear()).containsOnly(entry(2023, 2L), entry(2024, 1L));
+    }
+
+    @Test
+    void freezeTaxYearsBefore_ShouldKeepFrozenFilingsQueryable() {
+        // Given
+        repository.save(filing(202310001, "user123", LocalDate.of(2023, 4, 10), 2023));
+        repository.save(filing(202310002, "user456", LocalDate.of(2023, 4, 12), 2023));
+
+        // When
+        long frozen = repository.freezeTaxYearsBefore(2024);
+
+        // Then
+        assertThat(frozen).isEqualTo(2);
+        assertThat(repository.frozenHeapBytes()).isPositive();
+        assertThat(repository.findLatestByUserId("user123").map(TaxFilingEntity::getFilingId).toList())
+                .containsExactlyInAnyOrder(202310001, 202410001, 202410002);
+        assertThat(repository.findAll().count()).isEqualTo(4);
+        assertThat(repository.findById(202310002)).hasValueSatisfying(filing -> {
+            assertThat(filing.getUserId()).isEqualTo("user456");
+            assertThat(filing.getFilingDate()).isEqualTo(LocalDate.of(2023, 4, 12));
+            assertThat(filing.getRefundAmount()).isEqualByComparingTo("1000.00");
+        });
+        assertThat(repository.findByTrackingId("TRACK-202310001")).isPresent();
+        assertThat(repository.findByTaxYearBetween(2023, 2024, null).map(TaxFilingEntity::getFilingId).toList())
+                .containsExactly(202310001, 202310002, 202410001, 202410002);
+        assertThat(repository.findByFilingDateBetween(LocalDate.of(2023, 1, 1), LocalDate.of(2024, 12, 31),
+                IndexPosition.ofFilingDate(filing(202310001, "user123", LocalDate.of(2023, 4, 10), 2023)))
+                .map(TaxFilingEntity::getFilingId).toList())
+                .containsExactly(202310002, 202410001, 202410002);
+        assertThat(repository.statistics().totalFilings()).isEqualTo(4);
+        assertThat(repository.statistics().distinctUsers()).isEqualTo(2);
+    }
+
+    @Test
+    void save_ShouldHideFrozenFilingWhenReplaced() {
+        // Given
+        repository.save(filing(202310001, "user123", LocalDate.of(2023, 4, 10), 2023));
+        repository.save(filing(202310002, "user456", LocalDate.of(2023, 4, 12), 2023));
+        repository.freezeTaxYearsBefore(2024);
+
+        // When: move a frozen filing to another user and tax year, then freeze again
+        repository.save(filing(202310001, "user789", LocalDate.of(2023, 4, 10), 2022));
+        List<Integer> user123 = repository.findLatestByUserId("user123").map(TaxFilingEntity::getFilingId).toList();
+        List<Integer> taxYear2023 = repository.findByTaxYearBetween(2023, 2023, null)
+                .map(TaxFilingEntity::getFilingId).toList();
+        FilingStatistics beforeRefreeze = repository.statistics();
+        long refrozen = repository.freezeTaxYearsBefore(2024);
+
+        // Then
+        assertThat(user123).containsExactlyInAnyOrder(202410001, 202410002);
+        assertThat(taxYear2023).containsExactly(202310002);
+        assertThat(beforeRefreeze.totalFilings()).isEqualTo(4);
+        assertThat(beforeRefreeze.distinctUsers()).isEqualTo(3);
+        assertThat(refrozen).isEqualTo(1);
+        assertThat(repository.findAll().map(TaxFilingEntity::getFilingId).toList())
+                .containsExactlyInAnyOrder(202310001, 202310002, 202410001, 202410002);
+        assertThat(repository.findById(202310001)).hasValueSatisfying(
+                filing -> assertThat(filing.getTaxYear()).isEqualTo(2022));
+        assertThat(repository.statistics()).isEqualTo(beforeRefreeze);
+    }
+
+    @Test
+    void save_ShouldStopCountingUser_WhenTheirLastFrozenFilingMovesAway() {
+        // Given
+        repository.save(filing(202310002, "user456", LocalDate.of(2023, 4, 12), 2023));
+        repository.freezeTaxYearsBefore(2024);
+
+        // When
+        repository.save(filing(202310002, "user789", LocalDate.of(2023, 4, 12), 2023));
+        FilingStatistics beforeRefreeze = repository.statistics();
+        repository.freezeTaxYearsBefore(2024);
+
+        // Then
+        assertThat(repository.findLatestByUserId("user456").toList()).isEmpty();
+        assertThat(beforeRefreeze.distinctUsers()).isEqualTo(2);
+        assertThat(repository.statistics()).isEqualTo(beforeRefreeze);
+    }
+
+    @Test
+    void freezeTaxYearsBefore_ShouldPreserveRefundAmountScale() {
+        // Given
+        repository.save(filing(202310001, "user123", LocalDate.of(2023, 4, 10), 2023, new BigDecimal("1000.125")));
+        repository.save(filing(202310002, "user456", LocalDate.of(2023, 4, 12), 2023, new BigDecimal("1E+3")));
+
+        // When
+        repository.freezeTaxYearsBefore(2024);
+
+        // Then
+        assertThat(repository.findById(202310001).map(TaxFilingEntity::getRefundAmount))
+                .hasValue(new BigDecimal("1000.125"));
+        assertThat(repository.findById(202310002).map(TaxFilingEntity::getRefundAmount))
+                .hasValue(new BigDecimal("1E+3"));
+    }
+
+    @Test
+    void freezeTaxYearsBefore_ShouldMoveNothing_WhenRefundAmountCannotBeFrozen() {
+        // Given
+        repository.save(filing(202310001, "user123", LocalDate.of(2023, 4, 10), 2023));
+        repository.save(filing(202310002, "user456", LocalDate.of(2023, 4, 12), 2023,
+                new BigDecimal("92233720368547758.08")));
+
+        // When & Then
+        assertThatThrownBy(() -> repository.freezeTaxYearsBefore(2024))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(repository.findByTaxYearBetween(2023, 2023, null).map(TaxFilingEntity::getFilingId).toList())
+                .containsExactly(202310001, 202310002);
+        assertThat(repository.findById(202310002).map(TaxFilingEntity::getRefundAmount))
+                .hasValue(new BigDecimal("92233720368547758.08"));
+        assertThat(repository.statistics().distinctUsers()).isEqualTo(2);
+    }
+
+    private TaxFilingEntity filing(int filingId, String userId, LocalDate filingDate, int taxYear) {
+        return filing(filingId, userId, filingDate, taxYear, BigDecimal.valueOf(1000.00));
+    }
+
+    private TaxFilingEntity filing(int filingId, String userId, LocalDate filingDate, int taxYear,
+            BigDecimal refundAmount) {
+        return TaxFilingEntity.builder()
+                .filingId(filingId)
+                .userId(userId)
+                .jurisdiction(Jurisdiction.FEDERAL)
+                .taxYear(taxYear)
+                .filingDate(filingDate)
+                .refundAmount(refundAmount)
+                .trackingId("TRACK-" + filingId)
+                .disbursementMethod(PaymentMethod.ACH)
+                .isPaperless(true)
+                .build();
+    }
+
     private void addTestData() {
         TaxFilingEntity federal = TaxFilingEntity.builder()
                 .filingId(202410001)
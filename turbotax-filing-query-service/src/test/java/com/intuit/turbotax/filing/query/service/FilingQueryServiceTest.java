@@ -2,27 +2,47 @@ package com.intuit.turbotax.filing.query.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
 import com.intuit.turbotax.api.v1.common.model.PaymentMethod;
 import com.intuit.turbotax.api.v1.filing.model.TaxFiling;
+import com.intuit.turbotax.api.v1.filing.model.TaxFilingPage;
+import com.intuit.turbotax.filing.query.config.FilingQueryProperties;
+import com.intuit.turbotax.filing.query.exception.FilingNotFoundException;
 import com.intuit.turbotax.filing.query.exception.InvalidUserException;
 import com.intuit.turbotax.filing.query.mapper.TaxFilingMapper;
+import com.intuit.turbotax.filing.query.repository.IndexPosition;
 import com.intuit.turbotax.filing.query.repository.TaxFilingEntity;
 import com.intuit.turbotax.filing.query.repository.TaxFilingRepository;
+import com.intuit.turbotax.filing.query.repository.TaxFilingWriteListener;
 import com.intuit.turbotax.filing.query.validation.FilingValidator;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +57,18 @@ class FilingQueryServiceImplTest {
     @Mock
     private FilingValidator validator;
 
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ObjectProvider<FilingResponseCache> responseCache;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Spy
+    private FilingQueryProperties properties = new FilingQueryProperties();
+
     @InjectMocks
     private FilingQueryServiceImpl service;
 
@@ -69,6 +101,237 @@ class FilingQueryServiceImplTest {
                 .isInstanceOf(InvalidUserException.class);
     }
 
+    @Test
+    void getFilings_ShouldReturnOnlyMostRecentFilingsUpToMaxFilingsPerUser() {
+        // Given: twelve tax years of filings, oldest first
+        List<TaxFilingEntity> history = IntStream.rangeClosed(2013, 2024)
+                .mapToObj(year -> createTestEntity(year * 100_000 + 1, year, LocalDate.of(year + 1, 4, 15)))
+                .toList();
+        when(repository.findLatestByUserId("user123")).thenReturn(history.stream());
+        when(mapper.entityToApi(any(TaxFilingEntity.class))).thenAnswer(invocation -> toFiling(invocation.getArgument(0)));
+
+        // When
+        List<TaxFiling> result = service.getFilings("user123");
+
+        // Then
+        assertThat(result).hasSize(10);
+        assertThat(result.getFirst().taxYear()).isEqualTo(2024);
+        assertThat(result.getLast().taxYear()).isEqualTo(2015);
+    }
+
+    @Test
+    void getFilingsPage_ShouldOrderByTaxYearAndFilingDateAndResumeFromCursor() {
+        // Given
+        TaxFilingEntity sameDayLower = createTestEntity(202410001, 2024, LocalDate.of(2024, 4, 15));
+        TaxFilingEntity sameDayHigher = createTestEntity(202410002, 2024, LocalDate.of(2024, 4, 15));
+        TaxFilingEntity earlier = createTestEntity(202410003, 2024, LocalDate.of(2024, 2, 1));
+        TaxFilingEntity priorYear = createTestEntity(202310001, 2023, LocalDate.of(2024, 5, 1));
+        when(repository.findLatestByUserId("user123"))
+                .thenAnswer(invocation -> Stream.of(priorYear, sameDayLower, earlier, sameDayHigher));
+        when(mapper.entityToApi(any(TaxFilingEntity.class))).thenAnswer(invocation -> toFiling(invocation.getArgument(0)));
+
+        // When
+        TaxFilingPage first = service.getFilingsPage("user123", null, 3);
+        TaxFilingPage second = service.getFilingsPage("user123", first.nextCursor(), 3);
+
+        // Then
+        assertThat(first.filings()).extracting(TaxFiling::filingId).containsExactly(202410002, 202410001, 202410003);
+        assertThat(first.nextCursor()).isNotNull();
+        assertThat(second.filings()).extracting(TaxFiling::filingId).containsExactly(202310001);
+        assertThat(second.nextCursor()).isNull();
+        verify(validator, times(2)).validatePageSize(3, 10);
+    }
+
+    @Test
+    void getFilingsPage_ShouldRejectLimitAboveMaxFilingsPerUser() {
+        // Given
+        doThrow(new IllegalArgumentException("limit must be between 1 and 10"))
+                .when(validator).validatePageSize(11, 10);
+
+        // When & Then
+        assertThatThrownBy(() -> service.getFilingsPage("user123", null, 11))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getFilingsForUsers_ShouldGroupFilingsByUserAndUseCache() {
+        // Given
+        TaxFilingEntity entity = createTestEntity();
+        TaxFiling filing = createTestFiling();
+        when(cacheManager.getCache("filings")).thenReturn(new ConcurrentMapCache("filings"));
+        when(repository.findLatestByUserId("user123")).thenReturn(Stream.of(entity));
+        when(repository.findLatestByUserId("user456")).thenReturn(Stream.empty());
+        when(mapper.entityToApi(entity)).thenReturn(filing);
+
+        // When
+        Map<String, List<TaxFiling>> result = service.getFilingsForUsers(List.of("user123", "user456", "user123"));
+        service.getFilingsForUsers(List.of("user123"));
+
+        // Then
+        assertThat(result).containsOnlyKeys("user123", "user456");
+        assertThat(result.get("user123")).containsExactly(filing);
+        assertThat(result.get("user456")).isEmpty();
+        verify(repository, times(1)).findLatestByUserId("user123");
+    }
+
+    @Test
+    void getFilingsForUsers_ShouldThrowException_WhenBatchInvalid() {
+        // Given
+        doThrow(new InvalidUserException("User ID list cannot be null or empty"))
+                .when(validator).validateUserIds(List.of());
+
+        // When & Then
+        assertThatThrownBy(() -> service.getFilingsForUsers(List.of()))
+                .isInstanceOf(InvalidUserException.class);
+    }
+
+    @Test
+    void save_ShouldEvictCachedFilingsForNewAndPreviousUser() {
+        // Given: no saves are followed until the repository is loaded
+        ConcurrentMapCache cache = new ConcurrentMapCache("filings");
+        when(cacheManager.getCache("filings")).thenReturn(cache);
+        verify(repository, never()).addWriteListener(any());
+        service.repositoryLoaded();
+        cache.put("user123", List.of(createTestFiling()));
+        cache.put("user456", List.of());
+        ArgumentCaptor<TaxFilingWriteListener> listener = ArgumentCaptor.forClass(TaxFilingWriteListener.class);
+        verify(repository).addWriteListener(listener.capture());
+
+        // When
+        listener.getValue().filingSaved(createTestEntity(), "user456", 1);
+
+        // Then
+        assertThat(cache.get("user123")).isNull();
+        assertThat(cache.get("user456")).isNull();
+    }
+
+    @Test
+    void getFilingsJson_ShouldEncodeFilings_WhenResponseCacheDisabled() throws Exception {
+        // Given
+        TaxFilingEntity entity = createTestEntity();
+        TaxFiling filing = createTestFiling();
+        when(repository.findLatestByUserId("user123")).thenReturn(Stream.of(entity));
+        when(mapper.entityToApi(entity)).thenReturn(filing);
+
+        // When
+        byte[] result = service.getFilingsJson("user123");
+
+        // Then
+        assertThat(objectMapper.readValue(result, TaxFiling[].class)).containsExactly(filing);
+    }
+
+    @Test
+    void findFilingsByFilingDate_ShouldFilterAndReturnCursorForNextPage() {
+        // Given
+        LocalDate from = LocalDate.of(2024, 4, 10);
+        LocalDate to = LocalDate.of(2024, 4, 15);
+        TaxFilingEntity first = createTestEntity();
+        TaxFilingEntity state = createTestEntity();
+        state.setFilingId(202410002);
+        state.setJurisdiction(Jurisdiction.STATE_CA);
+        TaxFilingEntity second = createTestEntity();
+        second.setFilingId(202410003);
+        TaxFilingEntity third = createTestEntity();
+        third.setFilingId(202410004);
+        TaxFiling filing = createTestFiling();
+        when(repository.findByFilingDateBetween(from, to, null)).thenReturn(Stream.of(first, state, second, third));
+        when(mapper.entityToApi(any(TaxFilingEntity.class))).thenReturn(filing);
+
+        // When
+        TaxFilingPage page = service.findFilingsByFilingDate(from, to, Jurisdiction.FEDERAL, null, null, 2);
+
+        // Then
+        assertThat(page.filings()).hasSize(2);
+        assertThat(page.nextCursor()).isNotNull();
+        when(repository.findByFilingDateBetween(from, to, IndexPosition.ofFilingDate(second)))
+                .thenReturn(Stream.of(third));
+        TaxFilingPage next = service.findFilingsByFilingDate(from, to, Jurisdiction.FEDERAL, null, page.nextCursor(), 2);
+        assertThat(next.filings()).hasSize(1);
+        assertThat(next.nextCursor()).isNull();
+    }
+
+    @Test
+    void findFilingsByFilingDate_ShouldRejectMalformedCursor() {
+        // When & Then
+        assertThatThrownBy(() -> service.findFilingsByFilingDate(LocalDate.of(2024, 4, 10),
+                LocalDate.of(2024, 4, 15), null, null, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void exportFilings_ShouldApplyTaxYearAndJurisdictionFilters() {
+        // Given
+        TaxFilingEntity federal = createTestEntity();
+        TaxFilingEntity priorYear = createTestEntity();
+        priorYear.setTaxYear(2023);
+        TaxFilingEntity state = createTestEntity();
+        state.setJurisdiction(Jurisdiction.STATE_CA);
+        TaxFiling filing = createTestFiling();
+        when(repository.findAll()).thenReturn(Stream.of(federal, priorYear, state));
+        when(mapper.entityToApi(federal)).thenReturn(filing);
+
+        // When
+        List<TaxFiling> result = service.exportFilings(2024, Jurisdiction.FEDERAL).toList();
+
+        // Then
+        assertThat(result).containsExactly(filing);
+    }
+
+    @Test
+    void getFiling_ShouldThrowNotFound_WhenFilingIdUnknown() {
+        // Given
+        when(repository.findById(202410404)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> service.getFiling(202410404))
+                .isInstanceOf(FilingNotFoundException.class)
+                .hasMessageContaining("202410404");
+    }
+
+    @Test
+    void getFilingsByIds_ShouldMapResolvedFilings() {
+        // Given
+        TaxFilingEntity entity = createTestEntity();
+        TaxFiling filing = createTestFiling();
+        List<Integer> filingIds = List.of(202410001, 202410404);
+        when(repository.findByIds(filingIds)).thenReturn(Map.of(202410001, entity));
+        when(mapper.entityToApi(entity)).thenReturn(filing);
+
+        // When
+        Map<Integer, TaxFiling> result = service.getFilingsByIds(filingIds);
+
+        // Then
+        verify(validator).validateFilingIds(filingIds);
+        assertThat(result).containsOnly(entry(202410001, filing));
+    }
+
+    @Test
+    void getFilingByTrackingId_ShouldThrowNotFound_WhenTrackingIdUnknown() {
+        // Given
+        when(repository.findByTrackingId("IRS-TRACK-UNKNOWN")).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> service.getFilingByTrackingId("IRS-TRACK-UNKNOWN"))
+                .isInstanceOf(FilingNotFoundException.class);
+    }
+
+    @Test
+    void getFilingsByTrackingIds_ShouldReturnOnlyResolvedTrackingIds() {
+        // Given
+        TaxFilingEntity entity = createTestEntity();
+        TaxFiling filing = createTestFiling();
+        List<String> trackingIds = List.of("TRACK-001", "TRACK-404");
+        when(repository.findByTrackingIds(trackingIds)).thenReturn(Map.of("TRACK-001", entity));
+        when(mapper.entityToApi(entity)).thenReturn(filing);
+
+        // When
+        Map<String, TaxFiling> result = service.getFilingsByTrackingIds(trackingIds);
+
+        // Then
+        verify(validator).validateTrackingIds(trackingIds);
+        assertThat(result).containsOnly(entry("TRACK-001", filing));
+    }
+
     private TaxFilingEntity createTestEntity() {
         return TaxFilingEntity.builder()
                 .filingId(202410001)
@@ -83,6 +346,21 @@ class FilingQueryServiceImplTest {
                 .build();
     }
 
+    private TaxFilingEntity createTestEntity(int filingId, int taxYear, LocalDate filingDate) {
+        TaxFilingEntity entity = createTestEntity();
+        entity.setFilingId(filingId);
+        entity.setTaxYear(taxYear);
+        entity.setFilingDate(filingDate);
+        return entity;
+    }
+
+    private static TaxFiling toFiling(TaxFilingEntity entity) {
+        return new TaxFiling(
+                entity.getFilingId(), entity.getTrackingId(), entity.getJurisdiction(), entity.getUserId(),
+                entity.getTaxYear(), entity.getFilingDate(), entity.getRefundAmount(),
+                entity.getDisbursementMethod(), entity.isPaperless());
+    }
+
     private TaxFiling createTestFiling() {
         return new TaxFiling(
                 202410001, "TRACK-001", Jurisdiction.FEDERAL, "user123",
@@ -0,0 +1,111 @@
+package com.intuit.turbotax.filing.query.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.common.model.PaymentMethod;
+import com.intuit.turbotax.api.v1.filing.model.TaxFiling;
+import com.intuit.turbotax.filing.query.config.FilingQueryProperties;
+import com.intuit.turbotax.filing.query.mapper.TaxFilingMapper;
+import com.intuit.turbotax.filing.query.repository.TaxFilingEntity;
+import com.intuit.turbotax.filing.query.repository.TaxFilingRepositoryImpl;
+
+class FilingResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final TaxFilingMapper mapper = new TaxFilingMapper();
+
+    private TaxFilingRepositoryImpl repository;
+    private FilingResponseCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        repository = new TaxFilingRepositoryImpl();
+        cache = new FilingResponseCache(repository, objectMapper, new FilingQueryProperties());
+        cache.repositoryLoaded();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_ShouldReturnSameBytesUntilUserIsWritten() throws Exception {
+        // Given
+        repository.save(createEntity(202410001, "user123"));
+        byte[] first = cache.get("user123", loader("user123"));
+
+        // When
+        byte[] second = cache.get("user123", loader("user123"));
+        repository.save(createEntity(202410002, "user123"));
+        byte[] third = cache.get("user123", loader("user123"));
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(objectMapper.readValue(third, TaxFiling[].class)).hasSize(2);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_ShouldInvalidatePreviousUser_WhenFilingMovesToAnotherUser() throws Exception {
+        // Given
+        repository.save(createEntity(202410001, "user123"));
+        cache.get("user123", loader("user123"));
+
+        // When
+        repository.save(createEntity(202410001, "user456"));
+        byte[] result = cache.get("user123", loader("user123"));
+
+        // Then
+        assertThat(objectMapper.readValue(result, TaxFiling[].class)).isEmpty();
+    }
+
+    @Test
+    void get_ShouldEvictBeyondMaxEntries() {
+        // Given
+        FilingQueryProperties properties = new FilingQueryProperties();
+        properties.getResponseCache().setMaxEntries(2);
+        cache = new FilingResponseCache(repository, objectMapper, properties);
+
+        // When
+        for (String userId : List.of("user123", "user456", "user789", "user012")) {
+            cache.get(userId, loader(userId));
+        }
+
+        // Then
+        assertThat(cache.size()).isLessThanOrEqualTo(2);
+        assertThat(loads).hasValue(4);
+    }
+
+    private Supplier<List<TaxFiling>> loader(String userId) {
+        return () -> {
+            loads.incrementAndGet();
+            return repository.findLatestByUserId(userId)
+                    .map(mapper::entityToApi)
+                    .toList();
+        };
+    }
+
+    private TaxFilingEntity createEntity(int filingId, String userId) {
+        return TaxFilingEntity.builder()
+                .filingId(filingId)
+                .userId(userId)
+                .jurisdiction(Jurisdiction.FEDERAL)
+                .taxYear(2024)
+                .filingDate(LocalDate.of(2024, 4, 15))
+                .refundAmount(BigDecimal.valueOf(2500.00))
+                .trackingId("TRACK-" + filingId)
+                .disbursementMethod(PaymentMethod.ACH)
+                .isPaperless(true)
+                .build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.intuit.turbotax.filing.query.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.common.model.PaymentMethod;
+import com.intuit.turbotax.filing.query.repository.TaxFilingEntity;
+import com.intuit.turbotax.filing.query.repository.TaxFilingRepositoryImpl;
+
+class FilingSnapshotStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final FilingSnapshotStore store = new FilingSnapshotStore();
+
+    @Test
+    void restore_ShouldRoundTripWrittenSnapshot() throws IOException {
+        // Given
+        Path snapshot = tempDir.resolve("filings.snapshot");
+        TaxFilingEntity full = createFiling(202410001, "user123");
+        TaxFilingEntity sparse = TaxFilingEntity.builder().filingId(202410002).userId("user123").taxYear(2023).build();
+        store.write(List.of(full, sparse).stream(), snapshot);
+
+        // When
+        TaxFilingRepositoryImpl repository = new TaxFilingRepositoryImpl();
+        long restored = store.restore(snapshot, repository);
+
+        // Then
+        assertThat(restored).isEqualTo(2);
+        assertThat(repository.findLatestByUserId("user123").collect(Collectors.toList()))
+                .containsExactlyInAnyOrder(full, sparse);
+    }
+
+    @Test
+    void restore_ShouldSpanMultipleBlocks() throws IOException {
+        // Given
+        Path snapshot = tempDir.resolve("filings.snapshot");
+        int filings = 50_000;
+        long written = store.write(IntStream.range(0, filings)
+                .mapToObj(i -> createFiling(300000000 + i, "user" + (i % 1000))), snapshot);
+
+        // When
+        TaxFilingRepositoryImpl repository = new TaxFilingRepositoryImpl();
+        long restored = store.restore(snapshot, repository);
+
+        // Then
+        assertThat(written).isEqualTo(filings);
+        assertThat(restored).isEqualTo(filings);
+        assertThat(repository.findAll()).hasSize(filings);
+        assertThat(repository.findLatestByUserId("user7")).hasSize(filings / 1000);
+    }
+
+    @Test
+    void restore_ShouldRejectCorruptedPayloadWithoutRestoringAnything() throws IOException {
+        // Given
+        Path snapshot = tempDir.resolve("filings.snapshot");
+        store.write(IntStream.range(0, 100).mapToObj(i -> createFiling(i + 1, "user123")), snapshot);
+        flipLastByte(snapshot);
+
+        // When & Then
+        TaxFilingRepositoryImpl repository = new TaxFilingRepositoryImpl();
+        assertThatThrownBy(() -> store.restore(snapshot, repository))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+        assertThat(repository.findAll()).isEmpty();
+    }
+
+    @Test
+    void restore_ShouldRejectTruncatedSnapshot() throws IOException {
+        // Given
+        Path snapshot = tempDir.resolve("filings.snapshot");
+        store.write(IntStream.range(0, 100).mapToObj(i -> createFiling(i + 1, "user123")), snapshot);
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 10);
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> store.restore(snapshot, new TaxFilingRepositoryImpl()))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void restore_ShouldRejectUnknownVersion() throws IOException {
+        // Given
+        Path snapshot = tempDir.resolve("filings.snapshot");
+        store.write(List.of(createFiling(1, "user123")).stream(), snapshot);
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(2).putShort(0, (short) 99), 4);
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> store.restore(snapshot, new TaxFilingRepositoryImpl()))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("version");
+    }
+
+    @Test
+    void readSourceVersion_ShouldReturnVersionRecordedAtWrite() throws IOException {
+        // Given
+        Path snapshot = tempDir.resolve("filings.snapshot");
+        FilingSnapshotStore.SourceVersion source = new FilingSnapshotStore.SourceVersion(4096, 1_700_000_000_000L);
+        store.write(List.of(createFiling(1, "user123")).stream(), snapshot, source);
+
+        // When
+        FilingSnapshotStore.SourceVersion recorded = store.readSourceVersion(snapshot);
+
+        // Then
+        assertThat(recorded).isEqualTo(source);
+        assertThat(recorded).isNotEqualTo(new FilingSnapshotStore.SourceVersion(4097, 1_700_000_000_000L));
+    }
+
+    private static void flipLastByte(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x5A;
+        Files.write(file, bytes);
+    }
+
+    private static TaxFilingEntity createFiling(int filingId, String userId) {
+        return TaxFilingEntity.builder()
+                .filingId(filingId)
+                .userId(userId)
+                .jurisdiction(Jurisdiction.STATE_NY)
+                .taxYear(2024)
+                .filingDate(LocalDate.of(2024, 3, 30))
+                .refundAmount(BigDecimal.valueOf(650.25))
+                .trackingId("NY-TRACK-" + filingId)
+                .disbursementMethod(PaymentMethod.CHECK)
+                .isPaperless(false)
+                .build();
+    }
+}
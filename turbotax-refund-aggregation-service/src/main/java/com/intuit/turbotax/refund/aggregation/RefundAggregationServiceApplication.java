@@ -2,6 +2,7 @@ package com.intuit.turbotax.refund.aggregation;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = {
 	"com.intuit.turbotax.refund.aggregation",
@@ -9,6 +10,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 	"com.intuit.turbotax.refund.aggregation.client",
 	"com.intuit.turbotax.client"
 })
+@EnableScheduling
 public class RefundAggregationServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,220 @@
+package com.intuit.turbotax.refund.aggregation.cache;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.cache.Cache;
+import org.springframework.stereotype.Component;
+
+import com.intuit.turbotax.api.v1.refund.model.RefundStatusData;
+import com.intuit.turbotax.refund.aggregation.config.RefundAggregationProperties;
+import com.intuit.turbotax.refund.aggregation.mapper.RefundStatusMapper;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusAggregate;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusRepository;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusSaveListener;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Bounded refundStatus cache kept coherent with the repository.
+ *
+ * <p>Each entry carries the repository version of the aggregate it was built from. Saves
+ * replace cached entries that are older, in place, and leave uncached filings alone so that
+ * sweeps do not flood the cache. A read that missed only caches its result if the filing's
+ * version is still the one it read, checked while holding the entry's bin, so an older read
+ * never replaces a newer save, even one whose entry has since been evicted. Filings that
+ * were never saved are not cached, so lookups of unknown filingIds cannot evict real entries.
+ *
+ * <p>A hit is one map lookup, plus a write of the entry's referenced flag the first time it
+ * is read after an eviction pass. Once the cache holds more than its maximum, each insert
+ * moves a CLOCK hand until it is back within bounds: entries read since the hand last passed
+ * get a second chance, the others are dropped.
+ */
+@Component
+public class RefundStatusCache implements Cache, RefundStatusSaveListener {
+
+    public static final String NAME = "refundStatus";
+
+    private final RefundStatusRepository repository;
+    private final RefundStatusMapper mapper;
+    private final int maxEntries;
+    private final ConcurrentHashMap<Integer, Entry> entries = new ConcurrentHashMap<>();
+
+    // Guards the clock hand; inserts over the bound wait for it, so misses cannot outrun eviction
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private Iterator<Map.Entry<Integer, Entry>> clockHand = Collections.emptyIterator();
+
+    public RefundStatusCache(RefundStatusRepository repository, RefundStatusMapper mapper,
+            RefundAggregationProperties properties) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.maxEntries = properties.getCache().getMaxEntries();
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        repository.addSaveListener(this);
+    }
+
+    /**
+     * Caches the result of a repository read, unless the filing was saved after the read
+     * or never saved at all.
+     *
+     * @param filingId the filing read
+     * @param version  the filing's repository version, read before its aggregate
+     * @param data     the status read
+     */
+    public void putIfCurrent(int filingId, long version, RefundStatusData data) {
+        if (version == 0) {
+            return;
+        }
+        entries.compute(filingId, (id, existing) -> {
+            if (existing != null && existing.version >= version) {
+                return existing;
+            }
+            // A later save has a higher version and updates or skips this entry itself
+            if (repository.getVersion(id) != version) {
+                return existing;
+            }
+            return new Entry(version, data);
+        });
+        evictIfFull();
+    }
+
+    @Override
+    public void onSaved(RefundStatusAggregate aggregate, long version) {
+        entries.computeIfPresent(aggregate.filingId(), (id, existing) -> existing.version >= version
+                ? existing
+                : new Entry(version, mapper.mapToApi(id, aggregate)));
+    }
+
+    /**
+     * Returns the number of filings cached.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return entries;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.referenced) {
+            entry.referenced = true;
+        }
+        return entry;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper entry = get(key);
+        Object value = entry == null ? null : entry.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    /**
+     * Returns the cached value, or the loader's value without caching it: an unversioned
+     * value cannot be ordered against saves.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper entry = get(key);
+        if (entry != null) {
+            return (T) entry.get();
+        }
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    /**
+     * Caches a value at the filing's current repository version. Unlike
+     * {@link #putIfCurrent}, this cannot tell whether the value was read before a save
+     * that landed in between, so callers that can read the version first should use that.
+     */
+    @Override
+    public void put(Object key, Object value) {
+        if (!(key instanceof Integer filingId)) {
+            throw new IllegalArgumentException("The " + NAME + " cache is keyed by filingId, not " + key);
+        }
+        putIfCurrent(filingId, repository.getVersion(filingId), (RefundStatusData) value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        evictionLock.lock();
+        try {
+            // Once a turn's worth of second chances is spent, evict regardless, so the bound
+            // holds even when entries are read as fast as the hand clears them
+            long secondChances = entries.size();
+            while (entries.size() > maxEntries) {
+                if (!clockHand.hasNext()) {
+                    clockHand = entries.entrySet().iterator();
+                    if (!clockHand.hasNext()) {
+                        return;
+                    }
+                }
+                Map.Entry<Integer, Entry> candidate = clockHand.next();
+                Entry entry = candidate.getValue();
+                if (entry.referenced && secondChances-- > 0) {
+                    entry.referenced = false;
+                } else {
+                    entries.remove(candidate.getKey(), entry);
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static final class Entry implements ValueWrapper {
+
+        private final long version;
+        private final RefundStatusData value;
+
+        // Set by reads, cleared by eviction passes
+        private volatile boolean referenced;
+
+        private Entry(long version, RefundStatusData value) {
+            this.version = version;
+            this.value = value;
+        }
+
+        @Override
+        public Object get() {
+            return value;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.intuit.turbotax.refund.aggregation.client;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -20,9 +23,22 @@ public class ExternalIrsClientImpl implements ExternalIrsClient {
     public Optional<RefundStatus> getRefundStatus(int filingId, String ssn) {
         log.info("Getting IRS refund status for filing: {}", filingId);
 
-        // Simple mock: return PROCESSING for even IDs, SENT_TO_BANK for odd
-        RefundStatus status = (filingId % 2 == 0) ? RefundStatus.PROCESSING : RefundStatus.SENT_TO_BANK;
+        return Optional.of(mockStatus(filingId));
+    }
+
+    @Override
+    public Map<Integer, RefundStatus> getRefundStatuses(Collection<Integer> filingIds) {
+        log.info("Getting IRS refund statuses for {} filings", filingIds.size());
+
+        Map<Integer, RefundStatus> statuses = new HashMap<>(filingIds.size() * 2);
+        for (int filingId : filingIds) {
+            statuses.put(filingId, mockStatus(filingId));
+        }
+        return statuses;
+    }
 
-        return Optional.of(status);
+    // Simple mock: return PROCESSING for even IDs, SENT_TO_BANK for odd
+    private static RefundStatus mockStatus(int filingId) {
+        return (filingId % 2 == 0) ? RefundStatus.PROCESSING : RefundStatus.SENT_TO_BANK;
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,8 @@
 package com.intuit.turbotax.refund.aggregation.client;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -21,9 +24,23 @@ public class ExternalStateTaxClientImpl implements ExternalStateTaxClient {
     public Optional<RefundStatus> getRefundStatus(String filingId, Jurisdiction jurisdiction, String stateFilingId) {
         log.info("Getting state refund status for filing: {}, jurisdiction: {}", filingId, jurisdiction);
 
-        // Simple mock: return ACCEPTED for CA, FILED for others
-        RefundStatus status = (jurisdiction == Jurisdiction.STATE_CA) ? RefundStatus.ACCEPTED : RefundStatus.FILED;
+        return Optional.of(mockStatus(jurisdiction));
+    }
+
+    @Override
+    public Map<String, RefundStatus> getRefundStatuses(Collection<String> filingIds, Jurisdiction jurisdiction) {
+        log.info("Getting state refund statuses for {} filings, jurisdiction: {}", filingIds.size(), jurisdiction);
+
+        RefundStatus status = mockStatus(jurisdiction);
+        Map<String, RefundStatus> statuses = new HashMap<>(filingIds.size() * 2);
+        for (String filingId : filingIds) {
+            statuses.put(filingId, status);
+        }
+        return statuses;
+    }
 
-        return Optional.of(status);
+    // Simple mock: return ACCEPTED for CA, FILED for others
+    private static RefundStatus mockStatus(Jurisdiction jurisdiction) {
+        return (jurisdiction == Jurisdiction.STATE_CA) ? RefundStatus.ACCEPTED : RefundStatus.FILED;
     }
-}
\ No newline at end of file
+}
@@ -1,11 +1,15 @@
 package com.intuit.turbotax.refund.aggregation.config;
 
+import java.util.List;
+
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import com.intuit.turbotax.refund.aggregation.cache.RefundStatusCache;
+
 /**
  * Configuration for caching in the refund aggregation service.
  * Enables caching and provides cache manager for refund status data.
@@ -15,13 +19,16 @@ import org.springframework.context.annotation.Configuration;
 public class CacheConfig {
 
     /**
-     * Creates a cache manager using concurrent maps.
-     * Suitable for single-instance applications or development environments.
+     * Creates a cache manager exposing the refundStatus cache.
+     * The cache is filled by RefundAggregationService and kept current by repository saves.
      *
+     * @param refundStatusCache the refundStatus cache
      * @return the cache manager
      */
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("refundStatus");
+    public CacheManager cacheManager(RefundStatusCache refundStatusCache) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(refundStatusCache));
+        return cacheManager;
     }
 }
\ No newline at end of file
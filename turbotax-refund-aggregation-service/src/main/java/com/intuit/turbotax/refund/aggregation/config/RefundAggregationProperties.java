@@ -1,10 +1,15 @@
 package com.intuit.turbotax.refund.aggregation.config;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.refund.model.RefundStatus;
+
 import lombok.Data;
 
 /**
@@ -22,12 +27,13 @@ public class RefundAggregationProperties {
     private Duration updateInterval = Duration.ofMinutes(30);
 
     /**
-     * Maximum number of retry attempts for external service calls.
+     * Maximum number of retry attempts for external service calls, after the first attempt.
      */
     private int maxRetryAttempts = 3;
 
     /**
-     * Delay between retry attempts.
+     * Delay before the first retry of an external service call. Each further retry waits
+     * twice as long as the one before; every delay is jittered by up to half.
      */
     private Duration retryDelay = Duration.ofSeconds(5);
 
@@ -37,7 +43,295 @@ public class RefundAggregationProperties {
     private boolean enableCircuitBreaker = true;
 
     /**
-     * Timeout for external service calls.
+     * Timeout for each attempt of an external service call.
      */
     private Duration externalServiceTimeout = Duration.ofSeconds(30);
-}
\ No newline at end of file
+
+    /**
+     * Settings for the per-agency circuit breakers.
+     */
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    /**
+     * Settings for sweeps over all active filings.
+     */
+    private Sweep sweep = new Sweep();
+
+    /**
+     * Settings for adaptive per-filing polling.
+     */
+    private Polling polling = new Polling();
+
+    /**
+     * Settings for persisting refund statuses across restarts.
+     */
+    private Persistence persistence = new Persistence();
+
+    /**
+     * Settings for per-filing status transition history.
+     */
+    private History history = new History();
+
+    /**
+     * Settings for the refundStatus cache.
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * Settings for adaptive per-agency rate limiting of status calls.
+     */
+    private RateLimit rateLimit = new RateLimit();
+
+    /**
+     * Settings for sweeps over all active filings.
+     * Filings are grouped by jurisdiction into batches, each fetched on its own virtual
+     * thread; concurrency is capped per jurisdiction so that one agency's latency does
+     * not consume another's capacity.
+     */
+    @Data
+    public static class Sweep {
+
+        /**
+         * Maximum concurrent batch status calls per jurisdiction. Jurisdictions not listed use defaultMaxConcurrency.
+         */
+        private Map<Jurisdiction, Integer> maxConcurrency = new HashMap<>(Map.of(Jurisdiction.FEDERAL, 64));
+
+        /**
+         * Maximum concurrent batch status calls for a jurisdiction without its own entry in maxConcurrency.
+         */
+        private int defaultMaxConcurrency = 16;
+
+        /**
+         * Maximum number of filings started but not yet finished, across all jurisdictions.
+         * Bounds the virtual threads waiting for a jurisdiction permit.
+         */
+        private int maxQueuedFilings = 10_000;
+
+        /**
+         * Time after which a sweep stops starting new filings and interrupts calls still in flight.
+         */
+        private Duration deadline = Duration.ofMinutes(25);
+
+        /**
+         * Maximum number of filings fetched in one batch status call.
+         */
+        private int batchSize = 100;
+
+        /**
+         * Maximum time a partial batch waits for more filings of its jurisdiction before it is sent.
+         */
+        private Duration maxBatchDelay = Duration.ofMillis(200);
+    }
+
+    /**
+     * Settings for adaptive per-filing polling.
+     * Each active filing gets its own next poll time. Polls are spaced by a fraction of the
+     * time left until the filing is expected to leave its status, so they are sparse while
+     * a transition is far off and dense around it.
+     */
+    @Data
+    public static class Polling {
+
+        /**
+         * Whether filings are polled on their own schedule. When false, every active filing
+         * is swept on the fixed updateInterval instead.
+         */
+        private boolean adaptive = true;
+
+        /**
+         * Resolution of the timing wheel holding the next poll times.
+         */
+        private Duration tick = Duration.ofSeconds(1);
+
+        /**
+         * Longest an update of the filings due on one tick may take. It runs off the
+         * scheduler thread; filings it fails or does not reach are polled again after
+         * minInterval.
+         */
+        private Duration pollDeadline = Duration.ofMinutes(1);
+
+        /**
+         * Shortest time between two polls of a filing.
+         */
+        private Duration minInterval = Duration.ofMinutes(5);
+
+        /**
+         * Longest time between two polls of a filing.
+         */
+        private Duration maxInterval = Duration.ofHours(24);
+
+        /**
+         * Typical time a filing stays in each status. A filing's expected transition is the
+         * time it entered its status plus this duration. Statuses not listed use defaultExpectedDwell.
+         */
+        private Map<RefundStatus, Duration> expectedDwell = new HashMap<>(Map.of(
+                RefundStatus.FILED, Duration.ofDays(1),
+                RefundStatus.ACCEPTED, Duration.ofDays(2),
+                RefundStatus.PROCESSING, Duration.ofDays(14),
+                RefundStatus.SENT_TO_BANK, Duration.ofDays(3),
+                RefundStatus.DELAYED, Duration.ofDays(30)));
+
+        /**
+         * Typical time in a status without its own entry in expectedDwell.
+         */
+        private Duration defaultExpectedDwell = Duration.ofDays(7);
+
+        /**
+         * Fraction of the distance to the expected transition waited before the next poll.
+         */
+        private double etaFraction = 0.5;
+
+        /**
+         * Random spread applied to each poll delay, as a fraction of the delay.
+         */
+        private double jitter = 0.1;
+    }
+
+    /**
+     * Settings for persisting refund statuses across restarts.
+     * Every save is appended to a write-ahead log and forced to disk before it returns;
+     * saves that arrive together share one force. A periodic snapshot compacts the log
+     * to the latest status of each filing.
+     */
+    @Data
+    public static class Persistence {
+
+        /**
+         * Whether refund statuses are persisted. When false, they are kept in memory only.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Directory holding the write-ahead log segments and snapshots.
+         */
+        private String directory = "data/refund-status";
+
+        /**
+         * Size after which a new write-ahead log segment is started.
+         */
+        private long segmentBytes = 64L * 1024 * 1024;
+
+        /**
+         * Capacity of the buffer between saves and the log flusher. Saves wait while it is full.
+         */
+        private int maxPendingBytes = 4 * 1024 * 1024;
+
+        /**
+         * Whether saves wait until their log entry is on disk. When false, a crash can lose
+         * the saves of the last flush.
+         */
+        private boolean syncWrites = true;
+
+        /**
+         * Time between snapshots.
+         */
+        private Duration snapshotInterval = Duration.ofMinutes(15);
+    }
+
+    /**
+     * Settings for per-filing status transition history.
+     * Each transition takes eight bytes; the oldest are dropped once a filing holds the maximum.
+     */
+    @Data
+    public static class History {
+
+        /**
+         * Most status transitions kept per filing.
+         */
+        private int maxTransitions = 32;
+    }
+
+    /**
+     * Settings for the refundStatus cache.
+     * Saves update cached entries in place, so entries stay current without expiring.
+     */
+    @Data
+    public static class Cache {
+
+        /**
+         * Most filings held; beyond it, entries not read since the last eviction pass are dropped.
+         */
+        private int maxEntries = 100_000;
+    }
+
+    /**
+     * Settings for the per-agency circuit breakers, used when enableCircuitBreaker is true.
+     * A breaker opens once the share of failures among an agency's recent calls reaches
+     * failureRateThreshold, rejects calls for openDuration, then lets one trial call through.
+     */
+    @Data
+    public static class CircuitBreaker {
+
+        /**
+         * Share of failed calls among the recent ones at which the breaker opens.
+         */
+        private double failureRateThreshold = 0.5;
+
+        /**
+         * Number of recent calls the failure share is taken over, at most 64.
+         */
+        private int slidingWindowSize = 20;
+
+        /**
+         * Fewest recent calls before the failure share can open the breaker.
+         */
+        private int minimumCalls = 10;
+
+        /**
+         * Time calls are rejected for once the breaker opens.
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Settings for adaptive per-agency rate limiting of status calls.
+     * Each jurisdiction's calls pass a token bucket enforcing the agency's quota and an
+     * AIMD concurrency limit, which grows by one per round of healthy calls and shrinks by
+     * backoffRatio on an error or on a call slower than latencyTolerance times the lowest recent latency.
+     * The concurrency limit never exceeds the sweep's maxConcurrency for the jurisdiction.
+     */
+    @Data
+    public static class RateLimit {
+
+        /**
+         * Most status calls started per second, per jurisdiction. Jurisdictions not listed use defaultRequestsPerSecond.
+         */
+        private Map<Jurisdiction, Double> requestsPerSecond = new HashMap<>();
+
+        /**
+         * Most status calls started per second for a jurisdiction without its own entry in requestsPerSecond.
+         */
+        private double defaultRequestsPerSecond = 50;
+
+        /**
+         * Calls that may start at once after the agency has been idle.
+         */
+        private int burst = 10;
+
+        /**
+         * Concurrency limit at startup, before any call has completed.
+         */
+        private int initialConcurrency = 8;
+
+        /**
+         * Lowest concurrency limit backoff can reach.
+         */
+        private int minConcurrency = 1;
+
+        /**
+         * Factor applied to the concurrency limit on an error, timeout or slow call.
+         */
+        private double backoffRatio = 0.75;
+
+        /**
+         * Calls slower than this multiple of the agency's lowest recent latency count as overload.
+         */
+        private double latencyTolerance = 1.5;
+
+        /**
+         * Period after which the lowest latency seen may be replaced by a higher one, so that
+         * a lasting change in the agency's latency is taken on.
+         */
+        private Duration latencyWindow = Duration.ofSeconds(10);
+    }
+}
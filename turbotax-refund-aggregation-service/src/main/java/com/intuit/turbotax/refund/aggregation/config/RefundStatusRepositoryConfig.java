@@ -3,10 +3,12 @@ package com.intuit.turbotax.refund.aggregation.config;
 import java.math.BigDecimal;
 import java.time.Instant;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 
 import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
 import com.intuit.turbotax.api.v1.refund.model.RefundStatus;
+import com.intuit.turbotax.refund.aggregation.persistence.RefundStatusPersistenceService;
 import com.intuit.turbotax.refund.aggregation.repository.RefundStatusAggregate;
 import com.intuit.turbotax.refund.aggregation.repository.RefundStatusRepository;
 
@@ -22,12 +24,18 @@ import lombok.RequiredArgsConstructor;
 public class RefundStatusRepositoryConfig {
 
     private final RefundStatusRepository repository;
+    private final ObjectProvider<RefundStatusPersistenceService> persistenceService;
 
     /**
-     * Initializes the repository with sample data after construction.
+     * Initializes the repository after construction: from persisted refund statuses
+     * when persistence is enabled and holds any, otherwise with sample data.
      */
     @PostConstruct
     public void initializeRepository() {
+        RefundStatusPersistenceService persistence = persistenceService.getIfAvailable();
+        if (persistence != null && persistence.recover()) {
+            return;
+        }
         initializeSampleData();
     }
 
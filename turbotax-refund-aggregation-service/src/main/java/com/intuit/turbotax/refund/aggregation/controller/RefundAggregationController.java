@@ -1,15 +1,19 @@
 package com.intuit.turbotax.refund.aggregation.controller;
 
+import java.time.Instant;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.intuit.turbotax.api.v1.refund.model.RefundStatusData;
+import com.intuit.turbotax.api.v1.refund.model.RefundStatusHistoryData;
 import com.intuit.turbotax.refund.aggregation.service.RefundAggregationServiceAdapter;
 
 @RestController
@@ -30,4 +34,18 @@ public class RefundAggregationController {
         return refundAggregationServiceAdapter.getRefundStatusForFiling(filingId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
+
+    @GetMapping(value = "/aggregate-status/filings/{filingId}", params = "asOf", produces = "application/json")
+    public RefundStatusData getRefundStatusForFilingAsOf(@PathVariable int filingId, @RequestParam Instant asOf) {
+        LOG.debug("Getting refund status for filingId={} as of {}", filingId, asOf);
+        return refundAggregationServiceAdapter.getRefundStatusAsOf(filingId, asOf)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping(value = "/aggregate-status/filings/{filingId}/history", produces = "application/json")
+    public RefundStatusHistoryData getRefundStatusHistory(@PathVariable int filingId) {
+        LOG.debug("Getting refund status history for filingId={}", filingId);
+        return refundAggregationServiceAdapter.getRefundStatusHistory(filingId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
 }
@@ -0,0 +1,38 @@
+package com.intuit.turbotax.refund.aggregation.exception;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+
+/**
+ * Exception thrown when a status call is not made to an agency at all.
+ */
+public class AgencyUnavailableException extends RuntimeException {
+
+    /**
+     * Why the call was not made.
+     */
+    public enum Reason {
+        /** The agency's circuit breaker is open. */
+        CIRCUIT_OPEN,
+        /** The agency's bulkhead is full of calls still running. */
+        BULKHEAD_FULL,
+        /** The caller's deadline passed before the call could start. */
+        DEADLINE
+    }
+
+    private final Jurisdiction jurisdiction;
+    private final Reason reason;
+
+    public AgencyUnavailableException(Jurisdiction jurisdiction, Reason reason) {
+        super("Status call to " + jurisdiction + " not made: " + reason);
+        this.jurisdiction = jurisdiction;
+        this.reason = reason;
+    }
+
+    public Jurisdiction getJurisdiction() {
+        return jurisdiction;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -2,9 +2,11 @@ package com.intuit.turbotax.refund.aggregation.job;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.intuit.turbotax.refund.aggregation.service.RefundStatusSweepResult;
 import com.intuit.turbotax.refund.aggregation.service.RefundStatusUpdateService;
 
 import lombok.RequiredArgsConstructor;
@@ -15,8 +17,11 @@ import lombok.RequiredArgsConstructor;
  *
  * This job orchestrates the status update process but delegates the actual
  * business logic to the RefundStatusUpdateService.
+ * Only active with {@code refund.aggregation.polling.adaptive=false}; by default
+ * filings are polled on their own schedule by the AdaptivePollScheduler.
  */
 @Service
+@ConditionalOnProperty(prefix = "refund.aggregation.polling", name = "adaptive", havingValue = "false")
 @RequiredArgsConstructor
 public class RefundStatusUpdateJob {
 
@@ -33,8 +38,8 @@ public class RefundStatusUpdateJob {
         LOG.info("Starting scheduled refund status update job");
 
         try {
-            long processedCount = updateService.updateAllActiveFilings();
-            LOG.info("Completed refund status update job successfully, processed {} filings", processedCount);
+            RefundStatusSweepResult result = updateService.updateAllActiveFilings();
+            LOG.info("Completed refund status update job successfully: {}", result);
 
         } catch (Exception e) {
             LOG.error("Error during scheduled refund status update: {}", e.getMessage(), e);
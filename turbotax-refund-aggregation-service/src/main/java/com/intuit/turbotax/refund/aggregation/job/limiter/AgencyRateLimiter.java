@@ -0,0 +1,265 @@
+package com.intuit.turbotax.refund.aggregation.job.limiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.refund.aggregation.config.RefundAggregationProperties;
+
+/**
+ * Adaptive limiter for the status calls of one agency.
+ *
+ * <p>A call needs a concurrency slot and a token. Tokens come from a bucket refilled at the
+ * agency's quota, holding up to {@code burst} tokens; a caller that finds it empty reserves
+ * the next token and sleeps until it is due. The concurrency limit follows AIMD: it grows by
+ * about one per round of healthy calls while the limiter is in use, and is multiplied by
+ * {@code backoffRatio} when a call fails or takes more than {@code latencyTolerance} times
+ * the baseline latency. The baseline is the lowest latency seen, and may only rise to the
+ * lowest latency of a {@code latencyWindow}: calls queued at an overloaded agency never
+ * raise it, while a lasting change in the agency's own latency becomes the new baseline
+ * once backoff has drained the queue. Only calls started after the latest backoff can
+ * trigger the next one, so a burst of failures from one round of calls shrinks the limit once.
+ */
+public final class AgencyRateLimiter {
+
+    // Latency differences below this are noise, not overload
+    private static final long SLOW_CALL_MARGIN_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Jurisdiction jurisdiction;
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final double minLimit;
+    private final double maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final long latencyWindowNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+    private final LongAdder backoffs = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    // Guarded by lock
+    private double limit;
+    private int inFlight;
+    private long nextTokenAt;
+    private long baselineLatencyNanos;
+    private long windowLowestLatencyNanos = Long.MAX_VALUE;
+    private long windowEndsAt;
+    private long lastBackoffAt;
+
+    /**
+     * Creates a limiter for one agency.
+     *
+     * @param jurisdiction      the jurisdiction whose agency is called
+     * @param requestsPerSecond the agency's quota
+     * @param maxConcurrency    the highest concurrency limit
+     * @param settings          the rate limit settings
+     */
+    public AgencyRateLimiter(Jurisdiction jurisdiction, double requestsPerSecond, int maxConcurrency,
+            RefundAggregationProperties.RateLimit settings) {
+        this.jurisdiction = jurisdiction;
+        this.nanosPerToken = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        this.burstNanos = nanosPerToken * Math.max(settings.getBurst() - 1, 0);
+        this.maxLimit = Math.max(maxConcurrency, 1);
+        this.minLimit = Math.clamp(settings.getMinConcurrency(), 1, maxLimit);
+        this.limit = Math.clamp(settings.getInitialConcurrency(), minLimit, maxLimit);
+        this.backoffRatio = settings.getBackoffRatio();
+        this.latencyTolerance = settings.getLatencyTolerance();
+        this.latencyWindowNanos = settings.getLatencyWindow().toNanos();
+        long now = System.nanoTime();
+        this.nextTokenAt = now - burstNanos;
+        this.windowEndsAt = now + latencyWindowNanos;
+        this.lastBackoffAt = now;
+    }
+
+    /**
+     * Waits for a concurrency slot and a token.
+     *
+     * @param deadline the {@link System#nanoTime()} after which to give up
+     * @return the permit for one call, or null if none could be had before the deadline
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public Permit acquire(long deadline) throws InterruptedException {
+        long tokenAt;
+        int inFlightAtStart;
+        lock.lockInterruptibly();
+        try {
+            while (inFlight >= (int) limit) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                slotFreed.awaitNanos(remaining);
+            }
+            long now = System.nanoTime();
+            tokenAt = Math.max(nextTokenAt, now - burstNanos);
+            if (tokenAt - deadline > 0) {
+                return null;
+            }
+            nextTokenAt = tokenAt + nanosPerToken;
+            inFlightAtStart = ++inFlight;
+            if (tokenAt - now > 0) {
+                throttled.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        long wait = tokenAt - System.nanoTime();
+        if (wait > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                release(0, 0, 0, false, false);
+                throw e;
+            }
+        }
+        return new Permit(System.nanoTime(), inFlightAtStart);
+    }
+
+    public Jurisdiction jurisdiction() {
+        return jurisdiction;
+    }
+
+    /**
+     * Returns the current concurrency limit.
+     */
+    public double limit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of calls holding a permit.
+     */
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the baseline latency of a call in milliseconds, or 0 before any call has completed.
+     */
+    public double baselineLatencyMillis() {
+        lock.lock();
+        try {
+            return baselineLatencyNanos / 1_000_000.0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the agency's quota in calls per second.
+     */
+    public double requestsPerSecond() {
+        return (double) TimeUnit.SECONDS.toNanos(1) / nanosPerToken;
+    }
+
+    /**
+     * Returns how many times the concurrency limit has been reduced.
+     */
+    public long backoffs() {
+        return backoffs.sum();
+    }
+
+    /**
+     * Returns how many calls had to wait for a token.
+     */
+    public long throttled() {
+        return throttled.sum();
+    }
+
+    private void release(long startedAt, int inFlightAtStart, long latency, boolean completed, boolean succeeded) {
+        lock.lock();
+        try {
+            // The busier end of the call tells whether it ran while the limit was in use
+            int busiest = Math.max(inFlightAtStart, inFlight);
+            inFlight--;
+            if (completed) {
+                boolean slow = baselineLatencyNanos > 0 && latency > latencyTolerance * baselineLatencyNanos
+                        && latency - baselineLatencyNanos > SLOW_CALL_MARGIN_NANOS;
+                if (!succeeded || slow) {
+                    backOff(startedAt);
+                } else if (busiest >= limit / 2) {
+                    // Grow only while the limit is being used, so that a quiet agency's limit means something
+                    limit = Math.min(maxLimit, limit + 1 / limit);
+                }
+                if (succeeded) {
+                    updateBaseline(latency);
+                }
+            }
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void updateBaseline(long latency) {
+        windowLowestLatencyNanos = Math.min(windowLowestLatencyNanos, latency);
+        if (baselineLatencyNanos == 0 || latency < baselineLatencyNanos) {
+            baselineLatencyNanos = latency;
+        }
+        long now = System.nanoTime();
+        if (now - windowEndsAt >= 0) {
+            baselineLatencyNanos = windowLowestLatencyNanos;
+            windowLowestLatencyNanos = Long.MAX_VALUE;
+            windowEndsAt = now + latencyWindowNanos;
+        }
+    }
+
+    private void backOff(long startedAt) {
+        if (startedAt - lastBackoffAt < 0) {
+            return;
+        }
+        limit = Math.max(minLimit, limit * backoffRatio);
+        lastBackoffAt = System.nanoTime();
+        backoffs.increment();
+    }
+
+    /**
+     * Permission for one call. Exactly one of its methods must be called once the call ends.
+     */
+    public final class Permit {
+
+        private final long startedAt;
+        private final int inFlightAtStart;
+
+        private Permit(long startedAt, int inFlightAtStart) {
+            this.startedAt = startedAt;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /**
+         * Releases the permit after a call that returned.
+         */
+        public void succeeded() {
+            release(startedAt, inFlightAtStart, System.nanoTime() - startedAt, true, true);
+        }
+
+        /**
+         * Releases the permit after a call that failed or timed out, backing off.
+         */
+        public void failed() {
+            release(startedAt, inFlightAtStart, System.nanoTime() - startedAt, true, false);
+        }
+
+        /**
+         * Releases the permit without judging the agency, such as after a call cancelled by the caller.
+         */
+        public void cancelled() {
+            release(startedAt, inFlightAtStart, 0, false, false);
+        }
+    }
+}
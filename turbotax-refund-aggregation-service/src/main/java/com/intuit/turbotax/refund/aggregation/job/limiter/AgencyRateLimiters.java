@@ -0,0 +1,68 @@
+package com.intuit.turbotax.refund.aggregation.job.limiter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.refund.aggregation.config.RefundAggregationProperties;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The {@link AgencyRateLimiter} of each jurisdiction, kept across sweeps so that what is
+ * learned about an agency carries over. Limiters are created on first use and publish
+ * their limits as {@code refund.agency.*} metrics tagged with the jurisdiction.
+ */
+@Component
+public class AgencyRateLimiters {
+
+    private final RefundAggregationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<Jurisdiction, AgencyRateLimiter> limiters = new ConcurrentHashMap<>();
+
+    public AgencyRateLimiters(RefundAggregationProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns the limiter for the agency of a jurisdiction.
+     */
+    public AgencyRateLimiter forJurisdiction(Jurisdiction jurisdiction) {
+        return limiters.computeIfAbsent(jurisdiction, this::createLimiter);
+    }
+
+    private AgencyRateLimiter createLimiter(Jurisdiction jurisdiction) {
+        RefundAggregationProperties.RateLimit settings = properties.getRateLimit();
+        RefundAggregationProperties.Sweep sweep = properties.getSweep();
+        AgencyRateLimiter limiter = new AgencyRateLimiter(jurisdiction,
+                settings.getRequestsPerSecond().getOrDefault(jurisdiction, settings.getDefaultRequestsPerSecond()),
+                sweep.getMaxConcurrency().getOrDefault(jurisdiction, sweep.getDefaultMaxConcurrency()),
+                settings);
+
+        String tag = jurisdiction.name();
+        Gauge.builder("refund.agency.concurrency.limit", limiter, AgencyRateLimiter::limit)
+                .description("Adaptive limit on concurrent status calls to the agency")
+                .tag("jurisdiction", tag).register(meterRegistry);
+        Gauge.builder("refund.agency.in.flight", limiter, AgencyRateLimiter::inFlight)
+                .description("Status calls to the agency in flight")
+                .tag("jurisdiction", tag).register(meterRegistry);
+        Gauge.builder("refund.agency.latency.baseline", limiter, AgencyRateLimiter::baselineLatencyMillis)
+                .description("Lowest recent latency of a status call to the agency")
+                .baseUnit("milliseconds").tag("jurisdiction", tag).register(meterRegistry);
+        Gauge.builder("refund.agency.rate.limit", limiter, AgencyRateLimiter::requestsPerSecond)
+                .description("Most status calls started per second")
+                .tag("jurisdiction", tag).register(meterRegistry);
+        FunctionCounter.builder("refund.agency.backoffs", limiter, AgencyRateLimiter::backoffs)
+                .description("Reductions of the concurrency limit after errors, timeouts or slow calls")
+                .tag("jurisdiction", tag).register(meterRegistry);
+        FunctionCounter.builder("refund.agency.throttled", limiter, AgencyRateLimiter::throttled)
+                .description("Status calls that waited for a token")
+                .tag("jurisdiction", tag).register(meterRegistry);
+        return limiter;
+    }
+}
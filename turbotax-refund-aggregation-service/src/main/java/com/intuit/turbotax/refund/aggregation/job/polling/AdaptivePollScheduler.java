@@ -0,0 +1,188 @@
+package com.intuit.turbotax.refund.aggregation.job.polling;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.intuit.turbotax.refund.aggregation.config.RefundAggregationProperties;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusAggregate;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusRepository;
+import com.intuit.turbotax.refund.aggregation.service.RefundStatusSweepResult;
+import com.intuit.turbotax.refund.aggregation.service.RefundStatusUpdateService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Polls each active filing on its own schedule instead of sweeping every filing on a
+ * fixed interval. Next poll times are kept in a hierarchical timing wheel and chosen by
+ * {@link RefundPollPolicy}; filings that come due on the same tick are updated together
+ * through the batched sweep. Enabled unless {@code refund.aggregation.polling.adaptive=false}.
+ *
+ * <p>Updates run on their own thread under {@code pollDeadline}, so the shared scheduler
+ * thread only collects due filings and is never held up by agency calls. While an update
+ * runs, later ticks leave the filings coming due on the wheel for the next one.
+ */
+@Service
+@ConditionalOnProperty(prefix = "refund.aggregation.polling", name = "adaptive", havingValue = "true", matchIfMissing = true)
+public class AdaptivePollScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AdaptivePollScheduler.class);
+
+    private final RefundStatusRepository repository;
+    private final RefundStatusUpdateService updateService;
+    private final RefundPollPolicy policy;
+    private final Duration pollDeadline;
+    private final ExecutorService poller = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("refund-poll").factory());
+    private final AtomicBoolean polling = new AtomicBoolean();
+
+    // Guarded by itself; touched by the polling tick and the discovery of new filings
+    private final HierarchicalTimingWheel wheel;
+
+    public AdaptivePollScheduler(RefundStatusRepository repository, RefundStatusUpdateService updateService,
+            RefundAggregationProperties properties) {
+        this.repository = repository;
+        this.updateService = updateService;
+        this.policy = new RefundPollPolicy(properties.getPolling());
+        this.pollDeadline = properties.getPolling().getPollDeadline();
+        this.wheel = new HierarchicalTimingWheel(properties.getPolling().getTick(), System.currentTimeMillis());
+    }
+
+    /**
+     * Schedules a first poll for every active filing that is not on the wheel yet.
+     * Runs at startup and then on the update interval to pick up filings saved since.
+     *
+     * @return the number of filings scheduled
+     */
+    @Scheduled(fixedDelayString = "${refund.aggregation.update-interval:PT30M}")
+    public int scheduleActiveFilings() {
+        Instant now = Instant.now();
+        int scheduled = 0;
+        try (Stream<Integer> activeFilingIds = repository.getActiveFilingIds()) {
+            for (Iterator<Integer> filingIds = activeFilingIds.iterator(); filingIds.hasNext();) {
+                int filingId = filingIds.next();
+                synchronized (wheel) {
+                    if (wheel.isScheduled(filingId)) {
+                        continue;
+                    }
+                }
+                RefundStatusAggregate current = repository.findByFilingId(filingId).orElse(null);
+                if (current != null && !current.status().isFinal()) {
+                    schedule(filingId, policy.firstPollAt(current.status(), statusSince(current, now), now));
+                    scheduled++;
+                }
+            }
+        }
+        LOG.info("Scheduled first polls for {} filings; {} filings awaiting a poll", scheduled, scheduledFilings());
+        return scheduled;
+    }
+
+    /**
+     * Hands the filings whose poll time has come to the poller thread, unless an update
+     * is still running.
+     *
+     * @return whether an update was started
+     */
+    @Scheduled(fixedDelayString = "${refund.aggregation.polling.tick:PT1S}")
+    public boolean pollDueFilings() {
+        if (!polling.compareAndSet(false, true)) {
+            return false;
+        }
+        List<Integer> dueFilingIds = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advanceTo(System.currentTimeMillis(), dueFilingIds::add);
+        }
+        if (dueFilingIds.isEmpty()) {
+            polling.set(false);
+            return false;
+        }
+        try {
+            poller.execute(() -> {
+                try {
+                    poll(dueFilingIds);
+                } finally {
+                    polling.set(false);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Shutting down; nothing will poll them, but keep the wheel consistent
+            polling.set(false);
+            Instant retryAt = policy.retryPollAt(Instant.now());
+            dueFilingIds.forEach(filingId -> schedule(filingId, retryAt));
+            return false;
+        }
+    }
+
+    /**
+     * Returns whether an update of due filings is running.
+     */
+    public boolean isPolling() {
+        return polling.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+    }
+
+    /**
+     * Updates due filings and schedules their next poll from the status they are in
+     * afterwards. Filings that failed or were skipped are polled again after the minimum
+     * interval; filings that reached a final status are dropped.
+     */
+    private void poll(List<Integer> dueFilingIds) {
+        RefundStatusSweepResult result;
+        try {
+            result = updateService.updateFilings(dueFilingIds, pollDeadline);
+        } catch (RuntimeException e) {
+            LOG.error("Failed to poll {} due filings: {}", dueFilingIds.size(), e.getMessage(), e);
+            Instant retryAt = policy.retryPollAt(Instant.now());
+            dueFilingIds.forEach(filingId -> schedule(filingId, retryAt));
+            return;
+        }
+        LOG.debug("Polled {} due filings: {}", dueFilingIds.size(), result);
+
+        Instant now = Instant.now();
+        for (int filingId : dueFilingIds) {
+            repository.findByFilingId(filingId)
+                    .filter(current -> !current.status().isFinal())
+                    .ifPresent(current -> schedule(filingId, result.unprocessedFilingIds().contains(filingId)
+                            ? policy.retryPollAt(now)
+                            : policy.nextPollAt(current.status(), statusSince(current, now), now)));
+        }
+    }
+
+    /**
+     * Returns the number of filings waiting for their next poll.
+     */
+    public int scheduledFilings() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    private void schedule(int filingId, Instant pollAt) {
+        synchronized (wheel) {
+            wheel.schedule(filingId, pollAt.toEpochMilli());
+        }
+    }
+
+    // lastUpdatedAt only moves when the status changes, so it marks when the filing entered its status
+    private static Instant statusSince(RefundStatusAggregate aggregate, Instant now) {
+        return aggregate.lastUpdatedAt() != null ? aggregate.lastUpdatedAt() : now;
+    }
+}
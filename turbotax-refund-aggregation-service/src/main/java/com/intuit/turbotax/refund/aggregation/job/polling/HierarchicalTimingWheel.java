@@ -0,0 +1,226 @@
+package com.intuit.turbotax.refund.aggregation.job.polling;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Hierarchical timing wheel of filing IDs keyed by due time.
+ * Level 0 has one slot per tick; each slot of a higher level spans a full rotation of
+ * the level below. Entries move down a level when the wheel reaches their slot, so
+ * scheduling and expiring cost O(1) per filing however many filings are waiting.
+ * Rescheduling a filing leaves its old entry behind; stale entries are dropped when
+ * the wheel reaches them. Not thread-safe.
+ */
+final class HierarchicalTimingWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    // 64^4 ticks: about 194 days at one-second ticks
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final Bucket[][] levels = new Bucket[LEVELS][SLOTS];
+    // Entries per level, stale ones included; lets advanceTo skip ticks on which nothing can happen
+    private final int[] levelSizes = new int[LEVELS];
+    // Entries beyond the range of the top level, re-placed each time the top level wraps
+    private final Bucket overflow = new Bucket();
+    private final Map<Integer, Long> dueTicks = new HashMap<>();
+    private long currentTick;
+
+    HierarchicalTimingWheel(Duration tick, long nowMillis) {
+        if (tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("Timing wheel tick must be at least 1 ms: " + tick);
+        }
+        this.tickMillis = tick.toMillis();
+        this.currentTick = nowMillis / tickMillis;
+        for (Bucket[] level : levels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                level[slot] = new Bucket();
+            }
+        }
+    }
+
+    /**
+     * Schedules a filing, replacing its previous due time if it has one.
+     * Due times in the past expire on the next tick.
+     */
+    void schedule(int filingId, long dueMillis) {
+        long dueTick = Math.max(Math.ceilDiv(dueMillis, tickMillis), currentTick + 1);
+        dueTicks.put(filingId, dueTick);
+        place(filingId, dueTick);
+    }
+
+    boolean cancel(int filingId) {
+        return dueTicks.remove(filingId) != null;
+    }
+
+    boolean isScheduled(int filingId) {
+        return dueTicks.containsKey(filingId);
+    }
+
+    int size() {
+        return dueTicks.size();
+    }
+
+    /**
+     * Advances the wheel to the given time and passes each filing that has come due to expired.
+     * Expired filings are no longer scheduled.
+     *
+     * @return the number of expired filings
+     */
+    int advanceTo(long nowMillis, IntConsumer expired) {
+        long targetTick = nowMillis / tickMillis;
+        int count = 0;
+        while (currentTick < targetTick) {
+            if (dueTicks.isEmpty()) {
+                // Only stale entries remain; they are dropped wherever the wheel meets them
+                currentTick = targetTick;
+                break;
+            }
+            long nextTick = nextEventTick();
+            if (nextTick > targetTick) {
+                currentTick = targetTick;
+                break;
+            }
+            currentTick = nextTick;
+            cascade();
+            for (Bucket.Entries entries = take(0, (int) (currentTick & MASK)); entries.next();) {
+                if (dueTicks.remove(entries.filingId(), entries.dueTick())) {
+                    expired.accept(entries.filingId());
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the next tick on which an entry can expire or cascade: the next tick if level 0
+     * holds entries, otherwise the next rotation boundary of the lowest level that does.
+     */
+    private long nextEventTick() {
+        long nextTick = currentTick + 1;
+        for (int level = 0; level < LEVELS && levelSizes[level] == 0; level++) {
+            long rotation = 1L << (SLOT_BITS * (level + 1));
+            nextTick = (Math.floorDiv(currentTick, rotation) + 1) * rotation;
+        }
+        return nextTick;
+    }
+
+    /**
+     * Moves the entries of every higher-level slot that starts at the current tick down the
+     * wheel, highest level first so that entries can cascade through several levels at once.
+     */
+    private void cascade() {
+        int top = 0;
+        while (top < LEVELS && (currentTick & ((1L << (SLOT_BITS * (top + 1))) - 1)) == 0) {
+            top++;
+        }
+        if (top == LEVELS) {
+            replace(overflow.take());
+            top--;
+        }
+        for (int level = top; level >= 1; level--) {
+            replace(take(level, (int) ((currentTick >> (SLOT_BITS * level)) & MASK)));
+        }
+    }
+
+    private Bucket.Entries take(int level, int slot) {
+        Bucket.Entries entries = levels[level][slot].take();
+        levelSizes[level] -= entries.size();
+        return entries;
+    }
+
+    private void replace(Bucket.Entries entries) {
+        while (entries.next()) {
+            Long dueTick = dueTicks.get(entries.filingId());
+            if (dueTick != null && dueTick == entries.dueTick()) {
+                place(entries.filingId(), entries.dueTick());
+            }
+        }
+    }
+
+    /**
+     * Places an entry in the lowest level whose current rotation contains its due tick.
+     */
+    private void place(int filingId, long dueTick) {
+        for (int level = 0; level < LEVELS; level++) {
+            int rotationBits = SLOT_BITS * (level + 1);
+            if ((dueTick >> rotationBits) == (currentTick >> rotationBits)) {
+                levels[level][(int) ((dueTick >> (SLOT_BITS * level)) & MASK)].add(filingId, dueTick);
+                levelSizes[level]++;
+                return;
+            }
+        }
+        overflow.add(filingId, dueTick);
+    }
+
+    /**
+     * Filing IDs and due ticks of one slot in parallel primitive arrays.
+     */
+    private static final class Bucket {
+
+        private static final int[] NO_IDS = new int[0];
+        private static final long[] NO_TICKS = new long[0];
+
+        private int[] filingIds = NO_IDS;
+        private long[] dueTicks = NO_TICKS;
+        private int size;
+
+        void add(int filingId, long dueTick) {
+            if (size == filingIds.length) {
+                int capacity = Math.max(4, size * 2);
+                filingIds = Arrays.copyOf(filingIds, capacity);
+                dueTicks = Arrays.copyOf(dueTicks, capacity);
+            }
+            filingIds[size] = filingId;
+            dueTicks[size] = dueTick;
+            size++;
+        }
+
+        /**
+         * Detaches the current entries, so that entries placed while iterating land in a fresh slot.
+         */
+        Entries take() {
+            Entries entries = new Entries(filingIds, dueTicks, size);
+            filingIds = NO_IDS;
+            dueTicks = NO_TICKS;
+            size = 0;
+            return entries;
+        }
+
+        static final class Entries {
+
+            private final int[] filingIds;
+            private final long[] dueTicks;
+            private final int size;
+            private int index = -1;
+
+            Entries(int[] filingIds, long[] dueTicks, int size) {
+                this.filingIds = filingIds;
+                this.dueTicks = dueTicks;
+                this.size = size;
+            }
+
+            boolean next() {
+                return ++index < size;
+            }
+
+            int size() {
+                return size;
+            }
+
+            int filingId() {
+                return filingIds[index];
+            }
+
+            long dueTick() {
+                return dueTicks[index];
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.intuit.turbotax.refund.aggregation.job.polling;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.intuit.turbotax.api.v1.refund.model.RefundStatus;
+import com.intuit.turbotax.refund.aggregation.config.RefundAggregationProperties;
+
+/**
+ * Decides when a filing is polled next from its status, how long it has been in that
+ * status and when it is expected to leave it.
+ * The next poll waits a fraction of the distance to the expected transition, so polls
+ * close in on it geometrically and back off the same way once it has passed.
+ */
+public class RefundPollPolicy {
+
+    private final RefundAggregationProperties.Polling settings;
+
+    public RefundPollPolicy(RefundAggregationProperties.Polling settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Returns the delay before the next poll, before jitter.
+     *
+     * @param status      the filing's current status
+     * @param statusSince when the filing entered that status
+     * @param now         the current time
+     */
+    public Duration nextPollDelay(RefundStatus status, Instant statusSince, Instant now) {
+        Instant expectedTransition = statusSince.plus(expectedDwell(status));
+        long distance = Math.abs(Duration.between(now, expectedTransition).toMillis());
+        return clamp((long) (distance * settings.getEtaFraction()));
+    }
+
+    /**
+     * Returns when a filing that has just been polled is polled next.
+     */
+    public Instant nextPollAt(RefundStatus status, Instant statusSince, Instant now) {
+        long delay = nextPollDelay(status, statusSince, now).toMillis();
+        double jitter = settings.getJitter();
+        if (jitter > 0) {
+            delay = clamp((long) (delay * ThreadLocalRandom.current().nextDouble(1 - jitter, 1 + jitter))).toMillis();
+        }
+        return now.plusMillis(delay);
+    }
+
+    /**
+     * Returns when a filing not polled before is polled first. First polls are spread
+     * uniformly up to the regular delay so that a bulk load does not poll every filing at once.
+     */
+    public Instant firstPollAt(RefundStatus status, Instant statusSince, Instant now) {
+        long min = settings.getMinInterval().toMillis();
+        long delay = nextPollDelay(status, statusSince, now).toMillis();
+        return now.plusMillis(delay > min ? ThreadLocalRandom.current().nextLong(min, delay + 1) : min);
+    }
+
+    /**
+     * Returns when a filing whose poll failed or was skipped is polled again: after the
+     * shortest interval, with jitter, so that a batch failed together does not retry together.
+     */
+    public Instant retryPollAt(Instant now) {
+        long delay = settings.getMinInterval().toMillis();
+        double jitter = settings.getJitter();
+        if (jitter > 0) {
+            delay = (long) (delay * ThreadLocalRandom.current().nextDouble(1, 1 + jitter));
+        }
+        return now.plusMillis(delay);
+    }
+
+    private Duration expectedDwell(RefundStatus status) {
+        return settings.getExpectedDwell().getOrDefault(status, settings.getDefaultExpectedDwell());
+    }
+
+    private Duration clamp(long delayMillis) {
+        long min = settings.getMinInterval().toMillis();
+        long max = settings.getMaxInterval().toMillis();
+        return Duration.ofMillis(Math.min(Math.max(delayMillis, min), max));
+    }
+}
@@ -1,5 +1,7 @@
 package com.intuit.turbotax.refund.aggregation.job.processors;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -24,18 +26,26 @@ public class IrsStatusProcessor {
 
     /**
      * Fetches refund status from IRS for a given filing ID.
+     * Failures propagate so that callers can count and retry them.
      *
      * @param filingId the filing ID
      * @return Optional containing the refund status if available
      */
     public Optional<RefundStatus> fetchStatus(int filingId) {
-        try {
-            LOG.debug("Fetching IRS status for filingId={}", filingId);
-            // Using a placeholder SSN for demo purposes
-            return irsClient.getRefundStatus(filingId, "***-**-1234");
-        } catch (Exception e) {
-            LOG.error("Error fetching IRS status for filingId={}: {}", filingId, e.getMessage());
-            return Optional.empty();
-        }
+        LOG.debug("Fetching IRS status for filingId={}", filingId);
+        // Using a placeholder SSN for demo purposes
+        return irsClient.getRefundStatus(filingId, "***-**-1234");
+    }
+
+    /**
+     * Fetches refund statuses from IRS for several filings in one call.
+     * Failures propagate so that callers can count and retry them.
+     *
+     * @param filingIds the filing IDs
+     * @return statuses keyed by filing ID; filings without a status are absent
+     */
+    public Map<Integer, RefundStatus> fetchStatuses(Collection<Integer> filingIds) {
+        LOG.debug("Fetching IRS statuses for {} filings", filingIds.size());
+        return irsClient.getRefundStatuses(filingIds);
     }
 }
\ No newline at end of file
@@ -1,5 +1,9 @@
 package com.intuit.turbotax.refund.aggregation.job.processors;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.slf4j.Logger;
@@ -25,23 +29,34 @@ public class StateTaxStatusProcessor {
 
     /**
      * Fetches refund status from state tax service for a given filing ID and
-     * jurisdiction.
+     * jurisdiction. Failures propagate so that callers can count and retry them.
      *
      * @param filingId     the filing ID
      * @param jurisdiction the state jurisdiction
      * @return Optional containing the refund status if available
      */
     public Optional<RefundStatus> fetchStatus(int filingId, Jurisdiction jurisdiction) {
-        try {
-            LOG.debug("Fetching state tax status for filingId={}, jurisdiction={}", filingId, jurisdiction);
-            return stateTaxClient.getRefundStatus(
-                    String.valueOf(filingId),
-                    jurisdiction,
-                    String.valueOf(filingId));
-        } catch (Exception e) {
-            LOG.error("Error fetching state tax status for filingId={}, jurisdiction={}: {}",
-                    filingId, jurisdiction, e.getMessage());
-            return Optional.empty();
-        }
+        LOG.debug("Fetching state tax status for filingId={}, jurisdiction={}", filingId, jurisdiction);
+        return stateTaxClient.getRefundStatus(
+                String.valueOf(filingId),
+                jurisdiction,
+                String.valueOf(filingId));
+    }
+
+    /**
+     * Fetches refund statuses from the state tax service for several filings of one
+     * jurisdiction in one call. Failures propagate so that callers can count and retry them.
+     *
+     * @param filingIds    the filing IDs
+     * @param jurisdiction the state jurisdiction of every filing
+     * @return statuses keyed by filing ID; filings without a status are absent
+     */
+    public Map<Integer, RefundStatus> fetchStatuses(Collection<Integer> filingIds, Jurisdiction jurisdiction) {
+        LOG.debug("Fetching state tax statuses for {} filings, jurisdiction={}", filingIds.size(), jurisdiction);
+        List<String> stateFilingIds = filingIds.stream().map(String::valueOf).toList();
+        Map<Integer, RefundStatus> statuses = new HashMap<>(filingIds.size() * 2);
+        stateTaxClient.getRefundStatuses(stateFilingIds, jurisdiction)
+                .forEach((filingId, status) -> statuses.put(Integer.valueOf(filingId), status));
+        return statuses;
     }
 }
\ No newline at end of file
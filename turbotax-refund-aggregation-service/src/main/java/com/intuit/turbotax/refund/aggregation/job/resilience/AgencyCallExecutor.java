@@ -0,0 +1,282 @@
+package com.intuit.turbotax.refund.aggregation.job.resilience;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.refund.aggregation.config.RefundAggregationProperties;
+import com.intuit.turbotax.refund.aggregation.exception.AgencyUnavailableException;
+import com.intuit.turbotax.refund.aggregation.job.limiter.AgencyRateLimiter;
+import com.intuit.turbotax.refund.aggregation.job.limiter.AgencyRateLimiters;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Makes status calls to the external agencies, isolating each agency from the others.
+ *
+ * <p>Every attempt of a call passes, in order, the agency's circuit breaker, its adaptive
+ * rate limiter and its bulkhead, then runs on its own virtual thread under a timeout of
+ * {@code externalServiceTimeout}, cut short by the caller's deadline. A timed-out call is
+ * interrupted, but keeps its bulkhead slot until it really returns, so an agency that
+ * hangs can tie up at most its bulkhead's threads. A failed attempt is retried up to
+ * {@code maxRetryAttempts} times after exponentially growing, jittered delays. Retries are
+ * scheduled on a timer instead of sleeping, so waiting for one holds no thread, and no
+ * retry is scheduled that could not start before the deadline.
+ *
+ * <p>Calls that are not made at all fail with {@link AgencyUnavailableException}: right
+ * away while the breaker is open or the bulkhead is full, or once the deadline passes
+ * before the limiter lets them start. Those failures are not retried.
+ */
+@Component
+public class AgencyCallExecutor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AgencyCallExecutor.class);
+
+    private final AgencyRateLimiters rateLimiters;
+    private final RefundAggregationProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<Jurisdiction, Agency> agencies = new ConcurrentHashMap<>();
+    private final ExecutorService calls = Executors.newVirtualThreadPerTaskExecutor();
+    // Only times calls out and hands retries over to the call threads, so one thread is enough
+    private final ScheduledThreadPoolExecutor timer;
+
+    public AgencyCallExecutor(AgencyRateLimiters rateLimiters, RefundAggregationProperties properties,
+            MeterRegistry meterRegistry) {
+        this.rateLimiters = rateLimiters;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "agency-call-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Most timeouts are cancelled long before they fire
+        timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Makes a status call to the agency of a jurisdiction.
+     *
+     * @param jurisdiction the jurisdiction whose agency is called
+     * @param call         the call; it is run once per attempt
+     * @param deadline     the {@link System#nanoTime()} after which no attempt is started
+     *                     and any attempt still running is timed out
+     * @return the result of the first attempt that succeeds. It fails with the error of
+     *         the last attempt, with a {@link TimeoutException} if that attempt timed out,
+     *         or with an {@link AgencyUnavailableException} if the call was not made
+     */
+    public <T> CompletableFuture<T> submit(Jurisdiction jurisdiction, Callable<T> call, long deadline) {
+        Call<T> agencyCall = new Call<>(agencies.computeIfAbsent(jurisdiction, this::createAgency), call, deadline);
+        agencyCall.start(0);
+        return agencyCall.result;
+    }
+
+    /**
+     * Returns the state of the circuit breaker of a jurisdiction's agency.
+     */
+    public AgencyCircuitBreaker.State circuitState(Jurisdiction jurisdiction) {
+        return agencies.computeIfAbsent(jurisdiction, this::createAgency).breaker().state();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        calls.shutdownNow();
+    }
+
+    private Agency createAgency(Jurisdiction jurisdiction) {
+        RefundAggregationProperties.Sweep sweep = properties.getSweep();
+        Agency agency = new Agency(jurisdiction,
+                new AgencyCircuitBreaker(properties.getCircuitBreaker(), properties.isEnableCircuitBreaker()),
+                new Semaphore(sweep.getMaxConcurrency().getOrDefault(jurisdiction, sweep.getDefaultMaxConcurrency())),
+                new LongAdder(), new LongAdder());
+
+        String tag = jurisdiction.name();
+        Gauge.builder("refund.agency.circuit.state", agency, a -> a.breaker().state().ordinal())
+                .description("State of the agency's circuit breaker: 0 closed, 1 half open, 2 open")
+                .tag("jurisdiction", tag).register(meterRegistry);
+        Gauge.builder("refund.agency.bulkhead.available", agency, a -> a.bulkhead().availablePermits())
+                .description("Status calls to the agency that may still start before its bulkhead is full")
+                .tag("jurisdiction", tag).register(meterRegistry);
+        FunctionCounter.builder("refund.agency.retries", agency, a -> a.retries().sum())
+                .description("Status calls to the agency retried after a failed attempt")
+                .tag("jurisdiction", tag).register(meterRegistry);
+        FunctionCounter.builder("refund.agency.rejected", agency, a -> a.rejected().sum())
+                .description("Status calls to the agency rejected by its open circuit breaker or full bulkhead")
+                .tag("jurisdiction", tag).register(meterRegistry);
+        return agency;
+    }
+
+    /**
+     * Resilience state of one agency, kept across calls.
+     */
+    private record Agency(Jurisdiction jurisdiction, AgencyCircuitBreaker breaker, Semaphore bulkhead,
+            LongAdder retries, LongAdder rejected) {
+    }
+
+    /**
+     * One call and its attempts. Each attempt runs on a call thread; the timer only
+     * fires timeouts and hands scheduled retries back to the call threads.
+     */
+    private final class Call<T> {
+
+        private final Agency agency;
+        private final Callable<T> call;
+        private final long deadline;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        Call(Agency agency, Callable<T> call, long deadline) {
+            this.agency = agency;
+            this.call = call;
+            this.deadline = deadline;
+        }
+
+        void start(int attempt) {
+            try {
+                calls.execute(() -> run(attempt));
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        private void run(int attempt) {
+            AgencyCircuitBreaker breaker = agency.breaker();
+            if (!breaker.tryAcquirePermission()) {
+                reject(AgencyUnavailableException.Reason.CIRCUIT_OPEN);
+                return;
+            }
+            AgencyRateLimiter.Permit permit;
+            try {
+                permit = rateLimiters.forJurisdiction(agency.jurisdiction()).acquire(deadline);
+            } catch (InterruptedException e) {
+                breaker.releasePermission();
+                result.completeExceptionally(e);
+                return;
+            }
+            if (permit == null) {
+                breaker.releasePermission();
+                result.completeExceptionally(
+                        new AgencyUnavailableException(agency.jurisdiction(), AgencyUnavailableException.Reason.DEADLINE));
+                return;
+            }
+            // The breaker may have opened while this attempt waited for the limiter
+            if (breaker.state() == AgencyCircuitBreaker.State.OPEN) {
+                permit.cancelled();
+                reject(AgencyUnavailableException.Reason.CIRCUIT_OPEN);
+                return;
+            }
+            if (!agency.bulkhead().tryAcquire()) {
+                permit.cancelled();
+                breaker.releasePermission();
+                reject(AgencyUnavailableException.Reason.BULKHEAD_FULL);
+                return;
+            }
+
+            long now = System.nanoTime();
+            long timeout = Math.min(properties.getExternalServiceTimeout().toNanos(), deadline - now);
+            boolean deadlineBound = deadline - now <= properties.getExternalServiceTimeout().toNanos();
+            // Settles the race between the call returning and the timeout firing
+            CompletableFuture<T> outcome = new CompletableFuture<>();
+            Thread caller = Thread.currentThread();
+            ScheduledFuture<?> timeoutTask = timer.schedule(() -> {
+                TimeoutException timedOut = new TimeoutException(
+                        agency.jurisdiction() + " status call timed out after " + timeout / 1_000_000 + " ms");
+                if (outcome.completeExceptionally(timedOut)) {
+                    caller.interrupt();
+                    try {
+                        calls.execute(() -> finish(attempt, permit, deadlineBound, null, timedOut));
+                    } catch (RejectedExecutionException e) {
+                        result.completeExceptionally(timedOut);
+                    }
+                }
+            }, Math.max(timeout, 0), TimeUnit.NANOSECONDS);
+
+            T value = null;
+            Exception error = null;
+            try {
+                value = call.call();
+            } catch (Exception e) {
+                error = e;
+            } finally {
+                timeoutTask.cancel(false);
+                agency.bulkhead().release();
+                // Leave no interrupt from a timeout that raced the return behind on this thread
+                Thread.interrupted();
+            }
+            if (error == null ? outcome.complete(value) : outcome.completeExceptionally(error)) {
+                finish(attempt, permit, deadlineBound, value, error);
+            }
+        }
+
+        private void finish(int attempt, AgencyRateLimiter.Permit permit, boolean deadlineBound, T value,
+                Throwable error) {
+            AgencyCircuitBreaker breaker = agency.breaker();
+            if (error == null) {
+                permit.succeeded();
+                breaker.onSuccess();
+                result.complete(value);
+                return;
+            }
+            // A call cut short by the caller's deadline says nothing about the agency
+            if (error instanceof TimeoutException && deadlineBound) {
+                permit.cancelled();
+                breaker.releasePermission();
+                result.completeExceptionally(error);
+                return;
+            }
+            permit.failed();
+            breaker.onFailure();
+
+            long delay = retryDelay(attempt);
+            if (attempt < properties.getMaxRetryAttempts() && delay < deadline - System.nanoTime()) {
+                LOG.debug("Retrying {} status call in {} ms after attempt {} failed: {}",
+                        agency.jurisdiction(), delay / 1_000_000, attempt + 1, error.getMessage());
+                agency.retries().increment();
+                try {
+                    timer.schedule(() -> start(attempt + 1), delay, TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    result.completeExceptionally(error);
+                }
+                return;
+            }
+            result.completeExceptionally(error);
+        }
+
+        private void reject(AgencyUnavailableException.Reason reason) {
+            agency.rejected().increment();
+            result.completeExceptionally(new AgencyUnavailableException(agency.jurisdiction(), reason));
+        }
+
+        /**
+         * Returns the delay before the retry after an attempt: {@code retryDelay} doubled per
+         * earlier retry, of which a random half is waited, so that calls failed together
+         * do not retry together.
+         */
+        private long retryDelay(int attempt) {
+            long initial = Math.max(properties.getRetryDelay().toNanos(), 0);
+            long base = attempt < Long.numberOfLeadingZeros(initial) - 1 ? initial << attempt : Long.MAX_VALUE / 2;
+            long half = base / 2;
+            return half + (half > 0 ? ThreadLocalRandom.current().nextLong(half + 1) : 0);
+        }
+    }
+}
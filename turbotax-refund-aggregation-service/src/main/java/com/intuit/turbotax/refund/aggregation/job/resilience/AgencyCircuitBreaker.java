@@ -0,0 +1,130 @@
+package com.intuit.turbotax.refund.aggregation.job.resilience;
+
+import com.intuit.turbotax.refund.aggregation.config.RefundAggregationProperties;
+
+/**
+ * Circuit breaker for the status calls of one agency.
+ *
+ * <p>While closed, the outcome of each call is kept as one bit of a sliding window of the
+ * most recent calls. Once the window holds at least {@code minimumCalls} outcomes and the
+ * share of failures reaches {@code failureRateThreshold}, the breaker opens and rejects every
+ * call for {@code openDuration}. It then lets a single trial call through: success closes
+ * it with an empty window, failure opens it again. A disabled breaker permits every call.
+ */
+public final class AgencyCircuitBreaker {
+
+    /**
+     * State of a breaker.
+     */
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private static final int MAX_WINDOW_SIZE = Long.SIZE;
+
+    private final boolean enabled;
+    private final double failureRateThreshold;
+    private final long windowMask;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final long openNanos;
+
+    // Guarded by this
+    private State state = State.CLOSED;
+    private long outcomes;
+    private int recorded;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public AgencyCircuitBreaker(RefundAggregationProperties.CircuitBreaker settings, boolean enabled) {
+        this.enabled = enabled;
+        this.failureRateThreshold = settings.getFailureRateThreshold();
+        this.windowSize = Math.clamp(settings.getSlidingWindowSize(), 1, MAX_WINDOW_SIZE);
+        this.windowMask = windowSize == MAX_WINDOW_SIZE ? -1L : (1L << windowSize) - 1;
+        this.minimumCalls = Math.clamp(settings.getMinimumCalls(), 1, windowSize);
+        this.openNanos = settings.getOpenDuration().toNanos();
+    }
+
+    /**
+     * Asks to make a call. A permitted call must end with exactly one of
+     * {@link #onSuccess()}, {@link #onFailure()} or {@link #releasePermission()}.
+     *
+     * @return true if the call may be made, false if it must be rejected
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (!enabled) {
+            return true;
+        }
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                return true;
+            default:
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    /**
+     * Ends a permitted call that was not made or whose outcome says nothing about the agency.
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (!enabled) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            state = State.CLOSED;
+            outcomes = 0;
+            recorded = 0;
+            trialInFlight = false;
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (!enabled) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= minimumCalls && (double) Long.bitCount(outcomes) / recorded >= failureRateThreshold) {
+                open();
+            }
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        outcomes = (outcomes << 1 | (failed ? 1 : 0)) & windowMask;
+        recorded = Math.min(recorded + 1, windowSize);
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        trialInFlight = false;
+        outcomes = 0;
+        recorded = 0;
+    }
+}
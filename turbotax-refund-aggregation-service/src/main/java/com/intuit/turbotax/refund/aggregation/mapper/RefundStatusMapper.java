@@ -1,9 +1,15 @@
 package com.intuit.turbotax.refund.aggregation.mapper;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.stereotype.Component;
 
 import com.intuit.turbotax.api.v1.refund.model.RefundStatusData;
+import com.intuit.turbotax.api.v1.refund.model.RefundStatusHistoryData;
+import com.intuit.turbotax.api.v1.refund.model.RefundStatusTransition;
 import com.intuit.turbotax.refund.aggregation.repository.RefundStatusAggregate;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusHistory;
 
 /**
  * Mapper class for converting between RefundStatusAggregate domain objects
@@ -30,4 +36,40 @@ public class RefundStatusMapper {
                 aggregate.jurisdiction(),
                 aggregate.lastUpdatedAt());
     }
+
+    /**
+     * Converts a filing's status history to a RefundStatusHistoryData DTO.
+     *
+     * @param aggregate the filing's current aggregate
+     * @param history   the filing's status history
+     * @return the converted DTO
+     */
+    public RefundStatusHistoryData mapHistoryToApi(RefundStatusAggregate aggregate, RefundStatusHistory history) {
+        List<RefundStatusTransition> transitions = new ArrayList<>(history.size());
+        for (int i = 0; i < history.size(); i++) {
+            transitions.add(new RefundStatusTransition(
+                    history.fromStatus(i),
+                    history.toStatus(i),
+                    history.transitionedAt(i)));
+        }
+        return new RefundStatusHistoryData(aggregate.filingId(), aggregate.jurisdiction(), transitions);
+    }
+
+    /**
+     * Converts one transition of a filing's history to the RefundStatusData DTO of the
+     * status it set, stamped with the time the filing entered that status.
+     *
+     * @param aggregate the filing's current aggregate
+     * @param history   the filing's status history
+     * @param index     the index of the transition
+     * @return the converted DTO
+     */
+    public RefundStatusData mapTransitionToApi(RefundStatusAggregate aggregate, RefundStatusHistory history,
+            int index) {
+        return new RefundStatusData(
+                aggregate.filingId(),
+                history.toStatus(index),
+                aggregate.jurisdiction(),
+                history.transitionedAt(index));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,271 @@
+package com.intuit.turbotax.refund.aggregation.persistence;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.refund.model.RefundStatus;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusAggregate;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusHistory;
+
+/**
+ * Binary encoding shared by write-ahead log segments and snapshots.
+ *
+ * <p>Layout (big-endian):
+ * <pre>
+ * header : magic | version u16 | reserved u16 | sequence i64 | enum name tables | header CRC32C
+ * frame  : bodyLength i32 | body CRC32C | body
+ * record : filingId i32 | jurisdiction i8 | status i8 | flags u8
+ *          | [epochSecond i64, nano i32] | [scale i8, unscaled i64]
+ *          | [trackingId] | [rawStatusCode] | [messageKey]
+ * history: count u16 | lastSequence i64 | (fromStatus i8 | toStatus i8 | epochMilli i64) * count
+ * </pre>
+ * Enums are written as ordinals together with the name tables, so files survive
+ * reordered constants.
+ */
+final class RefundStatusCodec {
+
+    static final short VERSION = 1;
+    static final int FRAME_HEADER_BYTES = 2 * Integer.BYTES;
+
+    private static final int FIXED_HEADER_BYTES = Integer.BYTES + 2 * Short.BYTES + Long.BYTES;
+    private static final int FIXED_RECORD_BYTES = Integer.BYTES + 3;
+    private static final int HISTORY_ENTRY_BYTES = 2 + Long.BYTES;
+
+    private static final int FLAG_UPDATED_AT = 1;
+    private static final int FLAG_AMOUNT = 1 << 1;
+    private static final int FLAG_TRACKING_ID = 1 << 2;
+    private static final int FLAG_RAW_STATUS_CODE = 1 << 3;
+    private static final int FLAG_MESSAGE_KEY = 1 << 4;
+
+    private RefundStatusCodec() {
+    }
+
+    /**
+     * Encodes a file header.
+     *
+     * @param magic    identifies the kind of file
+     * @param sequence the first sequence number of a log segment, or the last one covered by a snapshot
+     */
+    static ByteBuffer encodeHeader(int magic, long sequence) {
+        List<byte[]> jurisdictions = enumNames(Jurisdiction.values());
+        List<byte[]> statuses = enumNames(RefundStatus.values());
+        ByteBuffer header = ByteBuffer.allocate(
+                FIXED_HEADER_BYTES + tableBytes(jurisdictions) + tableBytes(statuses) + Integer.BYTES);
+        header.putInt(magic).putShort(VERSION).putShort((short) 0).putLong(sequence);
+        writeTable(header, jurisdictions);
+        writeTable(header, statuses);
+        header.putInt(crc(header.slice(0, header.position())));
+        return header.flip();
+    }
+
+    /**
+     * Reads and verifies a file header, leaving the buffer positioned after it.
+     */
+    static Header readHeader(ByteBuffer buffer, int magic, Path file) throws IOException {
+        try {
+            if (buffer.getInt(0) != magic) {
+                throw new IOException("File " + file + " is not a refund status " + kind(magic));
+            }
+            short version = buffer.getShort(4);
+            if (version != VERSION) {
+                throw new IOException("Unsupported version " + version + " in " + file);
+            }
+            buffer.position(FIXED_HEADER_BYTES);
+            Jurisdiction[] jurisdictions = readTable(buffer, Jurisdiction.class);
+            RefundStatus[] statuses = readTable(buffer, RefundStatus.class);
+            int crcOffset = buffer.position();
+            if (buffer.getInt() != crc(buffer.slice(0, crcOffset))) {
+                throw new IOException("Header of " + file + " failed checksum verification");
+            }
+            return new Header(buffer.getLong(8), jurisdictions, statuses);
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IOException("Header of " + file + " is truncated", e);
+        }
+    }
+
+    /**
+     * Encodes a record into a new array.
+     */
+    static byte[] encodeRecord(RefundStatusAggregate aggregate) {
+        byte[] trackingId = encodeNullable(aggregate.trackingId());
+        byte[] rawStatusCode = encodeNullable(aggregate.rawStatusCode());
+        byte[] messageKey = encodeNullable(aggregate.messageKey());
+        int flags = (aggregate.lastUpdatedAt() != null ? FLAG_UPDATED_AT : 0)
+                | (aggregate.amount() != null ? FLAG_AMOUNT : 0)
+                | (trackingId != null ? FLAG_TRACKING_ID : 0)
+                | (rawStatusCode != null ? FLAG_RAW_STATUS_CODE : 0)
+                | (messageKey != null ? FLAG_MESSAGE_KEY : 0);
+        int bytes = FIXED_RECORD_BYTES
+                + ((flags & FLAG_UPDATED_AT) != 0 ? Long.BYTES + Integer.BYTES : 0)
+                + ((flags & FLAG_AMOUNT) != 0 ? 1 + Long.BYTES : 0)
+                + stringBytes(trackingId) + stringBytes(rawStatusCode) + stringBytes(messageKey);
+
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        buffer.putInt(aggregate.filingId())
+                .put(aggregate.jurisdiction() == null ? -1 : (byte) aggregate.jurisdiction().ordinal())
+                .put(aggregate.status() == null ? -1 : (byte) aggregate.status().ordinal())
+                .put((byte) flags);
+        if (aggregate.lastUpdatedAt() != null) {
+            buffer.putLong(aggregate.lastUpdatedAt().getEpochSecond()).putInt(aggregate.lastUpdatedAt().getNano());
+        }
+        if (aggregate.amount() != null) {
+            BigDecimal amount = aggregate.amount();
+            if (amount.scale() < Byte.MIN_VALUE || amount.scale() > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Amount scale out of range for filing " + aggregate.filingId());
+            }
+            buffer.put((byte) amount.scale()).putLong(amount.unscaledValue().longValueExact());
+        }
+        putString(buffer, trackingId);
+        putString(buffer, rawStatusCode);
+        putString(buffer, messageKey);
+        return buffer.array();
+    }
+
+    /**
+     * Encodes a status history into a new array.
+     */
+    static byte[] encodeHistory(RefundStatusHistory history) {
+        int count = history.size();
+        if (count > 0xFFFF) {
+            throw new IllegalArgumentException("History too long to persist: " + count + " transitions");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Short.BYTES + Long.BYTES + count * HISTORY_ENTRY_BYTES);
+        buffer.putShort((short) count).putLong(history.lastSequence());
+        for (int i = 0; i < count; i++) {
+            RefundStatus from = history.fromStatus(i);
+            buffer.put(from == null ? -1 : (byte) from.ordinal())
+                    .put((byte) history.toStatus(i).ordinal())
+                    .putLong(history.transitionedAt(i).toEpochMilli());
+        }
+        return buffer.array();
+    }
+
+    static RefundStatusHistory decodeHistory(ByteBuffer buffer, Header header) {
+        int count = Short.toUnsignedInt(buffer.getShort());
+        long lastSequence = buffer.getLong();
+        RefundStatus[] fromStatuses = new RefundStatus[count];
+        RefundStatus[] toStatuses = new RefundStatus[count];
+        long[] epochMillis = new long[count];
+        for (int i = 0; i < count; i++) {
+            byte from = buffer.get();
+            fromStatuses[i] = from < 0 ? null : header.statuses()[from];
+            toStatuses[i] = header.statuses()[buffer.get()];
+            epochMillis[i] = buffer.getLong();
+        }
+        return RefundStatusHistory.of(fromStatuses, toStatuses, epochMillis, lastSequence);
+    }
+
+    static RefundStatusAggregate decodeRecord(ByteBuffer buffer, Header header) {
+        int filingId = buffer.getInt();
+        byte jurisdiction = buffer.get();
+        byte status = buffer.get();
+        int flags = buffer.get();
+        Instant lastUpdatedAt = (flags & FLAG_UPDATED_AT) != 0
+                ? Instant.ofEpochSecond(buffer.getLong(), buffer.getInt())
+                : null;
+        BigDecimal amount = null;
+        if ((flags & FLAG_AMOUNT) != 0) {
+            int scale = buffer.get();
+            amount = BigDecimal.valueOf(buffer.getLong(), scale);
+        }
+        String trackingId = (flags & FLAG_TRACKING_ID) != 0 ? getString(buffer) : null;
+        String rawStatusCode = (flags & FLAG_RAW_STATUS_CODE) != 0 ? getString(buffer) : null;
+        String messageKey = (flags & FLAG_MESSAGE_KEY) != 0 ? getString(buffer) : null;
+        return new RefundStatusAggregate(
+                filingId,
+                trackingId,
+                jurisdiction < 0 ? null : header.jurisdictions()[jurisdiction],
+                status < 0 ? null : header.statuses()[status],
+                rawStatusCode,
+                messageKey,
+                lastUpdatedAt,
+                amount);
+    }
+
+    static int crc(ByteBuffer bytes) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private static String kind(int magic) {
+        return magic == RefundStatusWriteAheadLog.MAGIC ? "log segment" : "snapshot";
+    }
+
+    private static int stringBytes(byte[] value) {
+        return value == null ? 0 : Short.BYTES + value.length;
+    }
+
+    private static byte[] encodeNullable(String value) {
+        return value == null ? null : encodeString(value);
+    }
+
+    private static byte[] encodeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Value too long to persist: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value != null) {
+            buffer.putShort((short) value.length).put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static List<byte[]> enumNames(Enum<?>[] constants) {
+        List<byte[]> names = new ArrayList<>(constants.length);
+        for (Enum<?> constant : constants) {
+            names.add(encodeString(constant.name()));
+        }
+        return names;
+    }
+
+    private static int tableBytes(List<byte[]> names) {
+        int bytes = Short.BYTES;
+        for (byte[] name : names) {
+            bytes += Short.BYTES + name.length;
+        }
+        return bytes;
+    }
+
+    private static void writeTable(ByteBuffer buffer, List<byte[]> names) {
+        buffer.putShort((short) names.size());
+        names.forEach(name -> buffer.putShort((short) name.length).put(name));
+    }
+
+    private static <E extends Enum<E>> E[] readTable(ByteBuffer buffer, Class<E> type) throws IOException {
+        int count = Short.toUnsignedInt(buffer.getShort());
+        @SuppressWarnings("unchecked")
+        E[] constants = (E[]) Array.newInstance(type, count);
+        for (int i = 0; i < count; i++) {
+            String name = getString(buffer);
+            try {
+                constants[i] = Enum.valueOf(type, name);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Persisted data references unknown " + type.getSimpleName() + " " + name, e);
+            }
+        }
+        return constants;
+    }
+
+    record Header(long sequence, Jurisdiction[] jurisdictions, RefundStatus[] statuses) {
+    }
+}
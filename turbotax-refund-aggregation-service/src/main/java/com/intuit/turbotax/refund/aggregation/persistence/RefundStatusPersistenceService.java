@@ -0,0 +1,159 @@
+package com.intuit.turbotax.refund.aggregation.persistence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.intuit.turbotax.refund.aggregation.config.RefundAggregationProperties;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusAggregate;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusRepository;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusRepositoryImpl;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Makes refund status saves survive restarts.
+ * At startup the repository is restored from the latest snapshot plus the write-ahead
+ * log entries after it; from then on every save is journaled. Snapshots are written
+ * periodically and on graceful shutdown, after which older log segments are deleted.
+ * Enabled with {@code refund.aggregation.persistence.enabled=true}.
+ */
+@Service
+@ConditionalOnProperty(prefix = "refund.aggregation.persistence", name = "enabled", havingValue = "true")
+public class RefundStatusPersistenceService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefundStatusPersistenceService.class);
+
+    private final RefundStatusRepositoryImpl repository;
+    private final RefundStatusSnapshotStore snapshots;
+    private final RefundAggregationProperties.Persistence settings;
+    private final Path directory;
+
+    private volatile RefundStatusWriteAheadLog writeAheadLog;
+
+    public RefundStatusPersistenceService(RefundStatusRepository repository, RefundStatusSnapshotStore snapshots,
+            RefundAggregationProperties properties) {
+        if (repository instanceof RefundStatusRepositoryImpl journaled) {
+            this.repository = journaled;
+        } else {
+            log.warn("Refund status persistence is not supported by {}; statuses are kept in memory only",
+                    repository.getClass().getName());
+            this.repository = null;
+        }
+        this.snapshots = snapshots;
+        this.settings = properties.getPersistence();
+        this.directory = Path.of(settings.getDirectory());
+    }
+
+    /**
+     * Restores the repository from the latest valid snapshot and the log entries after it,
+     * then journals every later save.
+     *
+     * @return true if any refund status was recovered, false if the caller should load initial data
+     */
+    public boolean recover() {
+        if (repository == null) {
+            return false;
+        }
+        long started = System.nanoTime();
+        try {
+            long snapshotSequence = 0;
+            long[] restored = new long[1];
+            List<Path> candidates = snapshots.list(directory);
+            for (Path snapshot : candidates) {
+                try {
+                    snapshotSequence = snapshots.restore(snapshot, (aggregate, history) -> {
+                        repository.restore(aggregate, history);
+                        restored[0]++;
+                    });
+                    break;
+                } catch (IOException e) {
+                    // Entries between an older snapshot and this one may be lost with it
+                    log.warn("Skipping unreadable refund status snapshot {}: {}", snapshot, e.getMessage());
+                }
+            }
+
+            long[] replayed = new long[1];
+            long lastSequence = RefundStatusWriteAheadLog.replay(directory, snapshotSequence, (aggregate, sequence) -> {
+                repository.restore(aggregate, sequence);
+                replayed[0]++;
+            });
+            writeAheadLog = RefundStatusWriteAheadLog.open(directory, lastSequence, settings.getSegmentBytes(),
+                    settings.getMaxPendingBytes(), settings.isSyncWrites());
+            repository.attachJournal(writeAheadLog);
+
+            log.info("Recovered {} refund statuses from snapshot and {} from the write-ahead log in {} in {} ms",
+                    restored[0], replayed[0], directory, (System.nanoTime() - started) / 1_000_000);
+            return restored[0] + replayed[0] > 0;
+        } catch (IOException | RuntimeException e) {
+            log.error("Refund status persistence unavailable in {}; statuses are kept in memory only: {}",
+                    directory, e.getMessage(), e);
+            return false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${refund.aggregation.persistence.snapshot-interval:PT15M}",
+            initialDelayString = "${refund.aggregation.persistence.snapshot-interval:PT15M}")
+    public void writePeriodicSnapshot() {
+        writeSnapshot();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writeSnapshot();
+        RefundStatusWriteAheadLog currentLog = writeAheadLog;
+        if (currentLog != null) {
+            try {
+                currentLog.close();
+            } catch (IOException e) {
+                log.warn("Failed to close refund status write-ahead log in {}: {}", directory, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes a snapshot of the repository and deletes the log segments and snapshots it replaces.
+     *
+     * @return the number of refund statuses written, or -1 if no snapshot was taken
+     */
+    public synchronized long writeSnapshot() {
+        RefundStatusWriteAheadLog currentLog = writeAheadLog;
+        if (currentLog == null) {
+            log.debug("Skipping refund status snapshot: recovery has not completed");
+            return -1;
+        }
+        long started = System.nanoTime();
+        try {
+            // With saves paused, every entry up to the rolled sequence is already in the repository;
+            // later saves may or may not be in the snapshot and are replayed from the newer segment
+            long sequence = repository.whileWritesPaused(() -> {
+                try {
+                    return currentLog.rollSegment();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            long written;
+            try (Stream<RefundStatusAggregate> aggregates = repository.findAll()) {
+                written = snapshots.write(aggregates,
+                        filingId -> repository.findHistoryByFilingId(filingId).orElse(null), sequence, directory);
+            }
+            snapshots.deleteOlderThan(directory, sequence);
+            int segments = currentLog.deleteSegmentsThrough(sequence);
+            log.info("Wrote {} refund statuses to snapshot at sequence {} and deleted {} log segments in {} ms",
+                    written, sequence, segments, (System.nanoTime() - started) / 1_000_000);
+            return written;
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to write refund status snapshot in {}: {}", directory, e.getMessage(), e);
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.intuit.turbotax.refund.aggregation.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusAggregate;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusHistory;
+
+/**
+ * Reads and writes compacted snapshots of the refund status repository.
+ *
+ * <p>A snapshot holds the latest aggregate and status history of each filing as of a
+ * write-ahead log sequence number, which is stored in its header and in its file name.
+ * It is a codec header followed by one frame per filing, holding its record and history,
+ * and a trailer frame of length zero that holds the filing count. Snapshots are written
+ * to a temporary file, forced to disk and atomically renamed. Restores verify every
+ * checksum and the trailer before any aggregate is handed to the caller.
+ */
+@Component
+public class RefundStatusSnapshotStore {
+
+    static final int MAGIC = 0x54545253; // "TTRS"
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    /**
+     * Writes every aggregate in the stream to a new snapshot in the directory.
+     *
+     * @param aggregates the aggregates to persist
+     * @param histories  looks up the history of a filing, or returns null if it has none
+     * @param sequence   the write-ahead log sequence number the aggregates reflect
+     * @param directory  the snapshot directory
+     * @return the number of aggregates written
+     * @throws IOException if the snapshot cannot be written
+     */
+    public long write(Stream<RefundStatusAggregate> aggregates, IntFunction<RefundStatusHistory> histories,
+            long sequence, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path target = directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        long count = 0;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+            buffer.put(RefundStatusCodec.encodeHeader(MAGIC, sequence));
+            Iterator<RefundStatusAggregate> iterator = aggregates.iterator();
+            while (iterator.hasNext()) {
+                RefundStatusAggregate aggregate = iterator.next();
+                RefundStatusHistory history = histories.apply(aggregate.filingId());
+                byte[] record = RefundStatusCodec.encodeRecord(aggregate);
+                byte[] encodedHistory = RefundStatusCodec.encodeHistory(
+                        history == null ? RefundStatusHistory.EMPTY : history);
+                int bodyBytes = record.length + encodedHistory.length;
+                int frameBytes = RefundStatusCodec.FRAME_HEADER_BYTES + bodyBytes;
+                if (buffer.remaining() < frameBytes) {
+                    drain(channel, buffer);
+                    if (buffer.remaining() < frameBytes) {
+                        buffer = ByteBuffer.allocate(frameBytes);
+                    }
+                }
+                int start = buffer.position();
+                buffer.putInt(bodyBytes).putInt(0).put(record).put(encodedHistory);
+                buffer.putInt(start + Integer.BYTES,
+                        RefundStatusCodec.crc(buffer.slice(start + RefundStatusCodec.FRAME_HEADER_BYTES, bodyBytes)));
+                count++;
+            }
+            if (buffer.remaining() < Integer.BYTES + Long.BYTES) {
+                drain(channel, buffer);
+            }
+            buffer.putInt(0).putLong(count);
+            drain(channel, buffer);
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        RefundStatusWriteAheadLog.forceDirectory(directory);
+        return count;
+    }
+
+    /**
+     * Lists the snapshots in a directory, newest first.
+     *
+     * @param directory the snapshot directory
+     * @return the snapshot files
+     * @throws IOException if the directory cannot be listed
+     */
+    public List<Path> list(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(RefundStatusSnapshotStore::isSnapshot)
+                    .sorted(Comparator.comparingLong(RefundStatusSnapshotStore::sequenceOf).reversed())
+                    .toList();
+        }
+    }
+
+    /**
+     * Verifies a snapshot and hands each of its aggregates and histories to the consumer.
+     *
+     * @param snapshot the snapshot file
+     * @param consumer receives each aggregate and history, only once the whole file has been verified
+     * @return the write-ahead log sequence number the snapshot reflects
+     * @throws IOException if the snapshot is unreadable, truncated or fails checksum verification
+     */
+    public long restore(Path snapshot, BiConsumer<RefundStatusAggregate, RefundStatusHistory> consumer)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            RefundStatusCodec.Header header = RefundStatusCodec.readHeader(buffer, MAGIC, snapshot);
+            int framesStart = buffer.position();
+
+            // First pass: verify every frame and the trailer
+            long count = 0;
+            while (true) {
+                if (buffer.remaining() < Integer.BYTES) {
+                    throw new IOException("Snapshot " + snapshot + " is truncated");
+                }
+                int length = buffer.getInt();
+                if (length == 0) {
+                    break;
+                }
+                if (length < 0 || buffer.remaining() < Integer.BYTES + length) {
+                    throw new IOException("Snapshot " + snapshot + " is truncated");
+                }
+                int crc = buffer.getInt();
+                if (RefundStatusCodec.crc(buffer.slice(buffer.position(), length)) != crc) {
+                    throw new IOException("Snapshot " + snapshot + " failed checksum verification");
+                }
+                buffer.position(buffer.position() + length);
+                count++;
+            }
+            if (buffer.remaining() < Long.BYTES || buffer.getLong() != count) {
+                throw new IOException("Snapshot " + snapshot + " has an invalid trailer");
+            }
+
+            // Second pass: decode
+            buffer.position(framesStart);
+            for (long i = 0; i < count; i++) {
+                int length = buffer.getInt();
+                buffer.getInt();
+                ByteBuffer body = buffer.slice(buffer.position(), length);
+                consumer.accept(RefundStatusCodec.decodeRecord(body, header), RefundStatusCodec.decodeHistory(body, header));
+                buffer.position(buffer.position() + length);
+            }
+            return header.sequence();
+        }
+    }
+
+    /**
+     * Deletes the snapshots older than the one for the given sequence number.
+     *
+     * @param directory the snapshot directory
+     * @param sequence  the sequence number of the newest snapshot
+     * @throws IOException if a snapshot cannot be deleted
+     */
+    public void deleteOlderThan(Path directory, long sequence) throws IOException {
+        for (Path snapshot : list(directory)) {
+            if (sequenceOf(snapshot) < sequence) {
+                Files.deleteIfExists(snapshot);
+            }
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static boolean isSnapshot(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX)
+                && name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length())
+                        .chars().allMatch(Character::isDigit);
+    }
+
+    private static long sequenceOf(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+    }
+}
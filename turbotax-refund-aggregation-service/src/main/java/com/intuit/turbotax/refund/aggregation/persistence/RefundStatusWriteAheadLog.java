@@ -0,0 +1,505 @@
+package com.intuit.turbotax.refund.aggregation.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusAggregate;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusJournal;
+
+/**
+ * Append-only, segmented write-ahead log of refund status saves.
+ *
+ * <p>Saves first encode their frame and reserve room for it in a direct buffer, waiting
+ * there if the buffer is full, and then append by copying the frame in under a short
+ * lock that never waits. The repository reserves before it locks the filing, so a full
+ * buffer never holds up other saves that share the filing's map bin. A single flusher
+ * thread writes everything buffered since its last pass to the current segment and
+ * forces it to disk, so one {@code FileChannel.force} covers every save that arrived
+ * while the previous force was in progress (group commit). Savers that need durability
+ * wait until the flusher has passed their sequence number.
+ *
+ * <p>Each frame body is the sequence number followed by the encoded aggregate (see
+ * {@link RefundStatusCodec}). Segments are named after the first sequence number they
+ * may hold and are rolled by size and before each snapshot, so that a snapshot covering
+ * sequence S makes every segment that starts at or before S redundant.
+ */
+public class RefundStatusWriteAheadLog implements RefundStatusJournal, Closeable {
+
+    static final int MAGIC = 0x5454524C; // "TTRL"
+
+    private static final Logger log = LoggerFactory.getLogger(RefundStatusWriteAheadLog.class);
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean syncWrites;
+
+    // Guards the pending buffer, the sequence numbers and the failure state
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hasPending = lock.newCondition();
+    private final Condition hasRoom = lock.newCondition();
+    private final Condition durable = lock.newCondition();
+    private ByteBuffer pending;
+    private ByteBuffer spare;
+    // Bytes promised to reservations not yet appended or cancelled; pending always has room for them
+    private int reservedBytes;
+    private long lastSequence;
+    private long durableSequence;
+    private IOException failure;
+    private boolean closed;
+
+    // Held while a batch is written or a segment is rolled, so both happen in sequence order
+    private final ReentrantLock channelLock = new ReentrantLock();
+    private FileChannel channel;
+    private long channelBytes;
+    private long lastWrittenSequence;
+
+    private final Thread flusher;
+
+    private RefundStatusWriteAheadLog(Path directory, long lastSequence, long segmentBytes, int maxPendingBytes,
+            boolean syncWrites) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.syncWrites = syncWrites;
+        this.lastSequence = lastSequence;
+        this.durableSequence = lastSequence;
+        this.lastWrittenSequence = lastSequence;
+        this.pending = ByteBuffer.allocateDirect(maxPendingBytes);
+        this.spare = ByteBuffer.allocateDirect(maxPendingBytes);
+        Files.createDirectories(directory);
+        openSegment(lastSequence + 1);
+        this.flusher = Thread.ofPlatform().name("refund-status-wal").daemon().start(this::flushLoop);
+    }
+
+    /**
+     * Opens a log that appends to a new segment after the given sequence number.
+     *
+     * @param directory       the log directory
+     * @param lastSequence    the highest sequence number already in the log, from {@link #replay}
+     * @param segmentBytes    size after which a new segment is started
+     * @param maxPendingBytes capacity of the buffer between appends and the flusher;
+     *                        reservations wait when it is full
+     * @param syncWrites      whether {@link #awaitDurable} waits for the force to disk
+     * @throws IOException if the segment cannot be created
+     */
+    public static RefundStatusWriteAheadLog open(Path directory, long lastSequence, long segmentBytes,
+            int maxPendingBytes, boolean syncWrites) throws IOException {
+        return new RefundStatusWriteAheadLog(directory, lastSequence, segmentBytes, maxPendingBytes, syncWrites);
+    }
+
+    /**
+     * Replays the entries after the given sequence number from every segment in a directory,
+     * in sequence order. A torn or corrupt entry ends the replay of its segment.
+     *
+     * @param directory     the log directory
+     * @param afterSequence entries up to and including this sequence number are skipped
+     * @param consumer      receives each replayed aggregate with its sequence number
+     * @return the highest sequence number in the log, or afterSequence if it is higher
+     * @throws IOException if the directory cannot be listed
+     */
+    public static long replay(Path directory, long afterSequence, ObjLongConsumer<RefundStatusAggregate> consumer)
+            throws IOException {
+        long highest = afterSequence;
+        for (Path segment : segments(directory)) {
+            highest = Math.max(highest, replaySegment(segment, afterSequence, consumer));
+        }
+        return highest;
+    }
+
+    @Override
+    public Reservation reserve(RefundStatusAggregate aggregate) {
+        byte[] record = RefundStatusCodec.encodeRecord(aggregate);
+        int frameBytes = RefundStatusCodec.FRAME_HEADER_BYTES + Long.BYTES + record.length;
+        lock.lock();
+        try {
+            if (frameBytes > pending.capacity()) {
+                throw new IllegalArgumentException("Refund status of filing " + aggregate.filingId()
+                        + " exceeds the write-ahead log buffer: " + frameBytes + " bytes");
+            }
+            while (pending.remaining() - reservedBytes < frameBytes && failure == null && !closed) {
+                hasRoom.awaitUninterruptibly();
+            }
+            ensureWritable();
+            reservedBytes += frameBytes;
+            return new ReservedFrame(record, frameBytes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends an aggregate, waiting for room in the buffer if it is full.
+     *
+     * @param aggregate the aggregate to append
+     * @return the sequence number of the entry
+     */
+    public long append(RefundStatusAggregate aggregate) {
+        Reservation reservation = reserve(aggregate);
+        try {
+            return reservation.append();
+        } finally {
+            reservation.cancel();
+        }
+    }
+
+    @Override
+    public void awaitDurable(long sequence) {
+        if (!syncWrites) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Write-ahead log failed", failure);
+                }
+                durable.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes everything appended so far and starts a new segment, so that every entry up to
+     * the returned sequence number lives in older segments.
+     *
+     * @return the highest sequence number in the older segments
+     * @throws IOException if the pending entries or the new segment cannot be written
+     */
+    public long rollSegment() throws IOException {
+        channelLock.lock();
+        try {
+            lock.lock();
+            try {
+                ensureWritable();
+            } finally {
+                lock.unlock();
+            }
+            flushPending();
+            long covered = lastWrittenSequence;
+            startNextSegment();
+            return covered;
+        } catch (IOException e) {
+            fail(e);
+            throw e;
+        } finally {
+            channelLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the segments that hold only entries up to the given sequence number.
+     *
+     * @param sequence the sequence number covered by a snapshot
+     * @return the number of segments deleted
+     * @throws IOException if a segment cannot be deleted
+     */
+    public int deleteSegmentsThrough(long sequence) throws IOException {
+        List<Path> segments = segments(directory);
+        int deleted = 0;
+        // A segment ends where the next one starts, so only segments followed by one starting
+        // after the sequence number are entirely covered
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstSequence(segments.get(i + 1)) <= sequence + 1) {
+                Files.deleteIfExists(segments.get(i));
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Returns the highest sequence number appended.
+     */
+    public long lastSequence() {
+        lock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flushes pending entries, stops the flusher and closes the current segment.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            hasPending.signalAll();
+            hasRoom.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channelLock.lock();
+        try {
+            if (failure == null) {
+                flushPending();
+            }
+            channel.close();
+        } finally {
+            channelLock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            lock.lock();
+            try {
+                while (pending.position() == 0 && !closed) {
+                    hasPending.awaitUninterruptibly();
+                }
+                if (pending.position() == 0) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            channelLock.lock();
+            try {
+                flushPending();
+                if (channelBytes >= segmentBytes) {
+                    startNextSegment();
+                }
+            } catch (IOException e) {
+                fail(e);
+                return;
+            } finally {
+                channelLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Writes and forces the pending entries. Requires the channel lock.
+     */
+    private void flushPending() throws IOException {
+        ByteBuffer batch;
+        long batchSequence;
+        lock.lock();
+        try {
+            batch = pending;
+            pending = spare;
+            spare = null;
+            batchSequence = lastSequence;
+            hasRoom.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        batch.flip();
+        if (batch.hasRemaining()) {
+            channelBytes += batch.remaining();
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+            channel.force(false);
+        }
+        batch.clear();
+        lastWrittenSequence = batchSequence;
+
+        lock.lock();
+        try {
+            spare = batch;
+            durableSequence = Math.max(durableSequence, batchSequence);
+            durable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the current segment and opens the next one after the last written entry.
+     * Requires the channel lock.
+     */
+    private void startNextSegment() throws IOException {
+        channel.close();
+        openSegment(lastWrittenSequence + 1);
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path segment = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        // A segment with this name can only hold torn entries or none at all, since every
+        // entry before firstSequence has been written or replayed
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        ByteBuffer header = RefundStatusCodec.encodeHeader(MAGIC, firstSequence);
+        channelBytes = header.remaining();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+        forceDirectory(directory);
+    }
+
+    private void ensureWritable() {
+        if (failure != null) {
+            throw new UncheckedIOException("Write-ahead log failed", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Write-ahead log is closed");
+        }
+    }
+
+    private void fail(IOException e) {
+        log.error("Write-ahead log in {} failed; saves are no longer durable: {}", directory, e.getMessage(), e);
+        lock.lock();
+        try {
+            failure = e;
+            durable.signalAll();
+            hasRoom.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * An encoded record with room held for its frame in the pending buffer.
+     */
+    private final class ReservedFrame implements Reservation {
+
+        private final byte[] record;
+        private final int frameBytes;
+        // Guarded by lock
+        private boolean released;
+
+        ReservedFrame(byte[] record, int frameBytes) {
+            this.record = record;
+            this.frameBytes = frameBytes;
+        }
+
+        @Override
+        public long append() {
+            lock.lock();
+            try {
+                if (released) {
+                    throw new IllegalStateException("Write-ahead log reservation was already used");
+                }
+                release();
+                ensureWritable();
+                int bodyBytes = frameBytes - RefundStatusCodec.FRAME_HEADER_BYTES;
+                long sequence = ++lastSequence;
+                int start = pending.position();
+                pending.putInt(bodyBytes).putInt(0).putLong(sequence).put(record);
+                pending.putInt(start + Integer.BYTES,
+                        RefundStatusCodec.crc(pending.slice(start + RefundStatusCodec.FRAME_HEADER_BYTES, bodyBytes)));
+                hasPending.signal();
+                return sequence;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            lock.lock();
+            try {
+                if (!released) {
+                    release();
+                    hasRoom.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void release() {
+            released = true;
+            reservedBytes -= frameBytes;
+        }
+    }
+
+    private static long replaySegment(Path segment, long afterSequence,
+            ObjLongConsumer<RefundStatusAggregate> consumer) {
+        long highest = afterSequence;
+        try (FileChannel file = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+            RefundStatusCodec.Header header = RefundStatusCodec.readHeader(buffer, MAGIC, segment);
+            while (buffer.remaining() >= RefundStatusCodec.FRAME_HEADER_BYTES) {
+                int start = buffer.position();
+                int bodyBytes = buffer.getInt(start);
+                int bodyStart = start + RefundStatusCodec.FRAME_HEADER_BYTES;
+                if (bodyBytes < Long.BYTES || bodyBytes > buffer.limit() - bodyStart) {
+                    break;
+                }
+                ByteBuffer body = buffer.slice(bodyStart, bodyBytes);
+                if (RefundStatusCodec.crc(body) != buffer.getInt(start + Integer.BYTES)) {
+                    break;
+                }
+                long sequence = body.getLong();
+                if (sequence > afterSequence) {
+                    consumer.accept(RefundStatusCodec.decodeRecord(body, header), sequence);
+                }
+                highest = Math.max(highest, sequence);
+                buffer.position(bodyStart + bodyBytes);
+            }
+            if (buffer.hasRemaining()) {
+                // Expected after a crash mid-write; everything before the torn entry was forced
+                log.warn("Ignoring {} bytes of torn or corrupt entries at the end of {}", buffer.remaining(), segment);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Skipping unreadable write-ahead log segment {}: {}", segment, e.getMessage());
+        }
+        return highest;
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(RefundStatusWriteAheadLog::isSegment)
+                    .sorted((a, b) -> Long.compare(firstSequence(a), firstSequence(b)))
+                    .toList();
+        }
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)
+                && name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())
+                        .chars().allMatch(Character::isDigit);
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    static void forceDirectory(Path directory) {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Not supported on every platform; the file contents themselves are already forced
+            log.debug("Could not force directory {}: {}", directory, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.intuit.turbotax.refund.aggregation.repository;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+import com.intuit.turbotax.api.v1.refund.model.RefundStatus;
+
+/**
+ * Bounded, immutable timeline of a filing's status transitions, oldest first.
+ *
+ * <p>Each transition is packed into one {@code long}: the previous status ordinal plus one
+ * (zero when the filing had no status yet), the new status ordinal and the transition time
+ * in epoch milliseconds. Transitions are rare, so appending copies the array and readers
+ * never need a lock. Once a history holds its maximum number of transitions, appending
+ * drops the oldest. Transition times never decrease, so as-of lookups are binary searches.
+ *
+ * <p>A history also remembers the journal sequence number of its latest transition, which
+ * lets recovery skip journal entries that a snapshot already reflects.
+ */
+public final class RefundStatusHistory {
+
+    public static final RefundStatusHistory EMPTY = new RefundStatusHistory(new long[0], 0);
+
+    private static final RefundStatus[] STATUSES = RefundStatus.values();
+    private static final int STATUS_BITS = 8;
+    private static final int TIME_BITS = Long.SIZE - 2 * STATUS_BITS;
+    private static final long STATUS_MASK = (1L << STATUS_BITS) - 1;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+
+    private final long[] transitions;
+    private final long lastSequence;
+
+    private RefundStatusHistory(long[] transitions, long lastSequence) {
+        this.transitions = transitions;
+        this.lastSequence = lastSequence;
+    }
+
+    /**
+     * Rebuilds a history from its parts, such as when it is read back from a snapshot.
+     *
+     * @param fromStatuses the status before each transition, null for a filing's first status
+     * @param toStatuses   the status after each transition
+     * @param epochMillis  the time of each transition, in non-decreasing order
+     * @param lastSequence the journal sequence number of the latest transition
+     */
+    public static RefundStatusHistory of(RefundStatus[] fromStatuses, RefundStatus[] toStatuses, long[] epochMillis,
+            long lastSequence) {
+        long[] transitions = new long[toStatuses.length];
+        for (int i = 0; i < transitions.length; i++) {
+            transitions[i] = pack(fromStatuses[i], toStatuses[i], epochMillis[i]);
+        }
+        return new RefundStatusHistory(transitions, lastSequence);
+    }
+
+    /**
+     * Returns this history with one more transition.
+     *
+     * @param from           the status before the transition, null for the filing's first status
+     * @param to             the status after the transition
+     * @param at             the transition time; raised to the previous transition's time if earlier
+     * @param sequence       the journal sequence number of the save, or 0 if not journaled
+     * @param maxTransitions the most transitions kept; the oldest are dropped beyond it
+     */
+    RefundStatusHistory append(RefundStatus from, RefundStatus to, Instant at, long sequence, int maxTransitions) {
+        long epochMilli = at.toEpochMilli();
+        if (transitions.length > 0) {
+            epochMilli = Math.max(epochMilli, epochMilliAt(transitions.length - 1));
+        }
+        int kept = Math.min(transitions.length, Math.max(maxTransitions - 1, 0));
+        long[] appended = new long[kept + 1];
+        System.arraycopy(transitions, transitions.length - kept, appended, 0, kept);
+        appended[kept] = pack(from, to, epochMilli);
+        return new RefundStatusHistory(appended, Math.max(lastSequence, sequence));
+    }
+
+    /**
+     * Returns the number of transitions held.
+     */
+    public int size() {
+        return transitions.length;
+    }
+
+    /**
+     * Returns the status before a transition, or null if it was the filing's first status.
+     */
+    public RefundStatus fromStatus(int index) {
+        int ordinal = (int) (transitions[index] >>> (TIME_BITS + STATUS_BITS));
+        return ordinal == 0 ? null : STATUSES[ordinal - 1];
+    }
+
+    /**
+     * Returns the status after a transition.
+     */
+    public RefundStatus toStatus(int index) {
+        return STATUSES[(int) ((transitions[index] >>> TIME_BITS) & STATUS_MASK)];
+    }
+
+    /**
+     * Returns the time of a transition.
+     */
+    public Instant transitionedAt(int index) {
+        return Instant.ofEpochMilli(epochMilliAt(index));
+    }
+
+    /**
+     * Returns the journal sequence number of the latest transition, or 0 if not journaled.
+     */
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Finds the transition that set the filing's status as of the given time.
+     *
+     * @param instant the point in time
+     * @return the index of the latest transition at or before the instant, or -1 if the
+     *         instant precedes every transition held
+     */
+    public int indexAsOf(Instant instant) {
+        long epochMilli = instant.toEpochMilli();
+        int low = 0;
+        int high = transitions.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (epochMilliAt(mid) <= epochMilli) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    private long epochMilliAt(int index) {
+        return transitions[index] & TIME_MASK;
+    }
+
+    private static long pack(RefundStatus from, RefundStatus to, long epochMilli) {
+        long fromOrdinal = from == null ? 0 : from.ordinal() + 1;
+        return fromOrdinal << (TIME_BITS + STATUS_BITS)
+                | (long) to.ordinal() << TIME_BITS
+                | Math.clamp(epochMilli, 0, TIME_MASK);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof RefundStatusHistory history
+                && lastSequence == history.lastSequence
+                && Arrays.equals(transitions, history.transitions);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(transitions) + Long.hashCode(lastSequence);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("RefundStatusHistory[");
+        for (int i = 0; i < transitions.length; i++) {
+            text.append(i == 0 ? "" : ", ").append(fromStatus(i)).append("->").append(toStatus(i))
+                    .append('@').append(transitionedAt(i));
+        }
+        return text.append(']').toString();
+    }
+}
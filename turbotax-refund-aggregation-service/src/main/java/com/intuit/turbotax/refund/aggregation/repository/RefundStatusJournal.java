@@ -0,0 +1,43 @@
+package com.intuit.turbotax.refund.aggregation.repository;
+
+/**
+ * Durable log of refund status writes, such as a write-ahead log.
+ * The repository reserves room for each saved aggregate before it takes that filing's
+ * entry and appends it while it holds the entry, so the journal sees writes to one
+ * filing in the order they were applied without ever waiting under the entry's lock.
+ */
+public interface RefundStatusJournal {
+
+    /**
+     * Encodes an aggregate and reserves room for its entry, waiting for room if necessary.
+     *
+     * @param aggregate the aggregate being saved
+     * @return the reservation to append or cancel
+     */
+    Reservation reserve(RefundStatusAggregate aggregate);
+
+    /**
+     * Waits until the entry with the given sequence number, and every entry before it, is durable.
+     *
+     * @param sequence the sequence number returned by {@link Reservation#append}
+     */
+    void awaitDurable(long sequence);
+
+    /**
+     * Room held in the journal for one encoded entry.
+     */
+    interface Reservation {
+
+        /**
+         * Appends the reserved entry. Must wait neither for room nor for the entry to become durable.
+         *
+         * @return the sequence number of the entry
+         */
+        long append();
+
+        /**
+         * Gives back the room if the entry was not appended; does nothing once it was.
+         */
+        void cancel();
+    }
+}
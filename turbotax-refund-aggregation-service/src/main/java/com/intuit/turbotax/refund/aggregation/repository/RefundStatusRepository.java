@@ -1,8 +1,11 @@
 package com.intuit.turbotax.refund.aggregation.repository;
 
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
+import com.intuit.turbotax.api.v1.refund.model.RefundStatus;
+
 /**
  * Repository interface for managing refund status aggregates.
  * Provides methods to query, update, and retrieve refund status information for tax filings.
@@ -16,6 +19,24 @@ public interface RefundStatusRepository {
      * @return an Optional containing the refund status aggregate if found, empty otherwise
      */
     Optional<RefundStatusAggregate> findByFilingId(int filingId);
+
+    /**
+     * Returns the version of a filing's aggregate. Every save of the filing increments it,
+     * so a version that has not changed means the aggregate has not changed.
+     *
+     * @param filingId the unique filing identifier
+     * @return the current version, or 0 if the filing was never saved
+     */
+    long getVersion(int filingId);
+
+    /**
+     * Finds the status transitions of a specific filing, oldest first.
+     * Only the most recent transitions are kept.
+     *
+     * @param filingId the unique filing identifier
+     * @return an Optional containing the filing's history if it was ever saved, empty otherwise
+     */
+    Optional<RefundStatusHistory> findHistoryByFilingId(int filingId);
     
     /**
      * Returns a stream of active filing IDs that need status updates.
@@ -24,6 +45,29 @@ public interface RefundStatusRepository {
      * @return a stream of filing IDs for filings that are not in a final status
      */
     Stream<Integer> getActiveFilingIds();
+
+    /**
+     * Returns a stream of the IDs of filings currently in the given status.
+     *
+     * @param status the refund status
+     * @return a stream of filing IDs in that status
+     */
+    Stream<Integer> getFilingIdsByStatus(RefundStatus status);
+
+    /**
+     * Counts the filings currently in the given status.
+     *
+     * @param status the refund status
+     * @return the number of filings in that status
+     */
+    long countByStatus(RefundStatus status);
+
+    /**
+     * Counts the filings in every status.
+     *
+     * @return the number of filings per status, including statuses with none
+     */
+    Map<RefundStatus, Long> countByStatus();
     
     /**
      * Saves or updates a refund status aggregate in the repository.
@@ -31,4 +75,12 @@ public interface RefundStatusRepository {
      * @param aggregate the refund status aggregate to save or update
      */
     void save(RefundStatusAggregate aggregate);
+
+    /**
+     * Registers a listener called after every save with the saved aggregate and its version.
+     * Saves of one filing may be reported out of order; listeners compare versions.
+     *
+     * @param listener the listener to call
+     */
+    void addSaveListener(RefundStatusSaveListener listener);
 }
@@ -1,41 +1,240 @@
 package com.intuit.turbotax.refund.aggregation.repository;
 
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import com.intuit.turbotax.api.v1.refund.model.RefundStatus;
+import com.intuit.turbotax.refund.aggregation.config.RefundAggregationProperties;
+
 @Repository
 public class RefundStatusRepositoryImpl implements RefundStatusRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(RefundStatusRepositoryImpl.class);
+
+    private static final List<RefundStatus> ACTIVE_STATUSES = Arrays.stream(RefundStatus.values())
+            .filter(status -> !status.isFinal())
+            .toList();
+
     // In-memory storage using concurrent map for thread safety
-    private final Map<Integer, RefundStatusAggregate> aggregateStore = new ConcurrentHashMap<>();
+    private final Map<Integer, Stored> aggregateStore = new ConcurrentHashMap<>();
+
+    // Filing IDs per status, so that sweeps and counts never touch filings in other statuses
+    private final Map<RefundStatus, Set<Integer>> filingIdsByStatus = new EnumMap<>(RefundStatus.class);
+
+    // Status transitions per filing, replaced as a whole on each transition
+    private final Map<Integer, RefundStatusHistory> historyStore = new ConcurrentHashMap<>();
+
+    private final int maxTransitions;
+
+    // Optional durable log of saves; attached once recovery has restored earlier saves
+    private volatile RefundStatusJournal journal;
+
+    // Journaled saves hold the read lock until their aggregate is in the store, so a
+    // checkpoint holding the write lock sees every journaled save applied
+    private final ReadWriteLock writeBarrier = new ReentrantReadWriteLock();
+
+    private final List<RefundStatusSaveListener> saveListeners = new CopyOnWriteArrayList<>();
 
     public RefundStatusRepositoryImpl() {
+        this(new RefundAggregationProperties());
+    }
+
+    @Autowired
+    public RefundStatusRepositoryImpl(RefundAggregationProperties properties) {
         // Repository initialization is now handled by RefundStatusRepositoryConfig
+        this.maxTransitions = properties.getHistory().getMaxTransitions();
+        for (RefundStatus status : RefundStatus.values()) {
+            filingIdsByStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
     }
 
     @Override
     public Optional<RefundStatusAggregate> findByFilingId(int filingId) {
-        RefundStatusAggregate aggregate = aggregateStore.get(filingId);
-        return Optional.ofNullable(aggregate);
+        Stored stored = aggregateStore.get(filingId);
+        return stored == null ? Optional.empty() : Optional.of(stored.aggregate());
+    }
+
+    @Override
+    public long getVersion(int filingId) {
+        Stored stored = aggregateStore.get(filingId);
+        return stored == null ? 0 : stored.version();
+    }
+
+    @Override
+    public void addSaveListener(RefundStatusSaveListener listener) {
+        saveListeners.add(listener);
+    }
+
+    @Override
+    public Optional<RefundStatusHistory> findHistoryByFilingId(int filingId) {
+        return Optional.ofNullable(historyStore.get(filingId));
     }
 
     @Override
     public Stream<Integer> getActiveFilingIds() {
         // Return filing IDs that are not in final status
-        return aggregateStore.entrySet().stream()
-                .filter(entry -> !entry.getValue().status().isFinal())
-                .map(Map.Entry::getKey);
+        return ACTIVE_STATUSES.stream()
+                .flatMap(this::getFilingIdsByStatus);
+    }
+
+    @Override
+    public Stream<Integer> getFilingIdsByStatus(RefundStatus status) {
+        return filingIdsByStatus.get(status).stream();
+    }
+
+    @Override
+    public long countByStatus(RefundStatus status) {
+        return filingIdsByStatus.get(status).size();
+    }
+
+    @Override
+    public Map<RefundStatus, Long> countByStatus() {
+        Map<RefundStatus, Long> counts = new EnumMap<>(RefundStatus.class);
+        filingIdsByStatus.forEach((status, filingIds) -> counts.put(status, (long) filingIds.size()));
+        return counts;
     }
 
     @Override
     public void save(RefundStatusAggregate aggregate) {
-        // Store in memory
-        aggregateStore.put(aggregate.filingId(), aggregate);
-        System.out.println(
-                "Saved aggregate for filingId: " + aggregate.filingId() + " with status: " + aggregate.status());
+        RefundStatusJournal currentJournal = journal;
+        if (currentJournal == null) {
+            store(aggregate, null, 0, null);
+        } else {
+            long sequence;
+            // Reserved before the filing's entry is locked, since reserving waits while the journal is full
+            RefundStatusJournal.Reservation reservation = currentJournal.reserve(aggregate);
+            writeBarrier.readLock().lock();
+            try {
+                sequence = store(aggregate, reservation, 0, null);
+            } finally {
+                writeBarrier.readLock().unlock();
+                reservation.cancel();
+            }
+            currentJournal.awaitDurable(sequence);
+        }
+        // Trace level: sweeps save thousands of aggregates per second
+        log.trace("Saved aggregate for filingId: {} with status: {}", aggregate.filingId(), aggregate.status());
+    }
+
+    /**
+     * Returns every aggregate in the repository.
+     */
+    public Stream<RefundStatusAggregate> findAll() {
+        return aggregateStore.values().stream().map(Stored::aggregate);
+    }
+
+    /**
+     * Puts back a save replayed from the journal, without journaling it again. A status
+     * change is only added to the filing's history if the history does not already hold
+     * this or a later journal entry.
+     *
+     * @param aggregate the replayed aggregate
+     * @param sequence  the journal sequence number of the save
+     */
+    public void restore(RefundStatusAggregate aggregate, long sequence) {
+        store(aggregate, null, sequence, null);
+    }
+
+    /**
+     * Puts back an aggregate and its history recovered from a snapshot, without journaling them again.
+     *
+     * @param aggregate the recovered aggregate
+     * @param history   the recovered history, or null if the filing has none
+     */
+    public void restore(RefundStatusAggregate aggregate, RefundStatusHistory history) {
+        store(aggregate, null, 0, history == null ? RefundStatusHistory.EMPTY : history);
+    }
+
+    /**
+     * Journals every subsequent save; saves return once their journal entry is durable.
+     *
+     * @param journal the journal to append to
+     */
+    public void attachJournal(RefundStatusJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Runs an action while no journaled save is in progress, so that every save the
+     * journal has sequenced before the action is visible in the repository.
+     *
+     * @param action the action to run, such as rolling the journal before a snapshot
+     * @return the action's result
+     */
+    public <T> T whileWritesPaused(Supplier<T> action) {
+        writeBarrier.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            writeBarrier.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stores an aggregate and records its status transition.
+     *
+     * @param reservation      the journal reservation to append, or null
+     * @param replayedSequence the journal sequence number of a replayed save, or 0
+     * @param restoredHistory  the history to install instead of recording a transition, or null
+     * @return the journal sequence number of the save, or 0 if not journaled
+     */
+    private long store(RefundStatusAggregate aggregate, RefundStatusJournal.Reservation reservation,
+            long replayedSequence, RefundStatusHistory restoredHistory) {
+        long[] sequence = { replayedSequence };
+        // Store in memory; compute serializes saves of the same filing so its version, status
+        // sets, history and journal entries stay in step
+        Stored stored = aggregateStore.compute(aggregate.filingId(), (filingId, previousStored) -> {
+            RefundStatusAggregate previous = previousStored == null ? null : previousStored.aggregate();
+            if (reservation != null) {
+                // Journal first, so that a failed append leaves the repository unchanged
+                sequence[0] = reservation.append();
+            }
+            // Add before removing, so that a concurrent reader never misses the filing
+            filingIdsByStatus.get(aggregate.status()).add(filingId);
+            RefundStatus previousStatus = previous == null ? null : previous.status();
+            if (previous != null && previousStatus != aggregate.status()) {
+                filingIdsByStatus.get(previousStatus).remove(filingId);
+            }
+            if (restoredHistory != null) {
+                historyStore.put(filingId, restoredHistory);
+            } else if (previous == null || previousStatus != aggregate.status()) {
+                recordTransition(filingId, previousStatus, aggregate, sequence[0]);
+            }
+            return new Stored(aggregate, previousStored == null ? 1 : previousStored.version() + 1);
+        });
+        // Outside the lock: listeners order concurrent notifications by version
+        for (RefundStatusSaveListener listener : saveListeners) {
+            listener.onSaved(aggregate, stored.version());
+        }
+        return sequence[0];
+    }
+
+    private void recordTransition(int filingId, RefundStatus from, RefundStatusAggregate aggregate, long sequence) {
+        RefundStatusHistory history = historyStore.getOrDefault(filingId, RefundStatusHistory.EMPTY);
+        // A snapshot may already hold transitions of journal entries replayed after it
+        if (sequence != 0 && sequence <= history.lastSequence()) {
+            return;
+        }
+        Instant at = aggregate.lastUpdatedAt() != null ? aggregate.lastUpdatedAt() : Instant.now();
+        historyStore.put(filingId, history.append(from, aggregate.status(), at, sequence, maxTransitions));
+    }
+
+    private record Stored(RefundStatusAggregate aggregate, long version) {
     }
-}
\ No newline at end of file
+}
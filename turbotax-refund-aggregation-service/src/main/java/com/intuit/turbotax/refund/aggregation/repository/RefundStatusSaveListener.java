@@ -0,0 +1,16 @@
+package com.intuit.turbotax.refund.aggregation.repository;
+
+/**
+ * Receives every refund status save, such as to keep a cache in step with the repository.
+ */
+@FunctionalInterface
+public interface RefundStatusSaveListener {
+
+    /**
+     * Called after an aggregate has been saved.
+     *
+     * @param aggregate the saved aggregate
+     * @param version   the filing's version after the save; higher versions are newer
+     */
+    void onSaved(RefundStatusAggregate aggregate, long version);
+}
@@ -1,15 +1,19 @@
 package com.intuit.turbotax.refund.aggregation.service;
 
+import java.time.Instant;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
 import org.springframework.stereotype.Service;
 
 import com.intuit.turbotax.api.v1.refund.model.RefundStatusData;
+import com.intuit.turbotax.api.v1.refund.model.RefundStatusHistoryData;
+import com.intuit.turbotax.refund.aggregation.cache.RefundStatusCache;
 import com.intuit.turbotax.refund.aggregation.mapper.RefundStatusMapper;
 import com.intuit.turbotax.refund.aggregation.repository.RefundStatusAggregate;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusHistory;
 import com.intuit.turbotax.refund.aggregation.repository.RefundStatusRepository;
 import com.intuit.turbotax.refund.aggregation.validation.RefundAggregationValidator;
 
@@ -28,28 +32,84 @@ public class RefundAggregationService {
     private final RefundStatusRepository repository;
     private final RefundStatusMapper mapper;
     private final RefundAggregationValidator validator;
+    private final RefundStatusCache cache;
 
     /**
      * Retrieves refund status data for a specific filing ID.
-     * This method is cached to improve performance for repeated requests.
+     * Results are cached; saves keep cached results current.
      *
      * @param filingId the unique filing identifier
      * @return Optional containing refund status data if found
      */
-    @Cacheable(value = "refundStatus", key = "#filingId")
     public Optional<RefundStatusData> getRefundStatusForFiling(int filingId) {
         LOG.debug("Getting refund status for filingId={}", filingId);
 
         validator.validateFilingId(filingId);
 
+        Cache.ValueWrapper cached = cache.get(filingId);
+        if (cached != null) {
+            return Optional.ofNullable((RefundStatusData) cached.get());
+        }
+
+        // Read the version first, so that the cache can tell whether a save landed after this read
+        long version = repository.getVersion(filingId);
         Optional<RefundStatusAggregate> status = repository.findByFilingId(filingId);
         if (status.isEmpty()) {
+            // Not cached: lookups of unknown filingIds would otherwise push out real entries
             LOG.debug("No refund status found for filingId={}", filingId);
             return Optional.empty();
         }
 
         LOG.debug("Found refund status for filingId={}", filingId);
         RefundStatusData resultData = mapper.mapToApi(filingId, status.get());
+        cache.putIfCurrent(filingId, version, resultData);
         return Optional.of(resultData);
     }
+
+    /**
+     * Retrieves the status transitions of a specific filing, oldest first.
+     *
+     * @param filingId the unique filing identifier
+     * @return Optional containing the filing's status history if found
+     */
+    public Optional<RefundStatusHistoryData> getRefundStatusHistory(int filingId) {
+        LOG.debug("Getting refund status history for filingId={}", filingId);
+
+        validator.validateFilingId(filingId);
+
+        Optional<RefundStatusAggregate> status = repository.findByFilingId(filingId);
+        Optional<RefundStatusHistory> history = repository.findHistoryByFilingId(filingId);
+        if (status.isEmpty() || history.isEmpty()) {
+            LOG.debug("No refund status history found for filingId={}", filingId);
+            return Optional.empty();
+        }
+        return Optional.of(mapper.mapHistoryToApi(status.get(), history.get()));
+    }
+
+    /**
+     * Retrieves the refund status a filing had at a given time. The returned
+     * lastUpdatedAt is the time the filing entered that status.
+     *
+     * @param filingId the unique filing identifier
+     * @param asOf     the point in time
+     * @return Optional containing the status at that time, empty if the filing is unknown
+     *         or the time precedes its retained history
+     */
+    public Optional<RefundStatusData> getRefundStatusAsOf(int filingId, Instant asOf) {
+        LOG.debug("Getting refund status for filingId={} as of {}", filingId, asOf);
+
+        validator.validateFilingId(filingId);
+
+        Optional<RefundStatusAggregate> status = repository.findByFilingId(filingId);
+        Optional<RefundStatusHistory> history = repository.findHistoryByFilingId(filingId);
+        if (status.isEmpty() || history.isEmpty()) {
+            return Optional.empty();
+        }
+        int index = history.get().indexAsOf(asOf);
+        if (index < 0) {
+            LOG.debug("No refund status recorded for filingId={} as of {}", filingId, asOf);
+            return Optional.empty();
+        }
+        return Optional.of(mapper.mapTransitionToApi(status.get(), history.get(), index));
+    }
 }
\ No newline at end of file
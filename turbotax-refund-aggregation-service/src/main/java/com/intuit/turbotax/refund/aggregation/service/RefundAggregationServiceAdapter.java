@@ -1,10 +1,12 @@
 package com.intuit.turbotax.refund.aggregation.service;
 
+import java.time.Instant;
 import java.util.Optional;
 
 import org.springframework.stereotype.Component;
 
 import com.intuit.turbotax.api.v1.refund.model.RefundStatusData;
+import com.intuit.turbotax.api.v1.refund.model.RefundStatusHistoryData;
 import com.intuit.turbotax.api.v1.refund.service.RefundDataAggregator;
 
 /**
@@ -24,4 +26,12 @@ public class RefundAggregationServiceAdapter implements RefundDataAggregator {
     public Optional<RefundStatusData> getRefundStatusForFiling(int filingId) {
         return refundAggregationService.getRefundStatusForFiling(filingId);
     }
+
+    public Optional<RefundStatusHistoryData> getRefundStatusHistory(int filingId) {
+        return refundAggregationService.getRefundStatusHistory(filingId);
+    }
+
+    public Optional<RefundStatusData> getRefundStatusAsOf(int filingId, Instant asOf) {
+        return refundAggregationService.getRefundStatusAsOf(filingId, asOf);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.intuit.turbotax.refund.aggregation.service;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Outcome of one sweep over the active filings, or over the filings given to
+ * {@link RefundStatusUpdateService#updateFilings}.
+ *
+ * @param processed filings whose status was fetched from an agency
+ * @param changed   processed filings whose status changed and was saved
+ * @param failed    filings whose update threw an error
+ * @param skipped   active filings not processed because the sweep deadline passed
+ * @param elapsed   wall-clock duration of the sweep
+ * @param unprocessedFilingIds the failed and skipped filings given to updateFilings;
+ *                  always empty for a sweep over all active filings
+ */
+public record RefundStatusSweepResult(
+        long processed,
+        long changed,
+        long failed,
+        long skipped,
+        Duration elapsed,
+        Set<Integer> unprocessedFilingIds) {
+}
@@ -1,7 +1,22 @@
 package com.intuit.turbotax.refund.aggregation.service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
 
 import org.slf4j.Logger;
@@ -10,8 +25,11 @@ import org.springframework.stereotype.Service;
 
 import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
 import com.intuit.turbotax.api.v1.refund.model.RefundStatus;
+import com.intuit.turbotax.refund.aggregation.config.RefundAggregationProperties;
+import com.intuit.turbotax.refund.aggregation.exception.AgencyUnavailableException;
 import com.intuit.turbotax.refund.aggregation.job.processors.IrsStatusProcessor;
 import com.intuit.turbotax.refund.aggregation.job.processors.StateTaxStatusProcessor;
+import com.intuit.turbotax.refund.aggregation.job.resilience.AgencyCallExecutor;
 import com.intuit.turbotax.refund.aggregation.repository.RefundStatusAggregate;
 import com.intuit.turbotax.refund.aggregation.repository.RefundStatusRepository;
 
@@ -28,30 +46,64 @@ public class RefundStatusUpdateService {
 
     private static final Logger LOG = LoggerFactory.getLogger(RefundStatusUpdateService.class);
 
+    // Time granted to status calls timed out at the sweep deadline to unwind
+    private static final Duration INTERRUPT_GRACE = Duration.ofSeconds(5);
+
     private final RefundStatusRepository repository;
     private final IrsStatusProcessor irsProcessor;
     private final StateTaxStatusProcessor stateTaxProcessor;
+    private final RefundAggregationProperties properties;
+    private final AgencyCallExecutor agencyCalls;
+
+    private enum Outcome {
+        CHANGED, UNCHANGED, FAILED
+    }
 
     /**
      * Updates refund statuses for all active filings.
+     * Filings are grouped by jurisdiction into batches bounded by size and by how long
+     * the oldest filing has waited. Each batch is fetched in one agency call made through
+     * the {@link AgencyCallExecutor}, so blocking calls overlap instead of running back to
+     * back, and a slow or failing agency holds up only its own batches. The sweep stops
+     * starting filings once its deadline passes.
      *
-     * @return the number of filings processed
+     * @return processed, changed, failed and skipped filing counts
      */
-    public long updateAllActiveFilings() {
+    public RefundStatusSweepResult updateAllActiveFilings() {
         LOG.info("Starting refund status update for all active filings");
 
+        ActiveFilingSweep sweep = new ActiveFilingSweep(properties.getSweep(), properties.getSweep().getDeadline(), false);
         try (Stream<Integer> activeFilingIds = repository.getActiveFilingIds()) {
-            long count = activeFilingIds
-                    .mapToLong(filingId -> updateFilingStatus(filingId) ? 1L : 0L)
-                    .sum();
-
-            LOG.info("Completed refund status update, processed {} active filings", count);
-            return count;
+            sweep.run(activeFilingIds.iterator());
         }
+
+        RefundStatusSweepResult result = sweep.result();
+        LOG.info("Completed refund status update: processed={}, changed={}, failed={}, skipped={} in {} ms",
+                result.processed(), result.changed(), result.failed(), result.skipped(), result.elapsed().toMillis());
+        return result;
+    }
+
+    /**
+     * Updates refund statuses for the given filings the same way as a sweep over all
+     * active filings: batched per jurisdiction and made through the agency call executor,
+     * but bounded by the given deadline.
+     * Filings that are missing or already final are left alone.
+     *
+     * @param filingIds the filing IDs to update
+     * @param deadline  how long the update may take
+     * @return processed, changed, failed and skipped filing counts, and the filings that
+     *         failed or were skipped
+     */
+    public RefundStatusSweepResult updateFilings(Collection<Integer> filingIds, Duration deadline) {
+        ActiveFilingSweep sweep = new ActiveFilingSweep(properties.getSweep(), deadline, true);
+        sweep.run(filingIds.iterator());
+        return sweep.result();
     }
 
     /**
-     * Updates the status for a specific filing.
+     * Updates the status for a specific filing. The call is given as long as every
+     * attempt may take plus the longest delays between them, rather than a whole sweep's
+     * deadline, so the caller waits no longer than the agency call can.
      *
      * @param filingId the filing ID to update
      * @return true if the status was updated, false otherwise
@@ -65,18 +117,271 @@ public class RefundStatusUpdateService {
                 LOG.debug("No existing status found for filingId={}, skipping", filingId);
                 return false;
             }
-
             RefundStatusAggregate current = currentStatus.get();
+            if (isFinal(current)) {
+                return false;
+            }
+            long budget = singleCallBudget().toNanos();
+            Optional<RefundStatus> updatedStatus = agencyCalls.submit(current.jurisdiction(),
+                    () -> fetchUpdatedStatus(filingId, current.jurisdiction()),
+                    System.nanoTime() + budget).get(budget + INTERRUPT_GRACE.toNanos(), TimeUnit.NANOSECONDS);
+            return applyStatus(current, updatedStatus) == Outcome.CHANGED;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (TimeoutException e) {
+            LOG.error("Timed out updating status for filingId={} after {} ms", filingId,
+                    singleCallBudget().plus(INTERRUPT_GRACE).toMillis());
+            return false;
+        } catch (ExecutionException e) {
+            LOG.error("Error updating status for filingId={}: {}", filingId, e.getCause().getMessage());
+            return false;
+        } catch (Exception e) {
+            LOG.error("Error updating status for filingId={}: {}", filingId, e.getMessage());
+            return false;
+        }
+    }
 
-            // Skip if already in final status
-            if (current.status().isFinal()) {
-                LOG.debug("FilingId={} is already in final status {}, skipping", filingId, current.status());
+    /**
+     * Returns the longest an agency call can take: {@code externalServiceTimeout} for the
+     * first attempt and each retry, plus the full {@code retryDelay}, doubled per retry,
+     * before each retry.
+     */
+    private Duration singleCallBudget() {
+        Duration budget = properties.getExternalServiceTimeout().multipliedBy(properties.getMaxRetryAttempts() + 1L);
+        Duration delay = properties.getRetryDelay();
+        for (int retry = 0; retry < properties.getMaxRetryAttempts(); retry++) {
+            budget = budget.plus(delay);
+            delay = delay.multipliedBy(2);
+        }
+        return budget;
+    }
+
+    /**
+     * State of one sweep: the open batch per jurisdiction, the queue slots and the counters.
+     * Batches are filled by the calling thread and fetched asynchronously; each releases
+     * its queue slots once its call has finished.
+     */
+    private final class ActiveFilingSweep {
+
+        private final RefundAggregationProperties.Sweep settings;
+        private final long started = System.nanoTime();
+        private final long deadline;
+        private final Semaphore queued;
+        private final Map<Jurisdiction, PendingBatch> pending = new EnumMap<>(Jurisdiction.class);
+        // A changed filing moves to another status, which the active filing stream may visit later
+        private final Set<Integer> changedFilingIds = ConcurrentHashMap.newKeySet();
+        // Filings in open batches; touched by the calling thread only
+        private int openFilings;
+        private final LongAdder processed = new LongAdder();
+        private final LongAdder changed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        // Failed and skipped filings; only tracked for updates of given filings, which are few
+        private final Set<Integer> unprocessed;
+
+        ActiveFilingSweep(RefundAggregationProperties.Sweep settings, Duration deadline, boolean trackUnprocessed) {
+            this.settings = settings;
+            this.deadline = started + deadline.toNanos();
+            this.queued = new Semaphore(settings.getMaxQueuedFilings());
+            this.unprocessed = trackUnprocessed ? ConcurrentHashMap.newKeySet() : null;
+        }
+
+        void run(Iterator<Integer> filingIds) {
+            try {
+                while (filingIds.hasNext()) {
+                    int filingId = filingIds.next();
+                    if (!reserveSlot()) {
+                        skipped.increment();
+                        unprocessed(filingId);
+                        filingIds.forEachRemaining(remainingId -> {
+                            skipped.increment();
+                            unprocessed(remainingId);
+                        });
+                        LOG.warn("Refund status sweep reached its {} deadline; skipping the remaining filings",
+                                settings.getDeadline());
+                        break;
+                    }
+                    enqueue(filingId);
+                    flushExpired();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOG.warn("Refund status sweep interrupted; waiting for filings already started");
+            } finally {
+                flushAll();
+                awaitSweep();
+            }
+        }
+
+        RefundStatusSweepResult result() {
+            return new RefundStatusSweepResult(processed.sum(), changed.sum(), failed.sum(), skipped.sum(),
+                    Duration.ofNanos(System.nanoTime() - started), unprocessed == null ? Set.of() : Set.copyOf(unprocessed));
+        }
+
+        private void unprocessed(int filingId) {
+            if (unprocessed != null) {
+                unprocessed.add(filingId);
+            }
+        }
+
+        /**
+         * Waits for the batches already submitted. Their calls time out at the deadline,
+         * so this waits until shortly after it at most.
+         */
+        private void awaitSweep() {
+            try {
+                if (!queued.tryAcquire(settings.getMaxQueuedFilings(),
+                        Math.max(remaining(deadline), 0) + INTERRUPT_GRACE.toNanos(), TimeUnit.NANOSECONDS)) {
+                    LOG.warn("Refund status sweep passed its deadline with status calls still unwinding");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Takes a slot for one more filing, waiting at most until the deadline.
+         */
+        private boolean reserveSlot() throws InterruptedException {
+            if (remaining(deadline) <= 0) {
                 return false;
             }
+            if (queued.tryAcquire()) {
+                return true;
+            }
+            // Batches in flight free slots as they finish. Filings in open batches hold slots
+            // too, but sending them early would spend an agency call, and its rate, on a
+            // partial batch, so that is only done once no slot has freed up for a while
+            boolean batchesInFlight = openFilings < settings.getMaxQueuedFilings() - queued.availablePermits();
+            long wait = batchesInFlight ? Math.min(settings.getMaxBatchDelay().toNanos(), remaining(deadline)) : 0;
+            if (queued.tryAcquire(Math.max(wait, 0), TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+            flushAll();
+            return queued.tryAcquire(Math.max(remaining(deadline), 0), TimeUnit.NANOSECONDS);
+        }
+
+        private void enqueue(int filingId) {
+            RefundStatusAggregate current;
+            try {
+                current = repository.findByFilingId(filingId).orElse(null);
+            } catch (Exception e) {
+                LOG.error("Error updating status for filingId={}: {}", filingId, e.getMessage());
+                failed.increment();
+                unprocessed(filingId);
+                queued.release();
+                return;
+            }
+            if (current == null || isFinal(current) || changedFilingIds.contains(filingId)) {
+                queued.release();
+                return;
+            }
+
+            Jurisdiction jurisdiction = current.jurisdiction();
+            PendingBatch batch = pending.computeIfAbsent(jurisdiction, j -> new PendingBatch(System.nanoTime()));
+            batch.filings().add(current);
+            openFilings++;
+            if (batch.filings().size() >= settings.getBatchSize()) {
+                submit(jurisdiction, pending.remove(jurisdiction));
+            }
+        }
+
+        private void flushExpired() {
+            long now = System.nanoTime();
+            long maxDelay = settings.getMaxBatchDelay().toNanos();
+            pending.entrySet().removeIf(entry -> {
+                if (now - entry.getValue().openedAt() < maxDelay) {
+                    return false;
+                }
+                submit(entry.getKey(), entry.getValue());
+                return true;
+            });
+        }
+
+        private void flushAll() {
+            pending.forEach(this::submit);
+            pending.clear();
+        }
+
+        private void submit(Jurisdiction jurisdiction, PendingBatch batch) {
+            List<RefundStatusAggregate> filings = batch.filings();
+            openFilings -= filings.size();
+            List<Integer> filingIds = filings.stream().map(RefundStatusAggregate::filingId).toList();
+            agencyCalls.submit(jurisdiction, () -> fetchUpdatedStatuses(jurisdiction, filingIds), deadline)
+                    .whenComplete((statuses, error) -> {
+                        try {
+                            if (error == null) {
+                                applyStatuses(filings, statuses);
+                            } else {
+                                countFailedBatch(jurisdiction, filings, error);
+                            }
+                        } finally {
+                            queued.release(filings.size());
+                        }
+                    });
+        }
+
+        private void countFailedBatch(Jurisdiction jurisdiction, List<RefundStatusAggregate> filings,
+                Throwable error) {
+            filings.forEach(filing -> unprocessed(filing.filingId()));
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            // Filings whose call was never made, such as after the deadline, are skipped rather than failed
+            if (cause instanceof AgencyUnavailableException unavailable
+                    && unavailable.getReason() == AgencyUnavailableException.Reason.DEADLINE) {
+                skipped.add(filings.size());
+                return;
+            }
+            LOG.error("Error updating status for {} {} filings: {}", filings.size(), jurisdiction, cause.getMessage());
+            failed.add(filings.size());
+        }
+
+        private void applyStatuses(List<RefundStatusAggregate> filings, Map<Integer, RefundStatus> statuses) {
+            for (RefundStatusAggregate current : filings) {
+                switch (applyStatus(current, Optional.ofNullable(statuses.get(current.filingId())))) {
+                    case CHANGED -> {
+                        processed.increment();
+                        changed.increment();
+                        changedFilingIds.add(current.filingId());
+                    }
+                    case UNCHANGED -> processed.increment();
+                    case FAILED -> {
+                        failed.increment();
+                        unprocessed(current.filingId());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Filings of one jurisdiction waiting to be fetched together.
+     */
+    private record PendingBatch(long openedAt, List<RefundStatusAggregate> filings) {
+
+        PendingBatch(long openedAt) {
+            this(openedAt, new ArrayList<>());
+        }
+    }
 
-            // Fetch updated status from external service
-            Optional<RefundStatus> updatedStatus = fetchUpdatedStatus(filingId, current.jurisdiction());
+    private static boolean isFinal(RefundStatusAggregate current) {
+        // Skip if already in final status
+        if (current.status().isFinal()) {
+            LOG.debug("FilingId={} is already in final status {}, skipping", current.filingId(), current.status());
+            return true;
+        }
+        return false;
+    }
 
+    /**
+     * Saves the fetched status if it differs from the current one.
+     */
+    private Outcome applyStatus(RefundStatusAggregate current, Optional<RefundStatus> updatedStatus) {
+        int filingId = current.filingId();
+        try {
             if (updatedStatus.isPresent() && updatedStatus.get() != current.status()) {
                 LOG.info("Status changed for filingId={}: {} -> {}", filingId, current.status(), updatedStatus.get());
 
@@ -93,17 +398,21 @@ public class RefundStatusUpdateService {
 
                 repository.save(updated);
                 LOG.info("Saved updated status for filingId={}", filingId);
-                return true;
+                return Outcome.CHANGED;
             }
 
-            return false;
+            return Outcome.UNCHANGED;
 
         } catch (Exception e) {
             LOG.error("Error updating status for filingId={}: {}", filingId, e.getMessage());
-            return false;
+            return Outcome.FAILED;
         }
     }
 
+    private static long remaining(long deadline) {
+        return deadline - System.nanoTime();
+    }
+
     /**
      * Fetches updated status from the appropriate external service based on
      * jurisdiction.
@@ -119,6 +428,20 @@ public class RefundStatusUpdateService {
         };
     }
 
+    /**
+     * Fetches updated statuses for a batch of filings of one jurisdiction.
+     */
+    private Map<Integer, RefundStatus> fetchUpdatedStatuses(Jurisdiction jurisdiction, List<Integer> filingIds) {
+        return switch (jurisdiction) {
+            case FEDERAL -> irsProcessor.fetchStatuses(filingIds);
+            case STATE_CA, STATE_NY, STATE_NJ -> stateTaxProcessor.fetchStatuses(filingIds, jurisdiction);
+            default -> {
+                LOG.warn("Unknown jurisdiction {} for {} filings", jurisdiction, filingIds.size());
+                yield Map.of();
+            }
+        };
+    }
+
     /**
      * Generates a user-friendly status message based on the refund status.
      */
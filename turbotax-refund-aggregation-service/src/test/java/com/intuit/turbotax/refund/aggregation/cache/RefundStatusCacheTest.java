@@ -0,0 +1,132 @@
+package com.intuit.turbotax.refund.aggregation.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.refund.model.RefundStatus;
+import com.intuit.turbotax.api.v1.refund.model.RefundStatusData;
+import com.intuit.turbotax.refund.aggregation.config.RefundAggregationProperties;
+import com.intuit.turbotax.refund.aggregation.mapper.RefundStatusMapper;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusAggregate;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusRepositoryImpl;
+
+class RefundStatusCacheTest {
+
+    private static final int MAX_ENTRIES = 4;
+
+    private final RefundStatusMapper mapper = new RefundStatusMapper();
+
+    private RefundStatusRepositoryImpl repository;
+    private RefundStatusCache cache;
+
+    @BeforeEach
+    void setUp() {
+        RefundAggregationProperties properties = new RefundAggregationProperties();
+        properties.getCache().setMaxEntries(MAX_ENTRIES);
+        repository = new RefundStatusRepositoryImpl(properties);
+        cache = new RefundStatusCache(repository, mapper, properties);
+        cache.subscribe();
+    }
+
+    @Test
+    void putIfCurrent_ShouldNotCacheRead_WhenFilingWasSavedSince() {
+        // Given: a read sees version 1, then a newer save lands before it is cached
+        repository.save(createAggregate(1001, RefundStatus.FILED));
+        long version = repository.getVersion(1001);
+        RefundStatusData stale = mapper.mapToApi(1001, repository.findByFilingId(1001).orElseThrow());
+        repository.save(createAggregate(1001, RefundStatus.ACCEPTED));
+
+        // When
+        cache.putIfCurrent(1001, version, stale);
+
+        // Then
+        assertThat(cache.get(1001)).isNull();
+    }
+
+    @Test
+    void onSaved_ShouldReplaceCachedEntry() {
+        // Given
+        repository.save(createAggregate(1001, RefundStatus.FILED));
+        cache.putIfCurrent(1001, repository.getVersion(1001),
+                mapper.mapToApi(1001, repository.findByFilingId(1001).orElseThrow()));
+
+        // When
+        repository.save(createAggregate(1001, RefundStatus.ACCEPTED));
+
+        // Then
+        assertThat(cache.get(1001, RefundStatusData.class).status()).isEqualTo(RefundStatus.ACCEPTED);
+    }
+
+    @Test
+    void putIfCurrent_ShouldNotCacheNeverSavedFiling() {
+        // When
+        cache.putIfCurrent(1001, repository.getVersion(1001), null);
+
+        // Then
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void put_ShouldCacheValueAtCurrentVersion() {
+        // Given
+        repository.save(createAggregate(1001, RefundStatus.FILED));
+        cache.put(1001, mapper.mapToApi(1001, repository.findByFilingId(1001).orElseThrow()));
+
+        // When
+        repository.save(createAggregate(1001, RefundStatus.ACCEPTED));
+
+        // Then
+        assertThat(cache.get(1001, RefundStatusData.class).status()).isEqualTo(RefundStatus.ACCEPTED);
+    }
+
+    @Test
+    void onSaved_ShouldNotCacheUncachedFiling() {
+        // When
+        repository.save(createAggregate(1001, RefundStatus.FILED));
+
+        // Then
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void putIfCurrent_ShouldEvictUnreadEntries_WhenFull() {
+        // Given
+        for (int filingId = 1; filingId <= MAX_ENTRIES + 1; filingId++) {
+            repository.save(createAggregate(filingId, RefundStatus.FILED));
+        }
+        for (int filingId = 1; filingId <= MAX_ENTRIES; filingId++) {
+            cacheRead(filingId);
+        }
+        cache.get(1);
+
+        // When
+        cacheRead(MAX_ENTRIES + 1);
+
+        // Then
+        assertThat(cache.size()).isEqualTo(MAX_ENTRIES);
+        assertThat(cache.get(1)).isNotNull();
+    }
+
+    private void cacheRead(int filingId) {
+        long version = repository.getVersion(filingId);
+        cache.putIfCurrent(filingId, version, mapper.mapToApi(filingId, repository.findByFilingId(filingId).orElseThrow()));
+    }
+
+    private RefundStatusAggregate createAggregate(int filingId, RefundStatus status) {
+        return new RefundStatusAggregate(
+                filingId,
+                "TRACK-" + filingId,
+                Jurisdiction.FEDERAL,
+                status,
+                "RAW-" + filingId,
+                "Test message for " + filingId,
+                Instant.now(),
+                BigDecimal.valueOf(1000.00));
+    }
+}
@@ -3,6 +3,7 @@ package com.intuit.turbotax.refund.aggregation.controller;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
@@ -14,6 +15,8 @@ import org.springframework.test.web.reactive.server.WebTestClient;
 import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
 import com.intuit.turbotax.api.v1.refund.model.RefundStatus;
 import com.intuit.turbotax.api.v1.refund.model.RefundStatusData;
+import com.intuit.turbotax.api.v1.refund.model.RefundStatusHistoryData;
+import com.intuit.turbotax.api.v1.refund.model.RefundStatusTransition;
 import com.intuit.turbotax.refund.aggregation.service.RefundAggregationServiceAdapter;
 
 @WebFluxTest(RefundAggregationController.class)
@@ -63,4 +66,54 @@ class RefundAggregationControllerTest {
                 .exchange()
                 .expectStatus().isNotFound();
     }
-}
\ No newline at end of file
+
+    @Test
+    void getRefundStatusHistory_ShouldReturnTransitions_WhenFound() {
+        // Given
+        int filingId = 12345;
+        RefundStatusHistoryData expectedData = new RefundStatusHistoryData(
+                filingId,
+                Jurisdiction.FEDERAL,
+                List.of(
+                        new RefundStatusTransition(null, RefundStatus.FILED, Instant.parse("2024-02-01T10:00:00Z")),
+                        new RefundStatusTransition(RefundStatus.FILED, RefundStatus.ACCEPTED,
+                                Instant.parse("2024-02-02T10:00:00Z"))));
+
+        when(refundAggregationServiceAdapter.getRefundStatusHistory(filingId))
+                .thenReturn(Optional.of(expectedData));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/aggregate-status/filings/{filingId}/history", filingId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.filingId").isEqualTo(filingId)
+                .jsonPath("$.transitions.length()").isEqualTo(2)
+                .jsonPath("$.transitions[1].fromStatus").isEqualTo("FILED")
+                .jsonPath("$.transitions[1].toStatus").isEqualTo("ACCEPTED");
+    }
+
+    @Test
+    void getRefundStatusForFilingAsOf_ShouldReturnStatusAtInstant() {
+        // Given
+        int filingId = 12345;
+        Instant asOf = Instant.parse("2024-02-03T00:00:00Z");
+        RefundStatusData expectedData = new RefundStatusData(
+                filingId,
+                RefundStatus.ACCEPTED,
+                Jurisdiction.FEDERAL,
+                Instant.parse("2024-02-02T10:00:00Z"));
+
+        when(refundAggregationServiceAdapter.getRefundStatusAsOf(filingId, asOf))
+                .thenReturn(Optional.of(expectedData));
+
+        // When & Then
+        webTestClient.get()
+                .uri("/api/v1/aggregate-status/filings/{filingId}?asOf={asOf}", filingId, asOf)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("ACCEPTED");
+    }
+}
@@ -0,0 +1,112 @@
+package com.intuit.turbotax.refund.aggregation.job.limiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.refund.aggregation.config.RefundAggregationProperties;
+
+class AgencyRateLimiterTest {
+
+    private static final long ONE_SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final RefundAggregationProperties.RateLimit settings = new RefundAggregationProperties.RateLimit();
+
+    @Test
+    void succeeded_ShouldGrowLimitWhileLimiterIsInUse() throws InterruptedException {
+        // Given
+        settings.setInitialConcurrency(2);
+        settings.setBurst(16);
+        AgencyRateLimiter limiter = new AgencyRateLimiter(Jurisdiction.FEDERAL, 1_000_000, 16, settings);
+
+        // When: ten rounds of calls, each using the whole limit
+        for (int round = 0; round < 10; round++) {
+            List<AgencyRateLimiter.Permit> permits = acquireAll(limiter);
+            permits.forEach(AgencyRateLimiter.Permit::succeeded);
+        }
+
+        // Then
+        assertThat(limiter.limit()).isGreaterThan(8).isLessThanOrEqualTo(16);
+    }
+
+    @Test
+    void failed_ShouldBackOffOncePerRoundOfCalls() throws InterruptedException {
+        // Given
+        settings.setInitialConcurrency(8);
+        settings.setBackoffRatio(0.5);
+        AgencyRateLimiter limiter = new AgencyRateLimiter(Jurisdiction.STATE_CA, 1000, 16, settings);
+        List<AgencyRateLimiter.Permit> round = acquireAll(limiter);
+
+        // When: every call of the round fails
+        round.forEach(AgencyRateLimiter.Permit::failed);
+
+        // Then
+        assertThat(limiter.limit()).isEqualTo(4);
+        assertThat(limiter.backoffs()).isEqualTo(1);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void succeeded_ShouldBackOff_WhenCallIsMuchSlowerThanUsual() throws InterruptedException {
+        // Given
+        settings.setInitialConcurrency(4);
+        AgencyRateLimiter limiter = new AgencyRateLimiter(Jurisdiction.STATE_NY, 1000, 16, settings);
+        AgencyRateLimiter.Permit fast = limiter.acquire(System.nanoTime() + ONE_SECOND);
+        Thread.sleep(5);
+        fast.succeeded();
+        double limitBefore = limiter.limit();
+
+        // When
+        AgencyRateLimiter.Permit slow = limiter.acquire(System.nanoTime() + ONE_SECOND);
+        Thread.sleep(50);
+        slow.succeeded();
+
+        // Then
+        assertThat(limiter.limit()).isLessThan(limitBefore);
+        assertThat(limiter.backoffs()).isEqualTo(1);
+    }
+
+    @Test
+    void acquire_ShouldGiveUp_WhenNextTokenIsDueAfterDeadline() throws InterruptedException {
+        // Given
+        settings.setBurst(1);
+        AgencyRateLimiter limiter = new AgencyRateLimiter(Jurisdiction.FEDERAL, 1, 16, settings);
+        limiter.acquire(System.nanoTime() + ONE_SECOND).succeeded();
+
+        // When
+        AgencyRateLimiter.Permit permit = limiter.acquire(System.nanoTime() + Duration.ofMillis(50).toNanos());
+
+        // Then
+        assertThat(permit).isNull();
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void acquire_ShouldGiveUp_WhenNoSlotFreesBeforeDeadline() throws InterruptedException {
+        // Given
+        settings.setInitialConcurrency(1);
+        AgencyRateLimiter limiter = new AgencyRateLimiter(Jurisdiction.FEDERAL, 1000, 16, settings);
+        AgencyRateLimiter.Permit held = limiter.acquire(System.nanoTime() + ONE_SECOND);
+
+        // When
+        AgencyRateLimiter.Permit permit = limiter.acquire(System.nanoTime() + Duration.ofMillis(20).toNanos());
+
+        // Then
+        assertThat(permit).isNull();
+        held.cancelled();
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    private static List<AgencyRateLimiter.Permit> acquireAll(AgencyRateLimiter limiter) throws InterruptedException {
+        List<AgencyRateLimiter.Permit> permits = new ArrayList<>();
+        for (int i = (int) limiter.limit(); i > 0; i--) {
+            permits.add(limiter.acquire(System.nanoTime() + ONE_SECOND));
+        }
+        return permits;
+    }
+}
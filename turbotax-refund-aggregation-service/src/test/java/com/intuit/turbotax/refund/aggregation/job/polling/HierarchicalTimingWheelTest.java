@@ -0,0 +1,86 @@
+package com.intuit.turbotax.refund.aggregation.job.polling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+
+    private static final Duration TICK = Duration.ofSeconds(1);
+
+    @Test
+    void advanceTo_ShouldExpireEachFilingOnItsDueTickAcrossLevels() {
+        // Given: due times on level 0, on level boundaries and beyond the top level
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, 0);
+        long[] dueSeconds = { 3, 64, 65, 4_096, 262_144, 16_777_216, 20_000_000 };
+        for (int filingId = 0; filingId < dueSeconds.length; filingId++) {
+            wheel.schedule(filingId, dueSeconds[filingId] * 1000);
+        }
+
+        // When / Then: nothing expires a tick early, and each filing expires exactly on its tick
+        for (int filingId = 0; filingId < dueSeconds.length; filingId++) {
+            List<Integer> early = new ArrayList<>();
+            wheel.advanceTo((dueSeconds[filingId] - 1) * 1000, early::add);
+            List<Integer> onTime = new ArrayList<>();
+            wheel.advanceTo(dueSeconds[filingId] * 1000, onTime::add);
+
+            assertThat(early).isEmpty();
+            assertThat(onTime).containsExactly(filingId);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void schedule_ShouldReplacePreviousDueTime() {
+        // Given
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, 0);
+        wheel.schedule(1, 10_000);
+        wheel.schedule(1, 100_000);
+
+        // When
+        List<Integer> expiredEarly = new ArrayList<>();
+        wheel.advanceTo(50_000, expiredEarly::add);
+        List<Integer> expiredLate = new ArrayList<>();
+        wheel.advanceTo(100_000, expiredLate::add);
+
+        // Then
+        assertThat(expiredEarly).isEmpty();
+        assertThat(expiredLate).containsExactly(1);
+    }
+
+    @Test
+    void cancel_ShouldDropFiling() {
+        // Given
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, 0);
+        wheel.schedule(1, 5_000);
+        wheel.schedule(2, 5_000);
+
+        // When
+        boolean cancelled = wheel.cancel(1);
+        List<Integer> expired = new ArrayList<>();
+        wheel.advanceTo(10_000, expired::add);
+
+        // Then
+        assertThat(cancelled).isTrue();
+        assertThat(expired).containsExactly(2);
+        assertThat(wheel.isScheduled(1)).isFalse();
+    }
+
+    @Test
+    void schedule_ShouldExpirePastDueTimeOnNextTick() {
+        // Given
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, 60_000);
+
+        // When
+        wheel.schedule(1, 1_000);
+        List<Integer> expired = new ArrayList<>();
+        wheel.advanceTo(61_000, expired::add);
+
+        // Then
+        assertThat(expired).containsExactly(1);
+    }
+}
@@ -0,0 +1,70 @@
+package com.intuit.turbotax.refund.aggregation.job.polling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import com.intuit.turbotax.api.v1.refund.model.RefundStatus;
+import com.intuit.turbotax.refund.aggregation.config.RefundAggregationProperties;
+
+class RefundPollPolicyTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-01T12:00:00Z");
+
+    private final RefundAggregationProperties.Polling settings = new RefundAggregationProperties.Polling();
+    private final RefundPollPolicy policy = new RefundPollPolicy(settings);
+
+    @Test
+    void nextPollDelay_ShouldShrinkAsExpectedTransitionApproaches() {
+        // Given: SENT_TO_BANK filings are expected to deposit three days after entering the status
+        Instant justSent = NOW;
+        Instant sentTwoDaysAgo = NOW.minus(Duration.ofDays(2));
+        Instant sentAlmostThreeDaysAgo = NOW.minus(Duration.ofDays(3)).plus(Duration.ofHours(1));
+
+        // When / Then
+        assertThat(policy.nextPollDelay(RefundStatus.SENT_TO_BANK, justSent, NOW)).isEqualTo(Duration.ofHours(24));
+        assertThat(policy.nextPollDelay(RefundStatus.SENT_TO_BANK, sentTwoDaysAgo, NOW)).isEqualTo(Duration.ofHours(12));
+        assertThat(policy.nextPollDelay(RefundStatus.SENT_TO_BANK, sentAlmostThreeDaysAgo, NOW))
+                .isEqualTo(Duration.ofMinutes(30));
+    }
+
+    @Test
+    void nextPollDelay_ShouldBackOffOnceExpectedTransitionHasPassed() {
+        // Given
+        Instant acceptedThreeDaysAgo = NOW.minus(Duration.ofDays(3));
+
+        // When
+        Duration delay = policy.nextPollDelay(RefundStatus.ACCEPTED, acceptedThreeDaysAgo, NOW);
+
+        // Then: one day overdue against the two-day expectation
+        assertThat(delay).isEqualTo(Duration.ofHours(12));
+    }
+
+    @Test
+    void nextPollDelay_ShouldStayWithinConfiguredBounds() {
+        // Given
+        Instant filedAlmostOneDayAgo = NOW.minus(Duration.ofDays(1)).plusSeconds(10);
+        Instant delayedJustNow = NOW;
+
+        // When / Then
+        assertThat(policy.nextPollDelay(RefundStatus.FILED, filedAlmostOneDayAgo, NOW))
+                .isEqualTo(settings.getMinInterval());
+        assertThat(policy.nextPollDelay(RefundStatus.DELAYED, delayedJustNow, NOW))
+                .isEqualTo(settings.getMaxInterval());
+    }
+
+    @Test
+    void firstPollAt_ShouldSpreadFirstPollsUpToRegularDelay() {
+        // Given
+        Instant processingSince = NOW;
+
+        // When
+        Instant firstPoll = policy.firstPollAt(RefundStatus.PROCESSING, processingSince, NOW);
+
+        // Then
+        assertThat(firstPoll).isBetween(NOW.plus(settings.getMinInterval()), NOW.plus(settings.getMaxInterval()));
+    }
+}
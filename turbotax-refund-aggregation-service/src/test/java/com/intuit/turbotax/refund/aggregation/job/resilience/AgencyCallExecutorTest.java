@@ -0,0 +1,163 @@
+package com.intuit.turbotax.refund.aggregation.job.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.refund.aggregation.config.RefundAggregationProperties;
+import com.intuit.turbotax.refund.aggregation.exception.AgencyUnavailableException;
+import com.intuit.turbotax.refund.aggregation.job.limiter.AgencyRateLimiters;
+
+class AgencyCallExecutorTest {
+
+    private static final long ONE_MINUTE = Duration.ofMinutes(1).toNanos();
+
+    private final RefundAggregationProperties properties = new RefundAggregationProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AgencyCallExecutor executor = new AgencyCallExecutor(
+            new AgencyRateLimiters(properties, meterRegistry), properties, meterRegistry);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void submit_ShouldRetryFailedAttemptsAfterGrowingDelays() throws Exception {
+        // Given
+        properties.setRetryDelay(Duration.ofMillis(20));
+        AtomicInteger attempts = new AtomicInteger();
+        long started = System.nanoTime();
+
+        // When: the first two attempts fail
+        String status = executor.submit(Jurisdiction.FEDERAL, () -> {
+            if (attempts.incrementAndGet() <= 2) {
+                throw new IllegalStateException("agency unavailable");
+            }
+            return "PROCESSING";
+        }, System.nanoTime() + ONE_MINUTE).get(5, TimeUnit.SECONDS);
+
+        // Then: the retries waited at least half of 20 ms and 40 ms
+        assertThat(status).isEqualTo("PROCESSING");
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isGreaterThanOrEqualTo(Duration.ofMillis(30));
+        assertThat(meterRegistry.get("refund.agency.retries").functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void submit_ShouldFailWithLastError_WhenRetriesAreExhausted() {
+        // Given
+        properties.setMaxRetryAttempts(2);
+        properties.setRetryDelay(Duration.ofMillis(1));
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        CompletableFuture<String> result = executor.submit(Jurisdiction.STATE_CA, () -> {
+            throw new IllegalStateException("attempt " + attempts.incrementAndGet() + " failed");
+        }, System.nanoTime() + ONE_MINUTE);
+
+        // Then
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("attempt 3 failed");
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    void submit_ShouldTimeOutAndInterruptHungCall() throws InterruptedException {
+        // Given
+        properties.setMaxRetryAttempts(0);
+        properties.setExternalServiceTimeout(Duration.ofMillis(50));
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        // When
+        CompletableFuture<String> result = executor.submit(Jurisdiction.STATE_NY, () -> {
+            try {
+                Thread.sleep(Duration.ofSeconds(10));
+                return "PROCESSING";
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+        }, System.nanoTime() + ONE_MINUTE);
+
+        // Then
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void submit_ShouldFailFastWithoutCalling_WhenCircuitIsOpen() throws Exception {
+        // Given
+        properties.setMaxRetryAttempts(0);
+        properties.getCircuitBreaker().setSlidingWindowSize(2);
+        properties.getCircuitBreaker().setMinimumCalls(2);
+        for (int i = 0; i < 2; i++) {
+            executor.submit(Jurisdiction.FEDERAL, () -> {
+                throw new IllegalStateException("agency unavailable");
+            }, System.nanoTime() + ONE_MINUTE).exceptionally(error -> null).get(5, TimeUnit.SECONDS);
+        }
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        CompletableFuture<Integer> result = executor.submit(Jurisdiction.FEDERAL, calls::incrementAndGet,
+                System.nanoTime() + ONE_MINUTE);
+
+        // Then: other agencies are unaffected
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(AgencyUnavailableException.class)
+                .hasMessageContaining("CIRCUIT_OPEN");
+        assertThat(calls.get()).isZero();
+        assertThat(executor.circuitState(Jurisdiction.FEDERAL)).isEqualTo(AgencyCircuitBreaker.State.OPEN);
+        assertThat(executor.submit(Jurisdiction.STATE_CA, calls::incrementAndGet, System.nanoTime() + ONE_MINUTE)
+                .get(5, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+
+    @Test
+    void submit_ShouldRejectCalls_WhenBulkheadIsFullOfTimedOutCalls() throws Exception {
+        // Given: a call that ignores interrupts and outlives its timeout
+        properties.setMaxRetryAttempts(0);
+        properties.setEnableCircuitBreaker(false);
+        properties.setExternalServiceTimeout(Duration.ofMillis(50));
+        properties.getSweep().setMaxConcurrency(Map.of(Jurisdiction.STATE_NJ, 1));
+        CountDownLatch hung = new CountDownLatch(1);
+        CompletableFuture<String> stuck = executor.submit(Jurisdiction.STATE_NJ, () -> {
+            while (true) {
+                try {
+                    hung.await();
+                    return "PROCESSING";
+                } catch (InterruptedException e) {
+                    // keep hanging
+                }
+            }
+        }, System.nanoTime() + ONE_MINUTE);
+        assertThatThrownBy(() -> stuck.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(TimeoutException.class);
+
+        // When
+        CompletableFuture<String> next = executor.submit(Jurisdiction.STATE_NJ, () -> "PROCESSING",
+                System.nanoTime() + ONE_MINUTE);
+
+        // Then
+        assertThatThrownBy(() -> next.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(AgencyUnavailableException.class)
+                .hasMessageContaining("BULKHEAD_FULL");
+        hung.countDown();
+    }
+}
@@ -0,0 +1,99 @@
+package com.intuit.turbotax.refund.aggregation.job.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.intuit.turbotax.refund.aggregation.config.RefundAggregationProperties;
+
+class AgencyCircuitBreakerTest {
+
+    private final RefundAggregationProperties.CircuitBreaker settings = new RefundAggregationProperties.CircuitBreaker();
+
+    @Test
+    void onFailure_ShouldOpen_WhenFailureRateReachesThreshold() {
+        // Given
+        settings.setSlidingWindowSize(4);
+        settings.setMinimumCalls(4);
+        AgencyCircuitBreaker breaker = new AgencyCircuitBreaker(settings, true);
+        for (int i = 0; i < 4; i++) {
+            record(breaker, true);
+        }
+        record(breaker, false);
+        AgencyCircuitBreaker.State belowThreshold = breaker.state();
+
+        // When: half of the last four calls failed, though only a third of all calls did
+        record(breaker, false);
+
+        // Then
+        assertThat(belowThreshold).isEqualTo(AgencyCircuitBreaker.State.CLOSED);
+        assertThat(breaker.state()).isEqualTo(AgencyCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    void onFailure_ShouldStayClosed_UntilMinimumCallsAreRecorded() {
+        // Given
+        settings.setMinimumCalls(5);
+        AgencyCircuitBreaker breaker = new AgencyCircuitBreaker(settings, true);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            record(breaker, false);
+        }
+
+        // Then
+        assertThat(breaker.state()).isEqualTo(AgencyCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void tryAcquirePermission_ShouldLetOneTrialCallThrough_AfterOpenDuration() throws InterruptedException {
+        // Given
+        settings.setSlidingWindowSize(2);
+        settings.setMinimumCalls(2);
+        settings.setOpenDuration(Duration.ofMillis(20));
+        AgencyCircuitBreaker breaker = new AgencyCircuitBreaker(settings, true);
+        record(breaker, false);
+        record(breaker, false);
+        Thread.sleep(30);
+
+        // When
+        boolean trial = breaker.tryAcquirePermission();
+        boolean second = breaker.tryAcquirePermission();
+        breaker.onSuccess();
+
+        // Then
+        assertThat(trial).isTrue();
+        assertThat(second).isFalse();
+        assertThat(breaker.state()).isEqualTo(AgencyCircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    void onFailure_ShouldNeverOpen_WhenDisabled() {
+        // Given
+        settings.setSlidingWindowSize(2);
+        settings.setMinimumCalls(2);
+        AgencyCircuitBreaker breaker = new AgencyCircuitBreaker(settings, false);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            record(breaker, false);
+        }
+
+        // Then
+        assertThat(breaker.state()).isEqualTo(AgencyCircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+    }
+
+    private static void record(AgencyCircuitBreaker breaker, boolean succeeded) {
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        if (succeeded) {
+            breaker.onSuccess();
+        } else {
+            breaker.onFailure();
+        }
+    }
+}
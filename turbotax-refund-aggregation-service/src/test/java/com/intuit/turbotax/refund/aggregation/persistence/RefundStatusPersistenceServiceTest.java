@@ -0,0 +1,104 @@
+package com.intuit.turbotax.refund.aggregation.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.refund.model.RefundStatus;
+import com.intuit.turbotax.refund.aggregation.config.RefundAggregationProperties;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusAggregate;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusRepositoryImpl;
+
+class RefundStatusPersistenceServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void recover_ShouldReturnFalseWhenNothingIsPersisted() {
+        // Given
+        RefundStatusPersistenceService service = createService(new RefundStatusRepositoryImpl());
+
+        // When
+        boolean recovered = service.recover();
+
+        // Then
+        assertThat(recovered).isFalse();
+    }
+
+    @Test
+    void recover_ShouldRestoreSavesFromLogAfterCrash() {
+        // Given: saves acknowledged, then the process dies without a shutdown snapshot
+        RefundStatusRepositoryImpl before = new RefundStatusRepositoryImpl();
+        createService(before).recover();
+        before.save(createAggregate(1001, RefundStatus.FILED));
+        before.save(createAggregate(1001, RefundStatus.PROCESSING));
+        before.save(createAggregate(1002, RefundStatus.ACCEPTED));
+
+        // When
+        RefundStatusRepositoryImpl after = new RefundStatusRepositoryImpl();
+        boolean recovered = createService(after).recover();
+
+        // Then
+        assertThat(recovered).isTrue();
+        assertThat(after.findAll()).containsExactlyInAnyOrderElementsOf(before.findAll().toList());
+        assertThat(after.countByStatus(RefundStatus.FILED)).isZero();
+    }
+
+    @Test
+    void recover_ShouldCombineSnapshotWithLaterLogEntries() throws IOException {
+        // Given
+        RefundStatusRepositoryImpl before = new RefundStatusRepositoryImpl();
+        RefundStatusPersistenceService service = createService(before);
+        service.recover();
+        before.save(createAggregate(2001, RefundStatus.PROCESSING));
+        before.save(createAggregate(2002, RefundStatus.PROCESSING));
+        long written = service.writeSnapshot();
+        before.save(createAggregate(2002, RefundStatus.SENT_TO_BANK));
+
+        // When
+        RefundStatusRepositoryImpl after = new RefundStatusRepositoryImpl();
+        createService(after).recover();
+
+        // Then: the snapshot replaced the segment holding the first two saves
+        assertThat(written).isEqualTo(2);
+        assertThat(files(".snap")).isEqualTo(1);
+        assertThat(files(".log")).isEqualTo(2);
+        assertThat(after.findAll()).containsExactlyInAnyOrderElementsOf(before.findAll().toList());
+        assertThat(after.findHistoryByFilingId(2002)).isEqualTo(before.findHistoryByFilingId(2002));
+    }
+
+    private RefundStatusPersistenceService createService(RefundStatusRepositoryImpl repository) {
+        RefundAggregationProperties properties = new RefundAggregationProperties();
+        properties.getPersistence().setEnabled(true);
+        properties.getPersistence().setDirectory(tempDir.toString());
+        return new RefundStatusPersistenceService(repository, new RefundStatusSnapshotStore(), properties);
+    }
+
+    private long files(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(suffix)).count();
+        }
+    }
+
+    private RefundStatusAggregate createAggregate(int filingId, RefundStatus status) {
+        return new RefundStatusAggregate(
+                filingId,
+                "TRACK-" + filingId,
+                Jurisdiction.FEDERAL,
+                status,
+                "RAW-" + filingId,
+                "Test message for " + filingId,
+                Instant.now(),
+                BigDecimal.valueOf(1000.00));
+    }
+}
@@ -0,0 +1,147 @@
+package com.intuit.turbotax.refund.aggregation.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.refund.model.RefundStatus;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusAggregate;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusJournal;
+
+class RefundStatusWriteAheadLogTest {
+
+    private static final long SEGMENT_BYTES = 1 << 20;
+    private static final int MAX_PENDING_BYTES = 1 << 16;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void replay_ShouldReturnDurableEntriesInSequenceOrder() throws IOException {
+        // Given
+        RefundStatusAggregate full = createAggregate(1001, RefundStatus.PROCESSING);
+        RefundStatusAggregate sparse = new RefundStatusAggregate(1002, null, Jurisdiction.STATE_CA,
+                RefundStatus.FILED, null, null, null, null);
+        RefundStatusWriteAheadLog log = RefundStatusWriteAheadLog.open(tempDir, 0, SEGMENT_BYTES,
+                MAX_PENDING_BYTES, true);
+        long first = log.append(full);
+        long second = log.append(sparse);
+        log.awaitDurable(second);
+
+        // When
+        List<RefundStatusAggregate> replayed = new ArrayList<>();
+        long lastSequence = RefundStatusWriteAheadLog.replay(tempDir, 0,
+                (aggregate, sequence) -> replayed.add(aggregate));
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(lastSequence).isEqualTo(2);
+        assertThat(replayed).containsExactly(full, sparse);
+        log.close();
+    }
+
+    @Test
+    void replay_ShouldStopAtTornEntry() throws IOException {
+        // Given
+        RefundStatusWriteAheadLog log = RefundStatusWriteAheadLog.open(tempDir, 0, SEGMENT_BYTES,
+                MAX_PENDING_BYTES, true);
+        log.append(createAggregate(2001, RefundStatus.FILED));
+        log.append(createAggregate(2002, RefundStatus.FILED));
+        log.awaitDurable(log.append(createAggregate(2003, RefundStatus.FILED)));
+        log.close();
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        // When
+        List<RefundStatusAggregate> replayed = new ArrayList<>();
+        long lastSequence = RefundStatusWriteAheadLog.replay(tempDir, 0,
+                (aggregate, sequence) -> replayed.add(aggregate));
+
+        // Then
+        assertThat(lastSequence).isEqualTo(2);
+        assertThat(replayed).extracting(RefundStatusAggregate::filingId).containsExactly(2001, 2002);
+    }
+
+    @Test
+    void deleteSegmentsThrough_ShouldKeepEntriesAfterRolledSequence() throws IOException {
+        // Given
+        RefundStatusWriteAheadLog log = RefundStatusWriteAheadLog.open(tempDir, 0, SEGMENT_BYTES,
+                MAX_PENDING_BYTES, true);
+        log.append(createAggregate(3001, RefundStatus.FILED));
+        long covered = log.rollSegment();
+        log.awaitDurable(log.append(createAggregate(3001, RefundStatus.ACCEPTED)));
+
+        // When
+        int deleted = log.deleteSegmentsThrough(covered);
+
+        // Then
+        List<RefundStatusAggregate> replayed = new ArrayList<>();
+        RefundStatusWriteAheadLog.replay(tempDir, covered, (aggregate, sequence) -> replayed.add(aggregate));
+        assertThat(covered).isEqualTo(1);
+        assertThat(deleted).isEqualTo(1);
+        assertThat(segments()).hasSize(1);
+        assertThat(replayed).extracting(RefundStatusAggregate::status).containsExactly(RefundStatus.ACCEPTED);
+        log.close();
+    }
+
+    @Test
+    void reserve_ShouldWaitForRoomHeldByAnotherReservation() throws Exception {
+        // Given: a buffer with room for exactly one frame
+        RefundStatusAggregate held = createAggregate(4001, RefundStatus.FILED);
+        RefundStatusAggregate waiting = createAggregate(4002, RefundStatus.FILED);
+        int frameBytes = RefundStatusCodec.FRAME_HEADER_BYTES + Long.BYTES
+                + RefundStatusCodec.encodeRecord(held).length;
+        RefundStatusWriteAheadLog log = RefundStatusWriteAheadLog.open(tempDir, 0, SEGMENT_BYTES, frameBytes, true);
+        RefundStatusJournal.Reservation first = log.reserve(held);
+
+        // When
+        CompletableFuture<RefundStatusJournal.Reservation> second = CompletableFuture.supplyAsync(
+                () -> log.reserve(waiting));
+        Thread.sleep(100);
+        boolean reservedWhileHeld = second.isDone();
+        first.cancel();
+        log.awaitDurable(second.get(5, TimeUnit.SECONDS).append());
+
+        // Then
+        List<RefundStatusAggregate> replayed = new ArrayList<>();
+        RefundStatusWriteAheadLog.replay(tempDir, 0, (aggregate, sequence) -> replayed.add(aggregate));
+        assertThat(reservedWhileHeld).isFalse();
+        assertThat(replayed).containsExactly(waiting);
+        log.close();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).sorted().toList();
+        }
+    }
+
+    private RefundStatusAggregate createAggregate(int filingId, RefundStatus status) {
+        return new RefundStatusAggregate(
+                filingId,
+                "TRACK-" + filingId,
+                Jurisdiction.FEDERAL,
+                status,
+                "RAW-" + filingId,
+                "Test message for " + filingId,
+                Instant.parse("2024-04-15T10:15:30.123456789Z"),
+                new BigDecimal("1234.56"));
+    }
+}
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.Test;
 
 import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
 import com.intuit.turbotax.api.v1.refund.model.RefundStatus;
+import com.intuit.turbotax.refund.aggregation.config.RefundAggregationProperties;
 
 class RefundStatusRepositoryImplTest {
 
@@ -84,6 +86,96 @@ class RefundStatusRepositoryImplTest {
         assertThat(result.get().status()).isEqualTo(RefundStatus.DEPOSITED);
     }
 
+    @Test
+    void getActiveFilingIds_ShouldDropFilingOnceItReachesFinalStatus() {
+        // Given
+        repository.save(createTestAggregate(1001, RefundStatus.DEPOSITED));
+
+        // When
+        List<Integer> activeIds = repository.getActiveFilingIds()
+                .collect(Collectors.toList());
+
+        // Then
+        assertThat(activeIds).containsExactlyInAnyOrder(1002, 1004);
+    }
+
+    @Test
+    void getFilingIdsByStatus_ShouldFollowStatusChanges() {
+        // Given
+        repository.save(createTestAggregate(1002, RefundStatus.PROCESSING));
+
+        // When
+        List<Integer> processingIds = repository.getFilingIdsByStatus(RefundStatus.PROCESSING)
+                .collect(Collectors.toList());
+        List<Integer> acceptedIds = repository.getFilingIdsByStatus(RefundStatus.ACCEPTED)
+                .collect(Collectors.toList());
+
+        // Then
+        assertThat(processingIds).containsExactlyInAnyOrder(1001, 1002);
+        assertThat(acceptedIds).isEmpty();
+    }
+
+    @Test
+    void countByStatus_ShouldCountFilingsPerStatus() {
+        // Given
+        repository.save(createTestAggregate(1001, RefundStatus.DEPOSITED));
+        repository.save(createTestAggregate(1001, RefundStatus.DEPOSITED));
+
+        // When
+        Map<RefundStatus, Long> counts = repository.countByStatus();
+
+        // Then
+        assertThat(repository.countByStatus(RefundStatus.DEPOSITED)).isEqualTo(2);
+        assertThat(counts).containsEntry(RefundStatus.ACCEPTED, 1L)
+                .containsEntry(RefundStatus.DEPOSITED, 2L)
+                .containsEntry(RefundStatus.ERROR, 1L)
+                .containsEntry(RefundStatus.PROCESSING, 0L);
+        assertThat(counts.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(4);
+    }
+
+    @Test
+    void findHistoryByFilingId_ShouldRecordEachStatusChangeOnce() {
+        // Given
+        Instant filed = Instant.parse("2024-02-01T10:00:00Z");
+        Instant sent = Instant.parse("2024-02-20T10:00:00Z");
+        repository.save(createTestAggregate(2001, RefundStatus.PROCESSING, filed));
+        repository.save(createTestAggregate(2001, RefundStatus.PROCESSING, filed.plusSeconds(3600)));
+        repository.save(createTestAggregate(2001, RefundStatus.SENT_TO_BANK, sent));
+
+        // When
+        RefundStatusHistory history = repository.findHistoryByFilingId(2001).orElseThrow();
+
+        // Then
+        assertThat(history.size()).isEqualTo(2);
+        assertThat(history.fromStatus(0)).isNull();
+        assertThat(history.toStatus(0)).isEqualTo(RefundStatus.PROCESSING);
+        assertThat(history.fromStatus(1)).isEqualTo(RefundStatus.PROCESSING);
+        assertThat(history.toStatus(1)).isEqualTo(RefundStatus.SENT_TO_BANK);
+        assertThat(history.transitionedAt(1)).isEqualTo(sent);
+        assertThat(history.indexAsOf(filed.minusSeconds(1))).isEqualTo(-1);
+        assertThat(history.indexAsOf(sent.minusSeconds(1))).isZero();
+        assertThat(history.indexAsOf(sent)).isEqualTo(1);
+    }
+
+    @Test
+    void findHistoryByFilingId_ShouldKeepOnlyMostRecentTransitions() {
+        // Given
+        RefundAggregationProperties properties = new RefundAggregationProperties();
+        properties.getHistory().setMaxTransitions(2);
+        RefundStatusRepositoryImpl bounded = new RefundStatusRepositoryImpl(properties);
+        bounded.save(createTestAggregate(3001, RefundStatus.FILED));
+        bounded.save(createTestAggregate(3001, RefundStatus.ACCEPTED));
+        bounded.save(createTestAggregate(3001, RefundStatus.PROCESSING));
+
+        // When
+        RefundStatusHistory history = bounded.findHistoryByFilingId(3001).orElseThrow();
+
+        // Then
+        assertThat(history.size()).isEqualTo(2);
+        assertThat(history.fromStatus(0)).isEqualTo(RefundStatus.FILED);
+        assertThat(history.toStatus(1)).isEqualTo(RefundStatus.PROCESSING);
+    }
+
     private void addTestData() {
         // Active statuses (not final)
         repository.save(createTestAggregate(1001, RefundStatus.PROCESSING));
@@ -95,6 +187,10 @@ class RefundStatusRepositoryImplTest {
     }
 
     private RefundStatusAggregate createTestAggregate(int filingId, RefundStatus status) {
+        return createTestAggregate(filingId, status, Instant.now());
+    }
+
+    private RefundStatusAggregate createTestAggregate(int filingId, RefundStatus status, Instant lastUpdatedAt) {
         return new RefundStatusAggregate(
                 filingId,
                 "TRACK-" + filingId,
@@ -102,7 +198,7 @@ class RefundStatusRepositoryImplTest {
                 status,
                 "RAW-" + filingId,
                 "Test message for " + filingId,
-                Instant.now(),
+                lastUpdatedAt,
                 BigDecimal.valueOf(1000.00 + filingId));
     }
 }
\ No newline at end of file
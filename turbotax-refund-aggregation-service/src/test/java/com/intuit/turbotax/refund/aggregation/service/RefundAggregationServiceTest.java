@@ -2,7 +2,13 @@ package com.intuit.turbotax.refund.aggregation.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
@@ -18,9 +24,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
 import com.intuit.turbotax.api.v1.refund.model.RefundStatus;
 import com.intuit.turbotax.api.v1.refund.model.RefundStatusData;
+import com.intuit.turbotax.refund.aggregation.cache.RefundStatusCache;
 import com.intuit.turbotax.refund.aggregation.exception.InvalidFilingIdException;
 import com.intuit.turbotax.refund.aggregation.mapper.RefundStatusMapper;
 import com.intuit.turbotax.refund.aggregation.repository.RefundStatusAggregate;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusHistory;
 import com.intuit.turbotax.refund.aggregation.repository.RefundStatusRepository;
 import com.intuit.turbotax.refund.aggregation.validation.RefundAggregationValidator;
 
@@ -36,6 +44,9 @@ class RefundAggregationServiceTest {
     @Mock
     private RefundAggregationValidator validator;
 
+    @Mock
+    private RefundStatusCache cache;
+
     @InjectMocks
     private RefundAggregationService service;
 
@@ -57,6 +68,39 @@ class RefundAggregationServiceTest {
         assertThat(result.get().filingId()).isEqualTo(filingId);
     }
 
+    @Test
+    void getRefundStatusForFiling_ShouldCacheResultAtVersionReadBeforeStatus() {
+        // Given
+        int filingId = 12345;
+        RefundStatusAggregate aggregate = createTestAggregate(filingId);
+        RefundStatusData expectedData = createTestRefundStatusData(filingId);
+
+        when(repository.getVersion(filingId)).thenReturn(7L);
+        when(repository.findByFilingId(filingId)).thenReturn(Optional.of(aggregate));
+        when(mapper.mapToApi(filingId, aggregate)).thenReturn(expectedData);
+
+        // When
+        service.getRefundStatusForFiling(filingId);
+
+        // Then
+        verify(cache).putIfCurrent(filingId, 7L, expectedData);
+    }
+
+    @Test
+    void getRefundStatusForFiling_ShouldNotReadRepository_WhenCached() {
+        // Given
+        int filingId = 12345;
+        RefundStatusData cachedData = createTestRefundStatusData(filingId);
+        when(cache.get(filingId)).thenReturn(() -> cachedData);
+
+        // When
+        Optional<RefundStatusData> result = service.getRefundStatusForFiling(filingId);
+
+        // Then
+        assertThat(result).contains(cachedData);
+        verifyNoInteractions(repository, mapper);
+    }
+
     @Test
     void getRefundStatusForFiling_ShouldReturnEmpty_WhenNotFound() {
         // Given
@@ -68,6 +112,7 @@ class RefundAggregationServiceTest {
 
         // Then
         assertThat(result).isEmpty();
+        verify(cache, never()).putIfCurrent(eq(filingId), anyLong(), any());
     }
 
     @Test
@@ -82,6 +127,53 @@ class RefundAggregationServiceTest {
                 .isInstanceOf(InvalidFilingIdException.class);
     }
 
+    @Test
+    void getRefundStatusAsOf_ShouldReturnStatusSetByLatestEarlierTransition() {
+        // Given
+        int filingId = 12345;
+        Instant accepted = Instant.parse("2024-02-02T00:00:00Z");
+        RefundStatusAggregate aggregate = createTestAggregate(filingId);
+        RefundStatusHistory history = createTestHistory(accepted);
+        RefundStatusData expectedData = new RefundStatusData(
+                filingId, RefundStatus.ACCEPTED, Jurisdiction.FEDERAL, accepted);
+
+        when(repository.findByFilingId(filingId)).thenReturn(Optional.of(aggregate));
+        when(repository.findHistoryByFilingId(filingId)).thenReturn(Optional.of(history));
+        when(mapper.mapTransitionToApi(aggregate, history, 1)).thenReturn(expectedData);
+
+        // When
+        Optional<RefundStatusData> result = service.getRefundStatusAsOf(filingId, accepted.plusSeconds(60));
+
+        // Then
+        assertThat(result).contains(expectedData);
+    }
+
+    @Test
+    void getRefundStatusAsOf_ShouldReturnEmpty_WhenInstantPrecedesHistory() {
+        // Given
+        int filingId = 12345;
+        Instant accepted = Instant.parse("2024-02-02T00:00:00Z");
+        when(repository.findByFilingId(filingId)).thenReturn(Optional.of(createTestAggregate(filingId)));
+        when(repository.findHistoryByFilingId(filingId)).thenReturn(Optional.of(createTestHistory(accepted)));
+
+        // When
+        Optional<RefundStatusData> result = service.getRefundStatusAsOf(filingId, Instant.parse("2023-12-31T00:00:00Z"));
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    private RefundStatusHistory createTestHistory(Instant accepted) {
+        return RefundStatusHistory.of(
+                new RefundStatus[] { null, RefundStatus.FILED, RefundStatus.ACCEPTED },
+                new RefundStatus[] { RefundStatus.FILED, RefundStatus.ACCEPTED, RefundStatus.PROCESSING },
+                new long[] {
+                        accepted.minusSeconds(86_400).toEpochMilli(),
+                        accepted.toEpochMilli(),
+                        accepted.plusSeconds(86_400).toEpochMilli() },
+                0);
+    }
+
     private RefundStatusAggregate createTestAggregate(int filingId) {
         return new RefundStatusAggregate(
                 filingId,
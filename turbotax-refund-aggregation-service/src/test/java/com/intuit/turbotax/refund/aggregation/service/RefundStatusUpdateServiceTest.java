@@ -0,0 +1,276 @@
+package com.intuit.turbotax.refund.aggregation.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.intuit.turbotax.api.v1.common.model.Jurisdiction;
+import com.intuit.turbotax.api.v1.refund.model.RefundStatus;
+import com.intuit.turbotax.refund.aggregation.config.RefundAggregationProperties;
+import com.intuit.turbotax.refund.aggregation.job.limiter.AgencyRateLimiters;
+import com.intuit.turbotax.refund.aggregation.job.processors.IrsStatusProcessor;
+import com.intuit.turbotax.refund.aggregation.job.processors.StateTaxStatusProcessor;
+import com.intuit.turbotax.refund.aggregation.job.resilience.AgencyCallExecutor;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusAggregate;
+import com.intuit.turbotax.refund.aggregation.repository.RefundStatusRepository;
+
+@ExtendWith(MockitoExtension.class)
+class RefundStatusUpdateServiceTest {
+
+    @Mock
+    private RefundStatusRepository repository;
+
+    @Mock
+    private IrsStatusProcessor irsProcessor;
+
+    @Mock
+    private StateTaxStatusProcessor stateTaxProcessor;
+
+    @Spy
+    private RefundAggregationProperties properties = new RefundAggregationProperties();
+
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private AgencyCallExecutor agencyCalls = new AgencyCallExecutor(
+            new AgencyRateLimiters(properties, meterRegistry), properties, meterRegistry);
+
+    @InjectMocks
+    private RefundStatusUpdateService service;
+
+    @Test
+    void updateAllActiveFilings_ShouldCountChangedUnchangedAndFailedFilings() {
+        // Given
+        properties.getSweep().setMaxBatchDelay(Duration.ofMinutes(1));
+        properties.setRetryDelay(Duration.ofMillis(1));
+        givenActiveFilings(
+                createTestAggregate(1001, Jurisdiction.FEDERAL, RefundStatus.PROCESSING),
+                createTestAggregate(1002, Jurisdiction.FEDERAL, RefundStatus.PROCESSING),
+                createTestAggregate(1003, Jurisdiction.STATE_CA, RefundStatus.ACCEPTED));
+        when(irsProcessor.fetchStatuses(List.of(1001, 1002)))
+                .thenReturn(Map.of(1001, RefundStatus.SENT_TO_BANK, 1002, RefundStatus.PROCESSING));
+        when(stateTaxProcessor.fetchStatuses(List.of(1003), Jurisdiction.STATE_CA))
+                .thenThrow(new IllegalStateException("agency unavailable"));
+
+        // When
+        RefundStatusSweepResult result = service.updateAllActiveFilings();
+
+        // Then
+        assertThat(result.processed()).isEqualTo(2);
+        assertThat(result.changed()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.skipped()).isZero();
+        verify(repository).save(argThat(saved -> saved.filingId() == 1001
+                && saved.status() == RefundStatus.SENT_TO_BANK));
+        verify(stateTaxProcessor, times(4)).fetchStatuses(List.of(1003), Jurisdiction.STATE_CA);
+    }
+
+    @Test
+    void updateAllActiveFilings_ShouldGroupFilingsByJurisdictionIntoBoundedBatches() {
+        // Given
+        properties.getSweep().setBatchSize(2);
+        properties.getSweep().setMaxBatchDelay(Duration.ofMinutes(1));
+        givenActiveFilings(
+                createTestAggregate(5001, Jurisdiction.FEDERAL, RefundStatus.FILED),
+                createTestAggregate(5002, Jurisdiction.STATE_NY, RefundStatus.FILED),
+                createTestAggregate(5003, Jurisdiction.FEDERAL, RefundStatus.FILED),
+                createTestAggregate(5004, Jurisdiction.FEDERAL, RefundStatus.FILED),
+                createTestAggregate(5005, Jurisdiction.FEDERAL, RefundStatus.DEPOSITED),
+                createTestAggregate(5006, Jurisdiction.STATE_NY, RefundStatus.FILED));
+        List<List<Integer>> federalBatches = new CopyOnWriteArrayList<>();
+        when(irsProcessor.fetchStatuses(anyCollection())).thenAnswer(invocation -> {
+            federalBatches.add(List.copyOf(invocation.<Collection<Integer>>getArgument(0)));
+            return Map.of();
+        });
+
+        // When
+        RefundStatusSweepResult result = service.updateAllActiveFilings();
+
+        // Then: final filings are left out and each jurisdiction is fetched separately
+        assertThat(result.processed()).isEqualTo(5);
+        assertThat(federalBatches).containsExactlyInAnyOrder(List.of(5001, 5003), List.of(5004));
+        verify(stateTaxProcessor).fetchStatuses(List.of(5002, 5006), Jurisdiction.STATE_NY);
+    }
+
+    @Test
+    void updateAllActiveFilings_ShouldCapConcurrentCallsPerJurisdiction() {
+        // Given
+        properties.getSweep().setBatchSize(2);
+        properties.getSweep().setMaxConcurrency(Map.of(Jurisdiction.FEDERAL, 3));
+        properties.getSweep().setDefaultMaxConcurrency(1);
+        RefundStatusAggregate[] aggregates = IntStream.range(0, 30)
+                .mapToObj(i -> createTestAggregate(2000 + i,
+                        i % 3 == 0 ? Jurisdiction.STATE_CA : Jurisdiction.FEDERAL, RefundStatus.PROCESSING))
+                .toArray(RefundStatusAggregate[]::new);
+        givenActiveFilings(aggregates);
+        AtomicInteger federalInFlight = new AtomicInteger();
+        AtomicInteger federalPeak = new AtomicInteger();
+        AtomicInteger stateInFlight = new AtomicInteger();
+        AtomicInteger statePeak = new AtomicInteger();
+        when(irsProcessor.fetchStatuses(anyCollection()))
+                .thenAnswer(slowCall(federalInFlight, federalPeak, Duration.ofMillis(20)));
+        when(stateTaxProcessor.fetchStatuses(anyCollection(), eq(Jurisdiction.STATE_CA)))
+                .thenAnswer(slowCall(stateInFlight, statePeak, Duration.ofMillis(20)));
+
+        // When
+        RefundStatusSweepResult result = service.updateAllActiveFilings();
+
+        // Then
+        assertThat(result.processed()).isEqualTo(30);
+        assertThat(federalPeak.get()).isEqualTo(3);
+        assertThat(statePeak.get()).isEqualTo(1);
+    }
+
+    @Test
+    void updateAllActiveFilings_ShouldStopAtDeadline() {
+        // Given
+        properties.getSweep().setBatchSize(1);
+        properties.getSweep().setMaxConcurrency(Map.of(Jurisdiction.FEDERAL, 1));
+        properties.getSweep().setDeadline(Duration.ofMillis(200));
+        givenActiveFilings(IntStream.range(0, 5)
+                .mapToObj(i -> createTestAggregate(3000 + i, Jurisdiction.FEDERAL, RefundStatus.FILED))
+                .toArray(RefundStatusAggregate[]::new));
+        when(irsProcessor.fetchStatuses(anyCollection()))
+                .thenAnswer(slowCall(new AtomicInteger(), new AtomicInteger(), Duration.ofSeconds(10)));
+
+        // When
+        RefundStatusSweepResult result = service.updateAllActiveFilings();
+
+        // Then: the batch in flight times out and the batches waiting for a permit are skipped
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.skipped()).isEqualTo(4);
+        assertThat(result.elapsed()).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void updateFilings_ShouldReportFailedAndSkippedFilings() {
+        // Given
+        properties.getSweep().setBatchSize(1);
+        properties.setMaxRetryAttempts(0);
+        for (RefundStatusAggregate aggregate : List.of(
+                createTestAggregate(6001, Jurisdiction.FEDERAL, RefundStatus.FILED),
+                createTestAggregate(6002, Jurisdiction.FEDERAL, RefundStatus.FILED),
+                createTestAggregate(6003, Jurisdiction.STATE_CA, RefundStatus.FILED))) {
+            when(repository.findByFilingId(aggregate.filingId())).thenReturn(Optional.of(aggregate));
+        }
+        when(irsProcessor.fetchStatuses(List.of(6001))).thenReturn(Map.of(6001, RefundStatus.FILED));
+        when(irsProcessor.fetchStatuses(List.of(6002)))
+                .thenAnswer(slowCall(new AtomicInteger(), new AtomicInteger(), Duration.ofSeconds(10)));
+        when(stateTaxProcessor.fetchStatuses(List.of(6003), Jurisdiction.STATE_CA))
+                .thenThrow(new IllegalStateException("agency unavailable"));
+
+        // When
+        RefundStatusSweepResult result = service.updateFilings(List.of(6001, 6002, 6003), Duration.ofMillis(300));
+
+        // Then: the call still running at the deadline times out
+        assertThat(result.processed()).isEqualTo(1);
+        assertThat(result.unprocessedFilingIds()).containsExactlyInAnyOrder(6002, 6003);
+        assertThat(result.elapsed()).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void updateFilingStatus_ShouldSkipFinalStatus() {
+        // Given
+        when(repository.findByFilingId(4001))
+                .thenReturn(Optional.of(createTestAggregate(4001, Jurisdiction.FEDERAL, RefundStatus.DEPOSITED)));
+
+        // When
+        boolean updated = service.updateFilingStatus(4001);
+
+        // Then
+        assertThat(updated).isFalse();
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void updateFilingStatus_ShouldGiveUpOnceEveryAttemptHasTimedOut() {
+        // Given: the sweep deadline is far longer than the call's own budget
+        properties.getSweep().setDeadline(Duration.ofHours(1));
+        properties.setExternalServiceTimeout(Duration.ofMillis(500));
+        properties.setMaxRetryAttempts(1);
+        properties.setRetryDelay(Duration.ofMillis(10));
+        when(repository.findByFilingId(4002))
+                .thenReturn(Optional.of(createTestAggregate(4002, Jurisdiction.FEDERAL, RefundStatus.PROCESSING)));
+        when(irsProcessor.fetchStatus(4002)).thenAnswer(invocation -> {
+            Thread.sleep(Duration.ofSeconds(10));
+            return Optional.of(RefundStatus.SENT_TO_BANK);
+        });
+
+        // When
+        long started = System.nanoTime();
+        boolean updated = service.updateFilingStatus(4002);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        // Then
+        assertThat(updated).isFalse();
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(5));
+        verify(irsProcessor, times(2)).fetchStatus(4002);
+        verify(repository, never()).save(any());
+    }
+
+    private void givenActiveFilings(RefundStatusAggregate... aggregates) {
+        when(repository.getActiveFilingIds())
+                .thenReturn(Arrays.stream(aggregates).map(RefundStatusAggregate::filingId));
+        for (RefundStatusAggregate aggregate : aggregates) {
+            when(repository.findByFilingId(aggregate.filingId())).thenReturn(Optional.of(aggregate));
+        }
+    }
+
+    private static Answer<Map<Integer, RefundStatus>> slowCall(AtomicInteger inFlight, AtomicInteger peak,
+            Duration latency) {
+        return invocation -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(latency);
+                Collection<Integer> filingIds = invocation.getArgument(0);
+                return filingIds.stream().collect(Collectors.toMap(id -> id, id -> RefundStatus.PROCESSING));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Status call interrupted", e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        };
+    }
+
+    private RefundStatusAggregate createTestAggregate(int filingId, Jurisdiction jurisdiction, RefundStatus status) {
+        return new RefundStatusAggregate(
+                filingId,
+                "TRACK-" + filingId,
+                jurisdiction,
+                status,
+                "RAW-" + filingId,
+                "Test message for " + filingId,
+                Instant.now(),
+                BigDecimal.valueOf(1000.00));
+    }
+}
@@ -1,6 +1,10 @@
 package com.intuit.turbotax.refund.query.client;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,17 +14,25 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import com.intuit.turbotax.api.v1.common.routing.ConsistentHashRing;
 import com.intuit.turbotax.api.v1.filing.model.TaxFiling;
+import com.intuit.turbotax.api.v1.filing.model.TaxFilingPage;
 import com.intuit.turbotax.api.v1.filing.service.FilingQueryService;
+import com.intuit.turbotax.refund.query.config.RefundQueryProperties;
 
 /**
  * HTTP client proxy for the Filing Data Service.
  * Handles communication with the turbotax-filing-query-service microservice.
+ * When filing query instances are partitioned by user, each userId is routed to the
+ * instance that owns it on the shared consistent-hash ring. Filing ID lookups cannot
+ * be routed by user, so they are sent to every instance and the results merged.
  */
 @Component
 public class FilingQueryServiceClient implements FilingQueryService {
@@ -28,18 +40,30 @@ public class FilingQueryServiceClient implements FilingQueryService {
 
     private final RestTemplate restTemplate;
     private final String baseUrl;
+    private final Map<String, String> instanceUrls;
+    private final ConsistentHashRing ring; // null when a single instance serves every user
 
     public FilingQueryServiceClient(RestTemplate restTemplate,
             @Value("${app.filing-query-service.host}") String serviceHost,
-            @Value("${app.filing-query-service.port}") int servicePort) {
+            @Value("${app.filing-query-service.port}") int servicePort,
+            RefundQueryProperties properties) {
         this.restTemplate = restTemplate;
         this.baseUrl = "http://" + serviceHost + ":" + servicePort;
-        LOG.info("Configured FilingQueryServiceClient with base URL: {}", this.baseUrl);
+        RefundQueryProperties.FilingQueryPartitions partitions = properties.getFilingQueryPartitions();
+        this.instanceUrls = Map.copyOf(partitions.getInstances());
+        this.ring = instanceUrls.isEmpty()
+                ? null
+                : new ConsistentHashRing(partitions.getInstances().keySet(), partitions.getVirtualNodes());
+        if (ring == null) {
+            LOG.info("Configured FilingQueryServiceClient with base URL: {}", this.baseUrl);
+        } else {
+            LOG.info("Configured FilingQueryServiceClient with partitioned instances: {}", partitions.getInstances());
+        }
     }
 
     @Override
     public List<TaxFiling> getFilings(String userId) {
-        String url = baseUrl + "/api/v1/filings/latest";
+        String url = baseUrlFor(userId) + "/api/v1/filings/latest";
 
         LOG.debug("Requesting filing data from: {}", url);
 
@@ -77,4 +101,136 @@ public class FilingQueryServiceClient implements FilingQueryService {
             throw new RuntimeException("Failed to fetch filing data for user: " + userId, e);
         }
     }
+
+    @Override
+    public TaxFilingPage getFilingsPage(String userId, String cursor, int limit) {
+        UriComponentsBuilder uri = UriComponentsBuilder.fromUriString(baseUrlFor(userId))
+                .path("/api/v1/filings/latest/page")
+                .queryParam("limit", limit);
+        if (cursor != null) {
+            uri.queryParam("cursor", cursor);
+        }
+        String url = uri.toUriString();
+
+        LOG.debug("Requesting page of filing data from: {}", url);
+
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set("X-User-Id", userId);
+            HttpEntity<Void> entity = new HttpEntity<>(headers);
+
+            ResponseEntity<TaxFilingPage> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.GET,
+                    entity,
+                    TaxFilingPage.class);
+
+            TaxFilingPage page = response.getBody();
+            return page == null ? new TaxFilingPage(List.of(), null) : page;
+
+        } catch (Exception e) {
+            LOG.error("Unexpected error fetching page of filing data for userId: {} - {}", userId, e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch page of filing data for user: " + userId, e);
+        }
+    }
+
+    @Override
+    public Map<String, List<TaxFiling>> getFilingsForUsers(List<String> userIds) {
+        // One batch request per owning instance
+        Map<String, List<String>> userIdsByBaseUrl = new LinkedHashMap<>();
+        for (String userId : userIds) {
+            userIdsByBaseUrl.computeIfAbsent(baseUrlFor(userId), url -> new ArrayList<>()).add(userId);
+        }
+
+        Map<String, List<TaxFiling>> fetched = new LinkedHashMap<>();
+        userIdsByBaseUrl.forEach((instanceUrl, instanceUserIds) -> fetched.putAll(fetchBatch(instanceUrl, instanceUserIds)));
+
+        Map<String, List<TaxFiling>> filingsByUser = new LinkedHashMap<>();
+        for (String userId : userIds) {
+            List<TaxFiling> filings = fetched.get(userId);
+            filingsByUser.put(userId, filings == null ? List.of() : filings);
+        }
+
+        LOG.debug("Successfully retrieved filings for {} users from {} instances",
+                filingsByUser.size(), userIdsByBaseUrl.size());
+        return filingsByUser;
+    }
+
+    @Override
+    public Map<Integer, TaxFiling> getFilingsByIds(List<Integer> filingIds) {
+        List<String> targets = ring == null ? List.of(baseUrl) : List.copyOf(instanceUrls.values());
+
+        Map<Integer, TaxFiling> fetched = new HashMap<>();
+        for (String instanceUrl : targets) {
+            fetched.putAll(fetchByIds(instanceUrl, filingIds));
+        }
+
+        Map<Integer, TaxFiling> filingsById = new LinkedHashMap<>();
+        for (Integer filingId : filingIds) {
+            TaxFiling filing = fetched.get(filingId);
+            if (filing != null) {
+                filingsById.put(filingId, filing);
+            }
+        }
+
+        LOG.debug("Successfully retrieved {} of {} filings by ID from {} instances",
+                filingsById.size(), filingIds.size(), targets.size());
+        return filingsById;
+    }
+
+    private Map<Integer, TaxFiling> fetchByIds(String instanceUrl, List<Integer> filingIds) {
+        String url = instanceUrl + "/api/v1/filings/by-id/batch";
+
+        LOG.debug("Requesting {} filings by ID from: {}", filingIds.size(), url);
+
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            HttpEntity<List<Integer>> entity = new HttpEntity<>(filingIds, headers);
+
+            ResponseEntity<Map<Integer, TaxFiling>> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.POST,
+                    entity,
+                    new ParameterizedTypeReference<Map<Integer, TaxFiling>>() {
+                    });
+
+            Map<Integer, TaxFiling> body = response.getBody();
+            return body == null ? Map.of() : body;
+
+        } catch (Exception e) {
+            LOG.error("Unexpected error fetching {} filings by ID - {}", filingIds.size(), e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch " + filingIds.size() + " filings by ID", e);
+        }
+    }
+
+    private Map<String, List<TaxFiling>> fetchBatch(String instanceUrl, List<String> userIds) {
+        String url = instanceUrl + "/api/v1/filings/latest/batch";
+
+        LOG.debug("Requesting filing data for {} users from: {}", userIds.size(), url);
+
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            HttpEntity<List<String>> entity = new HttpEntity<>(userIds, headers);
+
+            ResponseEntity<Map<String, List<TaxFiling>>> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.POST,
+                    entity,
+                    new ParameterizedTypeReference<Map<String, List<TaxFiling>>>() {
+                    });
+
+            Map<String, List<TaxFiling>> body = response.getBody();
+            return body == null ? Map.of() : body;
+
+        } catch (Exception e) {
+            LOG.error("Unexpected error fetching filing data for {} users - {}", userIds.size(), e.getMessage(), e);
+            throw new RuntimeException("Failed to fetch filing data for " + userIds.size() + " users", e);
+        }
+    }
+
+    private String baseUrlFor(String userId) {
+        return ring == null ? baseUrl : instanceUrls.get(ring.nodeFor(userId));
+    }
 }
@@ -1,10 +1,14 @@
 package com.intuit.turbotax.refund.query.config;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import com.intuit.turbotax.api.v1.common.routing.ConsistentHashRing;
+
 import lombok.Data;
 
 /**
@@ -40,4 +44,29 @@ public class RefundQueryProperties {
      * Timeout for external service calls.
      */
     private Duration externalServiceTimeout = Duration.ofSeconds(30);
-}
\ No newline at end of file
+
+    /**
+     * Partition routing for filing query service instances.
+     */
+    private FilingQueryPartitions filingQueryPartitions = new FilingQueryPartitions();
+
+    /**
+     * Filing query instances that each own a consistent-hash partition of users.
+     * Instance names and virtual nodes must match turbotax.filing.partition on the
+     * filing query service.
+     */
+    @Data
+    public static class FilingQueryPartitions {
+
+        /**
+         * Instance name to base URL, e.g. fq-0: http://filing-query-0:7001.
+         * When empty, every request goes to app.filing-query-service.host and port.
+         */
+        private Map<String, String> instances = new LinkedHashMap<>();
+
+        /**
+         * Points placed on the hash ring per instance.
+         */
+        private int virtualNodes = ConsistentHashRing.DEFAULT_VIRTUAL_NODES;
+    }
+}
@@ -0,0 +1,170 @@
+package com.intuit.turbotax.refund.query.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import com.intuit.turbotax.api.v1.common.routing.ConsistentHashRing;
+import com.intuit.turbotax.api.v1.filing.model.TaxFiling;
+import com.intuit.turbotax.api.v1.filing.model.TaxFilingPage;
+import com.intuit.turbotax.refund.query.config.RefundQueryProperties;
+
+class FilingQueryServiceClientTest {
+
+    private static final Map<String, String> INSTANCES = new LinkedHashMap<>(Map.of(
+            "fq-0", "http://filing-query-0:7001",
+            "fq-1", "http://filing-query-1:7001",
+            "fq-2", "http://filing-query-2:7001"));
+
+    private final ConsistentHashRing ring = new ConsistentHashRing(INSTANCES.keySet(),
+            ConsistentHashRing.DEFAULT_VIRTUAL_NODES);
+
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+    }
+
+    @Test
+    void getFilings_ShouldUseSingleInstance_WhenNotPartitioned() {
+        // Given
+        FilingQueryServiceClient client = new FilingQueryServiceClient(restTemplate, "localhost", 7001,
+                new RefundQueryProperties());
+        server.expect(requestTo("http://localhost:7001/api/v1/filings/latest"))
+                .andExpect(header("X-User-Id", "user123"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        // When
+        List<TaxFiling> filings = client.getFilings("user123");
+
+        // Then
+        assertThat(filings).isEmpty();
+        server.verify();
+    }
+
+    @Test
+    void getFilings_ShouldRouteEachUserToOwningInstance() {
+        // Given
+        FilingQueryServiceClient client = partitionedClient();
+        List<String> userIds = IntStream.range(0, 30).mapToObj(i -> "user" + i).toList();
+        for (String userId : userIds) {
+            server.expect(requestTo(INSTANCES.get(ring.nodeFor(userId)) + "/api/v1/filings/latest"))
+                    .andExpect(header("X-User-Id", userId))
+                    .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+        }
+
+        // When
+        userIds.forEach(client::getFilings);
+
+        // Then
+        server.verify();
+        assertThat(userIds.stream().map(ring::nodeFor).distinct()).hasSize(INSTANCES.size());
+    }
+
+    @Test
+    void getFilingsPage_ShouldRouteToOwningInstanceAndPassCursor() {
+        // Given
+        FilingQueryServiceClient client = partitionedClient();
+        server.expect(requestTo(INSTANCES.get(ring.nodeFor("user123"))
+                + "/api/v1/filings/latest/page?limit=5&cursor=abc"))
+                .andExpect(header("X-User-Id", "user123"))
+                .andRespond(withSuccess("{\"filings\":[],\"nextCursor\":null}", MediaType.APPLICATION_JSON));
+
+        // When
+        TaxFilingPage page = client.getFilingsPage("user123", "abc", 5);
+
+        // Then
+        assertThat(page.filings()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+        server.verify();
+    }
+
+    @Test
+    void getFilingsForUsers_ShouldSplitBatchByInstanceAndKeepRequestOrder() {
+        // Given
+        FilingQueryServiceClient client = partitionedClient();
+        List<String> userIds = IntStream.range(0, 30).mapToObj(i -> "user" + i).toList();
+        Map<String, List<String>> usersByInstance = userIds.stream()
+                .collect(Collectors.groupingBy(ring::nodeFor, LinkedHashMap::new, Collectors.toList()));
+        usersByInstance.forEach((instance, instanceUserIds) -> server
+                .expect(requestTo(INSTANCES.get(instance) + "/api/v1/filings/latest/batch"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess(instanceUserIds.stream()
+                        .map(userId -> "\"" + userId + "\":[]")
+                        .collect(Collectors.joining(",", "{", "}")), MediaType.APPLICATION_JSON)));
+
+        // When
+        Map<String, List<TaxFiling>> result = client.getFilingsForUsers(userIds);
+
+        // Then
+        server.verify();
+        assertThat(result.keySet()).containsExactlyElementsOf(userIds);
+    }
+
+    @Test
+    void getFilingsByIds_ShouldQueryEveryInstanceAndKeepRequestOrder() {
+        // Given
+        FilingQueryServiceClient client = partitionedClient();
+        List<String> responses = List.of(
+                "{\"202410002\":" + filingJson(202410002) + "}",
+                "{\"202410001\":" + filingJson(202410001) + "}",
+                "{}");
+        for (int i = 0; i < responses.size(); i++) {
+            server.expect(requestTo(List.copyOf(INSTANCES.values()).get(i) + "/api/v1/filings/by-id/batch"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withSuccess(responses.get(i), MediaType.APPLICATION_JSON));
+        }
+
+        // When
+        Map<Integer, TaxFiling> result = client.getFilingsByIds(List.of(202410001, 202410002, 202410003));
+
+        // Then
+        server.verify();
+        assertThat(result.keySet()).containsExactly(202410001, 202410002);
+    }
+
+    @Test
+    void getFiling_ShouldReturnEmpty_WhenFilingUnknown() {
+        // Given
+        FilingQueryServiceClient client = new FilingQueryServiceClient(restTemplate, "localhost", 7001,
+                new RefundQueryProperties());
+        server.expect(requestTo("http://localhost:7001/api/v1/filings/by-id/batch"))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        // When
+        Optional<TaxFiling> filing = client.getFiling(202410009);
+
+        // Then
+        server.verify();
+        assertThat(filing).isEmpty();
+    }
+
+    private static String filingJson(int filingId) {
+        return "{\"filingId\":" + filingId + ",\"userId\":\"user123\",\"taxYear\":2024}";
+    }
+
+    private FilingQueryServiceClient partitionedClient() {
+        RefundQueryProperties properties = new RefundQueryProperties();
+        properties.getFilingQueryPartitions().setInstances(INSTANCES);
+        return new FilingQueryServiceClient(restTemplate, "localhost", 7001, properties);
+    }
+}